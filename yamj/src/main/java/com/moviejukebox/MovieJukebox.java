@@ -48,11 +48,13 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.stream.XMLStreamException;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.ArrayUtils;
@@ -69,6 +71,7 @@ public class MovieJukebox {
     private static final String SKIN_DIR = "mjb.skin.dir";
     private static final String EXT_PNG = "png";
     public static final String EXT_DOT_XML = ".xml";
+    private static final String EXT_DOT_HTML = ".html";
     private static final String DUMMY_JPG = "dummy.jpg";
     private static final String RIGHT = "right";
     private static final String LEFT = "left";
@@ -140,6 +143,11 @@ public class MovieJukebox {
     private static final String SKIN_DEFAULT = "./skins/default";
     private static final String LOG_FINISHED = "Finished: {} ({}/{})";
     private static final String LIT_RESOURCES = "resources";
+    // Incremental mode
+    private static final String JOURNAL_FILENAME = "jukebox_journal.dat";
+    private static ChangeJournal changeJournal = null;
+    private static String settingsFingerprint = null;
+    private static final Set<String> UNCHANGED_VIDEOS = Collections.synchronizedSet(new HashSet<String>());
 
     public MovieJukebox(String source, String jukeboxRoot) {
         this.movieLibraryRoot = source;
@@ -765,7 +773,7 @@ public class MovieJukebox {
         bannerDownload = PropertiesUtil.getBooleanProperty("mjb.includeWideBanners", Boolean.FALSE);
         photoDownload = PropertiesUtil.getBooleanProperty("mjb.includePhoto", Boolean.FALSE);
         backdropDownload = PropertiesUtil.getBooleanProperty("mjb.includeBackdrop", Boolean.FALSE);
-        boolean processExtras = PropertiesUtil.getBooleanProperty("filename.extras.process", Boolean.TRUE);
+        final boolean processExtras = PropertiesUtil.getBooleanProperty("filename.extras.process", Boolean.TRUE);
         boolean moviejukeboxListing = PropertiesUtil.getBooleanProperty("mjb.listing.generate", Boolean.FALSE);
 
         // Multi-thread: Processing thread settings
@@ -875,7 +883,8 @@ public class MovieJukebox {
             }
         }
 
-        ThreadExecutor<Void> tasks = new ThreadExecutor<>(maxThreadsProcess, maxThreadsDownload);
+        final ThreadExecutor<Void> tasks = new ThreadExecutor<>(maxThreadsProcess, maxThreadsDownload,
+                PropertiesUtil.getBooleanProperty("mjb.DownloadThreads", Boolean.FALSE));
 
         final Library library = new Library();
         for (final MediaLibraryPath mediaLibraryPath : mediaLibraryPaths) {
@@ -917,8 +926,58 @@ public class MovieJukebox {
         JukeboxStatistics.setJukeboxTime(JukeboxStatistics.JukeboxTimes.SCAN_END, System.currentTimeMillis());
         JukeboxStatistics.setStatistic(JukeboxStatistic.VIDEOS, library.size());
 
+        boolean upToDate = Boolean.FALSE;
+        if (PropertiesUtil.getBooleanProperty("mjb.incremental", Boolean.FALSE)) {
+            upToDate = checkChangeJournal(library);
+        }
+
+        /*
+         * Get the person data (name, birthday, etc...), download the photo and put the person to the library
+         */
+        class PersonTask implements Callable<Void> {
+
+            private final Person person;
+            private final int count;
+            // Not known when the people are scanned together with their videos
+            private final int total;
+
+            PersonTask(Person person, int count, int total) {
+                this.person = person;
+                this.count = count;
+                this.total = total;
+            }
+
+            @Override
+            public Void call() throws FileNotFoundException, XMLStreamException {
+                ToolSet tools = threadTools.get();
+
+                updatePersonData(xmlReader, jukebox, person, tools.imagePlugin);
+                library.addPerson(person);
+
+                if (total > 0) {
+                    LOG.info(LOG_FINISHED, person.getName(), count, total);
+                } else {
+                    LOG.info("Finished: {} ({})", person.getName(), count);
+                }
+
+                // Show memory every (processing count) movies
+                if (showMemory && (count % maxThreadsProcess) == 0) {
+                    SystemTools.showMemory();
+                }
+
+                return null;
+            }
+        }
+
+        // Without the popularity ranking the people of a video are scanned as soon as the video is done
+        final boolean pipelinePeople = peopleScan && peopleScrape && popularity <= 0;
+        final AtomicInteger pipelinePeopleCounter = new AtomicInteger();
+
         tasks.restart();
-        if (!library.isEmpty()) {
+        if (upToDate) {
+            LOG.info("No changes since the last run, the jukebox is up to date");
+            FileTools.deleteDir(jukebox.getJukeboxTempLocation());
+        } else if (!library.isEmpty()) {
             // Issue 1882: Separate index files for each category
             boolean separateCategories = PropertiesUtil.getBooleanProperty("mjb.separateCategories", Boolean.FALSE);
 
@@ -963,12 +1022,20 @@ public class MovieJukebox {
                             // First get movie data (title, year, director, genre, etc...)
                             library.toggleDirty(updateMovieData(xmlReader, tools.miScanner, jukebox, movie, library));
 
-                            if (!movie.getMovieType().equals(Movie.REMOVE)) {
-                                // Check for watched and unwatched files
-                                if (enableWatchScanner || enableWatchTraktTv) { // Issue 1938
-                                    library.toggleDirty(WatchedScanner.checkWatched(jukebox, movie));
-                                }
+                            boolean unchanged = xmlExists && !movie.isDirty() && UNCHANGED_VIDEOS.contains(movie.getBaseName())
+                                    && !movie.getMovieType().equals(Movie.REMOVE) && !isJukeboxChanged(movie);
+                            // Check for watched and unwatched files
+                            if ((enableWatchScanner || enableWatchTraktTv) && !movie.getMovieType().equals(Movie.REMOVE)) { // Issue 1938
+                                // The watched files can be outside the folders checked by the change journal
+                                library.toggleDirty(WatchedScanner.checkWatched(jukebox, movie));
+                                unchanged &= !movie.isDirty();
+                            }
 
+                            if (unchanged) {
+                                // Incremental mode: nothing has changed since the last run, so the artwork is up to date
+                                LOG.debug("Unchanged since the last run: {}", movieTitleExt);
+                                ScanningLimit.releaseToken();
+                            } else if (!movie.getMovieType().equals(Movie.REMOVE)) {
                                 // Get subtitle
                                 tools.subtitlePlugin.generate(movie);
 
@@ -1050,6 +1117,17 @@ public class MovieJukebox {
                                 library.remove(movie);
                             }
                             LOG.info(LOG_FINISHED, movieTitleExt, count, library.size());
+
+                            // Issue 997: Skip the people of extras if not required, like the scan after the videos
+                            if (pipelinePeople && (!movie.isExtra() || processExtras)
+                                    && !movie.getMovieType().equals(Movie.REMOVE) && !ScanningLimit.isLimitReached()) {
+                                Map<String, Integer> typeCounter = new HashMap<>();
+                                for (Filmography person : movie.getPeople()) {
+                                    if (countPersonJob(typeCounter, person.getJob())) {
+                                        tasks.submitNext(new PersonTask(new Person(person), pipelinePeopleCounter.incrementAndGet(), 0));
+                                    }
+                                }
+                            }
                         } else {
                             movie.setSkipped(true);
                             JukeboxProperties.setScanningLimitReached(Boolean.TRUE);
@@ -1071,20 +1149,25 @@ public class MovieJukebox {
 
             OpenSubtitlesPlugin.logOut();
             AniDbPlugin.anidbClose();
+            MediaInfoScanner.saveCache();
+            ImageProbe.saveCache();
 
             JukeboxStatistics.setJukeboxTime(JukeboxStatistics.JukeboxTimes.PROCESSING_END, System.currentTimeMillis());
 
-            if (peopleScan && peopleScrape && !ScanningLimit.isLimitReached()) {
-                LOG.info("Searching for people information...");
-                int peopleCounter = 0;
-                Map<String, Person> popularPeople = new TreeMap<>();
-                for (Movie movie : library.values()) {
-                    // Issue 997: Skip the processing of extras if not required
-                    if (movie.isExtra() && !processExtras) {
-                        continue;
-                    }
+            if (peopleScan && peopleScrape && (pipelinePeople || !ScanningLimit.isLimitReached())) {
+                if (pipelinePeople) {
+                    // The people were scanned together with their videos
+                    LOG.info("Scanned {} people with the videos", pipelinePeopleCounter.get());
+                } else {
+                    LOG.info("Searching for people information...");
+                    int peopleCounter = 0;
+                    Map<String, Person> popularPeople = new TreeMap<>();
+                    for (Movie movie : library.values()) {
+                        // Issue 997: Skip the processing of extras if not required
+                        if (movie.isExtra() && !processExtras) {
+                            continue;
+                        }
 
-                    if (popularity > 0) {
                         for (Filmography person : movie.getPeople()) {
                             boolean exists = Boolean.FALSE;
                             String name = person.getName();
@@ -1104,13 +1187,9 @@ public class MovieJukebox {
                                 popularPeople.get(key).popularityUp(movie);
                             }
                         }
-                    } else {
-                        peopleCounter += movie.getPeople().size();
                     }
-                }
 
-                tasks.restart();
-                if (popularity > 0) {
+                    tasks.restart();
                     List<Person> as = new ArrayList<>(popularPeople.values());
 
                     Collections.sort(as, new PersonComparator());
@@ -1136,164 +1215,27 @@ public class MovieJukebox {
                     final int peopleCount = peopleCounter;
                     peopleCounter = 0;
                     for (final Person person : stars) {
-                        final int count = ++peopleCounter;
-                        final String personName = person.getName();
-                        final Person p = new Person(person);
-
                         // Multi-thread parallel processing
-                        tasks.submit(new Callable<Void>() {
-                            @Override
-                            public Void call() throws FileNotFoundException, XMLStreamException {
-
-                                ToolSet tools = threadTools.get();
-
-                                // Get person data (name, birthday, etc...), download photo
-                                updatePersonData(xmlReader, jukebox, p, tools.imagePlugin);
-                                library.addPerson(p);
-
-                                LOG.info(LOG_FINISHED, personName, count, peopleCount);
-
-                                // Show memory every (processing count) movies
-                                if (showMemory && (count % maxThreadsProcess) == 0) {
-                                    SystemTools.showMemory();
-                                }
-
-                                return null;
-                            }
-                        });
-                    }
-                } else {
-                    final int peopleCount = peopleCounter;
-                    peopleCounter = 0;
-                    for (Movie movie : library.values()) {
-                        // Issue 997: Skip the processing of extras if not required
-                        if (movie.isExtra() && !processExtras) {
-                            continue;
-                        }
-                        Map<String, Integer> typeCounter = new TreeMap<>();
-                        for (Filmography person : movie.getPeople()) {
-                            final int count = ++peopleCounter;
-                            String job = person.getJob();
-                            if (!typeCounter.containsKey(job)) {
-                                typeCounter.put(job, 1);
-                            } else if (typeCounter.get(job) == peopleMax) {
-                                continue;
-                            } else {
-                                typeCounter.put(job, typeCounter.get(job) + 1);
-                            }
-                            final Person p = new Person(person);
-                            final String personName = p.getName();
-
-                            // Multi-thread parallel processing
-                            tasks.submit(new Callable<Void>() {
-                                @Override
-                                public Void call() throws FileNotFoundException, XMLStreamException {
-
-                                    ToolSet tools = threadTools.get();
-
-                                    // Get person data (name, birthday, etc...), download photo and put to library
-                                    updatePersonData(xmlReader, jukebox, p, tools.imagePlugin);
-                                    library.addPerson(p);
-
-                                    LOG.info(LOG_FINISHED, personName, count, peopleCount);
-
-                                    // Show memory every (processing count) movies
-                                    if (showMemory && (count % maxThreadsProcess) == 0) {
-                                        SystemTools.showMemory();
-                                    }
-
-                                    return null;
-                                }
-                            });
-                        }
+                        tasks.submit(new PersonTask(new Person(person), ++peopleCounter, peopleCount));
                     }
+                    tasks.waitFor();
                 }
-                tasks.waitFor();
+
+                JukeboxStatistics.setJukeboxTime(JukeboxStatistics.JukeboxTimes.PEOPLE_SCAN_END, System.currentTimeMillis());
 
                 LOG.info("Add/update people information to the videos...");
-                boolean dirty;
+                List<Movie> peopleMovies = new ArrayList<>();
                 for (Movie movie : library.values()) {
                     // Issue 997: Skip the processing of extras if not required
                     if (movie.isExtra() && !processExtras) {
                         continue;
                     }
-
-                    for (Filmography person : movie.getPeople()) {
-                        dirty = Boolean.FALSE;
-                        for (Person p : library.getPeople()) {
-                            if (Filmography.comparePersonName(person, p) || comparePersonId(person, p)) {
-                                if (!person.getFilename().equals(p.getFilename()) && isValidString(p.getFilename())) {
-                                    person.setFilename(p.getFilename());
-                                    dirty = Boolean.TRUE;
-                                }
-                                if (!person.getUrl().equals(p.getUrl()) && isValidString(p.getUrl())) {
-                                    person.setUrl(p.getUrl());
-                                    dirty = Boolean.TRUE;
-                                }
-                                for (Map.Entry<String, String> e : p.getIdMap().entrySet()) {
-                                    if (isNotValidString(e.getValue())) {
-                                        continue;
-                                    }
-
-                                    if (person.getId(e.getKey()).equals(e.getValue())) {
-                                        continue;
-                                    }
-
-                                    person.setId(e.getKey(), e.getValue());
-                                    dirty = Boolean.TRUE;
-                                }
-
-                                if (!person.getPhotoFilename().equals(p.getPhotoFilename()) && isValidString(p.getPhotoFilename())) {
-                                    person.setPhotoFilename(p.getPhotoFilename());
-                                    dirty = Boolean.TRUE;
-                                }
-
-                                break;
-                            }
-                        }
-
-                        if (dirty) {
-                            movie.setDirty(DirtyFlag.INFO, Boolean.TRUE);
-                        }
-                    }
-
-                    for (Person p : library.getPeople()) {
-                        for (Filmography film : p.getFilmography()) {
-                            if (Filmography.compareMovieAndFilm(movie, film)) {
-                                film.setFilename(movie.getBaseName());
-                                film.setTitle(movie.getTitle());
-                                if (film.isDirty()) {
-                                    p.setDirty();
-                                }
-                                break;
-                            }
-                        }
-                    }
-                }
-
-                for (Person p : library.getPeople()) {
-                    for (Filmography film : p.getFilmography()) {
-                        if (film.isDirty() || StringTools.isNotValidString(film.getFilename())) {
-                            continue;
-                        }
-                        dirty = Boolean.FALSE;
-                        for (Movie movie : library.values()) {
-                            if (movie.isExtra() && !processExtras) {
-                                continue;
-                            }
-                            dirty = Filmography.compareMovieAndFilm(movie, film);
-                            if (dirty) {
-                                break;
-                            }
-                        }
-                        if (!dirty) {
-                            film.clearFilename();
-                            p.setDirty();
-                        }
-                    }
+                    peopleMovies.add(movie);
                 }
+                new PeopleReconciler(peopleMovies, library.getPeople()).reconcile();
 
                 JukeboxStatistics.setJukeboxTime(JukeboxStatistics.JukeboxTimes.PEOPLE_END, System.currentTimeMillis());
+                LOG.debug("Updated people information in {}", JukeboxStatistics.getProcessingTime(JukeboxStatistics.JukeboxTimes.PEOPLE_SCAN_END, JukeboxStatistics.JukeboxTimes.PEOPLE_END));
             }
 
             /*
@@ -1428,7 +1370,8 @@ public class MovieJukebox {
             }
             tasks.waitFor();
 
-            // Clear the cache if we've used it
+            // Save and clear the cache if we've used it
+            CacheMemory.saveCache();
             CacheMemory.clear();
             JukeboxStatistics.setJukeboxTime(JukeboxStatistics.JukeboxTimes.MASTERS_END, System.currentTimeMillis());
             SystemTools.showMemory();
@@ -1595,11 +1538,17 @@ public class MovieJukebox {
                 JukeboxStatistics.setJukeboxTime(JukeboxStatistics.JukeboxTimes.WRITE_PEOPLE_END, System.currentTimeMillis());
             }
 
+            if (!skipIndexGeneration && !skipHtmlGeneration) {
+                // The index pages are transformed once all the video and person XML files have been written
+                LOG.info("Writing Indexes HTML...");
+                LOG.info("  Video indexes...");
+                tasks.restart();
+                htmlWriter.submitMoviesIndexHTML(jukebox, library, tasks);
+                tasks.waitFor();
+            }
+
             if (!skipIndexGeneration) {
                 if (!skipHtmlGeneration) {
-                    LOG.info("Writing Indexes HTML...");
-                    LOG.info("  Video indexes...");
-                    htmlWriter.generateMoviesIndexHTML(jukebox, library, tasks);
                     LOG.info("  Category indexes...");
                     htmlWriter.generateMoviesCategoryHTML(jukebox, "Categories", "categories.xsl", library.isDirty());
 
@@ -1650,6 +1599,7 @@ public class MovieJukebox {
 
             FileTools.copyDir(jukebox.getJukeboxTempLocationDetails(), jukebox.getJukeboxRootLocationDetails(), Boolean.TRUE);
             FileTools.copyFile(new File(jukebox.getJukeboxTempLocation() + File.separator + index), new File(jukebox.getJukeboxRootLocation() + File.separator + index));
+            xmlWriter.saveIndexFingerprints(library);
 
             String skinDate = jukebox.getJukeboxRootLocationDetails() + File.separator + "pictures" + File.separator + "skin.date";
             File skinFile = new File(skinDate);
@@ -1726,8 +1676,19 @@ public class MovieJukebox {
 
             // clean up extracted attachments
             AttachmentScanner.cleanUp();
+
+            saveChangeJournal(library);
         }
 
+        // Keep the documents of all the jukebox XML files read during the run
+        JukeboxSnapshot.saveSnapshot();
+
+        // Show the web cache usage
+        YamjHttpClientBuilder.showStatus();
+
+        // Show the waits and the slow downs of the web hosts
+        HostLimiter.logStatistics();
+
         // Set the end time
         JukeboxStatistics.setTimeEnd(System.currentTimeMillis());
 
@@ -1742,19 +1703,212 @@ public class MovieJukebox {
         LOG.info("Processing took {}", JukeboxStatistics.getProcessingTime());
     }
 
-    private static boolean comparePersonId(Filmography aPerson, Filmography bPerson) {
-        String aValue, bValue;
-        for (Map.Entry<String, String> e : aPerson.getIdMap().entrySet()) {
-            aValue = e.getValue();
-            if (StringTools.isNotValidString(aValue)) {
-                continue;
+    /**
+     * Compare the scanned videos and the jukebox with the journal of the last run.
+     *
+     * The videos that have not changed are remembered, so only the changed videos are processed again.
+     *
+     * @param library
+     * @return true if nothing has changed since the last run
+     */
+    private boolean checkChangeJournal(Library library) {
+        changeJournal = new ChangeJournal(new File(jukebox.getJukeboxRootLocationDetailsFile(), JOURNAL_FILENAME));
+        FileTools.addJukeboxFile(JOURNAL_FILENAME);
+
+        settingsFingerprint = getSettingsFingerprint();
+        boolean changed = changeJournal.isFingerprintChanged(settingsFingerprint);
+        if (changed && !changeJournal.isEmpty()) {
+            LOG.info("The settings have changed since the last run, all videos will be processed");
+        }
+
+        for (Movie movie : library.values()) {
+            boolean movieChanged = changed;
+            for (MovieFile movieFile : movie.getMovieFiles()) {
+                File file = movieFile.getFile();
+                if (file != null) {
+                    // The directory changes when files like NFO, artwork or watched files are added or removed
+                    movieChanged |= changeJournal.isChanged(file);
+                    movieChanged |= file.getParentFile() != null && changeJournal.isChanged(file.getParentFile());
+                }
             }
-            bValue = bPerson.getId(e.getKey());
-            if (StringTools.isValidString(bValue) && aValue.equals(bValue)) {
-                return Boolean.TRUE;
+            movieChanged |= changeJournal.isChanged(getMovieXmlFile(movie));
+
+            if (!movieChanged) {
+                UNCHANGED_VIDEOS.add(movie.getBaseName());
             }
         }
-        return Boolean.FALSE;
+
+        // The watched files can be outside the folders of the videos
+        for (File watchedFile : WatchedScanner.getWatchedFiles()) {
+            changed |= changeJournal.isChanged(watchedFile);
+        }
+
+        // The files generated by the last run must not have been changed or removed from the jukebox
+        for (File jukeboxFile : changeJournal.getPreviousFiles(jukebox.getJukeboxRootLocationDetailsFile())) {
+            changed |= changeJournal.isChanged(jukeboxFile);
+        }
+        for (File jukeboxFile : getJournalJukeboxFiles()) {
+            changed |= changeJournal.isChanged(jukeboxFile);
+        }
+
+        // Removed videos and watched files
+        Collection<String> removed = changeJournal.getRemovedFiles();
+
+        if (!changed && !changeJournal.isEmpty()
+                && library.isNewCategoryExpired(changeJournal.getPreviousRunTime(), System.currentTimeMillis())) {
+            // The New categories are built from the date of the videos, so they must be built again
+            LOG.info("Videos have left the New categories since the last run");
+            changed = Boolean.TRUE;
+        }
+
+        int changedVideos = library.size() - UNCHANGED_VIDEOS.size();
+        LOG.info("{} of {} videos changed and {} files removed since the last run", changedVideos, library.size(), removed.size());
+
+        if (forcePosterOverwrite || forceThumbnailOverwrite || forceBannerOverwrite || forceSkinOverwrite || forceIndexOverwrite || forceFooterOverwrite
+                || PropertiesUtil.getBooleanProperty("mjb.forceXMLOverwrite", Boolean.FALSE)
+                || PropertiesUtil.getBooleanProperty("mjb.forceHTMLOverwrite", Boolean.FALSE)
+                || enableWatchTraktTv) {
+            // The jukebox must be processed in any case
+            return Boolean.FALSE;
+        }
+        return !changed && changedVideos == 0 && removed.isEmpty();
+    }
+
+    /**
+     * Record the state of the jukebox at the end of the run in the journal
+     *
+     * @param library
+     */
+    private static void saveChangeJournal(Library library) {
+        if (changeJournal == null) {
+            return;
+        }
+
+        if (ScanningLimit.isLimitReached()) {
+            // Not all videos have been processed, so process them all again next time
+            LOG.debug("Change journal not saved as the scanning limit was reached");
+            return;
+        }
+
+        for (Movie movie : library.values()) {
+            changeJournal.record(getMovieXmlFile(movie));
+        }
+        for (File jukeboxFile : getGeneratedJukeboxFiles()) {
+            changeJournal.record(jukeboxFile);
+        }
+        for (File jukeboxFile : getJournalJukeboxFiles()) {
+            changeJournal.record(jukeboxFile);
+        }
+        changeJournal.save(settingsFingerprint);
+    }
+
+    private static File getMovieXmlFile(Movie movie) {
+        return new File(jukebox.getJukeboxRootLocationDetailsFile(), movie.getBaseName() + EXT_DOT_XML);
+    }
+
+    /**
+     * Check if the details page or the artwork of the video in the jukebox have been changed or removed since the last run
+     *
+     * @param movie
+     * @return
+     */
+    private static boolean isJukeboxChanged(Movie movie) {
+        if (changeJournal == null) {
+            return Boolean.FALSE;
+        }
+
+        List<String> filenames = new ArrayList<>();
+        filenames.add(movie.getBaseName() + EXT_DOT_HTML);
+        filenames.add(movie.getPosterFilename());
+        filenames.add(movie.getDetailPosterFilename());
+        filenames.add(movie.getThumbnailFilename());
+        filenames.add(movie.getBannerFilename());
+        filenames.add(movie.getFanartFilename());
+        filenames.add(movie.getClearArtFilename());
+        filenames.add(movie.getClearLogoFilename());
+        filenames.add(movie.getSeasonThumbFilename());
+        filenames.add(movie.getTvThumbFilename());
+        filenames.add(movie.getMovieDiscFilename());
+        filenames.addAll(movie.getFooterFilename());
+
+        boolean changed = Boolean.FALSE;
+        for (String filename : filenames) {
+            if (StringTools.isValidString(filename)) {
+                changed |= changeJournal.isRecordedChanged(new File(jukebox.getJukeboxRootLocationDetailsFile(), filename));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * The files generated in the jukebox during this run
+     *
+     * The files written again at the end of every run are left out, as they always change.
+     *
+     * @return
+     */
+    private static List<File> getGeneratedJukeboxFiles() {
+        Set<String> filenames;
+        Collection<String> jukeboxFiles = FileTools.getJukeboxFiles();
+        synchronized (jukeboxFiles) {
+            filenames = new HashSet<>(jukeboxFiles);
+        }
+        filenames.removeAll(Arrays.asList(JOURNAL_FILENAME, "jukebox_details.xml", "jukebox_statistics.xml"));
+
+        List<File> files = new ArrayList<>();
+        addGeneratedFiles(files, jukebox.getJukeboxRootLocationDetailsFile(), filenames);
+        if (StringUtils.isNotBlank(peopleFolder)) {
+            addGeneratedFiles(files, new File(jukebox.getJukeboxRootLocationDetailsFile(), peopleFolder), filenames);
+        }
+        return files;
+    }
+
+    private static void addGeneratedFiles(List<File> files, File directory, Set<String> filenames) {
+        File[] directoryFiles = directory.listFiles();
+        if (directoryFiles == null) {
+            return;
+        }
+
+        for (File file : directoryFiles) {
+            if (file.isFile() && filenames.contains(file.getName())) {
+                files.add(file);
+            }
+        }
+    }
+
+    /**
+     * The jukebox files that must exist and not be changed for the jukebox to be up to date
+     *
+     * @return
+     */
+    private static List<File> getJournalJukeboxFiles() {
+        List<File> files = new ArrayList<>();
+        files.add(new File(jukebox.getJukeboxRootLocation(), getProperty("mjb.indexFile", "index.htm")));
+        files.add(new File(jukebox.getJukeboxRootLocationDetailsFile(), "Categories" + EXT_DOT_XML));
+        files.add(new File(jukebox.getJukeboxRootLocationDetailsFile(), "Watched"));
+        return files;
+    }
+
+    /**
+     * Create a fingerprint of the settings that change the content of the jukebox
+     *
+     * @return
+     */
+    private static String getSettingsFingerprint() {
+        StringBuilder settings = new StringBuilder(GitRepositoryState.getVersion());
+        settings.append('|').append(SkinProperties.getFileDate());
+        for (MediaLibraryPath mediaLibraryPath : mediaLibraryPaths) {
+            settings.append('|').append(mediaLibraryPath.toString());
+        }
+        // Sorted by name, so the fingerprint does not depend on the order of the properties
+        Map<String, String> properties = new TreeMap<>();
+        for (Map.Entry<Object, Object> property : PropertiesUtil.getEntrySet()) {
+            properties.put(String.valueOf(property.getKey()), String.valueOf(property.getValue()));
+        }
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            settings.append('|').append(property.getKey()).append('=').append(property.getValue());
+        }
+        return DigestUtils.md5Hex(settings.toString());
     }
 
     /**
@@ -1830,6 +1984,25 @@ public class MovieJukebox {
         }
     }
 
+    /**
+     * Count the person for its job, only mjb.people.maxCount people are scanned for each job of a video
+     *
+     * @param typeCounter the people counted for each job of the video
+     * @param job
+     * @return false if the maximum for the job is reached
+     */
+    private static boolean countPersonJob(Map<String, Integer> typeCounter, String job) {
+        Integer jobCount = typeCounter.get(job);
+        if (jobCount == null) {
+            typeCounter.put(job, 1);
+        } else if (jobCount == peopleMax) {
+            return false;
+        } else {
+            typeCounter.put(job, jobCount + 1);
+        }
+        return true;
+    }
+
     /**
      * Generates a movie XML file which contains data in the <tt>Movie</tt> bean.
      *
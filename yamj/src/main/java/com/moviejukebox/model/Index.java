@@ -23,7 +23,7 @@
 package com.moviejukebox.model;
 
 import com.moviejukebox.tools.StringTools;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
 import java.util.TreeMap;
@@ -66,7 +66,7 @@ public class Index extends TreeMap<String, List<Movie>> {
             if (maxCategories > 0 && size() >= maxCategories) {
                 return;
             }
-            list = new ArrayList<>();
+            list = new IndexCategory();
             put(category, list);
         }
 
@@ -75,6 +75,12 @@ public class Index extends TreeMap<String, List<Movie>> {
         }
     }
 
+    protected void addMovies(String category, Collection<Movie> movies) {
+        for (Movie movie : movies) {
+            addMovie(category, movie);
+        }
+    }
+
     public void removeMovie(String category, Movie movie) {
         if (StringTools.isNotValidString(category)) {
             return;
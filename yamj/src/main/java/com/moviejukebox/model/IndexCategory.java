@@ -0,0 +1,104 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The videos of an index category in insertion order.
+ *
+ * The videos are counted by identity as well, so checking if a video is in the category does not have to search the list. The
+ * list can be sorted and changed like any other list.
+ */
+final class IndexCategory extends AbstractList<Movie> implements RandomAccess {
+
+    private final List<Movie> movies = new ArrayList<>();
+    // Number of times each video is in the list
+    private final Map<Movie, Integer> counts = new IdentityHashMap<>();
+
+    @Override
+    public Movie get(int index) {
+        return movies.get(index);
+    }
+
+    @Override
+    public int size() {
+        return movies.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return counts.containsKey(o);
+    }
+
+    @Override
+    public void add(int index, Movie movie) {
+        movies.add(index, movie);
+        count(movie);
+        modCount++;
+    }
+
+    @Override
+    public Movie set(int index, Movie movie) {
+        Movie previous = movies.set(index, movie);
+        if (previous != movie) {
+            uncount(previous);
+            count(movie);
+        }
+        return previous;
+    }
+
+    @Override
+    public Movie remove(int index) {
+        Movie previous = movies.remove(index);
+        uncount(previous);
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        movies.clear();
+        counts.clear();
+        modCount++;
+    }
+
+    private void count(Movie movie) {
+        Integer count = counts.get(movie);
+        counts.put(movie, count == null ? 1 : count + 1);
+    }
+
+    private void uncount(Movie movie) {
+        Integer count = counts.get(movie);
+        if (count == null || count <= 1) {
+            counts.remove(movie);
+        } else {
+            counts.put(movie, count - 1);
+        }
+    }
+}
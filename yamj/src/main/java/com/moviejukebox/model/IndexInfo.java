@@ -25,6 +25,9 @@ package com.moviejukebox.model;
 import com.moviejukebox.tools.FileTools;
 import com.moviejukebox.tools.PropertiesUtil;
 import java.io.File;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -38,6 +41,8 @@ public class IndexInfo {
     public String baseName;
     public int videosPerPage, videosPerLine, pages;
     public boolean canSkip = true; // skip flags, global (all pages)
+    private final Set<Integer> unchangedPages = Collections.synchronizedSet(new HashSet<Integer>());
+    private final Set<Integer> generatedPages = Collections.synchronizedSet(new HashSet<Integer>());
 
     public IndexInfo(String category, String key, int pages, int videosPerPage, int videosPerLine, boolean canSkip) {
         this.categoryName = category;
@@ -67,6 +72,32 @@ public class IndexInfo {
         }
     }
 
+    /**
+     * Mark the page as having the same content as the page in the jukebox, so it is not written again
+     *
+     * @param page
+     */
+    public void setPageUnchanged(int page) {
+        unchangedPages.add(page);
+    }
+
+    public boolean isPageUnchanged(int page) {
+        return canSkip || unchangedPages.contains(page);
+    }
+
+    /**
+     * Mark the HTML files of the page as generated
+     *
+     * @param page
+     */
+    public void setPageGenerated(int page) {
+        generatedPages.add(page);
+    }
+
+    public boolean isPageGenerated(int page) {
+        return generatedPages.contains(page);
+    }
+
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this, ToStringStyle.SHORT_PREFIX_STYLE);
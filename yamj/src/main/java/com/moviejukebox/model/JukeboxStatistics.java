@@ -25,6 +25,7 @@ package com.moviejukebox.model;
 import java.io.File;
 import java.util.Collection;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TimeZone;
 
@@ -45,6 +46,8 @@ import com.moviejukebox.tools.DateTimeTools;
 import com.moviejukebox.tools.FileTools;
 import com.moviejukebox.tools.StringTools;
 import com.moviejukebox.tools.SystemTools;
+import com.moviejukebox.tools.cache.CacheMemory;
+import com.moviejukebox.tools.cache.CacheNamespace;
 
 /**
  * Class to store any statistics about the jukebox
@@ -81,6 +84,7 @@ public final class JukeboxStatistics {
         START,
         SCAN_END,
         PROCESSING_END,
+        PEOPLE_SCAN_END,
         PEOPLE_END,
         INDEXING_END,
         MASTERS_END,
@@ -192,7 +196,7 @@ public final class JukeboxStatistics {
      */
     public static String getProcessingTime(JukeboxTimes timeStart, JukeboxTimes timeEnd) {
         if (TIMES.containsKey(timeStart) && TIMES.containsKey(timeEnd)) {
-            DateTime processTime = new DateTime(TIMES.get(JukeboxTimes.END) - TIMES.get(JukeboxTimes.START));
+            DateTime processTime = new DateTime(TIMES.get(timeEnd) - TIMES.get(timeStart));
             return processTime.toString(DEFAULT_FORMAT, TimeZone.getTimeZone(DEFAULT_TZ));
         }
         return StringUtils.EMPTY;
@@ -260,6 +264,15 @@ public final class JukeboxStatistics {
             }
         }
 
+        // Add the cache usage
+        for (CacheNamespace namespace : CacheMemory.getNamespaces()) {
+            statOutput.append("Cache ").append(namespace.getName());
+            statOutput.append(" = ").append(namespace.getHits()).append(" hits, ");
+            statOutput.append(namespace.getMisses()).append(" misses, ");
+            statOutput.append(namespace.getEvictions()).append(" evictions, ");
+            statOutput.append(namespace.getCoalesced()).append(" coalesced\n");
+        }
+
         // Add the processing time
         String processTime = getProcessingTime();
         if (StringTools.isValidString(processTime)) {
@@ -326,6 +339,19 @@ public final class JukeboxStatistics {
             }
             DOMHelper.appendChild(docJbStats, eTimes, "processing", getProcessingTime());
 
+            // Create the cache node
+            Element eCache = docJbStats.createElement("cache");
+            eRoot.appendChild(eCache);
+
+            for (CacheNamespace namespace : CacheMemory.getNamespaces()) {
+                Map<String, String> attributes = new LinkedHashMap<>();
+                attributes.put("hits", Long.toString(namespace.getHits()));
+                attributes.put("misses", Long.toString(namespace.getMisses()));
+                attributes.put("evictions", Long.toString(namespace.getEvictions()));
+                attributes.put("coalesced", Long.toString(namespace.getCoalesced()));
+                DOMHelper.appendChild(docJbStats, eCache, "namespace", namespace.getName(), attributes);
+            }
+
             DOMHelper.writeDocumentToFile(docJbStats, jbStats.getAbsolutePath());
         } catch (ParserConfigurationException | DOMException ex) {
             LOG.error("Error creating {} file: {}", jbStats.getName(), ex.getMessage());
@@ -93,6 +93,8 @@ public class Library implements Map<String, Movie> {
     private static boolean removeTitleExplodeSet = false;
     private static String setsRating = "first";
     private static final String INDEX_LIST;
+    // Minimum number of videos indexed by each task
+    private static final int MIN_INDEX_PART_SIZE = 1000;
     private static final List<String> AWARD_EVENT_LIST;
     private static final List<String> AWARD_NAME_LIST;
     private static final List<String> AWARD_NOMINATED;
@@ -551,9 +553,11 @@ public class Library implements Map<String, Movie> {
     protected static void compressSetMovies(List<Movie> movies, Index index, Map<String, Movie> masters, String indexName, String subIndexName) {
         // Construct an index that includes only the intersection of movies and index
         Index inMovies = new Index();
+        Set<Movie> movieSet = Collections.newSetFromMap(new IdentityHashMap<Movie, Boolean>());
+        movieSet.addAll(movies);
         for (Map.Entry<String, List<Movie>> indexEntry : index.entrySet()) {
             for (Movie m : indexEntry.getValue()) {
-                if (movies.contains(m)) {
+                if (movieSet.contains(m)) {
                     inMovies.addMovie(indexEntry.getKey(), m);
                 }
             }
@@ -589,62 +593,8 @@ public class Library implements Map<String, Movie> {
             // Add the sets FIRST! That allows users to put series inside sets
             dynamicIndexes.put(SET, indexBySets(indexMovies));
 
-            final Map<String, Index> syncindexes = Collections.synchronizedMap(indexes);
-
-            for (final String indexStr : INDEX_LIST.split(",")) {
-                tasks.submit(new Callable<Void>() {
-                    @Override
-                    public Void call() {
-                        SystemTools.showMemory();
-                        LOG.info("  Indexing {}...", indexStr);
-                        switch (indexStr) {
-                            case INDEX_OTHER:
-                                syncindexes.put(INDEX_OTHER, indexByProperties(indexMovies));
-                                break;
-                            case INDEX_GENRES:
-                                syncindexes.put(INDEX_GENRES, indexByGenres(indexMovies));
-                                break;
-                            case INDEX_TITLE:
-                                syncindexes.put(INDEX_TITLE, indexByTitle(indexMovies));
-                                break;
-                            case INDEX_CERTIFICATION:
-                                syncindexes.put(INDEX_CERTIFICATION, indexByCertification(indexMovies));
-                                break;
-                            case INDEX_YEAR:
-                                syncindexes.put(INDEX_YEAR, indexByYear(indexMovies));
-                                break;
-                            case INDEX_LIBRARY:
-                                syncindexes.put(INDEX_LIBRARY, indexByLibrary(indexMovies));
-                                break;
-                            case INDEX_CAST:
-                                syncindexes.put(INDEX_CAST, indexByCast(indexMovies));
-                                break;
-                            case INDEX_DIRECTOR:
-                                syncindexes.put(INDEX_DIRECTOR, indexByDirector(indexMovies));
-                                break;
-                            case INDEX_COUNTRY:
-                                syncindexes.put(INDEX_COUNTRY, indexByCountry(indexMovies));
-                                break;
-                            case INDEX_WRITER:
-                                syncindexes.put(INDEX_WRITER, indexByWriter(indexMovies));
-                                break;
-                            case INDEX_AWARD:
-                                syncindexes.put(INDEX_AWARD, indexByAward(indexMovies));
-                                break;
-                            case INDEX_PERSON:
-                                syncindexes.put(INDEX_PERSON, indexByPerson(indexMovies));
-                                break;
-                            case INDEX_RATINGS:
-                                syncindexes.put(INDEX_RATINGS, indexByRatings(indexMovies));
-                                break;
-                            default:
-                                break;
-                        }
-                        return null;
-                    }
-                });
-            }
-            tasks.waitFor();
+            // All the indexes are built with a single pass over the videos, split by processor instead of by index
+            indexes.putAll(indexMovies(splitMovies(indexMovies), Arrays.asList(INDEX_LIST.split(",")), tasks));
             SystemTools.showMemory();
 
             // Make a "copy" of uncompressed index
@@ -685,6 +635,21 @@ public class Library implements Map<String, Movie> {
 
             // OK, now that all the index masters are in-place, sort everything.
             LOG.info("  Sorting Indexes ...");
+            // Read the sort values of the videos and masters once, the comparators only use these keys
+            for (final List<Movie> part : splitMovies(moviesList)) {
+                tasks.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        for (Movie movie : part) {
+                            movie.buildSortKeys();
+                        }
+                        return null;
+                    }
+                });
+            }
+            tasks.waitFor();
+            tasks.restart();
+
             for (final Map.Entry<String, Index> indexesEntry : indexes.entrySet()) {
                 for (final Map.Entry<String, List<Movie>> indexEntry : indexesEntry.getValue().entrySet()) {
                     tasks.submit(new Callable<Void>() {
@@ -762,6 +727,11 @@ public class Library implements Map<String, Movie> {
             }
             Collections.sort(indexMovies);
             setMovieListNavigation(indexMovies);
+
+            // The videos can change after the sort, the comparators read them again
+            for (Movie movie : moviesList) {
+                movie.clearSortKeys();
+            }
             SystemTools.showMemory();
         }
 
@@ -900,193 +870,324 @@ public class Library implements Map<String, Movie> {
         }
     }
 
-    private static Index indexByTitle(Iterable<Movie> moviesList) {
-        Index index = new Index();
-        for (Movie movie : moviesList) {
-            if (!movie.isExtra() && (!removeTitleExplodeSet || !movie.isSetMaster())) {
-                String title = movie.getStrippedTitleSort();
-                if (title.length() > 0) {
-                    Character firstCharacter = Character.toUpperCase(title.charAt(0));
-
-                    if (!Character.isLetter(firstCharacter)) {
-                        index.addMovie("09", movie);
-                        movie.addIndex(INDEX_TITLE, "09");
-                    } else if (charGroupEnglish && ((firstCharacter >= 'A' && firstCharacter <= 'Z') || (firstCharacter >= 'a' && firstCharacter <= 'z'))) {
-                        index.addMovie("AZ", movie);
-                        movie.addIndex(INDEX_TITLE, "AZ");
-                    } else {
-                        String newChar = StringTools.characterMapReplacement(firstCharacter);
-                        index.addMovie(newChar, movie);
-                        movie.addIndex(INDEX_TITLE, newChar);
+    /**
+     * Build all the indexes of the list with a single pass over each part of the videos
+     *
+     * @param parts the videos to index, the videos of each part are indexed by a separate task
+     * @param indexNames
+     * @param tasks
+     * @return the indexes of all the parts
+     * @throws Throwable
+     */
+    private static Map<String, Index> indexMovies(List<List<Movie>> parts, final Collection<String> indexNames, ThreadExecutor<Void> tasks) throws Throwable {
+        final long now = System.currentTimeMillis();
+        List<Map<String, Index>> partIndexes = new ArrayList<>(parts.size());
+        for (final List<Movie> part : parts) {
+            final Map<String, Index> partIndex = createIndexes(indexNames);
+            partIndexes.add(partIndex);
+            tasks.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    SystemTools.showMemory();
+                    LOG.info("  Indexing {} videos...", part.size());
+                    for (Movie movie : part) {
+                        indexMovie(partIndex, movie, now);
                     }
+                    return null;
+                }
+            });
+        }
+        tasks.waitFor();
+
+        // Merge the parts in order, so the categories keep the order of the videos
+        Map<String, Index> merged = partIndexes.get(0);
+        for (Map<String, Index> partIndex : partIndexes.subList(1, partIndexes.size())) {
+            for (Map.Entry<String, Index> partEntry : partIndex.entrySet()) {
+                Index index = merged.get(partEntry.getKey());
+                for (Map.Entry<String, List<Movie>> categoryEntry : partEntry.getValue().entrySet()) {
+                    index.addMovies(categoryEntry.getKey(), categoryEntry.getValue());
                 }
             }
         }
-        return index;
+        return merged;
     }
 
-    private static Index indexByYear(Iterable<Movie> moviesList) {
-        Index index = new Index();
-        for (Movie movie : moviesList) {
-            if (!movie.isExtra()) {
-                String year = getYearCategory(movie.getYear());
-                if (null != year) {
-                    index.addMovie(year, movie);
-                    movie.addIndex(INDEX_YEAR, year);
-                }
+    /**
+     * Split the videos into one part for each processor, small libraries are not split
+     *
+     * @param movies
+     * @return
+     */
+    private static List<List<Movie>> splitMovies(List<Movie> movies) {
+        int partCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), movies.size() / MIN_INDEX_PART_SIZE));
+        int partSize = (movies.size() + partCount - 1) / partCount;
+        List<List<Movie>> parts = new ArrayList<>(partCount);
+        for (int start = 0; start < movies.size(); start += partSize) {
+            parts.add(movies.subList(start, Math.min(start + partSize, movies.size())));
+        }
+        return parts;
+    }
+
+    /**
+     * Create the empty indexes for the index names, unknown names are ignored
+     *
+     * @param indexNames
+     * @return
+     */
+    private static Map<String, Index> createIndexes(Collection<String> indexNames) {
+        Map<String, Index> indexes = new LinkedHashMap<>();
+        for (String indexName : indexNames) {
+            switch (indexName) {
+                case INDEX_CERTIFICATION:
+                    if (CERTIFICATION_ORDERING.isEmpty()) {
+                        indexes.put(indexName, new Index());
+                    } else {
+                        indexes.put(indexName, new Index(new CertificationComparator(CERTIFICATION_ORDERING)));
+                    }
+                    break;
+                case INDEX_OTHER:
+                case INDEX_GENRES:
+                case INDEX_TITLE:
+                case INDEX_YEAR:
+                case INDEX_LIBRARY:
+                case INDEX_CAST:
+                case INDEX_DIRECTOR:
+                case INDEX_COUNTRY:
+                case INDEX_WRITER:
+                case INDEX_AWARD:
+                case INDEX_PERSON:
+                case INDEX_RATINGS:
+                    indexes.put(indexName, new Index(true));
+                    break;
+                default:
+                    break;
             }
         }
-        return index;
+        return indexes;
     }
 
-    private static Index indexByLibrary(Iterable<Movie> moviesList) {
-        Index index = new Index();
-        for (Movie movie : moviesList) {
-            if (!movie.isExtra() && movie.getLibraryDescription().length() > 0) {
-                index.addMovie(movie.getLibraryDescription(), movie);
-                movie.addIndex(INDEX_LIBRARY, movie.getLibraryDescription());
+    /**
+     * Add the video to each of the indexes
+     *
+     * @param indexes
+     * @param movie
+     * @param now the time the indexing started
+     */
+    private static void indexMovie(Map<String, Index> indexes, Movie movie, long now) {
+        for (Map.Entry<String, Index> indexEntry : indexes.entrySet()) {
+            Index index = indexEntry.getValue();
+            switch (indexEntry.getKey()) {
+                case INDEX_OTHER:
+                    indexByProperties(index, movie, now);
+                    break;
+                case INDEX_GENRES:
+                    indexByGenres(index, movie);
+                    break;
+                case INDEX_TITLE:
+                    indexByTitle(index, movie);
+                    break;
+                case INDEX_CERTIFICATION:
+                    indexByCertification(index, movie);
+                    break;
+                case INDEX_YEAR:
+                    indexByYear(index, movie);
+                    break;
+                case INDEX_LIBRARY:
+                    indexByLibrary(index, movie);
+                    break;
+                case INDEX_CAST:
+                    indexByCast(index, movie);
+                    break;
+                case INDEX_DIRECTOR:
+                    indexByDirector(index, movie);
+                    break;
+                case INDEX_COUNTRY:
+                    indexByCountry(index, movie);
+                    break;
+                case INDEX_WRITER:
+                    indexByWriter(index, movie);
+                    break;
+                case INDEX_AWARD:
+                    indexByAward(index, movie);
+                    break;
+                case INDEX_PERSON:
+                    indexByPerson(index, movie);
+                    break;
+                case INDEX_RATINGS:
+                    indexByRatings(index, movie);
+                    break;
+                default:
+                    break;
             }
         }
-        return index;
     }
 
-    private static Index indexByGenres(Iterable<Movie> moviesList) {
+    private static Index indexByTitle(Iterable<Movie> moviesList) {
         Index index = new Index();
         for (Movie movie : moviesList) {
-            if (!movie.isExtra()) {
-                int cntGenres = 0;
-                for (String genre : movie.getGenres()) {
-                    if (cntGenres < maxGenresPerMovie) {
-                        index.addMovie(getIndexingGenre(genre), movie);
-                        movie.addIndex(INDEX_GENRES, getIndexingGenre(genre));
-                        ++cntGenres;
-                    }
+            indexByTitle(index, movie);
+        }
+        return index;
+    }
+
+    private static void indexByTitle(Index index, Movie movie) {
+        if (!movie.isExtra() && (!removeTitleExplodeSet || !movie.isSetMaster())) {
+            String title = movie.getStrippedTitleSort();
+            if (title.length() > 0) {
+                Character firstCharacter = Character.toUpperCase(title.charAt(0));
+
+                if (!Character.isLetter(firstCharacter)) {
+                    index.addMovie("09", movie);
+                    movie.addIndex(INDEX_TITLE, "09");
+                } else if (charGroupEnglish && ((firstCharacter >= 'A' && firstCharacter <= 'Z') || (firstCharacter >= 'a' && firstCharacter <= 'z'))) {
+                    index.addMovie("AZ", movie);
+                    movie.addIndex(INDEX_TITLE, "AZ");
+                } else {
+                    String newChar = StringTools.characterMapReplacement(firstCharacter);
+                    index.addMovie(newChar, movie);
+                    movie.addIndex(INDEX_TITLE, newChar);
                 }
             }
         }
-        return index;
     }
 
-    private static Index indexByCertification(Iterable<Movie> moviesList) {
-        Index index;
-        if (CERTIFICATION_ORDERING.isEmpty()) {
-            index = new Index();
-        } else {
-            index = new Index(new CertificationComparator(CERTIFICATION_ORDERING));
+    private static void indexByYear(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            String year = getYearCategory(movie.getYear());
+            if (null != year) {
+                index.addMovie(year, movie);
+                movie.addIndex(INDEX_YEAR, year);
+            }
         }
+    }
 
-        for (Movie movie : moviesList) {
-            if (!movie.isExtra()) {
-                index.addMovie(getIndexingCertification(movie.getCertification()), movie);
-                movie.addIndex(INDEX_CERTIFICATION, getIndexingCertification(movie.getCertification()));
+    private static void indexByLibrary(Index index, Movie movie) {
+        if (!movie.isExtra() && movie.getLibraryDescription().length() > 0) {
+            index.addMovie(movie.getLibraryDescription(), movie);
+            movie.addIndex(INDEX_LIBRARY, movie.getLibraryDescription());
+        }
+    }
+
+    private static void indexByGenres(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            int cntGenres = 0;
+            for (String genre : movie.getGenres()) {
+                if (cntGenres < maxGenresPerMovie) {
+                    String indexingGenre = getIndexingGenre(genre);
+                    index.addMovie(indexingGenre, movie);
+                    movie.addIndex(INDEX_GENRES, indexingGenre);
+                    ++cntGenres;
+                }
             }
         }
-        return index;
+    }
+
+    private static void indexByCertification(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            String certification = getIndexingCertification(movie.getCertification());
+            index.addMovie(certification, movie);
+            movie.addIndex(INDEX_CERTIFICATION, certification);
+        }
     }
 
     /**
-     * Index the videos by the property values This is slightly different from the other indexes as there may be multiple entries
+     * Index the video by the property values This is slightly different from the other indexes as there may be multiple entries
      * for each of the videos
      *
-     * @param moviesList
-     * @return
+     * @param index
+     * @param movie
+     * @param now the time the indexing started
      */
-    private static Index indexByProperties(Iterable<Movie> moviesList) {
-        Index index = new Index();
-        long now = System.currentTimeMillis();
-        for (Movie movie : moviesList) {
-            if (movie.isExtra()) {
-                // Issue 997: Skip the processing of extras
-                if (processExtras && CATEGORIES_MAP.get(INDEX_EXTRAS) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_EXTRAS), movie);
-                    movie.addIndex(INDEX_EXTRAS, CATEGORIES_MAP.get(INDEX_EXTRAS));
-                }
-            } else {
-                if (movie.isHD()) {
-                    if (splitHD) {
-                        // Split the HD category into two categories: HD-720 and HD-1080
-                        if (movie.isHD1080()) {
-                            if (CATEGORIES_MAP.get(INDEX_HD1080) != null) {
-                                index.addMovie(CATEGORIES_MAP.get(INDEX_HD1080), movie);
-                                movie.addIndex(INDEX_HD, CATEGORIES_MAP.get(INDEX_HD1080));
-                            }
-                        } else if (CATEGORIES_MAP.get(INDEX_HD720) != null) {
-                            index.addMovie(CATEGORIES_MAP.get(INDEX_HD720), movie);
-                            movie.addIndex(INDEX_HD, CATEGORIES_MAP.get(INDEX_HD720));
+    private static void indexByProperties(Index index, Movie movie, long now) {
+        if (movie.isExtra()) {
+            // Issue 997: Skip the processing of extras
+            if (processExtras && CATEGORIES_MAP.get(INDEX_EXTRAS) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_EXTRAS), movie);
+                movie.addIndex(INDEX_EXTRAS, CATEGORIES_MAP.get(INDEX_EXTRAS));
+            }
+        } else {
+            if (movie.isHD()) {
+                if (splitHD) {
+                    // Split the HD category into two categories: HD-720 and HD-1080
+                    if (movie.isHD1080()) {
+                        if (CATEGORIES_MAP.get(INDEX_HD1080) != null) {
+                            index.addMovie(CATEGORIES_MAP.get(INDEX_HD1080), movie);
+                            movie.addIndex(INDEX_HD, CATEGORIES_MAP.get(INDEX_HD1080));
                         }
-                    } else if (CATEGORIES_MAP.get(INDEX_HD) != null) {
-                        index.addMovie(CATEGORIES_MAP.get(INDEX_HD), movie);
-                        movie.addIndex(INDEX_HD, CATEGORIES_MAP.get(INDEX_HD));
+                    } else if (CATEGORIES_MAP.get(INDEX_HD720) != null) {
+                        index.addMovie(CATEGORIES_MAP.get(INDEX_HD720), movie);
+                        movie.addIndex(INDEX_HD, CATEGORIES_MAP.get(INDEX_HD720));
                     }
+                } else if (CATEGORIES_MAP.get(INDEX_HD) != null) {
+                    index.addMovie(CATEGORIES_MAP.get(INDEX_HD), movie);
+                    movie.addIndex(INDEX_HD, CATEGORIES_MAP.get(INDEX_HD));
                 }
+            }
 
-                if (movie.is3D() && CATEGORIES_MAP.get(INDEX_3D) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_3D), movie);
-                    movie.addIndex(INDEX_3D, CATEGORIES_MAP.get(INDEX_3D));
-                }
+            if (movie.is3D() && CATEGORIES_MAP.get(INDEX_3D) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_3D), movie);
+                movie.addIndex(INDEX_3D, CATEGORIES_MAP.get(INDEX_3D));
+            }
 
-                if (movie.getTop250() > 0 && CATEGORIES_MAP.get(INDEX_TOP250) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_TOP250), movie);
-                    movie.addIndex(INDEX_TOP250, CATEGORIES_MAP.get(INDEX_TOP250));
-                }
+            if (movie.getTop250() > 0 && CATEGORIES_MAP.get(INDEX_TOP250) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_TOP250), movie);
+                movie.addIndex(INDEX_TOP250, CATEGORIES_MAP.get(INDEX_TOP250));
+            }
 
-                if (movie.getRating() > 0 && CATEGORIES_MAP.get(INDEX_RATING) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_RATING), movie);
-                    movie.addIndex(INDEX_RATING, CATEGORIES_MAP.get(INDEX_RATING));
-                }
+            if (movie.getRating() > 0 && CATEGORIES_MAP.get(INDEX_RATING) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_RATING), movie);
+                movie.addIndex(INDEX_RATING, CATEGORIES_MAP.get(INDEX_RATING));
+            }
 
-                if (ENABLE_WATCH_SCANNER) { // Issue 1938 don't create watched/unwatched indexes if scanner is disabled
-                    // Add to the Watched or Unwatched category
-                    if (movie.isWatched()) {
-                        index.addMovie(CATEGORIES_MAP.get(INDEX_WATCHED), movie);
-                        movie.addIndex(INDEX_WATCHED, CATEGORIES_MAP.get(INDEX_WATCHED));
-                    } else {
-                        index.addMovie(CATEGORIES_MAP.get(INDEX_UNWATCHED), movie);
-                        movie.addIndex(INDEX_UNWATCHED, CATEGORIES_MAP.get(INDEX_UNWATCHED));
-                    }
+            if (ENABLE_WATCH_SCANNER) { // Issue 1938 don't create watched/unwatched indexes if scanner is disabled
+                // Add to the Watched or Unwatched category
+                if (movie.isWatched()) {
+                    index.addMovie(CATEGORIES_MAP.get(INDEX_WATCHED), movie);
+                    movie.addIndex(INDEX_WATCHED, CATEGORIES_MAP.get(INDEX_WATCHED));
+                } else {
+                    index.addMovie(CATEGORIES_MAP.get(INDEX_UNWATCHED), movie);
+                    movie.addIndex(INDEX_UNWATCHED, CATEGORIES_MAP.get(INDEX_UNWATCHED));
                 }
+            }
 
-                // Add to the New Movie category
-                if (!movie.isTVShow() && (newMovieDays > 0) && (now - movie.getLastModifiedTimestamp() <= newMovieDays) && !(movie.isWatched() && hideWatched && ENABLE_WATCH_SCANNER)) {
-                    if (CATEGORIES_MAP.get(INDEX_NEW_MOVIE) != null) {
-                        index.addMovie(CATEGORIES_MAP.get(INDEX_NEW_MOVIE), movie);
-                        movie.addIndex(INDEX_NEW_MOVIE, CATEGORIES_MAP.get(INDEX_NEW_MOVIE));
-                    }
+            // Add to the New Movie category
+            if (!movie.isTVShow() && (newMovieDays > 0) && (now - movie.getLastModifiedTimestamp() <= newMovieDays) && !(movie.isWatched() && hideWatched && ENABLE_WATCH_SCANNER)) {
+                if (CATEGORIES_MAP.get(INDEX_NEW_MOVIE) != null) {
+                    index.addMovie(CATEGORIES_MAP.get(INDEX_NEW_MOVIE), movie);
+                    movie.addIndex(INDEX_NEW_MOVIE, CATEGORIES_MAP.get(INDEX_NEW_MOVIE));
                 }
+            }
 
-                // Add to the New TV category
-                if (movie.isTVShow()
-                        && (newTvDays > 0)
-                        && (now - movie.getLastModifiedTimestamp() <= newTvDays)
-                        && !(movie.isWatched() && hideWatched && ENABLE_WATCH_SCANNER)
-                        && CATEGORIES_MAP.get(INDEX_NEW_TV) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_NEW_TV), movie);
-                    movie.addIndex(INDEX_NEW_TV, CATEGORIES_MAP.get(INDEX_NEW_TV));
-                }
+            // Add to the New TV category
+            if (movie.isTVShow()
+                    && (newTvDays > 0)
+                    && (now - movie.getLastModifiedTimestamp() <= newTvDays)
+                    && !(movie.isWatched() && hideWatched && ENABLE_WATCH_SCANNER)
+                    && CATEGORIES_MAP.get(INDEX_NEW_TV) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_NEW_TV), movie);
+                movie.addIndex(INDEX_NEW_TV, CATEGORIES_MAP.get(INDEX_NEW_TV));
+            }
 
-                if (CATEGORIES_MAP.get(INDEX_ALL) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_ALL), movie);
-                    movie.addIndex(INDEX_ALL, CATEGORIES_MAP.get(INDEX_ALL));
-                }
+            if (CATEGORIES_MAP.get(INDEX_ALL) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_ALL), movie);
+                movie.addIndex(INDEX_ALL, CATEGORIES_MAP.get(INDEX_ALL));
+            }
 
-                if (movie.isTVShow()) {
-                    if (CATEGORIES_MAP.get(INDEX_TVSHOWS) != null) {
-                        index.addMovie(CATEGORIES_MAP.get(INDEX_TVSHOWS), movie);
-                        movie.addIndex(INDEX_TVSHOWS, CATEGORIES_MAP.get(INDEX_TVSHOWS));
-                    }
-                } else if (CATEGORIES_MAP.get(INDEX_MOVIES) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_MOVIES), movie);
-                    movie.addIndex(INDEX_MOVIES, CATEGORIES_MAP.get(INDEX_MOVIES));
+            if (movie.isTVShow()) {
+                if (CATEGORIES_MAP.get(INDEX_TVSHOWS) != null) {
+                    index.addMovie(CATEGORIES_MAP.get(INDEX_TVSHOWS), movie);
+                    movie.addIndex(INDEX_TVSHOWS, CATEGORIES_MAP.get(INDEX_TVSHOWS));
                 }
+            } else if (CATEGORIES_MAP.get(INDEX_MOVIES) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_MOVIES), movie);
+                movie.addIndex(INDEX_MOVIES, CATEGORIES_MAP.get(INDEX_MOVIES));
+            }
 
-                if (!movie.isTVShow() && (!movie.getSetsKeys().isEmpty()) && CATEGORIES_MAP.get(INDEX_SETS) != null) {
-                    index.addMovie(CATEGORIES_MAP.get(INDEX_SETS), movie);
-                    movie.addIndex(INDEX_SETS, CATEGORIES_MAP.get(INDEX_SETS));
-                }
+            if (!movie.isTVShow() && (!movie.getSetsKeys().isEmpty()) && CATEGORIES_MAP.get(INDEX_SETS) != null) {
+                index.addMovie(CATEGORIES_MAP.get(INDEX_SETS), movie);
+                movie.addIndex(INDEX_SETS, CATEGORIES_MAP.get(INDEX_SETS));
             }
         }
-
-        return index;
     }
 
     protected static Index indexBySets(List<Movie> list) {
@@ -1108,31 +1209,26 @@ public class Library implements Map<String, Movie> {
         return index;
     }
 
-    protected static Index indexByCast(List<Movie> list) {
-        Index index = new Index(true);
-        for (Movie movie : list) {
-            if (!movie.isExtra()) {
-                if (peopleScan && peopleExclusive) {
-                    for (Filmography person : movie.getPeople()) {
-                        if (!person.getDepartment().equalsIgnoreCase(Filmography.DEPT_ACTORS) || (completePerson && StringTools.isNotValidString(person.getFilename()))) {
-                            continue;
-                        }
-                        String actor = person.getTitle();
-                        LOG.debug(ADDING_TO_LIST, movie.getTitle(), "cast", actor);
-                        index.addMovie(actor, movie);
-                        movie.addIndex(INDEX_ACTOR, actor);
-                    }
-                } else {
-                    for (String actor : movie.getCast()) {
-                        LOG.debug(ADDING_TO_LIST, movie.getTitle(), "cast", actor);
-                        index.addMovie(actor, movie);
-                        movie.addIndex(INDEX_ACTOR, actor);
+    private static void indexByCast(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            if (peopleScan && peopleExclusive) {
+                for (Filmography person : movie.getPeople()) {
+                    if (!person.getDepartment().equalsIgnoreCase(Filmography.DEPT_ACTORS) || (completePerson && StringTools.isNotValidString(person.getFilename()))) {
+                        continue;
                     }
+                    String actor = person.getTitle();
+                    LOG.debug(ADDING_TO_LIST, movie.getTitle(), "cast", actor);
+                    index.addMovie(actor, movie);
+                    movie.addIndex(INDEX_ACTOR, actor);
+                }
+            } else {
+                for (String actor : movie.getCast()) {
+                    LOG.debug(ADDING_TO_LIST, movie.getTitle(), "cast", actor);
+                    index.addMovie(actor, movie);
+                    movie.addIndex(INDEX_ACTOR, actor);
                 }
             }
         }
-
-        return index;
     }
 
     protected void indexByJob(List<Person> list, String job, String index) {
@@ -1196,154 +1292,123 @@ public class Library implements Map<String, Movie> {
         return PropertiesUtil.getIntProperty(propertyName.toString(), defaultValue);
     }
 
-    protected static Index indexByCountry(List<Movie> list) {
-        Index index = new Index(true);
-        for (Movie movie : list) {
-            if (!movie.isExtra()) {
-                for (String country : movie.getCountries()) {
-                    index.addMovie(country, movie);
-                    movie.addIndex(INDEX_COUNTRY, country);
-                }
+    private static void indexByCountry(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            for (String country : movie.getCountries()) {
+                index.addMovie(country, movie);
+                movie.addIndex(INDEX_COUNTRY, country);
             }
         }
-
-        return index;
     }
 
-    protected static Index indexByDirector(List<Movie> list) {
-        Index index = new Index(true);
-        for (Movie movie : list) {
-            if (!movie.isExtra()) {
-                if (peopleScan && peopleExclusive) {
-                    for (Filmography person : movie.getPeople()) {
-                        if (!person.getDepartment().equalsIgnoreCase(Filmography.DEPT_DIRECTING) || (completePerson && StringTools.isNotValidString(person.getFilename()))) {
-                            continue;
-                        }
-                        String director = person.getTitle();
-                        LOG.debug(ADDING_TO_LIST, movie.getTitle(), "director", director);
-                        index.addMovie(director, movie);
-                        movie.addIndex(INDEX_DIRECTOR, director);
-                    }
-                } else {
-                    for (String director : movie.getDirectors()) {
-                        LOG.debug(ADDING_TO_LIST, movie.getTitle(), "director", director);
-                        index.addMovie(director, movie);
-                        movie.addIndex(INDEX_DIRECTOR, director);
+    private static void indexByDirector(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            if (peopleScan && peopleExclusive) {
+                for (Filmography person : movie.getPeople()) {
+                    if (!person.getDepartment().equalsIgnoreCase(Filmography.DEPT_DIRECTING) || (completePerson && StringTools.isNotValidString(person.getFilename()))) {
+                        continue;
                     }
+                    String director = person.getTitle();
+                    LOG.debug(ADDING_TO_LIST, movie.getTitle(), "director", director);
+                    index.addMovie(director, movie);
+                    movie.addIndex(INDEX_DIRECTOR, director);
+                }
+            } else {
+                for (String director : movie.getDirectors()) {
+                    LOG.debug(ADDING_TO_LIST, movie.getTitle(), "director", director);
+                    index.addMovie(director, movie);
+                    movie.addIndex(INDEX_DIRECTOR, director);
                 }
             }
         }
-
-        return index;
     }
 
-    protected static Index indexByWriter(List<Movie> list) {
-        Index index = new Index(true);
-        for (Movie movie : list) {
-            if (!movie.isExtra()) {
-                if (peopleScan && peopleExclusive) {
-                    for (Filmography person : movie.getPeople()) {
-                        if (!person.getDepartment().equalsIgnoreCase(Filmography.DEPT_WRITING) || (completePerson && StringTools.isNotValidString(person.getFilename()))) {
-                            continue;
-                        }
-                        String writer = person.getTitle();
-                        LOG.debug(ADDING_TO_LIST, movie.getTitle(), "writer", writer);
-                        index.addMovie(writer, movie);
-                        movie.addIndex(INDEX_WRITER, writer);
-                    }
-                } else {
-                    for (String writer : movie.getWriters()) {
-                        LOG.debug(ADDING_TO_LIST, movie.getTitle(), "writer", writer);
-                        index.addMovie(writer, movie);
-                        movie.addIndex(INDEX_WRITER, writer);
+    private static void indexByWriter(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            if (peopleScan && peopleExclusive) {
+                for (Filmography person : movie.getPeople()) {
+                    if (!person.getDepartment().equalsIgnoreCase(Filmography.DEPT_WRITING) || (completePerson && StringTools.isNotValidString(person.getFilename()))) {
+                        continue;
                     }
+                    String writer = person.getTitle();
+                    LOG.debug(ADDING_TO_LIST, movie.getTitle(), "writer", writer);
+                    index.addMovie(writer, movie);
+                    movie.addIndex(INDEX_WRITER, writer);
+                }
+            } else {
+                for (String writer : movie.getWriters()) {
+                    LOG.debug(ADDING_TO_LIST, movie.getTitle(), "writer", writer);
+                    index.addMovie(writer, movie);
+                    movie.addIndex(INDEX_WRITER, writer);
                 }
             }
         }
-
-        return index;
     }
 
-    protected static Index indexByAward(List<Movie> list) {
-        Index index = new Index(true);
-        for (Movie movie : list) {
-            if (!movie.isExtra()) {
-                for (AwardEvent awardEvent : movie.getAwards()) {
-                    String awardName = awardEvent.getName();
-                    boolean found = AWARD_EVENT_LIST.isEmpty() && AWARD_NAME_LIST.isEmpty();
-                    if (found || AWARD_EVENT_LIST.contains(awardName) || !AWARD_NAME_LIST.isEmpty() && !found) {
-                        for (Award award : awardEvent.getAwards()) {
-                            if (AWARD_NAME_LIST.isEmpty() || AWARD_NAME_LIST.contains(award.getName())) {
-                                int flag = (scrapeWonAwards ? 0 : ((AWARD_NOMINATED.isEmpty() ? 0 : 8) + (award.getNominations().isEmpty() ? 0 : 4))) + (AWARD_WON.isEmpty() ? 0 : 2) + (award.getWons().isEmpty() ? 0 : 1);
-                                found = "145".contains(Integer.toString(flag));
-                                if (!found && (flag > 10)) {
-                                    for (String nomination : award.getNominations()) {
-                                        found = AWARD_NOMINATED.contains(nomination);
-                                        if (found) {
-                                            break;
-                                        }
+    private static void indexByAward(Index index, Movie movie) {
+        if (!movie.isExtra()) {
+            for (AwardEvent awardEvent : movie.getAwards()) {
+                String awardName = awardEvent.getName();
+                boolean found = AWARD_EVENT_LIST.isEmpty() && AWARD_NAME_LIST.isEmpty();
+                if (found || AWARD_EVENT_LIST.contains(awardName) || !AWARD_NAME_LIST.isEmpty() && !found) {
+                    for (Award award : awardEvent.getAwards()) {
+                        if (AWARD_NAME_LIST.isEmpty() || AWARD_NAME_LIST.contains(award.getName())) {
+                            int flag = (scrapeWonAwards ? 0 : ((AWARD_NOMINATED.isEmpty() ? 0 : 8) + (award.getNominations().isEmpty() ? 0 : 4))) + (AWARD_WON.isEmpty() ? 0 : 2) + (award.getWons().isEmpty() ? 0 : 1);
+                            found = "145".contains(Integer.toString(flag));
+                            if (!found && (flag > 10)) {
+                                for (String nomination : award.getNominations()) {
+                                    found = AWARD_NOMINATED.contains(nomination);
+                                    if (found) {
+                                        break;
                                     }
                                 }
-                                if (!found && !AWARD_WON.isEmpty() && !award.getWons().isEmpty()) {
-                                    for (String nomination : award.getWons()) {
-                                        found = AWARD_WON.contains(nomination);
-                                        if (found) {
-                                            break;
-                                        }
+                            }
+                            if (!found && !AWARD_WON.isEmpty() && !award.getWons().isEmpty()) {
+                                for (String nomination : award.getWons()) {
+                                    found = AWARD_WON.contains(nomination);
+                                    if (found) {
+                                        break;
                                     }
                                 }
                             }
-                            if (found) {
-                                break;
-                            }
+                        }
+                        if (found) {
+                            break;
                         }
                     }
-                    if (found) {
-                        LOG.debug(ADDING_TO_LIST, movie.getTitle(), "award", awardName);
-                        index.addMovie(awardName, movie);
-                        movie.addIndex(INDEX_AWARD, awardName);
-                    }
+                }
+                if (found) {
+                    LOG.debug(ADDING_TO_LIST, movie.getTitle(), "award", awardName);
+                    index.addMovie(awardName, movie);
+                    movie.addIndex(INDEX_AWARD, awardName);
                 }
             }
         }
-
-        return index;
     }
 
-    protected static Index indexByPerson(List<Movie> list) {
-        Index index = new Index(true);
-        for (Movie movie : list) {
-            if (movie.isExtra()) {
+    private static void indexByPerson(Index index, Movie movie) {
+        if (movie.isExtra()) {
+            return;
+        }
+        for (Filmography person : movie.getPeople()) {
+            if (completePerson && StringTools.isNotValidString(person.getFilename())) {
                 continue;
             }
-            for (Filmography person : movie.getPeople()) {
-                if (completePerson && StringTools.isNotValidString(person.getFilename())) {
-                    continue;
-                }
-                String name = person.getName();
-                LOG.debug(ADDING_TO_LIST, movie.getTitle(), "person", name);
-                index.addMovie(name, movie);
-                movie.addIndex(INDEX_PERSON, name);
-            }
+            String name = person.getName();
+            LOG.debug(ADDING_TO_LIST, movie.getTitle(), "person", name);
+            index.addMovie(name, movie);
+            movie.addIndex(INDEX_PERSON, name);
         }
-
-        return index;
     }
 
-    protected static Index indexByRatings(List<Movie> list) {
-        LOG.info("INDEXING: Ratings");
-        Index index = new Index(true);
-        for (Movie movie : list) {
-            if (!movie.isExtra() && (movie.getRating() > 0)) {
-                String sRating = Double.toString(Math.floor((double) movie.getRating() / (double) 10)).replace(".0", "");    // Convert and remove the ".0"
-                sRating = sRating + ".0-" + sRating + ".9";
-                LOG.debug(ADDING_TO_LIST, movie.getTitle(), "ratings", sRating);
-                index.addMovie(sRating, movie);
-                movie.addIndex(INDEX_RATINGS, sRating);
-            }
+    private static void indexByRatings(Index index, Movie movie) {
+        if (!movie.isExtra() && (movie.getRating() > 0)) {
+            String sRating = Double.toString(Math.floor((double) movie.getRating() / (double) 10)).replace(".0", "");    // Convert and remove the ".0"
+            sRating = sRating + ".0-" + sRating + ".9";
+            LOG.debug(ADDING_TO_LIST, movie.getTitle(), "ratings", sRating);
+            index.addMovie(sRating, movie);
+            movie.addIndex(INDEX_RATINGS, sRating);
         }
-
-        return index;
     }
 
     public int getMovieCountForIndex(String indexName, String category) {
@@ -1403,6 +1468,29 @@ public class Library implements Map<String, Movie> {
         }
     }
 
+    /**
+     * Check if a video has left the New categories between the two times, so the New categories built at the first time are
+     * out of date.
+     *
+     * The videos only join the New categories when their files change.
+     *
+     * @param since the time the New categories were built
+     * @param now
+     * @return
+     */
+    public boolean isNewCategoryExpired(long since, long now) {
+        for (Movie movie : library.values()) {
+            long newDays = movie.isTVShow() ? newTvDays : newMovieDays;
+            if (newDays > 0 && !movie.isExtra()) {
+                long lastModified = movie.getLastModifiedTimestamp();
+                if (since - lastModified <= newDays && now - lastModified > newDays) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     @Override
     public void clear() {
         library.clear();
@@ -1825,7 +1913,7 @@ public class Library implements Map<String, Movie> {
         return key;
     }
 
-    public void addPerson(String key, Person person) {
+    public synchronized void addPerson(String key, Person person) {
         if (person != null) {
             Person existingPerson = getPerson(key);
             if (existingPerson == null) {
@@ -1849,7 +1937,7 @@ public class Library implements Map<String, Movie> {
         }
     }
 
-    public Person getPerson(String key) {
+    public synchronized Person getPerson(String key) {
         return people.get(key);
     }
 
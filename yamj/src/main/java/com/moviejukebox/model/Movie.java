@@ -99,6 +99,7 @@ public class Movie implements Comparable<Movie>, Identifiable, IMovieBasicInform
     private String title = UNKNOWN;
     private String titleSort = UNKNOWN;
     private String strippedTitleSort = UNKNOWN; // Not saved, used to speedup the sort
+    private MovieSortKeys sortKeys = null; // Not saved, used to speedup the sort
     private String originalTitle = UNKNOWN;
     private String year = UNKNOWN;
     private String releaseDate = UNKNOWN;
@@ -486,9 +487,38 @@ public class Movie implements Comparable<Movie>, Identifiable, IMovieBasicInform
         return title;
     }
 
+    /**
+     * Get the values the indexes are sorted by
+     *
+     * The keys read by buildSortKeys are used until clearSortKeys, otherwise they are read from the video for each call, so
+     * the changes to the video are always seen
+     *
+     * @return
+     */
+    @XmlTransient
+    public MovieSortKeys getSortKeys() {
+        MovieSortKeys keys = sortKeys;
+        return keys == null ? new MovieSortKeys(this) : keys;
+    }
+
+    /**
+     * Read the values the indexes are sorted by once, before sorting many videos that do not change during the sort
+     */
+    public void buildSortKeys() {
+        sortKeys = new MovieSortKeys(this);
+    }
+
+    /**
+     * Forget the values read by buildSortKeys, after the sort
+     */
+    public void clearSortKeys() {
+        sortKeys = null;
+    }
+
     @Override
     public int compareTo(Movie anotherMovie) {
-        return this.getStrippedTitleSort().compareToIgnoreCase(anotherMovie.getStrippedTitleSort());
+        // The folded titles give the order of compareToIgnoreCase
+        return this.getSortKeys().getFoldedTitle().compareTo(anotherMovie.getSortKeys().getFoldedTitle());
     }
 
     @Deprecated
@@ -0,0 +1,239 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.model;
+
+import com.moviejukebox.tools.DateTimeTools;
+import com.moviejukebox.tools.PropertiesUtil;
+import static com.moviejukebox.tools.StringTools.isValidString;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The values the indexes are sorted by, read once from the video so the comparators only compare numbers and ready made
+ * strings
+ *
+ * The keys are not updated when the video changes, so Library.buildIndex keeps them for its sort only.
+ */
+public final class MovieSortKeys {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieSortKeys.class);
+    private static final String DATE_LOCALE = PropertiesUtil.getProperty("mjb.locale", "en_US");
+    private static final Locale LOCALE = getLocale();
+    // pattern for date: 05 December 1993
+    private static final Pattern DAY_MONTH_YEAR = Pattern.compile("(\\d{2}) (\\S+) (\\d{4})");
+    // pattern for date: December 1993
+    private static final Pattern MONTH_YEAR = Pattern.compile("(\\S+) (\\d{4})");
+    // patterns for date: 1993-12-05, 05.12.1993, 05.12.93, 05/12/1993 and their format
+    private static final Pattern[] NUMERIC_DATES = {
+        Pattern.compile("\\d{4}-\\d{2}-\\d{2}"),
+        Pattern.compile("\\d{2}\\.\\d{2}\\.\\d{4}"),
+        Pattern.compile("\\d{2}\\.\\d{2}\\.\\d{2}"),
+        Pattern.compile("\\d{2}/\\d{2}/\\d{4}")
+    };
+    private static final String[] NUMERIC_FORMATS = {"yyyy-MM-dd", "dd.MM.yyyy", "dd.MM.yy", "dd/MM/yyyy"};
+    /**
+     * Release date of a video without one
+     */
+    public static final int NO_DATE = -1;
+    /**
+     * Release date that could not be read
+     */
+    public static final int UNKNOWN_DATE = 0;
+
+    private final String title;
+    private final String foldedTitle;
+    private final boolean validYear;
+    private final int year;
+    private final int releaseDate;
+    private final int rating;
+    private final int top250;
+    private final long lastModified;
+
+    MovieSortKeys(Movie movie) {
+        this.title = movie.getStrippedTitleSort();
+        this.foldedTitle = foldCase(title);
+        this.validYear = isValidString(movie.getYear());
+        this.year = validYear ? DateTimeTools.extractYear(movie.getYear()) : 0;
+        this.releaseDate = isValidString(movie.getReleaseDate()) ? convertDate(movie.getReleaseDate()) : NO_DATE;
+        this.rating = movie.getRating();
+        this.top250 = movie.getTop250();
+        this.lastModified = movie.getLastModifiedTimestamp();
+    }
+
+    /**
+     * The stripped sort title of the video
+     *
+     * @return
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * The stripped sort title with the case folded the way String.compareToIgnoreCase does, so String.compareTo of two
+     * folded titles gives the same order
+     *
+     * @return
+     */
+    public String getFoldedTitle() {
+        return foldedTitle;
+    }
+
+    public boolean isValidYear() {
+        return validYear;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    /**
+     * The release date as yyyyMMdd, UNKNOWN_DATE if the date could not be read or NO_DATE if there is no date
+     *
+     * @return
+     */
+    public int getReleaseDate() {
+        return releaseDate;
+    }
+
+    public int getRating() {
+        return rating;
+    }
+
+    public int getTop250() {
+        return top250;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Fold the case of each character like String.compareToIgnoreCase
+     *
+     * @param text
+     * @return the text itself when there is nothing to fold
+     */
+    private static String foldCase(String text) {
+        char[] chars = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            char folded = Character.toLowerCase(Character.toUpperCase(c));
+            if (folded != c) {
+                if (chars == null) {
+                    chars = text.toCharArray();
+                }
+                chars[i] = folded;
+            }
+        }
+        return chars == null ? text : new String(chars);
+    }
+
+    private static Locale getLocale() {
+        if (isValidString(DATE_LOCALE) && (DATE_LOCALE.length() == 2 || DATE_LOCALE.length() == 5)) {
+            return new Locale(DATE_LOCALE.substring(0, 2), DATE_LOCALE.length() == 2 ? "" : DATE_LOCALE.substring(3, 5));
+        }
+        return Locale.ENGLISH;
+    }
+
+    /**
+     * Read the release date in one of the known formats
+     *
+     * @param date
+     * @return the date as yyyyMMdd or UNKNOWN_DATE
+     */
+    private static int convertDate(String date) {
+        Matcher dateMatch = DAY_MONTH_YEAR.matcher(date);
+        if (dateMatch.find()) {
+            return parseDate("dd MMM yyyy", dateMatch.group(0),
+                    dateMatch.group(1) + " " + correctShortMonth(dateMatch.group(2)) + " " + dateMatch.group(3));
+        }
+
+        dateMatch = MONTH_YEAR.matcher(date);
+        if (dateMatch.find()) {
+            return parseDate("MMM yyyy", dateMatch.group(0),
+                    correctShortMonth(dateMatch.group(1)) + " " + dateMatch.group(2));
+        }
+
+        for (int i = 0; i < NUMERIC_DATES.length; i++) {
+            dateMatch = NUMERIC_DATES[i].matcher(date);
+            if (dateMatch.find()) {
+                try {
+                    return toInt(new SimpleDateFormat(NUMERIC_FORMATS[i], LOCALE).parse(dateMatch.group(0)));
+                } catch (ParseException ex) { /* ignore */ }
+            }
+        }
+
+        return UNKNOWN_DATE;
+    }
+
+    /**
+     * Parse a date with month names, in the locale, with the short month name and in English
+     *
+     * @param pattern
+     * @param date
+     * @param shortDate
+     * @return
+     */
+    private static int parseDate(String pattern, String date, String shortDate) {
+        SimpleDateFormat srcDate = new SimpleDateFormat(pattern, LOCALE);
+        try {
+            return toInt(srcDate.parse(date));
+        } catch (ParseException ex) { /* ignore */ }
+
+        try {
+            return toInt(srcDate.parse(shortDate));
+        } catch (ParseException ex) { /* ignore */ }
+
+        srcDate = new SimpleDateFormat(pattern, Locale.ENGLISH);
+        try {
+            return toInt(srcDate.parse(date));
+        } catch (ParseException ex) {
+            LOG.debug("Unparseable date: {} ({})", date, DATE_LOCALE);
+        }
+
+        return UNKNOWN_DATE;
+    }
+
+    private static int toInt(Date date) {
+        try {
+            return Integer.parseInt(new SimpleDateFormat("yyyyMMdd").format(date));
+        } catch (NumberFormatException ex) {
+            return UNKNOWN_DATE;
+        }
+    }
+
+    private static String correctShortMonth(String name) {
+        String month = name.substring(0, Math.min(3, name.length()));
+        if ("ru_RU".equals(DATE_LOCALE) && "мая".equals(month)) {
+            return "май";
+        }
+        return month;
+    }
+}
@@ -46,10 +46,12 @@ public class LastModifiedComparator implements Comparator<Movie>, Serializable {
     @Override
     public int compare(Movie movie1, Movie movie2) {
         int retVal = 0;
+        long lastModified1 = movie1.getSortKeys().getLastModified();
+        long lastModified2 = movie2.getSortKeys().getLastModified();
 
-        if (movie1.getLastModifiedTimestamp() > movie2.getLastModifiedTimestamp()) {
+        if (lastModified1 > lastModified2) {
             retVal = (ascending ? 1 : -1);
-        } else if (movie1.getLastModifiedTimestamp() < movie2.getLastModifiedTimestamp()) {
+        } else if (lastModified1 < lastModified2) {
             retVal = (ascending ? -1 : 1);
         }
         return retVal;
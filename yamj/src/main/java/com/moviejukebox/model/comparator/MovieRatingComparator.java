@@ -56,6 +56,8 @@ public class MovieRatingComparator implements Comparator<Movie>, Serializable {
      * @return
      */
     public int compare(Movie movie1, Movie movie2, boolean ascending) {
-        return ascending ? (movie1.getRating() - movie2.getRating()) : (movie2.getRating() - movie1.getRating());
+        int rating1 = movie1.getSortKeys().getRating();
+        int rating2 = movie2.getSortKeys().getRating();
+        return ascending ? (rating1 - rating2) : (rating2 - rating1);
     }
 }
@@ -22,19 +22,8 @@
  */
 package com.moviejukebox.model.comparator;
 
-import static com.moviejukebox.tools.StringTools.isValidString;
-
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
 import com.moviejukebox.model.Movie;
-import com.moviejukebox.tools.PropertiesUtil;
+import com.moviejukebox.model.MovieSortKeys;
 
 /**
  * @author ilgizar
@@ -42,141 +31,29 @@ import com.moviejukebox.tools.PropertiesUtil;
 public class MovieReleaseComparator extends MovieYearComparator {
 
     private static final long serialVersionUID = 1L;
-    private static final Logger LOG = LoggerFactory.getLogger(MovieReleaseComparator.class);
-    private Locale locale = Locale.ENGLISH;
-    private final String dateLocale = PropertiesUtil.getProperty("mjb.locale", "en_US");
 
     public MovieReleaseComparator() {
         super(Boolean.TRUE);
-        setLocale();
     }
 
     public MovieReleaseComparator(boolean ascending) {
         super(ascending);
-        setLocale();
-    }
-
-    private void setLocale() {
-        if (isValidString(dateLocale) && (dateLocale.length() == 2 || dateLocale.length() == 5)) {
-            locale = new Locale(dateLocale.substring(0, 2), dateLocale.length() == 2 ? "" : dateLocale.substring(3, 5));
-        }
     }
 
     @Override
     public int compare(Movie movie1, Movie movie2, boolean ascending) {
         int res = super.compare(movie1, movie2, ascending);
-        String date1 = movie1.getReleaseDate();
-        String date2 = movie2.getReleaseDate();
-        if (res == 0 && isValidString(date1) && isValidString(date2)) {
-            date1 = convertDate(date1);
-            date2 = convertDate(date2);
-            if (isValidString(date1) && isValidString(date2)) {
-                try {
-                    return ascending ? Integer.parseInt(date1) - Integer.parseInt(date2) : Integer.parseInt(date2) - Integer.parseInt(date1);
-                } catch (NumberFormatException e) { /* ignore */ }
+        // The release dates are read once with the sort keys of the movie
+        int date1 = movie1.getSortKeys().getReleaseDate();
+        int date2 = movie2.getSortKeys().getReleaseDate();
+        if (res == 0 && date1 != MovieSortKeys.NO_DATE && date2 != MovieSortKeys.NO_DATE) {
+            boolean valid1 = date1 != MovieSortKeys.UNKNOWN_DATE;
+            boolean valid2 = date2 != MovieSortKeys.UNKNOWN_DATE;
+            if (valid1 && valid2) {
+                return ascending ? date1 - date2 : date2 - date1;
             }
-            return isValidString(date1) ? ascending ? 1 : - 1 : isValidString(date2) ? ascending ? -1 : 1 : 0;
+            return valid1 ? ascending ? 1 : - 1 : valid2 ? ascending ? -1 : 1 : 0;
         }
         return res;
     }
-
-    private String convertDate(String date) {
-        // output date pattern: 19931205
-        SimpleDateFormat dstDate = new SimpleDateFormat("yyyyMMdd");
-
-        // pattern for date: 05 December 1993
-        Pattern dateRegex = Pattern.compile("(\\d{2}) (\\S+) (\\d{4})");
-        Matcher dateMatch = dateRegex.matcher(date);
-        if (dateMatch.find()) {
-            SimpleDateFormat srcDate = new SimpleDateFormat("dd MMM yyyy", locale);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException ex) { /* ignore */ }
-
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(1) + " " + correctShortMonth(dateMatch.group(2).substring(0, 3)) + " " + dateMatch.group(3)));
-            } catch (ParseException ex) { /* ignore */ }
-
-            srcDate = new SimpleDateFormat("dd MMM yyyy", Locale.ENGLISH);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException e) {
-                LOG.debug("Unparseable date: {} ({})", dateMatch.group(0), dateLocale);
-            }
-
-            return Movie.UNKNOWN;
-        }
-        
-        // pattern for date: December 1993
-        dateRegex = Pattern.compile("(\\S+) (\\d{4})");
-        dateMatch = dateRegex.matcher(date);
-        if (dateMatch.find()) {
-            SimpleDateFormat srcDate = new SimpleDateFormat("MMM yyyy", locale);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException ex) { /* ignore */ }
-
-            try {
-                return dstDate.format(srcDate.parse(correctShortMonth(dateMatch.group(1).substring(0, 3)) + " " + dateMatch.group(2)));
-            } catch (ParseException ex) { /* ignore */ }
-
-            srcDate = new SimpleDateFormat("MMM yyyy", Locale.ENGLISH);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException ex) {
-                LOG.debug("Unparseable date: {} ({})", dateMatch.group(0), dateLocale);
-            }
-
-            return Movie.UNKNOWN;
-        }
-
-        // pattern for date: 1993-12-05
-        dateRegex = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
-        dateMatch = dateRegex.matcher(date);
-        if (dateMatch.find()) {
-            SimpleDateFormat srcDate = new SimpleDateFormat("yyyy-MM-dd", locale);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException e) { /* ignore */ }
-        }
-
-        // pattern for date: 05.12.1993
-        dateRegex = Pattern.compile("\\d{2}\\.\\d{2}\\.\\d{4}");
-        dateMatch = dateRegex.matcher(date);
-        if (dateMatch.find()) {
-            SimpleDateFormat srcDate = new SimpleDateFormat("dd.MM.yyyy", locale);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException e) { /* ignore */ }
-        }
-
-        // pattern for date: 05.12.93
-        dateRegex = Pattern.compile("\\d{2}\\.\\d{2}\\.\\d{2}");
-        dateMatch = dateRegex.matcher(date);
-        if (dateMatch.find()) {
-            SimpleDateFormat srcDate = new SimpleDateFormat("dd.MM.yy", locale);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException e) { /* ignore */ }
-        }
-
-        // pattern for date: 05/12/1993
-        dateRegex = Pattern.compile("\\d{2}/\\d{2}/\\d{4}");
-        dateMatch = dateRegex.matcher(date);
-        if (dateMatch.find()) {
-            SimpleDateFormat srcDate = new SimpleDateFormat("dd/MM/yyyy", locale);
-            try {
-                return dstDate.format(srcDate.parse(dateMatch.group(0)));
-            } catch (ParseException e) { /* ignore */ }
-        }
-
-        return Movie.UNKNOWN;
-    }
-
-    private String correctShortMonth(String month) {
-        if ("ru_RU".equals(dateLocale) && "мая".equals(month)) {
-            return "май";
-        }
-        return month;
-    }
 }
@@ -43,8 +43,8 @@ public class MovieTitleComparator implements Comparator<Movie>, Serializable {
     @Override
     public int compare(Movie movie1, Movie movie2) {
         if (ascending) {
-            return movie1.getStrippedTitleSort().compareTo(movie2.getStrippedTitleSort());
+            return movie1.getSortKeys().getTitle().compareTo(movie2.getSortKeys().getTitle());
         }
-        return movie2.getStrippedTitleSort().compareTo(movie1.getStrippedTitleSort());
+        return movie2.getSortKeys().getTitle().compareTo(movie1.getSortKeys().getTitle());
     }
 }
@@ -46,8 +46,8 @@ public class MovieTop250Comparator implements Comparator<Movie>, Serializable {
     @Override
     public int compare(Movie movie1, Movie movie2) {
         if (ascending) {
-            return movie1.getTop250() - movie2.getTop250();
+            return movie1.getSortKeys().getTop250() - movie2.getSortKeys().getTop250();
         }
-        return movie2.getTop250() - movie1.getTop250();
+        return movie2.getSortKeys().getTop250() - movie1.getSortKeys().getTop250();
     }
 }
@@ -23,8 +23,7 @@
 package com.moviejukebox.model.comparator;
 
 import com.moviejukebox.model.Movie;
-import com.moviejukebox.tools.DateTimeTools;
-import static com.moviejukebox.tools.StringTools.isValidString;
+import com.moviejukebox.model.MovieSortKeys;
 import java.io.Serializable;
 import java.util.Comparator;
 
@@ -54,8 +53,10 @@ public class MovieYearComparator implements Comparator<Movie>, Serializable {
      * @return
      */
     public int compare(Movie movie1, Movie movie2, boolean ascending) {
-        boolean valid1 = isValidString(movie1.getYear());
-        boolean valid2 = isValidString(movie2.getYear());
+        MovieSortKeys keys1 = movie1.getSortKeys();
+        MovieSortKeys keys2 = movie2.getSortKeys();
+        boolean valid1 = keys1.isValidYear();
+        boolean valid2 = keys2.isValidYear();
 
         if (!valid1 && !valid2) {
             return 0;
@@ -69,8 +70,8 @@ public class MovieYearComparator implements Comparator<Movie>, Serializable {
             return ascending ? 1 : -1;
         }
 
-        int year1 = DateTimeTools.extractYear(movie1.getYear());
-        int year2 = DateTimeTools.extractYear(movie2.getYear());
+        int year1 = keys1.getYear();
+        int year2 = keys2.getYear();
         return ascending ? (year1 - year2) : (year2 - year1);
     }
 }
@@ -41,19 +41,51 @@ public class SortIgnorePrefixesComparator implements Comparator<Object>, Seriali
             initSortIgnorePrefixes();
         }
 
-        return getStrippedTitle((String) o1).compareToIgnoreCase(getStrippedTitle((String) o2));
+        String title1 = (String) o1;
+        String title2 = (String) o2;
+        return compareIgnoreCase(title1, getPrefixLength(title1), title2, getPrefixLength(title2));
     }
 
-    private String getStrippedTitle(String title) {
-        String lowerTitle = title.toLowerCase();
-
+    /**
+     * Get the length of the sort prefix the title starts with, the title is not copied for each comparison
+     *
+     * @param title
+     * @return
+     */
+    private int getPrefixLength(String title) {
         for (String prefix : sortIgnorePrefixes) {
-            if (lowerTitle.startsWith(prefix.toLowerCase())) {
-                return title.substring(prefix.length());
+            if (title.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return prefix.length();
             }
         }
+        return 0;
+    }
 
-        return title;
+    /**
+     * Compare the rest of the titles after the start like String.compareToIgnoreCase
+     *
+     * @param title1
+     * @param start1
+     * @param title2
+     * @param start2
+     * @return
+     */
+    private static int compareIgnoreCase(String title1, int start1, String title2, int start2) {
+        int length1 = title1.length() - start1;
+        int length2 = title2.length() - start2;
+        int length = Math.min(length1, length2);
+        for (int i = 0; i < length; i++) {
+            char c1 = title1.charAt(start1 + i);
+            char c2 = title2.charAt(start2 + i);
+            if (c1 != c2) {
+                c1 = Character.toLowerCase(Character.toUpperCase(c1));
+                c2 = Character.toLowerCase(Character.toUpperCase(c2));
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+            }
+        }
+        return length1 - length2;
     }
 
     public void initSortIgnorePrefixes() {
@@ -57,6 +57,26 @@ public enum JukeboxStatistic {
      * How many existing videos were scanned
      */
     EXISTING_VIDEOS,
+    /**
+     * How many video files were hashed for the AniDb identification
+     */
+    HASHED_FILES,
+    /**
+     * How many skin resource images were drawn
+     */
+    RESOURCE_IMAGES_LOADED,
+    /**
+     * How many skin resource images were decoded, the other images were drawn from the cache
+     */
+    RESOURCE_IMAGES_DECODED,
+    /**
+     * How many index pages were written
+     */
+    INDEX_PAGES_WRITTEN,
+    /**
+     * How many index pages were unchanged and not written again
+     */
+    INDEX_PAGES_SKIPPED,
     /**
      * How many videos are in the "Other" index
      */
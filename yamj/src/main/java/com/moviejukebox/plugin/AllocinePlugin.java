@@ -28,6 +28,7 @@ import static com.moviejukebox.tools.StringTools.isValidString;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.Logger;
@@ -117,14 +118,14 @@ public class AllocinePlugin extends ImdbPlugin {
         return allocineId;
     }
 
-    private String getAllocineSerieId(String title, String year) throws Exception {
+    private String getAllocineSerieId(final String title, String year) throws Exception {
         String cacheKey = CacheMemory.generateCacheKey(CACHE_SEARCH_SERIES, title);
-        Search search = (Search) CacheMemory.getFromCache(cacheKey);
-        if (search == null) {
-            search = allocineApi.searchTvSeries(title);
-            // Add to the cache
-            CacheMemory.addToCache(cacheKey, search);
-        }
+        Search search = CacheMemory.getFromCache(cacheKey, new Callable<Search>() {
+            @Override
+            public Search call() throws Exception {
+                return allocineApi.searchTvSeries(title);
+            }
+        });
 
         if (!search.isValid()) {
             return Movie.UNKNOWN;
@@ -162,14 +163,14 @@ public class AllocinePlugin extends ImdbPlugin {
         return Movie.UNKNOWN;
     }
 
-    private String getAllocineMovieId(String title, String year) throws Exception {
+    private String getAllocineMovieId(final String title, String year) throws Exception {
         String cacheKey = CacheMemory.generateCacheKey(CACHE_SEARCH_MOVIE, title);
-        Search search = (Search) CacheMemory.getFromCache(cacheKey);
-        if (search == null) {
-            search = allocineApi.searchMovies(title);
-            // Add to the cache
-            CacheMemory.addToCache(cacheKey, search);
-        }
+        Search search = CacheMemory.getFromCache(cacheKey, new Callable<Search>() {
+            @Override
+            public Search call() throws Exception {
+                return allocineApi.searchMovies(title);
+            }
+        });
 
         if (!search.isValid()) {
             return Movie.UNKNOWN;
@@ -384,19 +385,19 @@ public class AllocinePlugin extends ImdbPlugin {
     @Override
     protected void updateTVShowInfo(Movie movie) {
 
-        String allocineId = movie.getId(ALLOCINE_PLUGIN_ID);
+        final String allocineId = movie.getId(ALLOCINE_PLUGIN_ID);
         if (!movie.isTVShow() || !movie.hasNewMovieFiles() || isNotValidString(allocineId)) {
             return;
         }
 
         try {
             String cacheKey = CacheMemory.generateCacheKey(CACHE_SERIES, allocineId);
-            TvSeriesInfos tvSeriesInfos = (TvSeriesInfos) CacheMemory.getFromCache(cacheKey);
-            if (tvSeriesInfos == null) {
-                tvSeriesInfos = allocineApi.getTvSeriesInfos(allocineId);
-                // Add to the cache
-                CacheMemory.addToCache(cacheKey, tvSeriesInfos);
-            }
+            TvSeriesInfos tvSeriesInfos = CacheMemory.getFromCache(cacheKey, new Callable<TvSeriesInfos>() {
+                @Override
+                public TvSeriesInfos call() throws Exception {
+                    return allocineApi.getTvSeriesInfos(allocineId);
+                }
+            });
 
             if (tvSeriesInfos.isNotValid()) {
                 LOG.error("Can't find informations for TvShow with id: {}", allocineId);
@@ -566,22 +567,25 @@ public class AllocinePlugin extends ImdbPlugin {
      * @param allocineId The AlloCine ID of the Movie
      * @return The MovieInfo object
      */
-    public MovieInfos getMovieInfos(String allocineId) {
-        MovieInfos movieInfos;
+    public MovieInfos getMovieInfos(final String allocineId) {
+        MovieInfos movieInfos = null;
 
         String cacheKey = CacheMemory.generateCacheKey(CACHE_MOVIE, allocineId);
-        movieInfos = (MovieInfos) CacheMemory.getFromCache(cacheKey);
-        if (movieInfos == null) {
-            try {
-                movieInfos = allocineApi.getMovieInfos(allocineId);
-            } catch (Exception error) {
-                LOG.error("Failed retrieving Allocine infos for movie : {}", allocineId);
-                LOG.error(SystemTools.getStackTrace(error));
-            }
-            if (movieInfos != null && movieInfos.isValid()) {
-                // Add to the cache
-                CacheMemory.addToCache(cacheKey, movieInfos);
-            }
+        try {
+            movieInfos = CacheMemory.getFromCache(cacheKey, new Callable<MovieInfos>() {
+                @Override
+                public MovieInfos call() throws Exception {
+                    return allocineApi.getMovieInfos(allocineId);
+                }
+            });
+        } catch (Exception error) {
+            LOG.error("Failed retrieving Allocine infos for movie : {}", allocineId);
+            LOG.error(SystemTools.getStackTrace(error));
+        }
+
+        if (movieInfos != null && !movieInfos.isValid()) {
+            // Only keep the valid infos in the cache
+            CacheMemory.removeFromCache(cacheKey);
         }
 
         return movieInfos;
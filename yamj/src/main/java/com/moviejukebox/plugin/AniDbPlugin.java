@@ -36,9 +36,11 @@ import com.j256.ormlite.stmt.*;
 import com.j256.ormlite.support.ConnectionSource;
 import com.j256.ormlite.table.DatabaseTable;
 import com.j256.ormlite.table.TableUtils;
+import com.moviejukebox.model.JukeboxStatistics;
 import com.moviejukebox.model.Movie;
 import com.moviejukebox.model.MovieFile;
 import com.moviejukebox.model.Person;
+import com.moviejukebox.model.enumerations.JukeboxStatistic;
 import com.moviejukebox.tools.*;
 import com.moviejukebox.tools.cache.CacheMemory;
 import com.omertron.thetvdbapi.TheTVDBApi;
@@ -46,9 +48,15 @@ import com.omertron.thetvdbapi.TvDbException;
 import com.omertron.thetvdbapi.model.Banners;
 import com.omertron.thetvdbapi.model.Series;
 import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.xml.parsers.ParserConfigurationException;
@@ -89,6 +97,13 @@ public class AniDbPlugin implements MovieDatabasePlugin {
     private static final int ANIDB_CLIENT_VERSION = 1;
     private static int anidbPort = PropertiesUtil.getIntProperty("anidb.port", 1025);
     private static final int ED2K_CHUNK_SIZE = 9728000;
+    // The mapped chunks are copied to the checksum in slices of this size
+    private static final int HASH_SLICE_SIZE = 1048576;
+    private static final long BYTES_PER_MB = 1048576L;
+    // Limit the number of files hashed at the same time, hashing is limited by the disk or network
+    private static final Semaphore HASH_PERMITS = new Semaphore(Math.max(1, PropertiesUtil.getIntProperty("anidb.hashThreads", 2)), true);
+    private static final AtomicLong HASHED_BYTES = new AtomicLong(0L);
+    private static final AtomicLong HASH_NANOS = new AtomicLong(0L);
     private AnimeMask anidbMask;
     private AnimeMask categoryMask;
     private AnimeFileMask animeFileMask;
@@ -101,7 +116,7 @@ public class AniDbPlugin implements MovieDatabasePlugin {
     private static boolean hash;
     private boolean getAdditionalInformationFromTheTvDB = false;
     private static final HashMap<String, Movie> MAIN_SERIES_MOVIES;
-    private static final int TABLE_VERSION = 1;
+    private static final int TABLE_VERSION = 2;
     private Dao<AnidbLocalFile, String> localFileDao;
     private Dao<AnidbFile, String> anidbFileDao;
     private Dao<AnidbAnime, String> animeDao;
@@ -222,11 +237,11 @@ public class AniDbPlugin implements MovieDatabasePlugin {
      * Method to check if the database tables are old and need updating, and
      * performs the update if it's needed.
      */
-    private static synchronized void updateTables(ConnectionSource connectionSource) {
+    static synchronized void updateTables(ConnectionSource connectionSource) {
         try {
             Dao<AnidbTableInfo, String> tableDao = DaoManager.<Dao<AnidbTableInfo, String>, AnidbTableInfo>createDao(connectionSource, AnidbTableInfo.class);
             boolean dbUpdate = true;
-            AnidbTableInfo info;
+            AnidbTableInfo info = null;
             int version = -1;
             if (tableDao.isTableExists()) {
                 info = tableDao.queryForId(Integer.toString(AniDbPlugin.TABLE_VERSION));
@@ -253,8 +268,15 @@ public class AniDbPlugin implements MovieDatabasePlugin {
                 TableUtils.createTable(connectionSource, AnidbTvdbMapping.class);
                 TableUtils.createTable(connectionSource, AnidbTvdbEpisodeMapping.class);
                 info = new AnidbTableInfo();
-                info.setVersion(AniDbPlugin.TABLE_VERSION);
                 tableDao.create(info);
+                // The version is a generated id, so it is set after the row is created
+                updateVersion(tableDao, info.getVersion());
+            } else if (dbUpdate && version == 1) {
+                // Version 2 keys the stored hashes on the last modified date of the file as well
+                Dao<AnidbLocalFile, String> dao = DaoManager.<Dao<AnidbLocalFile, String>, AnidbLocalFile>createDao(connectionSource, AnidbLocalFile.class);
+                dao.executeRaw("ALTER TABLE anidb_local_file ADD COLUMN " + AnidbLocalFile.LAST_MODIFIED_COLUMN_NAME + " BIGINT DEFAULT 0");
+                updateVersion(tableDao, version);
+                LOG.debug("Updated the AniDb database from version {} to {}", version, AniDbPlugin.TABLE_VERSION);
             }
 
         } catch (SQLException error) {
@@ -262,6 +284,18 @@ public class AniDbPlugin implements MovieDatabasePlugin {
         }
     }
 
+    /**
+     * Set the version of the table info row, the version is the int id of the row so it is not set with updateId
+     *
+     * @param tableDao
+     * @param version the current version of the row
+     * @throws SQLException
+     */
+    private static void updateVersion(Dao<AnidbTableInfo, String> tableDao, int version) throws SQLException {
+        tableDao.updateRaw("UPDATE anidb_tableinfo SET version = ? WHERE version = ?",
+                Integer.toString(AniDbPlugin.TABLE_VERSION), Integer.toString(version));
+    }
+
     private static synchronized void initTvdb() {
         if (tvdb == null) {
             tvdb = new TheTVDBApi(PropertiesUtil.getProperty("API_KEY_TheTVDb"));
@@ -592,20 +626,20 @@ public class AniDbPlugin implements MovieDatabasePlugin {
 
     private AnidbFile anidbHashScan(Movie movie) {
         try {
-            AnidbLocalFile localFile = loadLocalFile(movie.getFile());
+            AnidbLocalFile localFile = loadLocalFile(localFileDao, movie.getFile());
 
-            String ed2kHash = null;
-            AnidbFile file;
+            String ed2kHash;
             if (localFile == null) {
                 ed2kHash = getEd2kChecksum(movie.getFile());
                 if ("".equals(ed2kHash)) {
                     return null;
                 }
-                localFile = loadLocalFile(movie.getFile(), ed2kHash);
+                saveLocalFile(localFileDao, movie.getFile(), ed2kHash);
+            } else {
+                ed2kHash = localFile.getEd2k();
             }
 
-            file = getAnimeEpisodeByHash(movie.getFile().length(), localFile == null ? ed2kHash : localFile.getEd2k());
-            return file;
+            return getAnimeEpisodeByHash(movie.getFile().length(), ed2kHash);
         } catch (UdpConnectionException ex) {
             LOG.info("UDP Connection Error");
             LOG.error(SystemTools.getStackTrace(ex));
@@ -617,25 +651,69 @@ public class AniDbPlugin implements MovieDatabasePlugin {
         }
     }
 
-    private static String getEd2kChecksum(File file) {
-        try (FileInputStream fi = new FileInputStream(file)) {
+    /**
+     * Calculate the ed2k hash of the file.
+     *
+     * The file is mapped into memory one ed2k chunk at a time, so it is read once without copying it through a large heap buffer.
+     * The number of files hashed at the same time is limited by the anidb.hashThreads property.
+     *
+     * @param file
+     * @return the hash or an empty string if the file could not be read
+     */
+    static String getEd2kChecksum(File file) {
+        try {
+            HASH_PERMITS.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
             Ed2kChecksum ed2kChecksum = new Ed2kChecksum();
-            byte[] buffer = new byte[ED2K_CHUNK_SIZE];
-            int k;
-            while ((k = fi.read(buffer, 0, buffer.length)) > 0) {
-                ed2kChecksum.update(buffer, 0, k);
+            byte[] slice = new byte[HASH_SLICE_SIZE];
+            long size = channel.size();
+            int lastPercent = 0;
+
+            LOG.debug("Hashing {} ({} MB)", file.getName(), size / BYTES_PER_MB);
+            for (long position = 0; position < size; position += ED2K_CHUNK_SIZE) {
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(ED2K_CHUNK_SIZE, size - position));
+                while (chunk.hasRemaining()) {
+                    int length = Math.min(slice.length, chunk.remaining());
+                    chunk.get(slice, 0, length);
+                    ed2kChecksum.update(slice, 0, length);
+                }
+
+                int percent = (int) ((position + chunk.capacity()) * 100 / size);
+                if (percent - lastPercent >= 10) {
+                    LOG.debug("Hashing {}: {}%", file.getName(), percent);
+                    lastPercent = percent;
+                }
             }
+
+            long nanos = System.nanoTime() - start;
+            long totalBytes = HASHED_BYTES.addAndGet(size);
+            long totalNanos = HASH_NANOS.addAndGet(nanos);
+            JukeboxStatistics.increment(JukeboxStatistic.HASHED_FILES);
+            LOG.info("Hashed {} ({} MB) at {} MB/s, {} MB hashed in total at {} MB/s", file.getName(), size / BYTES_PER_MB,
+                    getMegabytesPerSecond(size, nanos), totalBytes / BYTES_PER_MB, getMegabytesPerSecond(totalBytes, totalNanos));
             return ed2kChecksum.getHexDigest();
-        } catch (FileNotFoundException error) {
+        } catch (NoSuchFileException error) {
             // This shouldn't happen
             LOG.error("Unable to find the file {}", file.getAbsolutePath());
         } catch (IOException error) {
             LOG.error("Encountered an IO-error while reading file {}", file.getAbsolutePath());
             LOG.error(SystemTools.getStackTrace(error));
+        } finally {
+            HASH_PERMITS.release();
         }
         return "";
     }
 
+    private static long getMegabytesPerSecond(long bytes, long nanos) {
+        return nanos <= 0 ? 0 : (long) (bytes * 1000000000.0 / nanos / BYTES_PER_MB);
+    }
+
     private AnidbAnime getAnimeByAid(long animeId) throws UdpConnectionException, AniDbException, SQLException {
         return loadAnidbAnime(animeId);
     }
@@ -896,12 +974,21 @@ public class AniDbPlugin implements MovieDatabasePlugin {
         return false;
     }
 
-    private AnidbLocalFile loadLocalFile(java.io.File file) {
+    /**
+     * Load the stored hash of the file, the hash is only valid for the same path, size and last modified date
+     *
+     * @param dao
+     * @param file
+     * @return the stored file or null if the file has to be hashed
+     */
+    static AnidbLocalFile loadLocalFile(Dao<AnidbLocalFile, String> dao, java.io.File file) {
         try {
-            QueryBuilder<AnidbLocalFile, String> qb = localFileDao.queryBuilder();
-            qb.where().eq(AnidbLocalFile.FILENAME_COLUMN_NAME, file.getAbsolutePath()).and().eq(AnidbLocalFile.SIZE_COLUMN_NAME, file.length());
+            QueryBuilder<AnidbLocalFile, String> qb = dao.queryBuilder();
+            qb.where().eq(AnidbLocalFile.FILENAME_COLUMN_NAME, file.getAbsolutePath())
+                    .and().eq(AnidbLocalFile.SIZE_COLUMN_NAME, file.length())
+                    .and().eq(AnidbLocalFile.LAST_MODIFIED_COLUMN_NAME, file.lastModified());
             PreparedQuery<AnidbLocalFile> pq = qb.prepare();
-            return localFileDao.query(pq).get(0);
+            return dao.queryForFirst(pq);
         } catch (SQLException error) {
             LOG.error("Encountered an SQL error when loading local file data");
             LOG.error(SystemTools.getStackTrace(error));
@@ -909,25 +996,29 @@ public class AniDbPlugin implements MovieDatabasePlugin {
         return null;
     }
 
-    private AnidbLocalFile loadLocalFile(File file, String ed2kHash) {
+    /**
+     * Store the hash of the file, replacing the hash of an older version of the file
+     *
+     * @param dao
+     * @param file
+     * @param ed2kHash
+     * @return
+     */
+    static AnidbLocalFile saveLocalFile(Dao<AnidbLocalFile, String> dao, File file, String ed2kHash) {
         try {
-            AnidbLocalFile localFile = loadLocalFile(file);
-            if (localFile != null) {
-                return localFile;
-            }
-            QueryBuilder<AnidbLocalFile, String> qb = localFileDao.queryBuilder();
-            qb.where().eq(AnidbLocalFile.ED2K_COLUMN_NAME, file.getAbsolutePath()).and().eq(AnidbLocalFile.SIZE_COLUMN_NAME, file.length());
+            QueryBuilder<AnidbLocalFile, String> qb = dao.queryBuilder();
+            qb.where().eq(AnidbLocalFile.FILENAME_COLUMN_NAME, file.getAbsolutePath());
             PreparedQuery<AnidbLocalFile> pq = qb.prepare();
-            List<AnidbLocalFile> res = localFileDao.query(pq);
-            if (!res.isEmpty()) {
-                return res.get(0);
+            AnidbLocalFile localFile = dao.queryForFirst(pq);
+            if (localFile == null) {
+                localFile = new AnidbLocalFile();
+                localFile.setOriginalFilename(file.getAbsolutePath());
             }
-            localFile = new AnidbLocalFile();
             localFile.setEd2k(ed2kHash);
             localFile.setLastSeen(new Date());
-            localFile.setOriginalFilename(file.getAbsolutePath());
             localFile.setSize(file.length());
-            localFileDao.create(localFile);
+            localFile.setLastModified(file.lastModified());
+            dao.createOrUpdate(localFile);
             return localFile;
         } catch (SQLException error) {
             LOG.error("Encountered an SQL error when loading local file data");
@@ -1146,6 +1237,7 @@ class AnidbLocalFile {
     public static final String ED2K_COLUMN_NAME = "ed2khash";
     public static final String SIZE_COLUMN_NAME = "size";
     public static final String LAST_SEEN_COLUMN_NAME = "lastseen";
+    public static final String LAST_MODIFIED_COLUMN_NAME = "lastmodified";
 
     @DatabaseField(generatedId = true, columnName = ID_COLUMN_NAME)
     private int id;
@@ -1158,6 +1250,8 @@ class AnidbLocalFile {
     private long size;
     @DatabaseField(index = true, columnName = LAST_SEEN_COLUMN_NAME)
     private Date lastSeen; // Date this file was last seen, to allow periodic cleanup of stale records
+    @DatabaseField(columnName = LAST_MODIFIED_COLUMN_NAME)
+    private long lastModified; // The hash is only valid for the file with this last modified date
 
     public int getId() {
         return id;
@@ -1198,6 +1292,14 @@ class AnidbLocalFile {
     public void setLastSeen(Date lastSeen) {
         this.lastSeen = lastSeen;
     }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
 }
 
 /**
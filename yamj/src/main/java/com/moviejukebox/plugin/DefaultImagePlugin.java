@@ -39,6 +39,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.commons.configuration.ConfigurationException;
 import org.apache.commons.configuration.HierarchicalConfiguration;
 import org.apache.commons.configuration.XMLConfiguration;
@@ -108,84 +110,9 @@ public class DefaultImagePlugin implements MovieImagePlugin {
     private static final String SOURCE = "source";
     private static final String RATING = "rating";
     private static final String SUBTITLE = "subtitle";
-    //stretch images
-    private boolean addHDLogo;
-    private boolean addTVLogo;
-    private boolean addSetLogo;
-    private boolean addSubTitle;
-    private boolean blockSubTitle;
-    private boolean addLanguage;
-    private boolean blockLanguage;
     private final boolean highdefDiff;
-    private boolean addTextSetSize;
-    private String textAlignment;
-    private String textFont;
-    private int textFontSize;
-    private String textFontColor;
-    private String textFontShadow;
-    private int textOffset;
-    private String imageType;
-    private boolean roundCorners;
-    private int cornerRadius;
-    // cornerQuality/rcqfactor to improve roundCorner Quality
-    private float rcqFactor;
-    private int frameSize;
-    private String frameColorHD;
-    private String frameColor720;
-    private String frameColor1080;
-    private String frameColorSD;
-    private String overlaySource;
-    // Issue 1937: Overlay configuration XML
-    private final List<LogoOverlay> overlayLayers = new ArrayList<>();
-    private boolean xmlOverlay;
-    private boolean addRating;
-    private boolean realRating;
-    private boolean addVideoSource;
-    private boolean addVideoOut;
-    private boolean addVideoCodec;
-    private boolean addAudioCodec;
-    private boolean blockAudioCodec;
-    private boolean addAudioChannels;
-    private boolean blockAudioChannels;
-    private boolean addAudioLang;
-    private boolean blockAudioLang;
-    private boolean addContainer;
-    private boolean addAspectRatio;
-    private boolean addFPS;
-    private boolean addCertification;
-    private boolean addWatched;
-    private boolean blockWatched;
-    private boolean addTop250;
-    private boolean addKeywords;
-    private boolean addCountry;
-    private boolean blockCountry;
-    private boolean addCompany;
-    private boolean blockCompany;
-    private boolean countSetLogo;
-    private boolean addAward;
-    private boolean awardEventName;
-    private boolean blockAward;
-    private boolean countAward;
-    private boolean blockClones;
-    private boolean addEpisode;
-    private boolean blockEpisode;
-    private final Map<String, ArrayList<String>> keywordsRating = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsVideoSource = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsVideoOut = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsVideoCodec = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsAudioCodec = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsAudioChannels = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsAudioLang = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsContainer = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsAspectRatio = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsFPS = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsCertification = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsKeywords = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsCountry = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsCompany = new HashMap<>();
-    private final Map<String, ArrayList<String>> keywordsAward = new HashMap<>();
-    private final Map<String, LogosBlock> overlayBlocks = new HashMap<>();
-    private int viIndex;
+    // The rendering profiles of the image types, built once from the properties
+    private static final ConcurrentMap<String, ImageProfile> PROFILES = new ConcurrentHashMap<>();
 
     public DefaultImagePlugin() {
         // Generic properties
@@ -217,11 +144,11 @@ public class DefaultImagePlugin implements MovieImagePlugin {
 
     @Override
     public BufferedImage generate(Movie movie, BufferedImage imageGraphic, final String gImageType, final String perspectiveDirection) {
-        imageType = gImageType.toLowerCase();
+        String imageType = gImageType.toLowerCase();
 
         boolean isFooter = false;
 
-        viIndex = 0;
+        int viIndex = 0;
         if (imageType.indexOf(FOOTER) == 0) {
             isFooter = true;
             imageType = imageType.replaceFirst(FOOTER, "");
@@ -236,168 +163,32 @@ public class DefaultImagePlugin implements MovieImagePlugin {
             return imageGraphic;
         }
 
-        // The properties must be loaded after the imageType has been determined
-        boolean addReflectionEffect = PropertiesUtil.getBooleanProperty(imageType + ".reflection", Boolean.FALSE);
-        boolean addPerspective = PropertiesUtil.getBooleanProperty(imageType + ".perspective", Boolean.FALSE);
-        boolean imageNormalize = PropertiesUtil.getBooleanProperty(imageType + ".normalize", Boolean.FALSE);
-        boolean imageStretch = PropertiesUtil.getBooleanProperty(imageType + ".stretch", Boolean.FALSE);
-        boolean addOverlay = PropertiesUtil.getBooleanProperty(imageType + ".overlay", Boolean.FALSE);
-
-        // Specific Properties (dependent upon the imageType)
-        final int imageWidth = PropertiesUtil.getIntProperty(imageType + ".width", 400);
-        final int imageHeight = PropertiesUtil.getIntProperty(imageType + ".height", 600);
-        addHDLogo = PropertiesUtil.getBooleanProperty(imageType + ".logoHD", Boolean.FALSE);
-        addTVLogo = PropertiesUtil.getBooleanProperty(imageType + ".logoTV", Boolean.FALSE);
-
-        String tmpSubTitle = PropertiesUtil.getProperty(imageType + ".logoSubTitle", FALSE);
-        blockSubTitle = BLOCK.equalsIgnoreCase(tmpSubTitle);
-        addSubTitle = TRUE.equalsIgnoreCase(tmpSubTitle) || blockSubTitle;
-
-        String tmpLanguage = PropertiesUtil.getProperty(imageType + ".language", FALSE);
-        blockLanguage = BLOCK.equalsIgnoreCase(tmpLanguage);
-        addLanguage = TRUE.equalsIgnoreCase(tmpLanguage) || blockLanguage;
-
-        String tmpSetLogo = PropertiesUtil.getProperty(imageType + ".logoSet", FALSE);
-        countSetLogo = "count".equalsIgnoreCase(tmpSetLogo);
-        addSetLogo = TRUE.equalsIgnoreCase(tmpSetLogo) || countSetLogo; // Note: This should only be for thumbnails
-
-        boolean addTextTitle = PropertiesUtil.getBooleanProperty(imageType + ".addText.title", Boolean.FALSE);
-        boolean addTextSeason = PropertiesUtil.getBooleanProperty(imageType + ".addText.season", Boolean.FALSE);
-        addTextSetSize = PropertiesUtil.getBooleanProperty(imageType + ".addText.setSize", Boolean.FALSE); // Note: This should only be for thumbnails
-        textAlignment = PropertiesUtil.getProperty(imageType + ".addText.alignment", LEFT);
-        textFont = PropertiesUtil.getProperty(imageType + ".addText.font", "Helvetica");
-        textFontSize = PropertiesUtil.getIntProperty(imageType + ".addText.fontSize", 36);
-        textFontColor = PropertiesUtil.getProperty(imageType + ".addText.fontColor", "LIGHT_GRAY");
-        textFontShadow = PropertiesUtil.getProperty(imageType + ".addText.fontShadow", "DARK_GRAY");
-        textOffset = PropertiesUtil.getIntProperty(imageType + ".addText.offset", 10);
-        roundCorners = PropertiesUtil.getBooleanProperty(imageType + ".roundCorners", Boolean.FALSE);
-        cornerRadius = PropertiesUtil.getIntProperty(imageType + ".cornerRadius", 25);
-        int cornerQuality = PropertiesUtil.getIntProperty(imageType + ".cornerQuality", 0);
-
-        int overlayOffsetX = PropertiesUtil.getIntProperty(imageType + ".overlay.offsetX", 0);
-        int overlayOffsetY = PropertiesUtil.getIntProperty(imageType + ".overlay.offsetY", 0);
-        overlaySource = PropertiesUtil.getProperty(imageType + ".overlay.source", DEFAULT);
-
-        boolean addFrame = PropertiesUtil.getBooleanProperty(imageType + ".addFrame", Boolean.FALSE);
-        frameSize = PropertiesUtil.getIntProperty(imageType + ".frame.size", 5);
-        frameColorSD = PropertiesUtil.getProperty(imageType + ".frame.colorSD", COLOUR_WHITE);
-        frameColorHD = PropertiesUtil.getProperty(imageType + ".frame.colorHD", COLOUR_WHITE);
-        frameColor720 = PropertiesUtil.getProperty(imageType + ".frame.color720", COLOUR_WHITE);
-        frameColor1080 = PropertiesUtil.getProperty(imageType + ".frame.color1080", COLOUR_WHITE);
-
-        // Issue 1937: Overlay configuration XML
-        String tmpRating = PropertiesUtil.getProperty(imageType + ".rating", FALSE);
-        realRating = "real".equalsIgnoreCase(tmpRating);
-        addRating = tmpRating.equalsIgnoreCase(TRUE) || realRating;
-
-        String tmpAudioCodec = PropertiesUtil.getProperty(imageType + ".audiocodec", FALSE);
-        blockAudioCodec = tmpAudioCodec.equalsIgnoreCase(BLOCK);
-        addAudioCodec = tmpAudioCodec.equalsIgnoreCase(TRUE) || blockAudioCodec;
-
-        String tmpAudioChannels = PropertiesUtil.getProperty(imageType + ".audiochannels", FALSE);
-        blockAudioChannels = tmpAudioChannels.equalsIgnoreCase(BLOCK);
-        addAudioChannels = tmpAudioChannels.equalsIgnoreCase(TRUE) || blockAudioChannels;
-
-        String tmpAudioLang = PropertiesUtil.getProperty(imageType + ".audiolang", FALSE);
-        blockAudioLang = tmpAudioCodec.equalsIgnoreCase(BLOCK);
-        addAudioLang = tmpAudioLang.equalsIgnoreCase(TRUE) || blockAudioLang;
-
-        addVideoSource = PropertiesUtil.getBooleanProperty(imageType + ".videosource", Boolean.FALSE);
-        addVideoOut = PropertiesUtil.getBooleanProperty(imageType + ".videoout", Boolean.FALSE);
-        addVideoCodec = PropertiesUtil.getBooleanProperty(imageType + ".videocodec", Boolean.FALSE);
-        addContainer = PropertiesUtil.getBooleanProperty(imageType + ".container", Boolean.FALSE);
-        addAspectRatio = PropertiesUtil.getBooleanProperty(imageType + ".aspect", Boolean.FALSE);
-        addFPS = PropertiesUtil.getBooleanProperty(imageType + ".fps", Boolean.FALSE);
-        addCertification = PropertiesUtil.getBooleanProperty(imageType + ".certification", Boolean.FALSE);
-
-        String tmpWatched = PropertiesUtil.getProperty(imageType + ".watched", FALSE);
-        blockWatched = tmpWatched.equalsIgnoreCase(BLOCK);
-        addWatched = tmpWatched.equalsIgnoreCase(TRUE) || blockWatched;
-
-        String tmpEpisode = PropertiesUtil.getProperty(imageType + ".episode", FALSE);
-        blockEpisode = tmpEpisode.equalsIgnoreCase(BLOCK);
-        addEpisode = tmpEpisode.equalsIgnoreCase(TRUE) || blockEpisode;
-
-        addTop250 = PropertiesUtil.getBooleanProperty(imageType + ".top250", Boolean.FALSE);
-        addKeywords = PropertiesUtil.getBooleanProperty(imageType + ".keywords", Boolean.FALSE);
-        blockClones = PropertiesUtil.getBooleanProperty(imageType + ".clones", Boolean.FALSE);
-
-        String tmpCountry = PropertiesUtil.getProperty(imageType + ".country", FALSE);
-        blockCountry = tmpCountry.equalsIgnoreCase(BLOCK);
-        addCountry = tmpCountry.equalsIgnoreCase(TRUE) || blockCountry;
-
-        String tmpCompany = PropertiesUtil.getProperty(imageType + ".company", FALSE);
-        blockCompany = tmpCompany.equalsIgnoreCase(BLOCK);
-        addCompany = tmpCompany.equalsIgnoreCase(TRUE) || blockCompany;
-
-        String tmpAward = PropertiesUtil.getProperty(imageType + ".award", FALSE);
-        blockAward = tmpAward.equalsIgnoreCase(BLOCK);
-        countAward = "count".equalsIgnoreCase(tmpAward);
-        addAward = tmpAward.equalsIgnoreCase(TRUE) || blockAward || countAward;
-        awardEventName = PropertiesUtil.getBooleanProperty(imageType + ".award.useEventName", Boolean.FALSE);
-
-        xmlOverlay = PropertiesUtil.getBooleanProperty(imageType + ".xmlOverlay", Boolean.FALSE);
-        if (xmlOverlay) {
-            String tmp = PropertiesUtil.getProperty("overlay.keywords.rating", "");
-            fillOverlayKeywords(keywordsRating, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.videosource", "");
-            fillOverlayKeywords(keywordsVideoSource, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.videoout", "");
-            fillOverlayKeywords(keywordsVideoOut, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.videocodec", "");
-            fillOverlayKeywords(keywordsVideoCodec, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.audiocodec", "");
-            fillOverlayKeywords(keywordsAudioCodec, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.audiochannels", "");
-            fillOverlayKeywords(keywordsAudioChannels, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.audiolang", "");
-            fillOverlayKeywords(keywordsAudioLang, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.container", "");
-            fillOverlayKeywords(keywordsContainer, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.aspect", "");
-            fillOverlayKeywords(keywordsAspectRatio, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.fps", "");
-            fillOverlayKeywords(keywordsFPS, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.certification", "");
-            fillOverlayKeywords(keywordsCertification, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.keywords", "");
-            fillOverlayKeywords(keywordsKeywords, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.country", "");
-            fillOverlayKeywords(keywordsCountry, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.company", "");
-            fillOverlayKeywords(keywordsCompany, tmp);
-            tmp = PropertiesUtil.getProperty("overlay.keywords.award", "");
-            fillOverlayKeywords(keywordsAward, tmp);
-            fillOverlayParams(PropertiesUtil.getProperty(imageType + ".xmlOverlayFile", "overlay-default.xml"));
-        }
-
+        // The profile must be loaded after the imageType has been determined
+        ImageProfile profile = getProfile(imageType);
+        final int imageWidth = profile.imageWidth;
+        final int imageHeight = profile.imageHeight;
+        final float rcqFactor = profile.rcqFactor;
         float ratio = (float) imageWidth / (float) imageHeight;
 
-        if (roundCorners) {
-            rcqFactor = (float) cornerQuality / 10 + 1;
-        } else {
-            rcqFactor = 1;
-        }
-
         BufferedImage bi = imageGraphic;
 
         if (imageGraphic != null) {
             int origWidth = imageGraphic.getWidth();
             int origHeight = imageGraphic.getHeight();
             boolean skipResize = false;
-            if (origWidth < imageWidth && origHeight < imageHeight && !addHDLogo && !addLanguage) {
+            if (origWidth < imageWidth && origHeight < imageHeight && !profile.addHDLogo && !profile.addLanguage) {
                 //Perhaps better: if (origWidth == imageWidth && origHeight == imageHeight && !addHDLogo && !addLanguage) {
                 skipResize = true;
             }
 
             // Normalize the image
-            if (imageNormalize) {
+            if (profile.imageNormalize) {
                 if (skipResize) {
                     bi = GraphicTools.scaleToSizeNormalized((int) (origHeight * rcqFactor * ratio), (int) (origHeight * rcqFactor), bi);
                 } else {
                     bi = GraphicTools.scaleToSizeNormalized((int) (imageWidth * rcqFactor), (int) (imageHeight * rcqFactor), bi);
                 }
-            } else if (imageStretch) {
+            } else if (profile.imageStretch) {
                 bi = GraphicTools.scaleToSizeStretch((int) (imageWidth * rcqFactor), (int) (imageHeight * rcqFactor), bi);
 
             } else if (!skipResize) {
@@ -405,14 +196,14 @@ public class DefaultImagePlugin implements MovieImagePlugin {
             }
 
             // addFrame before rounding the corners see Issue 1825
-            if (addFrame) {
-                bi = drawFrame(movie, bi);
+            if (profile.addFrame) {
+                bi = drawFrame(profile, movie, bi);
             }
 
             // roundCornders after addFrame see Issue 1825
-            if (roundCorners) {
-                if (!addFrame) {
-                    bi = drawRoundCorners(bi);
+            if (profile.roundCorners) {
+                if (!profile.addFrame) {
+                    bi = drawRoundCorners(profile, bi);
                 }
 
                 // Don't resize if the factor is the same
@@ -423,31 +214,31 @@ public class DefaultImagePlugin implements MovieImagePlugin {
             }
 
             if (imageType.equalsIgnoreCase(BANNER)) {
-                if (addTextTitle) {
-                    bi = drawText(bi, movie.getTitle(), true);
+                if (profile.addTextTitle) {
+                    bi = drawText(profile, bi, movie.getTitle(), true);
                 }
 
-                if (addTextSeason && movie.isTVShow()) {
-                    bi = drawText(bi, "Season " + movie.getSeason(), false);
+                if (profile.addTextSeason && movie.isTVShow()) {
+                    bi = drawText(profile, bi, "Season " + movie.getSeason(), false);
                 }
             }
 
-            bi = drawLogos(movie, bi, isFooter ? FOOTER : imageType, true);
+            bi = drawLogos(profile, movie, bi, isFooter ? FOOTER : imageType, viIndex, true);
 
-            if (addOverlay) {
-                bi = drawOverlay(movie, bi, overlayOffsetX, overlayOffsetY);
+            if (profile.addOverlay) {
+                bi = drawOverlay(profile, movie, bi, profile.overlayOffsetX, profile.overlayOffsetY);
             }
 
-            bi = drawLogos(movie, bi, isFooter ? FOOTER : imageType, false);
+            bi = drawLogos(profile, movie, bi, isFooter ? FOOTER : imageType, viIndex, false);
 
-            if (addReflectionEffect) {
+            if (profile.addReflectionEffect) {
                 bi = GraphicTools.createReflectedPicture(bi, isFooter ? FOOTER : imageType);
             }
 
-            if (addPerspective) {
+            if (profile.addPerspective) {
                 String perspDir;
                 if (perspectiveDirection == null) { // make sure the perspectiveDirection is populated {
-                    perspDir = PropertiesUtil.getProperty(imageType + ".perspectiveDirection", RIGHT);
+                    perspDir = profile.perspectiveDirection;
                 } else {
                     perspDir = perspectiveDirection;
                 }
@@ -459,57 +250,53 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         return bi;
     }
 
+    /**
+     * Get the rendering profile of the image type, the profile is built the first time it is used
+     *
+     * @param imageType
+     * @return
+     */
+    protected ImageProfile getProfile(String imageType) {
+        String key = overlayRoot + imageType;
+        ImageProfile profile = PROFILES.get(key);
+        if (profile == null) {
+            ImageProfile newProfile = new ImageProfile(imageType, overlayRoot);
+            profile = PROFILES.putIfAbsent(key, newProfile);
+            if (profile == null) {
+                profile = newProfile;
+            }
+        }
+        return profile;
+    }
+
     /**
      * Draw a frame around the image; color depends on resolution if wanted
      *
+     * @param profile
      * @param movie
      * @param bi
      * @return
      */
-    private BufferedImage drawFrame(Movie movie, BufferedImage bi) {
+    private BufferedImage drawFrame(ImageProfile profile, Movie movie, BufferedImage bi) {
         BufferedImage newImg = new BufferedImage(bi.getWidth(), bi.getHeight(), BufferedImage.TYPE_INT_ARGB);
         Graphics2D newGraphics = newImg.createGraphics();
         newGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         int cornerRadius2 = 0;
+        float rcqFactor = profile.rcqFactor;
+        int frameSize = profile.frameSize;
 
         if (!movie.isHD()) {
-            String[] colorSD = frameColorSD.split("/");
-            int[] lengthSD = new int[colorSD.length];
-            for (int i = 0; i < colorSD.length; i++) {
-                lengthSD[i] = Integer.parseInt(colorSD[i]);
-            }
-            newGraphics.setPaint(new Color(lengthSD[0], lengthSD[1], lengthSD[2]));
+            newGraphics.setPaint(profile.frameColorSD);
         } else if (highdefDiff) {
-            if (movie.isHD()) {
-                // Otherwise use the 720p
-                String[] color720 = frameColor720.split("/");
-                int[] length720 = new int[color720.length];
-                for (int i = 0; i < color720.length; i++) {
-                    length720[i] = Integer.parseInt(color720[i]);
-                }
-                newGraphics.setPaint(new Color(length720[0], length720[1], length720[2]));
-            }
-
-            if (movie.isHD1080()) {
-                String[] color1080 = frameColor1080.split("/");
-                int[] length1080 = new int[color1080.length];
-                for (int i = 0; i < color1080.length; i++) {
-                    length1080[i] = Integer.parseInt(color1080[i]);
-                }
-                newGraphics.setPaint(new Color(length1080[0], length1080[1], length1080[2]));
-            }
+            // Use the 1080p colour or otherwise the 720p
+            newGraphics.setPaint(movie.isHD1080() ? profile.frameColor1080 : profile.frameColor720);
         } else {
-            // We don't care, so use the default HD logo.
-            String[] colorHD = frameColorHD.split("/");
-            int[] lengthHD = new int[colorHD.length];
-            for (int i = 0; i < colorHD.length; i++) {
-                lengthHD[i] = Integer.parseInt(colorHD[i]);
-            }
-            newGraphics.setPaint(new Color(lengthHD[0], lengthHD[1], lengthHD[2]));
+            // We don't care, so use the default HD colour.
+            newGraphics.setPaint(profile.frameColorHD);
         }
 
-        if (roundCorners) {
-            cornerRadius2 = cornerRadius;
+        if (profile.roundCorners) {
+            cornerRadius2 = profile.cornerRadius;
         }
 
         RoundRectangle2D.Double rect = new RoundRectangle2D.Double(0, 0, bi.getWidth(), bi.getHeight(), rcqFactor * cornerRadius2, rcqFactor * cornerRadius2);
@@ -530,15 +317,17 @@ public class DefaultImagePlugin implements MovieImagePlugin {
     /**
      * Draw rounded corners on the image
      *
+     * @param profile
      * @param bi
      * @return
      */
-    protected BufferedImage drawRoundCorners(BufferedImage bi) {
+    protected BufferedImage drawRoundCorners(ImageProfile profile, BufferedImage bi) {
         BufferedImage newImg = new BufferedImage(bi.getWidth(), bi.getHeight(), BufferedImage.TYPE_INT_ARGB);
         Graphics2D newGraphics = newImg.createGraphics();
         newGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        RoundRectangle2D.Double rect = new RoundRectangle2D.Double(0, 0, bi.getWidth(), bi.getHeight(), rcqFactor * cornerRadius, rcqFactor * cornerRadius);
+        float arc = profile.rcqFactor * profile.cornerRadius;
+        RoundRectangle2D.Double rect = new RoundRectangle2D.Double(0, 0, bi.getWidth(), bi.getHeight(), arc, arc);
         newGraphics.setClip(rect);
         newGraphics.drawImage(bi, 0, 0, null);
 
@@ -549,19 +338,21 @@ public class DefaultImagePlugin implements MovieImagePlugin {
     /**
      * Draw the TV and HD logos onto the image
      *
+     * @param profile The rendering profile of the image type
      * @param movie The source movie
      * @param bi The image to draw on
      * @param imageType
+     * @param viIndex The part of the video image
      * @param beforeMainOverlay
      * @return The new image with the added logos
      */
     @SuppressWarnings("deprecation")
-    protected BufferedImage drawLogos(Movie movie, BufferedImage bi, String imageType, boolean beforeMainOverlay) {
+    protected BufferedImage drawLogos(ImageProfile profile, Movie movie, BufferedImage bi, String imageType, int viIndex, boolean beforeMainOverlay) {
         BufferedImage newBi = bi;
 
         // Issue 1937: Overlay configuration XML
-        if (xmlOverlay) {
-            for (LogoOverlay layer : overlayLayers) {
+        if (profile.xmlOverlay) {
+            for (LogoOverlay layer : profile.overlayLayers) {
                 if (layer.isBefore() != beforeMainOverlay) {
                     continue;
                 }
@@ -570,19 +361,19 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                 List<StateOverlay> states = new ArrayList<>();
                 for (String name : layer.getNames()) {
                     String value = Movie.UNKNOWN;
-                    if (checkLogoEnabled(name)) {
+                    if (checkLogoEnabled(profile, name)) {
                         if ("set".equalsIgnoreCase(name)) {
-                            value = ((THUMBNAIL.equalsIgnoreCase(imageType) || BANNER.equalsIgnoreCase(imageType) || FOOTER.equalsIgnoreCase(imageType)) && movie.isSetMaster()) ? countSetLogo ? Integer.toString(movie.getSetSize()) : TRUE : countSetLogo ? "0" : FALSE;
+                            value = ((THUMBNAIL.equalsIgnoreCase(imageType) || BANNER.equalsIgnoreCase(imageType) || FOOTER.equalsIgnoreCase(imageType)) && movie.isSetMaster()) ? profile.countSetLogo ? Integer.toString(movie.getSetSize()) : TRUE : profile.countSetLogo ? "0" : FALSE;
                         } else if ("TV".equalsIgnoreCase(name)) {
                             value = movie.isTVShow() ? TRUE : FALSE;
                         } else if ("HD".equalsIgnoreCase(name)) {
                             value = movie.isHD() ? highdefDiff ? movie.isHD1080() ? "hd1080" : "hd720" : "hd" : FALSE;
                         } else if (SUBTITLE.equalsIgnoreCase(name) || "ST".equalsIgnoreCase(name)) {
-                            value = (StringTools.isNotValidString(movie.getSubtitles()) || "NO".equalsIgnoreCase(movie.getSubtitles())) ? FALSE : (blockSubTitle ? movie.getSubtitles() : TRUE);
+                            value = (StringTools.isNotValidString(movie.getSubtitles()) || "NO".equalsIgnoreCase(movie.getSubtitles())) ? FALSE : (profile.blockSubTitle ? movie.getSubtitles() : TRUE);
                         } else if (LANGUAGE.equalsIgnoreCase(name)) {
                             value = movie.getLanguage();
                         } else if (RATING.equalsIgnoreCase(name)) {
-                            value = ((!movie.isTVShow() && !movie.isSetMaster()) || (movie.isTVShow() && movie.isSetMaster())) ? Integer.toString(realRating ? movie.getRating() : (int) (Math.floor(movie.getRating() / 10) * 10)) : Movie.UNKNOWN;
+                            value = ((!movie.isTVShow() && !movie.isSetMaster()) || (movie.isTVShow() && movie.isSetMaster())) ? Integer.toString(profile.realRating ? movie.getRating() : (int) (Math.floor(movie.getRating() / 10) * 10)) : Movie.UNKNOWN;
                         } else if (VIDEOSOURCE.equalsIgnoreCase(name) || SOURCE.equalsIgnoreCase(name) || "VS".equalsIgnoreCase(name)) {
                             value = movie.getVideoSource();
                         } else if ("videoout".equalsIgnoreCase(name) || "out".equalsIgnoreCase(name) || "VO".equalsIgnoreCase(name)) {
@@ -591,7 +382,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                             value = movie.getVideoCodec();
                         } else if (AUDIOCODEC.equalsIgnoreCase(name) || ACODEC.equalsIgnoreCase(name) || "AC".equalsIgnoreCase(name)) {
                             value = movie.getAudioCodec();
-                            if (!blockAudioCodec) {
+                            if (!profile.blockAudioCodec) {
                                 int pos = value.indexOf(Movie.SPACE_SLASH_SPACE);
                                 if (pos > -1) {
                                     value = value.substring(0, pos);
@@ -613,7 +404,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                                 } else {
                                     tmp = Movie.UNKNOWN;
                                 }
-                                if (!blockAudioLang) {
+                                if (!profile.blockAudioLang) {
                                     value = tmp;
                                     break;
                                 }
@@ -627,7 +418,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                             }
                         } else if (name.equalsIgnoreCase(AUDIOCHANNELS) || name.equalsIgnoreCase(CHANNELS)) {
                             value = movie.getAudioChannels();
-                            if (!blockAudioChannels) {
+                            if (!profile.blockAudioChannels) {
                                 int pos = value.indexOf(Movie.SPACE_SLASH_SPACE);
                                 if (pos > -1) {
                                     value = value.substring(0, pos);
@@ -644,7 +435,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                         } else if (WATCHED.equalsIgnoreCase(name)) {
                             if (imageType.equalsIgnoreCase(VIDEOIMAGE)) {
                                 value = movie.getFiles().toArray(new MovieFile[movie.getFiles().size()])[viIndex].isWatched() ? TRUE : FALSE;
-                            } else if (movie.isTVShow() && blockWatched) {
+                            } else if (movie.isTVShow() && profile.blockWatched) {
                                 StringBuilder sbWatched = new StringBuilder();
                                 boolean first = true;
                                 for (MovieFile mf : movie.getFiles()) {
@@ -661,7 +452,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                             }
                         } else if (EPISODE.equalsIgnoreCase(name)) {
                             if (movie.isTVShow()) {
-                                if (blockEpisode) {
+                                if (profile.blockEpisode) {
                                     StringBuilder sbEpisode = new StringBuilder();
                                     boolean first = true;
                                     int firstPart, lastPart;
@@ -688,7 +479,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                             value = movie.getBaseFilename().toLowerCase();
                         } else if (COUNTRY.equalsIgnoreCase(name)) {
                             value = movie.getCountriesAsString();
-                            if (!blockCountry) {
+                            if (!profile.blockCountry) {
                                 int pos = value.indexOf(Movie.SPACE_SLASH_SPACE);
                                 if (pos > -1) {
                                     value = value.substring(0, pos);
@@ -696,7 +487,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                             }
                         } else if (COMPANY.equalsIgnoreCase(name)) {
                             value = movie.getCompany();
-                            if (!blockCompany) {
+                            if (!profile.blockCompany) {
                                 int pos = value.indexOf(Movie.SPACE_SLASH_SPACE);
                                 if (pos > -1) {
                                     value = value.substring(0, pos);
@@ -710,9 +501,9 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                                 for (AwardEvent awardEvent : movie.getAwards()) {
                                     for (Award award : awardEvent.getAwards()) {
                                         if (award.getWon() > 0) {
-                                            if (blockAward) {
-                                                awards.put((awardEventName ? (awardEvent.getName() + " - ") : "") + award.getName(), award.getWon());
-                                            } else if (countAward) {
+                                            if (profile.blockAward) {
+                                                awards.put((profile.awardEventName ? (awardEvent.getName() + " - ") : "") + award.getName(), award.getWon());
+                                            } else if (profile.countAward) {
                                                 awardCount++;
                                             } else {
                                                 value = TRUE;
@@ -720,13 +511,13 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                                             }
                                         }
                                     }
-                                    if (!blockAward && !countAward && StringTools.isValidString(value)) {
+                                    if (!profile.blockAward && !profile.countAward && StringTools.isValidString(value)) {
                                         break;
                                     }
                                 }
                             }
 
-                            if (blockAward) {
+                            if (profile.blockAward) {
                                 ValueComparator bvc = new ValueComparator(awards);
                                 Map<String, Integer> sortedAwards = new TreeMap<>(bvc);
                                 sortedAwards.putAll(awards);
@@ -744,7 +535,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                                 }
                                 value += sbAwards.toString();
                             }
-                            value = (StringTools.isNotValidString(value) && !countAward) ? blockAward ? Movie.UNKNOWN : FALSE : countAward ? Integer.toString(awardCount) : value;
+                            value = (StringTools.isNotValidString(value) && !profile.countAward) ? profile.blockAward ? Movie.UNKNOWN : FALSE : profile.countAward ? Integer.toString(awardCount) : value;
                         } else {
                             value = PropertiesUtil.getProperty(name, Movie.UNKNOWN);
                         }
@@ -757,8 +548,8 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                     String name = layer.getNames().get(inx);
                     String value = states.get(inx).getValue();
                     String filename = Movie.UNKNOWN;
-                    if (checkLogoEnabled(name)) {
-                        if (!blockLanguage && LANGUAGE.equalsIgnoreCase(name) && StringTools.isValidString(value)) {
+                    if (checkLogoEnabled(profile, name)) {
+                        if (!profile.blockLanguage && LANGUAGE.equalsIgnoreCase(name) && StringTools.isValidString(value)) {
                             filename = "languages/English.png";
                         }
                         String[] values = value.split(Movie.SPACE_SLASH_SPACE);
@@ -767,12 +558,12 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                             for (ImageOverlay img : layer.getImages()) {
                                 if (img.getName().equalsIgnoreCase(name)) {
                                     boolean accept = false;
-                                    if (img.getValues().size() == 1 && cmpOverlayValue(name, img.getValue(), value)) {
+                                    if (img.getValues().size() == 1 && cmpOverlayValue(profile, name, img.getValue(), value)) {
                                         accept = true;
                                     } else if (img.getValues().size() > 1) {
                                         accept = true;
                                         for (int i = 0; i < layer.getNames().size(); i++) {
-                                            accept = accept && cmpOverlayValue(layer.getNames().get(i), img.getValues().get(i), states.get(i).getValue());
+                                            accept = accept && cmpOverlayValue(profile, layer.getNames().get(i), img.getValues().get(i), states.get(i).getValue());
                                             if (!accept) {
                                                 break;
                                             }
@@ -809,7 +600,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                             String name = layer.getNames().get(i);
                             String condition = cond.getValues().get(i);
                             String value = states.get(i).getValue();
-                            flag = flag && cmpOverlayValue(name, condition, value);
+                            flag = flag && cmpOverlayValue(profile, name, condition, value);
                             if (!flag) {
                                 break;
                             }
@@ -830,7 +621,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                 for (int i = 0; i < layer.getNames().size(); i++) {
                     StateOverlay state = states.get(i);
                     String name = layer.getNames().get(i);
-                    if (!blockLanguage && LANGUAGE.equalsIgnoreCase(name)) {
+                    if (!profile.blockLanguage && LANGUAGE.equalsIgnoreCase(name)) {
                         newBi = drawLanguage(movie, newBi, getOverlayX(newBi.getWidth(), 62, state.getLeft(), state.getAlign()), getOverlayY(newBi.getHeight(), 40, state.getTop(), state.getValign()));
                         continue;
                     }
@@ -840,23 +631,23 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                         continue;
                     }
 
-                    if (((blockAudioCodec && ((AUDIOCODEC.equalsIgnoreCase(name) || ACODEC.equalsIgnoreCase(name) || "AC".equalsIgnoreCase(name))))
-                            || (blockAudioChannels && (AUDIOCHANNELS.equalsIgnoreCase(name) || CHANNELS.equalsIgnoreCase(name)))
-                            || (blockAudioLang && (AUDIOLANG.equalsIgnoreCase(name) || ALANG.equalsIgnoreCase(name) || "AL".equalsIgnoreCase(name)))
-                            || (blockCountry && COUNTRY.equalsIgnoreCase(name))
-                            || (blockCompany && COMPANY.equalsIgnoreCase(name))
-                            || (blockAward && AWARD.equalsIgnoreCase(name))
-                            || (blockWatched && WATCHED.equalsIgnoreCase(name))
-                            || (blockEpisode && EPISODE.equalsIgnoreCase(name))
-                            || (blockSubTitle && SUBTITLE.equalsIgnoreCase(name))
-                            || (blockLanguage && LANGUAGE.equalsIgnoreCase(name)))
-                            && (overlayBlocks.get(name) != null)) {
-                        newBi = drawBlock(movie, newBi, name, filename, state.getLeft(), state.getAlign(), state.getWidth(), state.getTop(), state.getValign(), state.getHeight());
+                    if (((profile.blockAudioCodec && ((AUDIOCODEC.equalsIgnoreCase(name) || ACODEC.equalsIgnoreCase(name) || "AC".equalsIgnoreCase(name))))
+                            || (profile.blockAudioChannels && (AUDIOCHANNELS.equalsIgnoreCase(name) || CHANNELS.equalsIgnoreCase(name)))
+                            || (profile.blockAudioLang && (AUDIOLANG.equalsIgnoreCase(name) || ALANG.equalsIgnoreCase(name) || "AL".equalsIgnoreCase(name)))
+                            || (profile.blockCountry && COUNTRY.equalsIgnoreCase(name))
+                            || (profile.blockCompany && COMPANY.equalsIgnoreCase(name))
+                            || (profile.blockAward && AWARD.equalsIgnoreCase(name))
+                            || (profile.blockWatched && WATCHED.equalsIgnoreCase(name))
+                            || (profile.blockEpisode && EPISODE.equalsIgnoreCase(name))
+                            || (profile.blockSubTitle && SUBTITLE.equalsIgnoreCase(name))
+                            || (profile.blockLanguage && LANGUAGE.equalsIgnoreCase(name)))
+                            && (profile.overlayBlocks.get(name) != null)) {
+                        newBi = drawBlock(profile, movie, newBi, name, filename, state.getLeft(), state.getAlign(), state.getWidth(), state.getTop(), state.getValign(), state.getHeight());
                         continue;
                     }
 
                     try {
-                        BufferedImage biSet = GraphicTools.loadJPEGImage(overlayResources + filename);
+                        BufferedImage biSet = GraphicTools.loadResourceImage(overlayResources + filename);
 
                         Graphics2D g2d = newBi.createGraphics();
                         g2d.drawImage(biSet,
@@ -874,35 +665,35 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                     }
 
                     if ("set".equalsIgnoreCase(name)) {
-                        newBi = drawSetSize(movie, newBi);
+                        newBi = drawSetSize(profile, movie, newBi);
                     }
                 }
             }
         } else if (beforeMainOverlay) {
-            if (addHDLogo) {
-                newBi = drawLogoHD(movie, newBi, addTVLogo);
+            if (profile.addHDLogo) {
+                newBi = drawLogoHD(movie, newBi, profile.addTVLogo);
             }
 
-            if (addTVLogo) {
-                newBi = drawLogoTV(movie, newBi, addHDLogo);
+            if (profile.addTVLogo) {
+                newBi = drawLogoTV(movie, newBi, profile.addHDLogo);
             }
 
-            if (addLanguage) {
+            if (profile.addLanguage) {
                 newBi = drawLanguage(movie, newBi, 1, 1);
             }
 
-            if (addSubTitle) {
+            if (profile.addSubTitle) {
                 newBi = drawSubTitle(movie, newBi);
             }
 
             // Should only really happen on set's thumbnails.
             if (imageType.equalsIgnoreCase(THUMBNAIL) && movie.isSetMaster()) {
                 // Draw the set logo if requested.
-                if (addSetLogo) {
+                if (profile.addSetLogo) {
                     newBi = drawSet(movie, newBi);
                     LOG.debug("Drew set logo on {}", movie.getTitle());
                 }
-                newBi = drawSetSize(movie, newBi);
+                newBi = drawSetSize(profile, movie, newBi);
             }
         }
 
@@ -930,7 +721,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         }
 
         try {
-            BufferedImage biSubTitle = GraphicTools.loadJPEGImage(logoFile);
+            BufferedImage biSubTitle = GraphicTools.loadResourceImage(logoFile);
             Graphics2D g2d = bi.createGraphics();
             g2d.drawImage(biSubTitle, bi.getWidth() - biSubTitle.getWidth() - 5, 5, null);
             g2d.dispose();
@@ -981,7 +772,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         }
 
         try {
-            BufferedImage biHd = GraphicTools.loadJPEGImage(getResourcesPath() + logoFilename);
+            BufferedImage biHd = GraphicTools.loadResourceImage(getResourcesPath() + logoFilename);
             Graphics2D g2d = bi.createGraphics();
 
             if (addOtherLogo && (movie.isTVShow())) {
@@ -1015,7 +806,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
     private BufferedImage drawLogoTV(Movie movie, BufferedImage bi, Boolean addOtherLogo) {
         if (movie.isTVShow()) {
             try {
-                BufferedImage biTV = GraphicTools.loadJPEGImage(getResourcesPath() + FILENAME_TV);
+                BufferedImage biTV = GraphicTools.loadResourceImage(getResourcesPath() + FILENAME_TV);
                 Graphics2D g2d = bi.createGraphics();
 
                 if (addOtherLogo && movie.isHD()) {
@@ -1043,14 +834,16 @@ public class DefaultImagePlugin implements MovieImagePlugin {
     /**
      * Draw an overlay on the image, such as a box cover specific for videosource, container, certification if wanted
      *
+     * @param profile
      * @param movie
      * @param bi
      * @param offsetY
      * @param offsetX
      * @return
      */
-    private BufferedImage drawOverlay(Movie movie, BufferedImage bi, int offsetX, int offsetY) {
+    private BufferedImage drawOverlay(ImageProfile profile, Movie movie, BufferedImage bi, int offsetX, int offsetY) {
 
+        String overlaySource = profile.overlaySource;
         String source;
         if (overlaySource.equalsIgnoreCase(VIDEOSOURCE)) {
             source = movie.getVideoSource();
@@ -1070,10 +863,10 @@ public class DefaultImagePlugin implements MovieImagePlugin {
             source = DEFAULT;
         }
 
-        String overlayFilename = source + "_overlay_" + imageType + ".png";
+        String overlayFilename = source + "_overlay_" + profile.imageType + ".png";
 
         try {
-            BufferedImage biOverlay = GraphicTools.loadJPEGImage(getResourcesPath() + overlayFilename);
+            BufferedImage biOverlay = GraphicTools.loadResourceImage(getResourcesPath() + overlayFilename);
 
             BufferedImage returnBI = new BufferedImage(biOverlay.getWidth(), biOverlay.getHeight(), BufferedImage.TYPE_INT_ARGB);
             Graphics2D g2BI = returnBI.createGraphics();
@@ -1132,7 +925,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                 Graphics2D g2d = bi.createGraphics();
                 File imageFile = new File(getResourcesPath() + languageFilename);
                 if (imageFile.exists()) {
-                    BufferedImage biLang = GraphicTools.loadJPEGImage(imageFile);
+                    BufferedImage biLang = GraphicTools.loadResourceImage(imageFile);
                     g2d.drawImage(biLang, 1, 1, null);
                 } else if (languages.length == 1) {
                     LOG.warn("Failed drawing Language logo to thumbnail file: {}", movie.getBaseName());
@@ -1152,7 +945,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                         imageFile = new File(getResourcesPath() + languageFilename);
                         if (imageFile.exists()) {
 
-                            BufferedImage biLang = GraphicTools.loadJPEGImage(imageFile);
+                            BufferedImage biLang = GraphicTools.loadResourceImage(imageFile);
                             imageFiles[i] = biLang;
 
                             // Determine image size.
@@ -1186,7 +979,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         return bi;
     }
 
-    private BufferedImage drawBlock(IMovieBasicInformation movie, BufferedImage bi, String name, String files, int left, String align, String width, int top, String valign, String height) {
+    private BufferedImage drawBlock(ImageProfile profile, IMovieBasicInformation movie, BufferedImage bi, String name, String files, int left, String align, String width, int top, String valign, String height) {
 
         int currentFilenameNumber = 0;
 
@@ -1194,12 +987,12 @@ public class DefaultImagePlugin implements MovieImagePlugin {
             String[] filenames = files.split(Movie.SPACE_SLASH_SPACE);
             try {
                 Graphics2D g2d = bi.createGraphics();
-                BufferedImage biSet = GraphicTools.loadJPEGImage(overlayResources + filenames[currentFilenameNumber]);
+                BufferedImage biSet = GraphicTools.loadResourceImage(overlayResources + filenames[currentFilenameNumber]);
                 List<String> uniqueFiles = new ArrayList<>();
                 uniqueFiles.add(filenames[0]);
                 int lWidth = width.matches(D_PLUS) ? Integer.parseInt(width) : biSet.getWidth();
                 int lHeight = height.matches(D_PLUS) ? Integer.parseInt(height) : biSet.getHeight();
-                LogosBlock block = overlayBlocks.get(name);
+                LogosBlock block = profile.overlayBlocks.get(name);
                 int cols = block.getCols();
                 int rows = block.getRows();
                 boolean clones = block.isClones();
@@ -1253,7 +1046,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                         }
 
                         currentFilenameNumber = i;
-                        biSet = GraphicTools.loadJPEGImage(overlayResources + filenames[currentFilenameNumber]);
+                        biSet = GraphicTools.loadResourceImage(overlayResources + filenames[currentFilenameNumber]);
                         if (block.isSize() || width.equalsIgnoreCase(EQUAL) || width.matches(D_PLUS)) {
                             offsetX = (left > 0 ? 1 : -1) * col * (lWidth + block.gethMargin());
                         } else if (width.equalsIgnoreCase(AUTO)) {
@@ -1304,7 +1097,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
      */
     private BufferedImage drawSet(Movie movie, BufferedImage bi) {
         try {
-            BufferedImage biSet = GraphicTools.loadJPEGImage(getResourcesPath() + FILENAME_SET);
+            BufferedImage biSet = GraphicTools.loadResourceImage(getResourcesPath() + FILENAME_SET);
 
             Graphics2D g2d = bi.createGraphics();
             g2d.drawImage(biSet, bi.getWidth() - biSet.getWidth() - 5, 1, null);
@@ -1319,10 +1112,10 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         return bi;
     }
 
-    private BufferedImage drawSetSize(Movie movie, BufferedImage bi) {
+    private BufferedImage drawSetSize(ImageProfile profile, Movie movie, BufferedImage bi) {
         // Let's draw the set's size (at bottom) if requested.
         final int size = movie.getSetSize();
-        if (addTextSetSize && size > 0) {
+        if (profile.addTextSetSize && size > 0) {
             String text;
             // Let's draw not more than 9...
             if (size > 9) {
@@ -1331,7 +1124,7 @@ public class DefaultImagePlugin implements MovieImagePlugin {
                 text = Integer.toString(size);
             }
             LOG.debug("Size ({}) of set [{}] was drawn", movie.getSetSize(), movie.getTitle());
-            return drawText(bi, text, false);
+            return drawText(profile, bi, text, false);
         }
 
         return bi;
@@ -1346,9 +1139,9 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         return overlayResources;
     }
 
-    private BufferedImage drawText(BufferedImage bi, String outputText, boolean verticalAlign) {
+    private static BufferedImage drawText(ImageProfile profile, BufferedImage bi, String outputText, boolean verticalAlign) {
         Graphics2D g2d = bi.createGraphics();
-        g2d.setFont(new Font(textFont, Font.BOLD, textFontSize));
+        g2d.setFont(profile.textFont);
         FontMetrics fm = g2d.getFontMetrics();
         int textWidth = fm.stringWidth(outputText);
         int imageWidth = bi.getWidth();
@@ -1356,10 +1149,10 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         int leftAlignment;
         int topAlignment;
 
-        if (textAlignment.equalsIgnoreCase(LEFT)) {
-            leftAlignment = textOffset;
-        } else if (textAlignment.equalsIgnoreCase(RIGHT)) {
-            leftAlignment = imageWidth - textWidth - textOffset;
+        if (profile.textAlignment.equalsIgnoreCase(LEFT)) {
+            leftAlignment = profile.textOffset;
+        } else if (profile.textAlignment.equalsIgnoreCase(RIGHT)) {
+            leftAlignment = imageWidth - textWidth - profile.textOffset;
         } else {
             leftAlignment = (imageWidth / 2) - (textWidth / 2);
         }
@@ -1373,13 +1166,13 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         }
 
         // Create the drop shadow
-        if (StringUtils.isNotBlank(textFontShadow)) {
-            g2d.setColor(getColor(textFontShadow, Color.DARK_GRAY));
+        if (profile.textFontShadow != null) {
+            g2d.setColor(profile.textFontShadow);
             g2d.drawString(outputText, leftAlignment + 2, topAlignment + 2);
         }
 
         // Create the text itself
-        g2d.setColor(getColor(textFontColor, Color.LIGHT_GRAY));
+        g2d.setColor(profile.textFontColor);
         g2d.drawString(outputText, leftAlignment, topAlignment);
 
         g2d.dispose();
@@ -1394,221 +1187,53 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         return returnColor;
     }
 
-    private void fillOverlayParams(String xmlOverlayFilename) {
-        if (!xmlOverlayFilename.toUpperCase().endsWith("XML")) {
-            return;
-        }
-        File xmlOverlayFile = new File(overlayRoot + xmlOverlayFilename);
-        if (xmlOverlayFile.exists() && xmlOverlayFile.isFile()) {
-            try {
-                XMLConfiguration c = new XMLConfiguration(xmlOverlayFile);
-                List<HierarchicalConfiguration> layers = c.configurationsAt("layer");
-                overlayLayers.clear();
-                int index = 0;
-                for (HierarchicalConfiguration layer : layers) {
-                    String name = layer.getString("name");
-                    if (StringTools.isNotValidString(name)) {
-                        continue;
-                    }
-                    LogoOverlay overlay = new LogoOverlay();
-
-                    String after = layer.getString("[@after]");
-                    if (StringTools.isValidString(after) && after.equalsIgnoreCase(TRUE)) {
-                        overlay.setBefore(Boolean.FALSE);
-                    }
-
-                    String left = layer.getString(LEFT);
-                    String top = layer.getString(TOP);
-                    String align = layer.getString("align");
-                    String valign = layer.getString("valign");
-                    String width = layer.getString("width");
-                    String height = layer.getString("height");
-
-                    overlay.setNames(Arrays.asList(name.split("/")));
-                    if (StringUtils.isNumeric(left)) {
-                        overlay.setLeft(NumberUtils.toInt(left, 0));
-                    }
-                    if (StringUtils.isNumeric(top)) {
-                        overlay.setTop(NumberUtils.toInt(top, 0));
-                    }
-                    if (StringTools.isValidString(align) && (align.equalsIgnoreCase(LEFT) || align.equalsIgnoreCase(CENTER) || align.equalsIgnoreCase(RIGHT))) {
-                        overlay.setAlign(align);
-                    }
-                    if (StringTools.isValidString(valign) && (valign.equalsIgnoreCase(TOP) || valign.equalsIgnoreCase(CENTER) || valign.equalsIgnoreCase(BOTTOM))) {
-                        overlay.setValign(valign);
-                    }
-                    if (StringTools.isValidString(width) && (width.equalsIgnoreCase(EQUAL) || width.equalsIgnoreCase(AUTO) || width.matches(D_PLUS))) {
-                        overlay.setWidth(width);
-                    }
-                    if (StringTools.isValidString(height) && (height.equalsIgnoreCase(EQUAL) || height.equalsIgnoreCase(AUTO) || height.matches(D_PLUS))) {
-                        overlay.setHeight(height);
-                    }
-
-                    List<HierarchicalConfiguration> images = c.configurationsAt("layer(" + index + ").images.image");
-                    for (HierarchicalConfiguration image : images) {
-                        name = image.getString("[@name]");
-                        String value = image.getString("[@value]");
-                        String filename = image.getString("[@filename]");
-
-                        if (StringTools.isNotValidString(name)) {
-                            name = overlay.getNames().get(0);
-                        }
-                        if (!overlay.getNames().contains(name) || StringTools.isNotValidString(value) || StringTools.isNotValidString(filename)) {
-                            continue;
-                        }
-
-                        ImageOverlay img = new ImageOverlay(name, value, filename, Arrays.asList(value.split("/")));
-                        if (img.getValues().size() > 1) {
-                            for (int i = 0; i < overlay.getNames().size(); i++) {
-                                if (img.getValues().size() <= i) {
-                                    img.getValues().add(Movie.UNKNOWN);
-                                } else if (StringTools.isNotValidString(img.getValues().get(i))) {
-                                    img.getValues().set(i, Movie.UNKNOWN);
-                                }
-                            }
-                        }
-                        overlay.getImages().add(img);
-                    }
-
-                    if (overlay.getNames().size() > 1) {
-                        List<HierarchicalConfiguration> positions = c.configurationsAt("layer(" + index + ").positions.position");
-                        for (HierarchicalConfiguration position : positions) {
-                            String value = position.getString("[@value]");
-                            left = position.getString("[@left]");
-                            top = position.getString("[@top]");
-                            align = position.getString("[@align]");
-                            valign = position.getString("[@valign]");
-                            width = position.getString("[@width]");
-                            height = position.getString("[@height]");
-
-                            if (StringTools.isNotValidString(value)) {
-                                continue;
-                            }
-                            ConditionOverlay condition = new ConditionOverlay();
-                            condition.setValues(Arrays.asList(value.split("/")));
-                            if (StringTools.isNotValidString(left)) {
-                                left = Integer.toString(overlay.getLeft());
-                            }
-                            if (StringTools.isNotValidString(top)) {
-                                top = Integer.toString(overlay.getTop());
-                            }
-                            if (StringTools.isNotValidString(align)) {
-                                align = overlay.getAlign();
-                            }
-                            if (StringTools.isNotValidString(valign)) {
-                                valign = overlay.getValign();
-                            }
-                            if (StringTools.isNotValidString(width)) {
-                                width = overlay.getWidth();
-                            }
-                            if (StringTools.isNotValidString(height)) {
-                                height = overlay.getHeight();
-                            }
-                            List<String> lefts = Arrays.asList(left.split("/"));
-                            List<String> tops = Arrays.asList(top.split("/"));
-                            List<String> aligns = Arrays.asList(align.split("/"));
-                            List<String> valigns = Arrays.asList(valign.split("/"));
-                            List<String> widths = Arrays.asList(width.split("/"));
-                            List<String> heights = Arrays.asList(height.split("/"));
-                            for (int i = 0; i < overlay.getNames().size(); i++) {
-                                if (StringTools.isNotValidString(condition.getValues().get(i))) {
-                                    condition.getValues().set(i, Movie.UNKNOWN);
-                                }
-                                PositionOverlay p = new PositionOverlay((lefts.size() <= i || StringTools.isNotValidString(lefts.get(i))) ? overlay.getLeft() : Integer.parseInt(lefts.get(i)),
-                                        (tops.size() <= i || StringTools.isNotValidString(tops.get(i))) ? overlay.getTop() : Integer.parseInt(tops.get(i)),
-                                        (aligns.size() <= i || StringTools.isNotValidString(aligns.get(i))) ? overlay.getAlign() : aligns.get(i),
-                                        (valigns.size() <= i || StringTools.isNotValidString(valigns.get(i))) ? overlay.getValign() : valigns.get(i),
-                                        (widths.size() <= i || StringTools.isNotValidString(widths.get(i))) ? overlay.getWidth() : widths.get(i),
-                                        (heights.size() <= i || StringTools.isNotValidString(heights.get(i))) ? overlay.getHeight() : heights.get(i));
-                                condition.getPositions().add(p);
-                            }
-                            overlay.getPositions().add(condition);
-                        }
-                    }
-                    overlayLayers.add(overlay);
-                    index++;
-                }
-
-                List<HierarchicalConfiguration> blocks = c.configurationsAt(BLOCK);
-                overlayBlocks.clear();
-                for (HierarchicalConfiguration block : blocks) {
-                    String name = block.getString("name");
-                    if (StringTools.isNotValidString(name)) {
-                        continue;
-                    }
-                    String dir = block.getString("dir");
-                    dir = StringTools.isNotValidString(dir) ? "horizontal" : dir;
-                    String size = block.getString("size");
-                    size = StringTools.isNotValidString(size) ? AUTO : size;
-                    String cols = block.getString("cols");
-                    cols = StringTools.isNotValidString(cols) ? AUTO : cols;
-                    String rows = block.getString("rows");
-                    rows = StringTools.isNotValidString(rows) ? AUTO : rows;
-                    String hmargin = block.getString("hmargin");
-                    hmargin = StringTools.isNotValidString(hmargin) ? "0" : hmargin;
-                    String vmargin = block.getString("vmargin");
-                    vmargin = StringTools.isNotValidString(vmargin) ? "0" : vmargin;
-                    String clones = block.getString("clones");
-                    overlayBlocks.put(name, new LogosBlock("horizontal".equalsIgnoreCase(dir),
-                            "static".equalsIgnoreCase(size),
-                            cols, rows, hmargin, vmargin, StringTools.isNotValidString(clones) ? blockClones : (TRUE.equalsIgnoreCase(clones) ? true : (FALSE.equalsIgnoreCase(clones) ? false : blockClones))));
-                }
-            } catch (ConfigurationException ex) {
-                LOG.error("Failed parsing moviejukebox overlay configuration file: {}", xmlOverlayFile.getName());
-                LOG.error(SystemTools.getStackTrace(ex));
-            }
-        } else {
-            LOG.error("The moviejukebox overlay configuration file you specified is invalid: {}", xmlOverlayFile.getAbsolutePath());
-        }
-    }
-
-    protected boolean checkLogoEnabled(String name) {
+    protected boolean checkLogoEnabled(ImageProfile profile, String name) {
         if (LANGUAGE.equalsIgnoreCase(name)) {
-            return addLanguage;
+            return profile.addLanguage;
         } else if (SUBTITLE.equalsIgnoreCase(name)) {
-            return addSubTitle;
+            return profile.addSubTitle;
         } else if ("set".equalsIgnoreCase(name)) {
-            return addSetLogo;
+            return profile.addSetLogo;
         } else if ("TV".equalsIgnoreCase(name)) {
-            return addTVLogo;
+            return profile.addTVLogo;
         } else if ("HD".equalsIgnoreCase(name)) {
-            return addHDLogo;
+            return profile.addHDLogo;
         } else if (RATING.equalsIgnoreCase(name)) {
-            return addRating;
+            return profile.addRating;
         } else if (VIDEOSOURCE.equalsIgnoreCase(name) || SOURCE.equalsIgnoreCase(name) || "VS".equalsIgnoreCase(name)) {
-            return addVideoSource;
+            return profile.addVideoSource;
         } else if ("videoout".equalsIgnoreCase(name) || "out".equalsIgnoreCase(name) || "VO".equalsIgnoreCase(name)) {
-            return addVideoOut;
+            return profile.addVideoOut;
         } else if (VIDEOCODEC.equalsIgnoreCase(name) || VCODEC.equalsIgnoreCase(name) || "VC".equalsIgnoreCase(name)) {
-            return addVideoCodec;
+            return profile.addVideoCodec;
         } else if (AUDIOCODEC.equalsIgnoreCase(name) || ACODEC.equalsIgnoreCase(name) || "AC".equalsIgnoreCase(name)) {
-            return addAudioCodec;
+            return profile.addAudioCodec;
         } else if (AUDIOCHANNELS.equalsIgnoreCase(name) || CHANNELS.equalsIgnoreCase(name)) {
-            return addAudioChannels;
+            return profile.addAudioChannels;
         } else if (AUDIOLANG.equalsIgnoreCase(name) || ALANG.equalsIgnoreCase(name) || "AL".equalsIgnoreCase(name)) {
-            return addAudioLang;
+            return profile.addAudioLang;
         } else if (CONTAINER.equalsIgnoreCase(name)) {
-            return addContainer;
+            return profile.addContainer;
         } else if (ASPECT.equalsIgnoreCase(name)) {
-            return addAspectRatio;
+            return profile.addAspectRatio;
         } else if ("fps".equalsIgnoreCase(name)) {
-            return addFPS;
+            return profile.addFPS;
         } else if (CERTIFICATION.equalsIgnoreCase(name)) {
-            return addCertification;
+            return profile.addCertification;
         } else if (WATCHED.equalsIgnoreCase(name)) {
-            return addWatched;
+            return profile.addWatched;
         } else if (EPISODE.equalsIgnoreCase(name)) {
-            return addEpisode;
+            return profile.addEpisode;
         } else if ("top250".equalsIgnoreCase(name)) {
-            return addTop250;
+            return profile.addTop250;
         } else if (KEYWORDS.equalsIgnoreCase(name)) {
-            return addKeywords;
+            return profile.addKeywords;
         } else if (COUNTRY.equalsIgnoreCase(name)) {
-            return addCountry;
+            return profile.addCountry;
         } else if (COMPANY.equalsIgnoreCase(name)) {
-            return addCompany;
+            return profile.addCompany;
         } else if (AWARD.equalsIgnoreCase(name)) {
-            return addAward;
+            return profile.addAward;
         }
         return !PropertiesUtil.getProperty(name, Movie.UNKNOWN).equals(Movie.UNKNOWN);
     }
@@ -1633,54 +1258,42 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         }
     }
 
-    protected void fillOverlayKeywords(Map<String, ArrayList<String>> data, String keywordList) {
-        data.clear();
-        if (StringTools.isValidString(keywordList)) {
-            for (String keyword : keywordList.split(" ; ")) {
-                String[] keywordValues = keyword.split(Movie.SPACE_SLASH_SPACE);
-                if (keywordValues.length > 1) {
-                    data.put(keywordValues[0], new ArrayList<>(Arrays.asList(keywordValues)));
-                }
-            }
-        }
-    }
-
-    protected boolean cmpOverlayValue(final String name, final String condition, final String value) {
+    protected boolean cmpOverlayValue(ImageProfile profile, final String name, final String condition, final String value) {
         boolean result = ((KEYWORDS.equalsIgnoreCase(name) && value.contains(condition.toLowerCase()))
                 || condition.equalsIgnoreCase(value)
                 || DEFAULT.equalsIgnoreCase(condition));
         if (!result) {
-            Map<String, ArrayList<String>> data;
+            Map<String, List<String>> data;
             if (RATING.equalsIgnoreCase(name)) {
-                data = keywordsRating;
+                data = profile.keywordsRating;
             } else if (VIDEOSOURCE.equalsIgnoreCase(name) || SOURCE.equalsIgnoreCase(name) || "VS".equalsIgnoreCase(name)) {
-                data = keywordsVideoSource;
+                data = profile.keywordsVideoSource;
             } else if ("videoout".equalsIgnoreCase(name) || "out".equalsIgnoreCase(name) || "VO".equalsIgnoreCase(name)) {
-                data = keywordsVideoOut;
+                data = profile.keywordsVideoOut;
             } else if (VIDEOCODEC.equalsIgnoreCase(name) || VCODEC.equalsIgnoreCase(name) || "VC".equalsIgnoreCase(name)) {
-                data = keywordsVideoCodec;
+                data = profile.keywordsVideoCodec;
             } else if (AUDIOCODEC.equalsIgnoreCase(name) || ACODEC.equalsIgnoreCase(name) || "AC".equalsIgnoreCase(name)) {
-                data = keywordsAudioCodec;
+                data = profile.keywordsAudioCodec;
             } else if (AUDIOCHANNELS.equalsIgnoreCase(name) || CHANNELS.equalsIgnoreCase(name)) {
-                data = keywordsAudioChannels;
+                data = profile.keywordsAudioChannels;
             } else if (AUDIOLANG.equalsIgnoreCase(name) || ALANG.equalsIgnoreCase(name) || "AL".equalsIgnoreCase(name)) {
-                data = keywordsAudioLang;
+                data = profile.keywordsAudioLang;
             } else if (CONTAINER.equalsIgnoreCase(name)) {
-                data = keywordsContainer;
+                data = profile.keywordsContainer;
             } else if (ASPECT.equalsIgnoreCase(name)) {
-                data = keywordsAspectRatio;
+                data = profile.keywordsAspectRatio;
             } else if ("fps".equalsIgnoreCase(name)) {
-                data = keywordsFPS;
+                data = profile.keywordsFPS;
             } else if (CERTIFICATION.equalsIgnoreCase(name)) {
-                data = keywordsCertification;
+                data = profile.keywordsCertification;
             } else if (KEYWORDS.equalsIgnoreCase(name)) {
-                data = keywordsKeywords;
+                data = profile.keywordsKeywords;
             } else if (COUNTRY.equalsIgnoreCase(name)) {
-                data = keywordsCountry;
+                data = profile.keywordsCountry;
             } else if (COMPANY.equalsIgnoreCase(name)) {
-                data = keywordsCompany;
+                data = profile.keywordsCompany;
             } else if (AWARD.equalsIgnoreCase(name)) {
-                data = keywordsAward;
+                data = profile.keywordsAward;
             } else {
                 return false;
             }
@@ -1700,4 +1313,440 @@ public class DefaultImagePlugin implements MovieImagePlugin {
         }
         return result;
     }
+
+    /**
+     * The rendering settings of an image type.
+     *
+     * The properties, colours, font and the overlay configuration XML are read once when the profile is built, the profile
+     * is not changed afterwards so it can be shared by all the threads generating images.
+     */
+    protected static final class ImageProfile {
+
+        private final String imageType;
+        private final boolean addReflectionEffect;
+        private final boolean addPerspective;
+        private final String perspectiveDirection;
+        private final boolean imageNormalize;
+        private final boolean imageStretch;
+        private final boolean addOverlay;
+        private final int imageWidth;
+        private final int imageHeight;
+        private final boolean addHDLogo;
+        private final boolean addTVLogo;
+        private final boolean addSetLogo;
+        private final boolean countSetLogo;
+        private final boolean addSubTitle;
+        private final boolean blockSubTitle;
+        private final boolean addLanguage;
+        private final boolean blockLanguage;
+        private final boolean addTextTitle;
+        private final boolean addTextSeason;
+        private final boolean addTextSetSize;
+        private final String textAlignment;
+        private final Font textFont;
+        private final Color textFontColor;
+        private final Color textFontShadow;
+        private final int textOffset;
+        private final boolean roundCorners;
+        private final int cornerRadius;
+        // cornerQuality/rcqfactor to improve roundCorner Quality
+        private final float rcqFactor;
+        private final int overlayOffsetX;
+        private final int overlayOffsetY;
+        private final String overlaySource;
+        private final boolean addFrame;
+        private final int frameSize;
+        private final Color frameColorSD;
+        private final Color frameColorHD;
+        private final Color frameColor720;
+        private final Color frameColor1080;
+        // Issue 1937: Overlay configuration XML
+        private final boolean xmlOverlay;
+        private final boolean addRating;
+        private final boolean realRating;
+        private final boolean addVideoSource;
+        private final boolean addVideoOut;
+        private final boolean addVideoCodec;
+        private final boolean addAudioCodec;
+        private final boolean blockAudioCodec;
+        private final boolean addAudioChannels;
+        private final boolean blockAudioChannels;
+        private final boolean addAudioLang;
+        private final boolean blockAudioLang;
+        private final boolean addContainer;
+        private final boolean addAspectRatio;
+        private final boolean addFPS;
+        private final boolean addCertification;
+        private final boolean addWatched;
+        private final boolean blockWatched;
+        private final boolean addEpisode;
+        private final boolean blockEpisode;
+        private final boolean addTop250;
+        private final boolean addKeywords;
+        private final boolean addCountry;
+        private final boolean blockCountry;
+        private final boolean addCompany;
+        private final boolean blockCompany;
+        private final boolean addAward;
+        private final boolean blockAward;
+        private final boolean countAward;
+        private final boolean awardEventName;
+        private final List<LogoOverlay> overlayLayers;
+        private final Map<String, LogosBlock> overlayBlocks;
+        private final Map<String, List<String>> keywordsRating;
+        private final Map<String, List<String>> keywordsVideoSource;
+        private final Map<String, List<String>> keywordsVideoOut;
+        private final Map<String, List<String>> keywordsVideoCodec;
+        private final Map<String, List<String>> keywordsAudioCodec;
+        private final Map<String, List<String>> keywordsAudioChannels;
+        private final Map<String, List<String>> keywordsAudioLang;
+        private final Map<String, List<String>> keywordsContainer;
+        private final Map<String, List<String>> keywordsAspectRatio;
+        private final Map<String, List<String>> keywordsFPS;
+        private final Map<String, List<String>> keywordsCertification;
+        private final Map<String, List<String>> keywordsKeywords;
+        private final Map<String, List<String>> keywordsCountry;
+        private final Map<String, List<String>> keywordsCompany;
+        private final Map<String, List<String>> keywordsAward;
+
+        ImageProfile(String imageType, String overlayRoot) {
+            this.imageType = imageType;
+            addReflectionEffect = PropertiesUtil.getBooleanProperty(imageType + ".reflection", Boolean.FALSE);
+            addPerspective = PropertiesUtil.getBooleanProperty(imageType + ".perspective", Boolean.FALSE);
+            perspectiveDirection = PropertiesUtil.getProperty(imageType + ".perspectiveDirection", RIGHT);
+            imageNormalize = PropertiesUtil.getBooleanProperty(imageType + ".normalize", Boolean.FALSE);
+            imageStretch = PropertiesUtil.getBooleanProperty(imageType + ".stretch", Boolean.FALSE);
+            addOverlay = PropertiesUtil.getBooleanProperty(imageType + ".overlay", Boolean.FALSE);
+
+            // Specific Properties (dependent upon the imageType)
+            imageWidth = PropertiesUtil.getIntProperty(imageType + ".width", 400);
+            imageHeight = PropertiesUtil.getIntProperty(imageType + ".height", 600);
+            addHDLogo = PropertiesUtil.getBooleanProperty(imageType + ".logoHD", Boolean.FALSE);
+            addTVLogo = PropertiesUtil.getBooleanProperty(imageType + ".logoTV", Boolean.FALSE);
+
+            String tmpSubTitle = PropertiesUtil.getProperty(imageType + ".logoSubTitle", FALSE);
+            blockSubTitle = BLOCK.equalsIgnoreCase(tmpSubTitle);
+            addSubTitle = TRUE.equalsIgnoreCase(tmpSubTitle) || blockSubTitle;
+
+            String tmpLanguage = PropertiesUtil.getProperty(imageType + ".language", FALSE);
+            blockLanguage = BLOCK.equalsIgnoreCase(tmpLanguage);
+            addLanguage = TRUE.equalsIgnoreCase(tmpLanguage) || blockLanguage;
+
+            String tmpSetLogo = PropertiesUtil.getProperty(imageType + ".logoSet", FALSE);
+            countSetLogo = "count".equalsIgnoreCase(tmpSetLogo);
+            addSetLogo = TRUE.equalsIgnoreCase(tmpSetLogo) || countSetLogo; // Note: This should only be for thumbnails
+
+            addTextTitle = PropertiesUtil.getBooleanProperty(imageType + ".addText.title", Boolean.FALSE);
+            addTextSeason = PropertiesUtil.getBooleanProperty(imageType + ".addText.season", Boolean.FALSE);
+            addTextSetSize = PropertiesUtil.getBooleanProperty(imageType + ".addText.setSize", Boolean.FALSE); // Note: This should only be for thumbnails
+            textAlignment = PropertiesUtil.getProperty(imageType + ".addText.alignment", LEFT);
+            textFont = new Font(PropertiesUtil.getProperty(imageType + ".addText.font", "Helvetica"), Font.BOLD, PropertiesUtil.getIntProperty(imageType + ".addText.fontSize", 36));
+            textFontColor = getColor(PropertiesUtil.getProperty(imageType + ".addText.fontColor", "LIGHT_GRAY"), Color.LIGHT_GRAY);
+            String tmpFontShadow = PropertiesUtil.getProperty(imageType + ".addText.fontShadow", "DARK_GRAY");
+            textFontShadow = StringUtils.isNotBlank(tmpFontShadow) ? getColor(tmpFontShadow, Color.DARK_GRAY) : null;
+            textOffset = PropertiesUtil.getIntProperty(imageType + ".addText.offset", 10);
+            roundCorners = PropertiesUtil.getBooleanProperty(imageType + ".roundCorners", Boolean.FALSE);
+            cornerRadius = PropertiesUtil.getIntProperty(imageType + ".cornerRadius", 25);
+            int cornerQuality = PropertiesUtil.getIntProperty(imageType + ".cornerQuality", 0);
+            if (roundCorners) {
+                rcqFactor = (float) cornerQuality / 10 + 1;
+            } else {
+                rcqFactor = 1;
+            }
+
+            overlayOffsetX = PropertiesUtil.getIntProperty(imageType + ".overlay.offsetX", 0);
+            overlayOffsetY = PropertiesUtil.getIntProperty(imageType + ".overlay.offsetY", 0);
+            overlaySource = PropertiesUtil.getProperty(imageType + ".overlay.source", DEFAULT);
+
+            addFrame = PropertiesUtil.getBooleanProperty(imageType + ".addFrame", Boolean.FALSE);
+            frameSize = PropertiesUtil.getIntProperty(imageType + ".frame.size", 5);
+            frameColorSD = parseFrameColor(PropertiesUtil.getProperty(imageType + ".frame.colorSD", COLOUR_WHITE));
+            frameColorHD = parseFrameColor(PropertiesUtil.getProperty(imageType + ".frame.colorHD", COLOUR_WHITE));
+            frameColor720 = parseFrameColor(PropertiesUtil.getProperty(imageType + ".frame.color720", COLOUR_WHITE));
+            frameColor1080 = parseFrameColor(PropertiesUtil.getProperty(imageType + ".frame.color1080", COLOUR_WHITE));
+
+            // Issue 1937: Overlay configuration XML
+            String tmpRating = PropertiesUtil.getProperty(imageType + ".rating", FALSE);
+            realRating = "real".equalsIgnoreCase(tmpRating);
+            addRating = tmpRating.equalsIgnoreCase(TRUE) || realRating;
+
+            String tmpAudioCodec = PropertiesUtil.getProperty(imageType + ".audiocodec", FALSE);
+            blockAudioCodec = tmpAudioCodec.equalsIgnoreCase(BLOCK);
+            addAudioCodec = tmpAudioCodec.equalsIgnoreCase(TRUE) || blockAudioCodec;
+
+            String tmpAudioChannels = PropertiesUtil.getProperty(imageType + ".audiochannels", FALSE);
+            blockAudioChannels = tmpAudioChannels.equalsIgnoreCase(BLOCK);
+            addAudioChannels = tmpAudioChannels.equalsIgnoreCase(TRUE) || blockAudioChannels;
+
+            String tmpAudioLang = PropertiesUtil.getProperty(imageType + ".audiolang", FALSE);
+            blockAudioLang = tmpAudioCodec.equalsIgnoreCase(BLOCK);
+            addAudioLang = tmpAudioLang.equalsIgnoreCase(TRUE) || blockAudioLang;
+
+            addVideoSource = PropertiesUtil.getBooleanProperty(imageType + ".videosource", Boolean.FALSE);
+            addVideoOut = PropertiesUtil.getBooleanProperty(imageType + ".videoout", Boolean.FALSE);
+            addVideoCodec = PropertiesUtil.getBooleanProperty(imageType + ".videocodec", Boolean.FALSE);
+            addContainer = PropertiesUtil.getBooleanProperty(imageType + ".container", Boolean.FALSE);
+            addAspectRatio = PropertiesUtil.getBooleanProperty(imageType + ".aspect", Boolean.FALSE);
+            addFPS = PropertiesUtil.getBooleanProperty(imageType + ".fps", Boolean.FALSE);
+            addCertification = PropertiesUtil.getBooleanProperty(imageType + ".certification", Boolean.FALSE);
+
+            String tmpWatched = PropertiesUtil.getProperty(imageType + ".watched", FALSE);
+            blockWatched = tmpWatched.equalsIgnoreCase(BLOCK);
+            addWatched = tmpWatched.equalsIgnoreCase(TRUE) || blockWatched;
+
+            String tmpEpisode = PropertiesUtil.getProperty(imageType + ".episode", FALSE);
+            blockEpisode = tmpEpisode.equalsIgnoreCase(BLOCK);
+            addEpisode = tmpEpisode.equalsIgnoreCase(TRUE) || blockEpisode;
+
+            addTop250 = PropertiesUtil.getBooleanProperty(imageType + ".top250", Boolean.FALSE);
+            addKeywords = PropertiesUtil.getBooleanProperty(imageType + ".keywords", Boolean.FALSE);
+            boolean blockClones = PropertiesUtil.getBooleanProperty(imageType + ".clones", Boolean.FALSE);
+
+            String tmpCountry = PropertiesUtil.getProperty(imageType + ".country", FALSE);
+            blockCountry = tmpCountry.equalsIgnoreCase(BLOCK);
+            addCountry = tmpCountry.equalsIgnoreCase(TRUE) || blockCountry;
+
+            String tmpCompany = PropertiesUtil.getProperty(imageType + ".company", FALSE);
+            blockCompany = tmpCompany.equalsIgnoreCase(BLOCK);
+            addCompany = tmpCompany.equalsIgnoreCase(TRUE) || blockCompany;
+
+            String tmpAward = PropertiesUtil.getProperty(imageType + ".award", FALSE);
+            blockAward = tmpAward.equalsIgnoreCase(BLOCK);
+            countAward = "count".equalsIgnoreCase(tmpAward);
+            addAward = tmpAward.equalsIgnoreCase(TRUE) || blockAward || countAward;
+            awardEventName = PropertiesUtil.getBooleanProperty(imageType + ".award.useEventName", Boolean.FALSE);
+
+            xmlOverlay = PropertiesUtil.getBooleanProperty(imageType + ".xmlOverlay", Boolean.FALSE);
+            List<LogoOverlay> layers = new ArrayList<>();
+            Map<String, LogosBlock> blocks = new HashMap<>();
+            if (xmlOverlay) {
+                fillOverlayParams(overlayRoot, PropertiesUtil.getProperty(imageType + ".xmlOverlayFile", "overlay-default.xml"), blockClones, layers, blocks);
+            }
+            overlayLayers = Collections.unmodifiableList(layers);
+            overlayBlocks = Collections.unmodifiableMap(blocks);
+
+            keywordsRating = getOverlayKeywords(xmlOverlay, "rating");
+            keywordsVideoSource = getOverlayKeywords(xmlOverlay, "videosource");
+            keywordsVideoOut = getOverlayKeywords(xmlOverlay, "videoout");
+            keywordsVideoCodec = getOverlayKeywords(xmlOverlay, "videocodec");
+            keywordsAudioCodec = getOverlayKeywords(xmlOverlay, "audiocodec");
+            keywordsAudioChannels = getOverlayKeywords(xmlOverlay, "audiochannels");
+            keywordsAudioLang = getOverlayKeywords(xmlOverlay, "audiolang");
+            keywordsContainer = getOverlayKeywords(xmlOverlay, "container");
+            keywordsAspectRatio = getOverlayKeywords(xmlOverlay, "aspect");
+            keywordsFPS = getOverlayKeywords(xmlOverlay, "fps");
+            keywordsCertification = getOverlayKeywords(xmlOverlay, "certification");
+            keywordsKeywords = getOverlayKeywords(xmlOverlay, "keywords");
+            keywordsCountry = getOverlayKeywords(xmlOverlay, "country");
+            keywordsCompany = getOverlayKeywords(xmlOverlay, "company");
+            keywordsAward = getOverlayKeywords(xmlOverlay, "award");
+        }
+
+        /**
+         * Parse a frame colour in the "red/green/blue" format
+         *
+         * @param color
+         * @return
+         */
+        private static Color parseFrameColor(String color) {
+            String[] rgb = color.split("/");
+            try {
+                return new Color(Integer.parseInt(rgb[0]), Integer.parseInt(rgb[1]), Integer.parseInt(rgb[2]));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                LOG.warn("Invalid frame color '{}', using white", color);
+                return Color.WHITE;
+            }
+        }
+
+        /**
+         * Read the keywords of an overlay value from the "overlay.keywords" property
+         *
+         * @param xmlOverlay the keywords are only used with the overlay configuration XML
+         * @param name
+         * @return
+         */
+        private static Map<String, List<String>> getOverlayKeywords(boolean xmlOverlay, String name) {
+            if (!xmlOverlay) {
+                return Collections.emptyMap();
+            }
+
+            Map<String, List<String>> data = new HashMap<>();
+            String keywordList = PropertiesUtil.getProperty("overlay.keywords." + name, "");
+            if (StringTools.isValidString(keywordList)) {
+                for (String keyword : keywordList.split(" ; ")) {
+                    String[] keywordValues = keyword.split(Movie.SPACE_SLASH_SPACE);
+                    if (keywordValues.length > 1) {
+                        data.put(keywordValues[0], Collections.unmodifiableList(Arrays.asList(keywordValues)));
+                    }
+                }
+            }
+            return Collections.unmodifiableMap(data);
+        }
+
+        private static void fillOverlayParams(String overlayRoot, String xmlOverlayFilename, boolean blockClones, List<LogoOverlay> overlayLayers, Map<String, LogosBlock> overlayBlocks) {
+            if (!xmlOverlayFilename.toUpperCase().endsWith("XML")) {
+                return;
+            }
+            File xmlOverlayFile = new File(overlayRoot + xmlOverlayFilename);
+            if (xmlOverlayFile.exists() && xmlOverlayFile.isFile()) {
+                try {
+                    XMLConfiguration c = new XMLConfiguration(xmlOverlayFile);
+                    List<HierarchicalConfiguration> layers = c.configurationsAt("layer");
+                    int index = 0;
+                    for (HierarchicalConfiguration layer : layers) {
+                        String name = layer.getString("name");
+                        if (StringTools.isNotValidString(name)) {
+                            continue;
+                        }
+                        LogoOverlay overlay = new LogoOverlay();
+
+                        String after = layer.getString("[@after]");
+                        if (StringTools.isValidString(after) && after.equalsIgnoreCase(TRUE)) {
+                            overlay.setBefore(Boolean.FALSE);
+                        }
+
+                        String left = layer.getString(LEFT);
+                        String top = layer.getString(TOP);
+                        String align = layer.getString("align");
+                        String valign = layer.getString("valign");
+                        String width = layer.getString("width");
+                        String height = layer.getString("height");
+
+                        overlay.setNames(Arrays.asList(name.split("/")));
+                        if (StringUtils.isNumeric(left)) {
+                            overlay.setLeft(NumberUtils.toInt(left, 0));
+                        }
+                        if (StringUtils.isNumeric(top)) {
+                            overlay.setTop(NumberUtils.toInt(top, 0));
+                        }
+                        if (StringTools.isValidString(align) && (align.equalsIgnoreCase(LEFT) || align.equalsIgnoreCase(CENTER) || align.equalsIgnoreCase(RIGHT))) {
+                            overlay.setAlign(align);
+                        }
+                        if (StringTools.isValidString(valign) && (valign.equalsIgnoreCase(TOP) || valign.equalsIgnoreCase(CENTER) || valign.equalsIgnoreCase(BOTTOM))) {
+                            overlay.setValign(valign);
+                        }
+                        if (StringTools.isValidString(width) && (width.equalsIgnoreCase(EQUAL) || width.equalsIgnoreCase(AUTO) || width.matches(D_PLUS))) {
+                            overlay.setWidth(width);
+                        }
+                        if (StringTools.isValidString(height) && (height.equalsIgnoreCase(EQUAL) || height.equalsIgnoreCase(AUTO) || height.matches(D_PLUS))) {
+                            overlay.setHeight(height);
+                        }
+
+                        List<HierarchicalConfiguration> images = c.configurationsAt("layer(" + index + ").images.image");
+                        for (HierarchicalConfiguration image : images) {
+                            name = image.getString("[@name]");
+                            String value = image.getString("[@value]");
+                            String filename = image.getString("[@filename]");
+
+                            if (StringTools.isNotValidString(name)) {
+                                name = overlay.getNames().get(0);
+                            }
+                            if (!overlay.getNames().contains(name) || StringTools.isNotValidString(value) || StringTools.isNotValidString(filename)) {
+                                continue;
+                            }
+
+                            ImageOverlay img = new ImageOverlay(name, value, filename, Arrays.asList(value.split("/")));
+                            if (img.getValues().size() > 1) {
+                                for (int i = 0; i < overlay.getNames().size(); i++) {
+                                    if (img.getValues().size() <= i) {
+                                        img.getValues().add(Movie.UNKNOWN);
+                                    } else if (StringTools.isNotValidString(img.getValues().get(i))) {
+                                        img.getValues().set(i, Movie.UNKNOWN);
+                                    }
+                                }
+                            }
+                            overlay.getImages().add(img);
+                        }
+
+                        if (overlay.getNames().size() > 1) {
+                            List<HierarchicalConfiguration> positions = c.configurationsAt("layer(" + index + ").positions.position");
+                            for (HierarchicalConfiguration position : positions) {
+                                String value = position.getString("[@value]");
+                                left = position.getString("[@left]");
+                                top = position.getString("[@top]");
+                                align = position.getString("[@align]");
+                                valign = position.getString("[@valign]");
+                                width = position.getString("[@width]");
+                                height = position.getString("[@height]");
+
+                                if (StringTools.isNotValidString(value)) {
+                                    continue;
+                                }
+                                ConditionOverlay condition = new ConditionOverlay();
+                                condition.setValues(Arrays.asList(value.split("/")));
+                                if (StringTools.isNotValidString(left)) {
+                                    left = Integer.toString(overlay.getLeft());
+                                }
+                                if (StringTools.isNotValidString(top)) {
+                                    top = Integer.toString(overlay.getTop());
+                                }
+                                if (StringTools.isNotValidString(align)) {
+                                    align = overlay.getAlign();
+                                }
+                                if (StringTools.isNotValidString(valign)) {
+                                    valign = overlay.getValign();
+                                }
+                                if (StringTools.isNotValidString(width)) {
+                                    width = overlay.getWidth();
+                                }
+                                if (StringTools.isNotValidString(height)) {
+                                    height = overlay.getHeight();
+                                }
+                                List<String> lefts = Arrays.asList(left.split("/"));
+                                List<String> tops = Arrays.asList(top.split("/"));
+                                List<String> aligns = Arrays.asList(align.split("/"));
+                                List<String> valigns = Arrays.asList(valign.split("/"));
+                                List<String> widths = Arrays.asList(width.split("/"));
+                                List<String> heights = Arrays.asList(height.split("/"));
+                                for (int i = 0; i < overlay.getNames().size(); i++) {
+                                    if (StringTools.isNotValidString(condition.getValues().get(i))) {
+                                        condition.getValues().set(i, Movie.UNKNOWN);
+                                    }
+                                    PositionOverlay p = new PositionOverlay((lefts.size() <= i || StringTools.isNotValidString(lefts.get(i))) ? overlay.getLeft() : Integer.parseInt(lefts.get(i)),
+                                            (tops.size() <= i || StringTools.isNotValidString(tops.get(i))) ? overlay.getTop() : Integer.parseInt(tops.get(i)),
+                                            (aligns.size() <= i || StringTools.isNotValidString(aligns.get(i))) ? overlay.getAlign() : aligns.get(i),
+                                            (valigns.size() <= i || StringTools.isNotValidString(valigns.get(i))) ? overlay.getValign() : valigns.get(i),
+                                            (widths.size() <= i || StringTools.isNotValidString(widths.get(i))) ? overlay.getWidth() : widths.get(i),
+                                            (heights.size() <= i || StringTools.isNotValidString(heights.get(i))) ? overlay.getHeight() : heights.get(i));
+                                    condition.getPositions().add(p);
+                                }
+                                overlay.getPositions().add(condition);
+                            }
+                        }
+                        overlayLayers.add(overlay);
+                        index++;
+                    }
+
+                    List<HierarchicalConfiguration> blocks = c.configurationsAt(BLOCK);
+                    for (HierarchicalConfiguration block : blocks) {
+                        String name = block.getString("name");
+                        if (StringTools.isNotValidString(name)) {
+                            continue;
+                        }
+                        String dir = block.getString("dir");
+                        dir = StringTools.isNotValidString(dir) ? "horizontal" : dir;
+                        String size = block.getString("size");
+                        size = StringTools.isNotValidString(size) ? AUTO : size;
+                        String cols = block.getString("cols");
+                        cols = StringTools.isNotValidString(cols) ? AUTO : cols;
+                        String rows = block.getString("rows");
+                        rows = StringTools.isNotValidString(rows) ? AUTO : rows;
+                        String hmargin = block.getString("hmargin");
+                        hmargin = StringTools.isNotValidString(hmargin) ? "0" : hmargin;
+                        String vmargin = block.getString("vmargin");
+                        vmargin = StringTools.isNotValidString(vmargin) ? "0" : vmargin;
+                        String clones = block.getString("clones");
+                        overlayBlocks.put(name, new LogosBlock("horizontal".equalsIgnoreCase(dir),
+                                "static".equalsIgnoreCase(size),
+                                cols, rows, hmargin, vmargin, StringTools.isNotValidString(clones) ? blockClones : (TRUE.equalsIgnoreCase(clones) ? true : (FALSE.equalsIgnoreCase(clones) ? false : blockClones))));
+                    }
+                } catch (ConfigurationException ex) {
+                    LOG.error("Failed parsing moviejukebox overlay configuration file: {}", xmlOverlayFile.getName());
+                    LOG.error(SystemTools.getStackTrace(ex));
+                }
+            } else {
+                LOG.error("The moviejukebox overlay configuration file you specified is invalid: {}", xmlOverlayFile.getAbsolutePath());
+            }
+        }
+    }
 }
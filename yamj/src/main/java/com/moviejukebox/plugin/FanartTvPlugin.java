@@ -26,6 +26,7 @@ import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -301,25 +302,26 @@ public class FanartTvPlugin {
      * @param tvdbId
      * @return
      */
-    public FTSeries getTvArtwork(int tvdbId) {
+    public FTSeries getTvArtwork(final int tvdbId) {
         String key = CacheMemory.generateCacheKey(FANARTTV_PLUGIN_ID, String.valueOf(tvdbId));
 
-        FTSeries ftArtwork = (FTSeries) CacheMemory.getFromCache(key);
-        if (ftArtwork == null || ftArtwork.hasArtwork()) {
-            try {
-                ftArtwork = ft.getTvArtwork(Integer.toString(tvdbId));
-
-                if (ftArtwork != null && ftArtwork.hasArtwork()) {
-                    CacheMemory.addToCache(key, ftArtwork);
+        try {
+            FTSeries ftArtwork = CacheMemory.getFromCache(key, new Callable<FTSeries>() {
+                @Override
+                public FTSeries call() throws FanartTvException {
+                    return ft.getTvArtwork(Integer.toString(tvdbId));
                 }
+            });
 
-                return ftArtwork;
-            } catch (FanartTvException ex) {
-                LOG.warn("Failed to get fanart information for TVDB ID: {}. Error: {}", tvdbId, ex.getMessage(), ex);
-                return new FTSeries();
+            if (ftArtwork != null && !ftArtwork.hasArtwork()) {
+                // Check for artwork again next time
+                CacheMemory.removeFromCache(key);
             }
+            return ftArtwork;
+        } catch (Exception ex) {
+            LOG.warn("Failed to get fanart information for TVDB ID: {}. Error: {}", tvdbId, ex.getMessage(), ex);
+            return new FTSeries();
         }
-        return ftArtwork;
     }
 
     /**
@@ -329,7 +331,7 @@ public class FanartTvPlugin {
      * @param imdbId
      * @return
      */
-    public FTMovie getMovieArtwork(int tmdbId, String imdbId) {
+    public FTMovie getMovieArtwork(final int tmdbId, final String imdbId) {
         String key;
 
         if (StringTools.isValidString(imdbId)) {
@@ -341,28 +343,26 @@ public class FanartTvPlugin {
             return new FTMovie();
         }
 
-        FTMovie ftArtwork = (FTMovie) CacheMemory.getFromCache(key);
-
-        // If we get nothing back from the cache or it's empty, check for artwork
-        if (ftArtwork == null || !ftArtwork.hasArtwork()) {
-            try {
-                if (StringTools.isValidString(imdbId)) {
-                    ftArtwork = ft.getMovieArtwork(imdbId);
-                } else {
-                    ftArtwork = ft.getMovieArtwork(Integer.toString(tmdbId));
-                }
-
-                if (ftArtwork != null && ftArtwork.hasArtwork()) {
-                    CacheMemory.addToCache(key, ftArtwork);
+        try {
+            FTMovie ftArtwork = CacheMemory.getFromCache(key, new Callable<FTMovie>() {
+                @Override
+                public FTMovie call() throws FanartTvException {
+                    if (StringTools.isValidString(imdbId)) {
+                        return ft.getMovieArtwork(imdbId);
+                    }
+                    return ft.getMovieArtwork(Integer.toString(tmdbId));
                 }
+            });
 
-                return ftArtwork;
-            } catch (FanartTvException ex) {
-                LOG.warn("Failed to get fanart information for IMDB ID: {} / TMDB ID: {}. Error: {}", imdbId, tmdbId, ex.getMessage(), ex);
-                return new FTMovie();
+            // If the artwork is empty, check for artwork again next time
+            if (ftArtwork != null && !ftArtwork.hasArtwork()) {
+                CacheMemory.removeFromCache(key);
             }
+            return ftArtwork;
+        } catch (Exception ex) {
+            LOG.warn("Failed to get fanart information for IMDB ID: {} / TMDB ID: {}. Error: {}", imdbId, tmdbId, ex.getMessage(), ex);
+            return new FTMovie();
         }
-        return ftArtwork;
     }
 
     /**
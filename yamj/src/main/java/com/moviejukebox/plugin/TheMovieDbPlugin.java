@@ -28,6 +28,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -820,35 +821,36 @@ public class TheMovieDbPlugin implements MovieDatabasePlugin {
      * @param languageCode
      * @return
      */
-    public CollectionInfo getCollectionInfo(int collectionId, String languageCode) {
+    public CollectionInfo getCollectionInfo(final int collectionId, final String languageCode) {
         String cacheKey = getCollectionCacheKey(collectionId, languageCode);
-        CollectionInfo collInfo = (CollectionInfo) CacheMemory.getFromCache(cacheKey);
+        CollectionInfo collInfo = null;
 
-        if (collInfo == null) {
-            // Not found in cache, so look online
-            try {
-                collInfo = tmdb.getCollectionInfo(collectionId, languageCode);
-                if (collInfo != null) {
-                    URL newUrl;
-
-                    // Update the URL to be the full URL
-                    if (collInfo.getPosterPath() != null) {
-                        newUrl = tmdb.createImageUrl(collInfo.getPosterPath(), ORIGINAL);
-                        collInfo.setPosterPath(newUrl.toString());
-                    }
+        try {
+            collInfo = CacheMemory.getFromCache(cacheKey, new Callable<CollectionInfo>() {
+                @Override
+                public CollectionInfo call() throws MovieDbException {
+                    // Not found in cache, so look online
+                    CollectionInfo info = tmdb.getCollectionInfo(collectionId, languageCode);
+                    if (info != null) {
+                        URL newUrl;
+
+                        // Update the URL to be the full URL
+                        if (info.getPosterPath() != null) {
+                            newUrl = tmdb.createImageUrl(info.getPosterPath(), ORIGINAL);
+                            info.setPosterPath(newUrl.toString());
+                        }
 
-                    // Update the URL to be the full URL
-                    if (collInfo.getBackdropPath() != null) {
-                        newUrl = tmdb.createImageUrl(collInfo.getBackdropPath(), ORIGINAL);
-                        collInfo.setBackdropPath(newUrl.toString());
+                        // Update the URL to be the full URL
+                        if (info.getBackdropPath() != null) {
+                            newUrl = tmdb.createImageUrl(info.getBackdropPath(), ORIGINAL);
+                            info.setBackdropPath(newUrl.toString());
+                        }
                     }
-
-                    // Add to the cache
-                    CacheMemory.addToCache(cacheKey, collInfo);
+                    return info;
                 }
-            } catch (MovieDbException error) {
-                LOG.warn("Error getting CollectionInfo: {}", error.getMessage());
-            }
+            });
+        } catch (Exception error) {
+            LOG.warn("Error getting CollectionInfo: {}", error.getMessage());
         }
 
         return collInfo;
@@ -904,30 +906,29 @@ public class TheMovieDbPlugin implements MovieDatabasePlugin {
      * @param languageCode
      * @return
      */
-    private String getCollectionImage(int collectionId, ArtworkType artworkType, String languageCode) {
+    private String getCollectionImage(final int collectionId, ArtworkType artworkType, final String languageCode) {
         String returnUrl = Movie.UNKNOWN;
         String cacheKey = getCollectionImagesCacheKey(collectionId, languageCode);
 
         LOG.debug("Getting {} for collection ID {}, language '{}'", artworkType, collectionId, languageCode);
 
-        @SuppressWarnings("unchecked")
-        List<Artwork> results = (ArrayList<Artwork>) CacheMemory.getFromCache(cacheKey);
-
-        if (results == null) {
-            try {
-                // Pass the language as null so that we get all images returned, even those without a language.
-                ResultList<Artwork> collResults = tmdb.getCollectionImages(collectionId, null);
-
-                if (collResults != null && collResults.getResults() != null && !collResults.getResults().isEmpty()) {
-                    results = new ArrayList<>(collResults.getResults());
-                    // Add to the cache
-                    CacheMemory.addToCache(cacheKey, results);
-                } else {
+        List<Artwork> results = null;
+        try {
+            results = CacheMemory.getFromCache(cacheKey, new Callable<List<Artwork>>() {
+                @Override
+                public List<Artwork> call() throws MovieDbException {
+                    // Pass the language as null so that we get all images returned, even those without a language.
+                    ResultList<Artwork> collResults = tmdb.getCollectionImages(collectionId, null);
+
+                    if (collResults != null && collResults.getResults() != null && !collResults.getResults().isEmpty()) {
+                        return new ArrayList<>(collResults.getResults());
+                    }
                     LOG.debug("No results found for {}-{}", collectionId, languageCode);
+                    return null;
                 }
-            } catch (MovieDbException error) {
-                LOG.warn("Error getting CollectionImages: {}", error.getMessage());
-            }
+            });
+        } catch (Exception error) {
+            LOG.warn("Error getting CollectionImages: {}", error.getMessage());
         }
 
         // Check we got some results
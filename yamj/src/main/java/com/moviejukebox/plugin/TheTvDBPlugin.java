@@ -26,6 +26,7 @@ import static com.moviejukebox.tools.StringTools.isNotValidString;
 import static com.moviejukebox.tools.StringTools.isValidString;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -520,37 +521,39 @@ public class TheTvDBPlugin extends ImdbPlugin {
      * @param id
      * @return
      */
-    public static Series getSeries(String id) {
-        Series series = (Series) CacheMemory.getFromCache(CacheMemory.generateCacheKey(CACHE_SERIES, id, LANGUAGE_PRIMARY));
-
-        if (series == null) {
-            // Not found in cache, so look online
-            try {
-                series = TVDB.getSeries(id, LANGUAGE_PRIMARY);
-                if (series != null) {
-                    // Add to the cache
-                    CacheMemory.addToCache(CacheMemory.generateCacheKey(CACHE_SERIES, id, LANGUAGE_PRIMARY), series);
-                }
-
-                if (series == null && !LANGUAGE_SECONDARY.isEmpty()) {
-                    series = (Series) CacheMemory.getFromCache(CacheMemory.generateCacheKey(CACHE_SERIES, id, LANGUAGE_SECONDARY));
-
-                    if (series == null) {
-                        series = TVDB.getSeries(id, LANGUAGE_SECONDARY);
-                        if (series != null) {
-                            // Add to the cache
-                            CacheMemory.addToCache(CacheMemory.generateCacheKey(CACHE_SERIES, id, LANGUAGE_SECONDARY), series);
-                        }
-                    }
-                }
-            } catch (Exception error) {
-                LOG.warn("Error getting Series: {}", error.getMessage());
+    public static Series getSeries(final String id) {
+        Series series = null;
+        try {
+            series = getSeries(id, LANGUAGE_PRIMARY);
+            if (series == null && !LANGUAGE_SECONDARY.isEmpty()) {
+                series = getSeries(id, LANGUAGE_SECONDARY);
             }
+        } catch (Exception error) {
+            LOG.warn("Error getting Series: {}", error.getMessage());
         }
 
         return series;
     }
 
+    /**
+     * Get the series in a language. Either from the cache or direct from TheTVDb, threads that need the same series at the
+     * same time share the request
+     *
+     * @param id
+     * @param language
+     * @return
+     * @throws Exception
+     */
+    private static Series getSeries(final String id, final String language) throws Exception {
+        return CacheMemory.getFromCache(CacheMemory.generateCacheKey(CACHE_SERIES, id, language), new Callable<Series>() {
+            @Override
+            public Series call() throws Exception {
+                // Not found in cache, so look online
+                return TVDB.getSeries(id, language);
+            }
+        });
+    }
+
     /**
      * Use the movie information to find the series and ID
      *
@@ -643,16 +646,18 @@ public class TheTvDBPlugin extends ImdbPlugin {
      * @param id
      * @return
      */
-    public static Banners getBanners(String id) {
-        Banners banners = (Banners) CacheMemory.getFromCache(CacheMemory.generateCacheKey(CACHE_BANNERS, id, LANGUAGE_PRIMARY));
+    public static Banners getBanners(final String id) {
+        Banners banners = null;
 
-        if (banners == null) {
-            try {
-                banners = TVDB.getBanners(id);
-                CacheMemory.addToCache(CacheMemory.generateCacheKey(CACHE_BANNERS, id, LANGUAGE_PRIMARY), banners);
-            } catch (Exception error) {
-                LOG.warn("Error getting Banners: {}", error.getMessage());
-            }
+        try {
+            banners = CacheMemory.getFromCache(CacheMemory.generateCacheKey(CACHE_BANNERS, id, LANGUAGE_PRIMARY), new Callable<Banners>() {
+                @Override
+                public Banners call() throws Exception {
+                    return TVDB.getBanners(id);
+                }
+            });
+        } catch (Exception error) {
+            LOG.warn("Error getting Banners: {}", error.getMessage());
         }
 
         return banners;
@@ -23,6 +23,7 @@
 package com.moviejukebox.plugin.trailer;
 
 import java.io.File;
+import java.io.InterruptedIOException;
 
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -200,7 +201,12 @@ public class TrailerPlugin implements ITrailerPlugin {
      * @return Doe
      */
     public boolean trailerDownload(final IMovieBasicInformation movie, String trailerUrlString, File trailerFile) {
-        ThreadExecutor.enterIO(trailerUrlString);
+        try {
+            ThreadExecutor.enterIO(trailerUrlString);
+        } catch (InterruptedIOException ex) {
+            LOG.debug("{} - Trailer download cancelled", movie.getTitle());
+            return Boolean.FALSE;
+        }
         try {
             LOG.debug("{} - Attempting to download URL '{}', saving to {}", movie.getTitle(), trailerUrlString, trailerFile.getAbsolutePath());
 
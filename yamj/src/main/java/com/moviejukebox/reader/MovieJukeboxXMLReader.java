@@ -34,16 +34,13 @@ import com.moviejukebox.plugin.ImdbPlugin;
 import com.moviejukebox.tools.*;
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
 import java.util.*;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.pojava.datetime.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.*;
-import org.xml.sax.SAXException;
 
 public class MovieJukeboxXMLReader {
 
@@ -62,710 +59,540 @@ public class MovieJukeboxXMLReader {
      */
     public boolean parseMovieXML(File xmlFile, Movie movie) {
         boolean forceDirtyFlag = Boolean.FALSE; // force dirty flag for example when extras have been deleted
-        Document xmlDoc;
+        XMLStreamElement xmlDoc;
 
         try {
-            xmlDoc = DOMHelper.getDocFromFile(xmlFile);
-        } catch (MalformedURLException error) {
-            LOG.error(ERROR_FIXIT, xmlFile.getName());
-            LOG.error(SystemTools.getStackTrace(error));
-            return Boolean.FALSE;
-        } catch (IOException error) {
-            LOG.error(ERROR_FIXIT, xmlFile.getName());
-            LOG.error(SystemTools.getStackTrace(error));
-            return Boolean.FALSE;
-        } catch (ParserConfigurationException | SAXException error) {
+            xmlDoc = JukeboxSnapshot.readDocument(xmlFile);
+        } catch (IOException | XMLStreamException error) {
             LOG.error(ERROR_FIXIT, xmlFile.getName());
             LOG.error(SystemTools.getStackTrace(error));
             return Boolean.FALSE;
         }
 
-        NodeList nlMovies;  // Main list of movies, there should only be 1
-        Node nMovie;        // Node for the movie
+        XMLStreamElement eElements;   // Reusable element for the other elements
 
-        NodeList nlElements;    // Reusable NodeList for the other elements
-        Node nElements;         // Reusable Node for the other elements
+        // Main list of movies, there should only be 1
+        for (XMLStreamElement eMovie : xmlDoc.getElementsByTagName(MOVIE)) {
+            // Get all the IDs associated with the movie
+            for (XMLStreamElement eId : eMovie.getElementsByTagName("id")) {
+                String movieDb = eId.getAttribute(MOVIEDB);
+                if (StringTools.isNotValidString(movieDb)) {
+                    movieDb = ImdbPlugin.IMDB_PLUGIN_ID;
+                }
+                movie.setId(movieDb, eId.getTextContent());
+            }   // End of ID
 
-        nlMovies = xmlDoc.getElementsByTagName(MOVIE);
-        for (int loopMovie = 0; loopMovie < nlMovies.getLength(); loopMovie++) {
-            nMovie = nlMovies.item(loopMovie);
-            if (nMovie.getNodeType() == Node.ELEMENT_NODE) {
-                Element eMovie = (Element) nMovie;
+            // Get the Version the XML was written with
+            movie.setMjbVersion(eMovie.getValueFromElement("mjbVersion"));
 
-                // Get all the IDs associated with the movie
-                nlElements = eMovie.getElementsByTagName("id");
-                for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                    nElements = nlElements.item(looper);
-                    if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                        Element eId = (Element) nElements;
+            // Get the Git SHA the XML was written with
+            movie.setMjbGitSHA(eMovie.getValueFromElement("mjbGitSHA"));
 
-                        String movieDb = eId.getAttribute(MOVIEDB);
-                        if (StringTools.isNotValidString(movieDb)) {
-                            movieDb = ImdbPlugin.IMDB_PLUGIN_ID;
-                        }
-                        movie.setId(movieDb, eId.getTextContent());
+            // Get the date/time the XML was written
+            movie.setMjbGenerationDateString(eMovie.getValueFromElement("xmlGenerationDate"));
+
+            if (StringTools.isNotValidString(movie.getBaseFilename())) {
+                movie.setBaseFilename(eMovie.getValueFromElement("baseFilenameBase"));
+            }
+
+            if (StringTools.isNotValidString(movie.getBaseName())) {
+                movie.setBaseName(eMovie.getValueFromElement(BASE_FILENAME));
+            }
+
+            // Get the title fields
+            parseOverridableTitle(movie, eMovie);
+            parseOverridableOriginalTitle(movie, eMovie);
+            movie.setTitleSort(eMovie.getValueFromElement(SORT_TITLE));
+
+            // Get the year. We don't care about the attribute as that is the index
+            parseOverridableYear(movie, eMovie);
+
+            // Get the release date
+            parseOverridableReleaseDate(movie, eMovie);
+
+            // get the show status
+            movie.setShowStatus(eMovie.getValueFromElement("showStatus"));
+
+            // Get the ratings. We don't care about the RATING as this is a calulated value.
+            // So just get the childnodes of the "ratings" node
+            eElements = eMovie.getElementByName("ratings");
+            if (eElements != null) {
+                for (XMLStreamElement eRating : eElements.getChildElements()) {
+                    String movieDb = eRating.getAttribute(MOVIEDB);
+                    if (StringTools.isNotValidString(movieDb)) {
+                        movieDb = ImdbPlugin.IMDB_PLUGIN_ID;
                     }
-                }   // End of ID
+                    movie.addRating(movieDb, Integer.parseInt(eRating.getTextContent()));
+                }
+            }   // End of Ratings
+
+            // Get the watched flags
+            movie.setWatchedNFO(Boolean.parseBoolean(eMovie.getValueFromElement("watchedNFO")));
+            movie.setWatchedFile(Boolean.parseBoolean(eMovie.getValueFromElement("watchedFile")));
+
+            // Get artwork URLS
+            movie.setPosterURL(HTMLTools.decodeUrl(eMovie.getValueFromElement("posterURL")));
+            movie.setFanartURL(HTMLTools.decodeUrl(eMovie.getValueFromElement("fanartURL")));
+            movie.setBannerURL(HTMLTools.decodeUrl(eMovie.getValueFromElement("bannerURL")));
+            movie.setClearArtURL(HTMLTools.decodeHtml(eMovie.getValueFromElement("clearArtURL")));
+            movie.setClearLogoURL(HTMLTools.decodeHtml(eMovie.getValueFromElement("clearLogoURL")));
+            movie.setTvThumbURL(HTMLTools.decodeHtml(eMovie.getValueFromElement("tvThumbURL")));
+            movie.setSeasonThumbURL(HTMLTools.decodeHtml(eMovie.getValueFromElement("seasonThumbURL")));
+            movie.setMovieDiscURL(HTMLTools.decodeHtml(eMovie.getValueFromElement("movieDiscURL")));
+
+            // Get artwork files
+            movie.setPosterFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("posterFile")));
+            movie.setDetailPosterFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("detailPosterFile")));
+            movie.setThumbnailFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("thumbnail")));
+            movie.setFanartFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("fanartFile")));
+            movie.setBannerFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("bannerFile")));
+            movie.setWideBannerFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("wideBannerFile")));
+            movie.setClearArtFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("clearArtFile")));
+            movie.setClearLogoFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("clearLogoFile")));
+            movie.setTvThumbFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("tvThumbFile")));
+            movie.setSeasonThumbFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("seasonThumbFile")));
+            movie.setMovieDiscFilename(HTMLTools.decodeUrl(eMovie.getValueFromElement("movieDiscFile")));
+
+            // Get the plot and outline
+            parseOverridablePlot(movie, eMovie);
+            parseOverridableOutline(movie, eMovie);
+
+            // Get the quote
+            parseOverridableQuote(movie, eMovie);
+
+            // Get the tagline
+            parseOverridableTagline(movie, eMovie);
+
+            // Get the company name
+            parseOverridableCompany(movie, eMovie);
+
+            // get the runtime
+            parseOverridableRuntime(movie, eMovie);
+
+            // get the top 250
+            parseOverridableTop250(movie, eMovie);
+
+            // Get the directors
+            eElements = eMovie.getElementByName("directors");
+            if (eElements != null) {
+                for (XMLStreamElement ePerson : eElements.getChildElements()) {
+                    movie.addDirector(ePerson.getTextContent(), eElements.getAttribute(SOURCE));
+                }
+            }
 
-                // Get the Version the XML was written with
-                movie.setMjbVersion(DOMHelper.getValueFromElement(eMovie, "mjbVersion"));
+            // Get the writers
+            eElements = eMovie.getElementByName("writers");
+            if (eElements != null) {
+                for (XMLStreamElement ePerson : eElements.getChildElements()) {
+                    movie.addWriter(ePerson.getTextContent(), eElements.getAttribute(SOURCE));
+                }
+            }
 
-                // Get the Git SHA the XML was written with
-                movie.setMjbGitSHA(DOMHelper.getValueFromElement(eMovie, "mjbGitSHA"));
+            // Get the cast
+            eElements = eMovie.getElementByName("cast");
+            if (eElements != null) {
+                for (XMLStreamElement ePerson : eElements.getChildElements()) {
+                    movie.addActor(ePerson.getTextContent(), eElements.getAttribute(SOURCE));
+                }
+            }
 
-                // Get the date/time the XML was written
-                movie.setMjbGenerationDateString(DOMHelper.getValueFromElement(eMovie, "xmlGenerationDate"));
+            // Get the country
+            parseOverridableCountry(movie, eMovie);
 
-                if (StringTools.isNotValidString(movie.getBaseFilename())) {
-                    movie.setBaseFilename(DOMHelper.getValueFromElement(eMovie, "baseFilenameBase"));
+            // Get the genres
+            eElements = eMovie.getElementByName("genres");
+            if (eElements != null) {
+                List<String> genres = new ArrayList<>();
+                for (XMLStreamElement eGenre : eElements.getChildElements()) {
+                    genres.add(eGenre.getTextContent());
                 }
+                movie.setGenres(genres, eElements.getAttribute(SOURCE));
+            }
 
-                if (StringTools.isNotValidString(movie.getBaseName())) {
-                    movie.setBaseName(DOMHelper.getValueFromElement(eMovie, BASE_FILENAME));
+            // Process the sets
+            eElements = eMovie.getElementByName("sets");
+            if (eElements != null) {
+                for (XMLStreamElement eSet : eElements.getChildElements()) {
+                    String order = eSet.getAttribute(ORDER);
+                    if (StringTools.isValidString(order)) {
+                        movie.addSet(eSet.getTextContent(), Integer.parseInt(order));
+                    } else {
+                        movie.addSet(eSet.getTextContent());
+                    }
                 }
+            }
 
-                // Get the title fields
-                parseOverridableTitle(movie, eMovie);
-                parseOverridableOriginalTitle(movie, eMovie);
-                movie.setTitleSort(DOMHelper.getValueFromElement(eMovie, SORT_TITLE));
-
-                // Get the year. We don't care about the attribute as that is the index
-                parseOverridableYear(movie, eMovie);
-
-                // Get the release date
-                parseOverridableReleaseDate(movie, eMovie);
-
-                // get the show status
-                movie.setShowStatus(DOMHelper.getValueFromElement(eMovie, "showStatus"));
-
-                // Get the ratings. We don't care about the RATING as this is a calulated value.
-                // So just get the childnodes of the "ratings" node
-                nlElements = eMovie.getElementsByTagName("ratings");
-                if (nlElements.getLength() > 0) {
-                    nlElements = nlElements.item(0).getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element eRating = (Element) nElements;
-
-                            String movieDb = eRating.getAttribute(MOVIEDB);
-                            if (StringTools.isNotValidString(movieDb)) {
-                                movieDb = ImdbPlugin.IMDB_PLUGIN_ID;
-                            }
-                            movie.addRating(movieDb, Integer.parseInt(eRating.getTextContent()));
+            // Get certification
+            parseOverridableCertification(movie, eMovie);
+
+            // Get language
+            parseOverridableLanguage(movie, eMovie);
+
+            // Get subtitles
+            movie.setSubtitles(eMovie.getValueFromElement("subtitles"));
+
+            // Get the TrailerExchange
+            movie.setTrailerExchange(eMovie.getValueFromElement("trailerExchange").equalsIgnoreCase(YES));
+
+            // Get trailerLastScan date/time
+            movie.setTrailerLastScan(eMovie.getValueFromElement(TRAILER_LAST_SCAN));
+
+            // Get file container
+            parseOverridableContainer(movie, eMovie);
+
+            eElements = eMovie.getElementByName("codecs");
+            if (eElements != null) {
+                for (XMLStreamElement eCodecType : eElements.getChildElements()) {
+                    String codecType = eCodecType.getName();
+                    for (XMLStreamElement eCodec : eCodecType.getChildElements()) {
+                        Codec codec;
+                        if (CodecType.VIDEO.toString().equalsIgnoreCase(codecType)) {
+                            codec = new Codec(CodecType.VIDEO);
+                        } else {
+                            codec = new Codec(CodecType.AUDIO);
                         }
-                    }
-                }   // End of Ratings
-
-                // Get the watched flags
-                movie.setWatchedNFO(Boolean.parseBoolean(DOMHelper.getValueFromElement(eMovie, "watchedNFO")));
-                movie.setWatchedFile(Boolean.parseBoolean(DOMHelper.getValueFromElement(eMovie, "watchedFile")));
-
-                // Get artwork URLS
-                movie.setPosterURL(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "posterURL")));
-                movie.setFanartURL(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "fanartURL")));
-                movie.setBannerURL(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "bannerURL")));
-                movie.setClearArtURL(HTMLTools.decodeHtml(DOMHelper.getValueFromElement(eMovie, "clearArtURL")));
-                movie.setClearLogoURL(HTMLTools.decodeHtml(DOMHelper.getValueFromElement(eMovie, "clearLogoURL")));
-                movie.setTvThumbURL(HTMLTools.decodeHtml(DOMHelper.getValueFromElement(eMovie, "tvThumbURL")));
-                movie.setSeasonThumbURL(HTMLTools.decodeHtml(DOMHelper.getValueFromElement(eMovie, "seasonThumbURL")));
-                movie.setMovieDiscURL(HTMLTools.decodeHtml(DOMHelper.getValueFromElement(eMovie, "movieDiscURL")));
-
-                // Get artwork files
-                movie.setPosterFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "posterFile")));
-                movie.setDetailPosterFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "detailPosterFile")));
-                movie.setThumbnailFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "thumbnail")));
-                movie.setFanartFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "fanartFile")));
-                movie.setBannerFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "bannerFile")));
-                movie.setWideBannerFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "wideBannerFile")));
-                movie.setClearArtFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "clearArtFile")));
-                movie.setClearLogoFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "clearLogoFile")));
-                movie.setTvThumbFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "tvThumbFile")));
-                movie.setSeasonThumbFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "seasonThumbFile")));
-                movie.setMovieDiscFilename(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "movieDiscFile")));
-
-                // Get the plot and outline
-                parseOverridablePlot(movie, eMovie);
-                parseOverridableOutline(movie, eMovie);
-
-                // Get the quote
-                parseOverridableQuote(movie, eMovie);
-
-                // Get the tagline
-                parseOverridableTagline(movie, eMovie);
-
-                // Get the company name
-                parseOverridableCompany(movie, eMovie);
-
-                // get the runtime
-                parseOverridableRuntime(movie, eMovie);
-
-                // get the top 250
-                parseOverridableTop250(movie, eMovie);
-
-                // Get the directors
-                nlElements = eMovie.getElementsByTagName("directors");
-                if (nlElements.getLength() > 0) {
-                    Element tagElement = (Element) nlElements.item(0);
-                    nlElements = tagElement.getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element ePerson = (Element) nElements;
-                            movie.addDirector(ePerson.getTextContent(), tagElement.getAttribute(SOURCE));
+                        codec.setCodecId(eCodec.getAttribute("codecId"));
+                        codec.setCodecIdHint(eCodec.getAttribute("codecIdHint"));
+                        codec.setCodecFormat(eCodec.getAttribute("format"));
+                        codec.setCodecFormatProfile(eCodec.getAttribute("formatProfile"));
+                        codec.setCodecFormatVersion(eCodec.getAttribute("formatVersion"));
+                        codec.setCodecLanguage(eCodec.getAttribute(LANGUAGE));
+                        codec.setCodecBitRate(eCodec.getAttribute("bitrate"));
+                        String tmpValue = eCodec.getAttribute("channels");
+                        if (StringUtils.isNotBlank(tmpValue)) {
+                            codec.setCodecChannels(Integer.parseInt(tmpValue));
                         }
-                    }
-                }
+                        codec.setCodec(eCodec.getTextContent().trim());
 
-                // Get the writers
-                nlElements = eMovie.getElementsByTagName("writers");
-                if (nlElements.getLength() > 0) {
-                    Element tagElement = (Element) nlElements.item(0);
-                    nlElements = tagElement.getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element ePerson = (Element) nElements;
-                            movie.addWriter(ePerson.getTextContent(), tagElement.getAttribute(SOURCE));
+                        tmpValue = eCodec.getAttribute(SOURCE);
+                        if (StringTools.isValidString(tmpValue)) {
+                            codec.setCodecSource(CodecSource.fromString(tmpValue));
+                        } else {
+                            codec.setCodecSource(CodecSource.UNKNOWN);
                         }
-                    }
-                }
 
-                // Get the cast
-                nlElements = eMovie.getElementsByTagName("cast");
-                if (nlElements.getLength() > 0) {
-                    Element tagElement = (Element) nlElements.item(0);
-                    nlElements = tagElement.getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element ePerson = (Element) nElements;
-                            movie.addActor(ePerson.getTextContent(), tagElement.getAttribute(SOURCE));
+                        movie.addCodec(codec);
+                    }   // END of codec information for audio/video
+                }   // END of codecs loop
+            }   // END of codecs
+
+            // get the resolution
+            parseOverridableResolution(movie, eMovie);
+
+            // get the video source
+            parseOverridableVideoSource(movie, eMovie);
+
+            // get the video output
+            parseOverridableVideoOutput(movie, eMovie);
+
+            // get aspect ratio
+            parseOverridableAspectRatio(movie, eMovie);
+
+            // get frames per second
+            parseOverridableFramesPerSecond(movie, eMovie);
+
+            // Get navigation info
+            movie.setFirst(HTMLTools.decodeUrl(eMovie.getValueFromElement("first")));
+            movie.setPrevious(HTMLTools.decodeUrl(eMovie.getValueFromElement("previous")));
+            movie.setNext(HTMLTools.decodeUrl(eMovie.getValueFromElement("next")));
+            movie.setLast(HTMLTools.decodeUrl(eMovie.getValueFromElement("last")));
+
+            // Get the library description, if it's not been set elsewhere (e.g. scanner)
+            String tempLibraryDescription = eMovie.getValueFromElement("libraryDescription");
+            if (StringTools.isNotValidString(movie.getLibraryDescription())) {
+                movie.setLibraryDescription(tempLibraryDescription);
+            } else if (!movie.getLibraryDescription().equals(tempLibraryDescription)) {
+                // The current description is different to the one in the XML
+                LOG.debug("Different library description! Setting dirty INFO");
+                forceDirtyFlag = Boolean.TRUE;
+            }
+
+            // Get prebuf
+            movie.setPrebuf(Long.parseLong(eMovie.getValueFromElement("prebuf")));
+
+            // Issue 1901: Awards
+            eElements = eMovie.getElementByName("awards");
+            if (eElements != null) {
+                for (XMLStreamElement eAwardEvent : eElements.getChildElements()) {
+                    AwardEvent awardEvent = new AwardEvent();
+                    awardEvent.setName(eAwardEvent.getAttribute(NAME));
+
+                    for (XMLStreamElement eAward : eAwardEvent.getChildElements()) {
+                        Award award = new Award();
+
+                        award.setName(eAward.getTextContent());
+                        award.setNominated(Integer.parseInt(eAward.getAttribute("nominated")));
+                        award.setWon(Integer.parseInt(eAward.getAttribute(WON)));
+                        award.setYear(Integer.parseInt(eAward.getAttribute(YEAR)));
+                        String tmpAward = eAward.getAttribute("wons");
+                        if (StringTools.isValidString(tmpAward)) {
+                            award.setWons(Arrays.asList(tmpAward.split(Movie.SPACE_SLASH_SPACE)));
+                        }
+                        tmpAward = eAward.getAttribute("nominations");
+                        if (StringTools.isValidString(tmpAward)) {
+                            award.setNominations(Arrays.asList(tmpAward.split(Movie.SPACE_SLASH_SPACE)));
                         }
-                    }
-                }
 
-                // Get the country
-                parseOverridableCountry(movie, eMovie);
-
-                // Get the genres
-                nlElements = eMovie.getElementsByTagName("genres");
-                if (nlElements.getLength() > 0) {
-                    Element tagElement = (Element) nlElements.item(0);
-                    nlElements = tagElement.getChildNodes();
-                    List<String> genres = new ArrayList<>();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element eGenre = (Element) nElements;
-                            genres.add(eGenre.getTextContent());
+                        awardEvent.addAward(award);
+                    }   // End of Awards
+
+                    movie.addAward(awardEvent);
+                }
+            }   // End of AwardEvents
+
+            // Issue 1897: Cast enhancement
+            eElements = eMovie.getElementByName("people");
+            if (eElements != null) {
+                for (XMLStreamElement ePerson : eElements.getChildElements()) {
+                    Filmography person = new Filmography();
+
+                    person.setCastId(ePerson.getAttribute("cast_id"));
+                    person.setCharacter(ePerson.getAttribute(CHARACTER));
+                    person.setDepartment(ePerson.getAttribute(DEPARTMENT));
+                    person.setDoublage(ePerson.getAttribute("doublage"));
+                    person.setId(ePerson.getAttribute("id"));
+                    person.setJob(ePerson.getAttribute(JOB));
+                    person.setName(ePerson.getAttribute(NAME));
+                    person.setOrder(ePerson.getAttribute(ORDER));
+                    person.setTitle(ePerson.getAttribute(TITLE));
+                    person.setUrl(ePerson.getAttribute(URL));
+                    person.setPhotoFilename(ePerson.getAttribute("photoFile"));
+                    person.setFilename(ePerson.getTextContent());
+
+                    // Get any "id_???" values
+                    for (Map.Entry<String, String> personAttr : ePerson.getAttributes().entrySet()) {
+                        if (personAttr.getKey().startsWith(ID)) {
+                            String name = personAttr.getKey().replace(ID, "");
+                            person.setId(name, personAttr.getValue());
                         }
                     }
-                    movie.setGenres(genres, tagElement.getAttribute(SOURCE));
-                }
 
-                // Process the sets
-                nlElements = eMovie.getElementsByTagName("sets");
-                if (nlElements.getLength() > 0) {
-                    nlElements = nlElements.item(0).getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element eSet = (Element) nElements;
-                            String order = eSet.getAttribute(ORDER);
-                            if (StringTools.isValidString(order)) {
-                                movie.addSet(eSet.getTextContent(), Integer.parseInt(order));
-                            } else {
-                                movie.addSet(eSet.getTextContent());
-                            }
+                    String source = ePerson.getAttribute(SOURCE);
+                    if (StringTools.isValidString(source)) {
+                        person.setSource(source);
+                        if (person.getDepartment().equalsIgnoreCase(Filmography.DEPT_DIRECTING)) {
+                            movie.setOverrideSource(OverrideFlag.PEOPLE_DIRECTORS, source);
+                        } else if (person.getDepartment().equalsIgnoreCase(Filmography.DEPT_WRITING)) {
+                            movie.setOverrideSource(OverrideFlag.PEOPLE_WRITERS, source);
+                        } else if (person.getDepartment().equalsIgnoreCase(Filmography.DEPT_ACTORS)) {
+                            movie.setOverrideSource(OverrideFlag.PEOPLE_ACTORS, source);
                         }
+                    } else {
+                        person.setSource(Movie.UNKNOWN);
                     }
+                    movie.addPerson(person);
                 }
+            }   // End of Cast
 
-                // Get certification
-                parseOverridableCertification(movie, eMovie);
-
-                // Get language
-                parseOverridableLanguage(movie, eMovie);
-
-                // Get subtitles
-                movie.setSubtitles(DOMHelper.getValueFromElement(eMovie, "subtitles"));
-
-                // Get the TrailerExchange
-                movie.setTrailerExchange(DOMHelper.getValueFromElement(eMovie, "trailerExchange").equalsIgnoreCase(YES));
-
-                // Get trailerLastScan date/time
-                movie.setTrailerLastScan(DOMHelper.getValueFromElement(eMovie, TRAILER_LAST_SCAN));
-
-                // Get file container
-                parseOverridableContainer(movie, eMovie);
-
-                nlElements = eMovie.getElementsByTagName("codecs");
-                if (nlElements.getLength() > 0) {
-                    nlElements = nlElements.item(0).getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            String codecType = nElements.getNodeName();
-                            if (nElements.getChildNodes().getLength() > 0) {
-                                for (int cLooper = 0; cLooper < nElements.getChildNodes().getLength(); cLooper++) {
-                                    Node nCodec = nElements.getChildNodes().item(cLooper);
-                                    if (nCodec.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eCodec = (Element) nCodec;
-
-                                        Codec codec;
-                                        if (CodecType.VIDEO.toString().equalsIgnoreCase(codecType)) {
-                                            codec = new Codec(CodecType.VIDEO);
-                                        } else {
-                                            codec = new Codec(CodecType.AUDIO);
-                                        }
-                                        codec.setCodecId(eCodec.getAttribute("codecId"));
-                                        codec.setCodecIdHint(eCodec.getAttribute("codecIdHint"));
-                                        codec.setCodecFormat(eCodec.getAttribute("format"));
-                                        codec.setCodecFormatProfile(eCodec.getAttribute("formatProfile"));
-                                        codec.setCodecFormatVersion(eCodec.getAttribute("formatVersion"));
-                                        codec.setCodecLanguage(eCodec.getAttribute(LANGUAGE));
-                                        codec.setCodecBitRate(eCodec.getAttribute("bitrate"));
-                                        String tmpValue = eCodec.getAttribute("channels");
-                                        if (StringUtils.isNotBlank(tmpValue)) {
-                                            codec.setCodecChannels(Integer.parseInt(eCodec.getAttribute("channels")));
-                                        }
-                                        codec.setCodec(eCodec.getTextContent().trim());
-
-                                        tmpValue = eCodec.getAttribute(SOURCE);
-                                        if (StringTools.isValidString(tmpValue)) {
-                                            codec.setCodecSource(CodecSource.fromString(tmpValue));
-                                        } else {
-                                            codec.setCodecSource(CodecSource.UNKNOWN);
-                                        }
-
-                                        movie.addCodec(codec);
-                                    }
-                                }   // END of codec information for audio/video
-                            }
-                        }   // END of audio/video codec
-                    }   // END of codecs loop
-                }   // END of codecs
-
-                // get the resolution
-                parseOverridableResolution(movie, eMovie);
-
-                // get the video source
-                parseOverridableVideoSource(movie, eMovie);
-
-                // get the video output
-                parseOverridableVideoOutput(movie, eMovie);
-
-                // get aspect ratio
-                parseOverridableAspectRatio(movie, eMovie);
-
-                // get frames per second
-                parseOverridableFramesPerSecond(movie, eMovie);
-
-                // Get navigation info
-                movie.setFirst(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "first")));
-                movie.setPrevious(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "previous")));
-                movie.setNext(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "next")));
-                movie.setLast(HTMLTools.decodeUrl(DOMHelper.getValueFromElement(eMovie, "last")));
-
-                // Get the library description, if it's not been set elsewhere (e.g. scanner)
-                String tempLibraryDescription = DOMHelper.getValueFromElement(eMovie, "libraryDescription");
-                if (StringTools.isNotValidString(movie.getLibraryDescription())) {
-                    movie.setLibraryDescription(tempLibraryDescription);
-                } else if (!movie.getLibraryDescription().equals(tempLibraryDescription)) {
-                    // The current description is different to the one in the XML
-                    LOG.debug("Different library description! Setting dirty INFO");
-                    forceDirtyFlag = Boolean.TRUE;
+            // Issue 2012: Financial information about movie
+            for (XMLStreamElement eBusiness : eMovie.getElementsByTagName("business")) {
+                movie.setBudget(eBusiness.getAttribute("budget"));
+
+                for (XMLStreamElement eCountry : eBusiness.getChildElements()) {
+                    if ("gross".equalsIgnoreCase(eCountry.getName())) {
+                        movie.setGross(eCountry.getAttribute(COUNTRY), eCountry.getTextContent());
+                    } else if ("openweek".equalsIgnoreCase(eCountry.getName())) {
+                        movie.setOpenWeek(eCountry.getAttribute(COUNTRY), eCountry.getTextContent());
+                    }
+                }   // End of budget info
+            }   // End of business info
+
+            // Issue 2013: Add trivia
+            if (ENABLE_TRIVIA) {
+                for (XMLStreamElement eTrivia : eMovie.getElementsByTagName("trivia")) {
+                    movie.addDidYouKnow(eTrivia.getTextContent());
                 }
+            }   // End of trivia info
 
-                // Get prebuf
-                movie.setPrebuf(Long.parseLong(DOMHelper.getValueFromElement(eMovie, "prebuf")));
-
-                // Issue 1901: Awards
-                nlElements = eMovie.getElementsByTagName("awards");
-                if (nlElements.getLength() > 0) {
-                    nlElements = nlElements.item(0).getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element eAwardEvent = (Element) nElements;
-                            AwardEvent awardEvent = new AwardEvent();
-                            awardEvent.setName(eAwardEvent.getAttribute(NAME));
-
-                            Node nAward;
-                            for (int loopAwards = 0; loopAwards < eAwardEvent.getChildNodes().getLength(); loopAwards++) {
-                                nAward = eAwardEvent.getChildNodes().item(loopAwards);
-                                if (nAward.getNodeType() == Node.ELEMENT_NODE) {
-                                    Element eAward = (Element) nAward;
-                                    Award award = new Award();
-
-                                    award.setName(eAward.getTextContent());
-                                    award.setNominated(Integer.parseInt(eAward.getAttribute("nominated")));
-                                    award.setWon(Integer.parseInt(eAward.getAttribute(WON)));
-                                    award.setYear(Integer.parseInt(eAward.getAttribute(YEAR)));
-                                    String tmpAward = eAward.getAttribute("wons");
-                                    if (StringTools.isValidString(tmpAward)) {
-                                        award.setWons(Arrays.asList(tmpAward.split(Movie.SPACE_SLASH_SPACE)));
-                                    }
-                                    tmpAward = eAward.getAttribute("nominations");
-                                    if (StringTools.isValidString(tmpAward)) {
-                                        award.setNominations(Arrays.asList(tmpAward.split(Movie.SPACE_SLASH_SPACE)));
-                                    }
-
-                                    awardEvent.addAward(award);
-                                }
-                            }   // End of Awards
+            // Get the file list
+            eElements = eMovie.getElementByName("files");
+            if (eElements != null) {
+                for (XMLStreamElement eFile : eElements.getChildElements()) {
+                    MovieFile movieFile = new MovieFile();
 
-                            movie.addAward(awardEvent);
+                    try {
+                        File mfFile = new File(eFile.getValueFromElement("fileLocation"));
+                        // Check to see if the file exists, or we are preserving the jukebox
+                        if (mfFile.exists() || MovieJukebox.isJukeboxPreserve()) {
+                            // Save the file to the MovieFile
+                            movieFile.setFile(mfFile);
+                        } else {
+                            // We can't find this file anymore, so skip it.
+                            LOG.debug("Missing video file in the XML file ({}), it may have been moved or no longer exist.", mfFile.getName());
+                            continue;
                         }
+                    } catch (Exception ignore) {
+                        // If there is an error creating the file then don't save anything
+                        LOG.debug("Failed parsing file {}", xmlFile.getName());
+                        continue;
                     }
-                }   // End of AwardEvents
-
-                // Issue 1897: Cast enhancement
-                nlElements = eMovie.getElementsByTagName("people");
-                if (nlElements.getLength() > 0) {
-                    nlElements = nlElements.item(0).getChildNodes();
-
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element ePerson = (Element) nElements;
-                            Filmography person = new Filmography();
-
-                            person.setCastId(ePerson.getAttribute("cast_id"));
-                            person.setCharacter(ePerson.getAttribute(CHARACTER));
-                            person.setDepartment(ePerson.getAttribute(DEPARTMENT));
-                            person.setDoublage(ePerson.getAttribute("doublage"));
-                            person.setId(ePerson.getAttribute("id"));
-                            person.setJob(ePerson.getAttribute(JOB));
-                            person.setName(ePerson.getAttribute(NAME));
-                            person.setOrder(ePerson.getAttribute(ORDER));
-                            person.setTitle(ePerson.getAttribute(TITLE));
-                            person.setUrl(ePerson.getAttribute(URL));
-                            person.setPhotoFilename(ePerson.getAttribute("photoFile"));
-                            person.setFilename(ePerson.getTextContent());
-
-                            // Get any "id_???" values
-                            for (int loopAttr = 0; loopAttr < ePerson.getAttributes().getLength(); loopAttr++) {
-                                Node nPersonAttr = ePerson.getAttributes().item(loopAttr);
-                                if (nPersonAttr.getNodeName().startsWith(ID)) {
-                                    String name = nPersonAttr.getNodeName().replace(ID, "");
-                                    person.setId(name, nPersonAttr.getNodeValue());
-                                }
-                            }
 
-                            String source = ePerson.getAttribute(SOURCE);
-                            if (StringTools.isValidString(source)) {
-                                person.setSource(source);
-                                if (person.getDepartment().equalsIgnoreCase(Filmography.DEPT_DIRECTING)) {
-                                    movie.setOverrideSource(OverrideFlag.PEOPLE_DIRECTORS, source);
-                                } else if (person.getDepartment().equalsIgnoreCase(Filmography.DEPT_WRITING)) {
-                                    movie.setOverrideSource(OverrideFlag.PEOPLE_WRITERS, source);
-                                } else if (person.getDepartment().equalsIgnoreCase(Filmography.DEPT_ACTORS)) {
-                                    movie.setOverrideSource(OverrideFlag.PEOPLE_ACTORS, source);
-                                }
-                            } else {
-                                person.setSource(Movie.UNKNOWN);
-                            }
-                            movie.addPerson(person);
-                        }
+                    String attr = eFile.getAttribute(TITLE);
+                    if (StringTools.isValidString(attr)) {
+                        movieFile.setTitle(attr);
                     }
-                }   // End of Cast
-
-                // Issue 2012: Financial information about movie
-                nlElements = eMovie.getElementsByTagName("business");
-                for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                    nElements = nlElements.item(looper);
-                    if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                        Element eBusiness = (Element) nElements;
-                        movie.setBudget(eBusiness.getAttribute("budget"));
-
-                        Node nCountry;
-                        for (int loopBus = 0; loopBus < eBusiness.getChildNodes().getLength(); loopBus++) {
-                            nCountry = eBusiness.getChildNodes().item(loopBus);
-                            if (nCountry.getNodeType() == Node.ELEMENT_NODE) {
-                                Element eCountry = (Element) nCountry;
-                                if ("gross".equalsIgnoreCase(eCountry.getNodeName())) {
-                                    movie.setGross(eCountry.getAttribute(COUNTRY), eCountry.getTextContent());
-                                } else if ("openweek".equalsIgnoreCase(eCountry.getNodeName())) {
-                                    movie.setOpenWeek(eCountry.getAttribute(COUNTRY), eCountry.getTextContent());
-                                }
-                            }
-                        }   // End of budget info
+
+                    attr = eFile.getAttribute(SEASON);
+                    if (StringUtils.isNumeric(attr)) {
+                        movieFile.setSeason(Integer.parseInt(attr));
                     }
-                }   // End of business info
-
-                // Issue 2013: Add trivia
-                if (ENABLE_TRIVIA) {
-                    nlElements = eMovie.getElementsByTagName("trivia");
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        movie.addDidYouKnow(nElements.getTextContent());
+
+                    attr = eFile.getAttribute("firstPart");
+                    if (StringUtils.isNumeric(attr)) {
+                        movieFile.setFirstPart(Integer.parseInt(attr));
                     }
-                }   // End of trivia info
-
-                // Get the file list
-                nlElements = eMovie.getElementsByTagName("files");
-                if (nlElements.getLength() > 0) {
-                    nlElements = nlElements.item(0).getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element eFile = (Element) nElements;
-                            MovieFile movieFile = new MovieFile();
-
-                            try {
-                                File mfFile = new File(DOMHelper.getValueFromElement(eFile, "fileLocation"));
-                                // Check to see if the file exists, or we are preserving the jukebox
-                                if (mfFile.exists() || MovieJukebox.isJukeboxPreserve()) {
-                                    // Save the file to the MovieFile
-                                    movieFile.setFile(mfFile);
-                                } else {
-                                    // We can't find this file anymore, so skip it.
-                                    LOG.debug("Missing video file in the XML file ({}), it may have been moved or no longer exist.", mfFile.getName());
-                                    continue;
-                                }
-                            } catch (Exception ignore) {
-                                // If there is an error creating the file then don't save anything
-                                LOG.debug("Failed parsing file {}", xmlFile.getName());
-                                continue;
-                            }
 
-                            String attr = eFile.getAttribute(TITLE);
-                            if (StringTools.isValidString(attr)) {
-                                movieFile.setTitle(attr);
-                            }
+                    attr = eFile.getAttribute("lastPart");
+                    if (StringUtils.isNumeric(attr)) {
+                        movieFile.setLastPart(Integer.parseInt(attr));
+                    }
 
-                            attr = eFile.getAttribute(SEASON);
-                            if (StringUtils.isNumeric(attr)) {
-                                movieFile.setSeason(Integer.parseInt(attr));
-                            }
+                    attr = eFile.getAttribute("subtitlesExchange");
+                    if (StringTools.isValidString(attr)) {
+                        movieFile.setSubtitlesExchange(attr.equalsIgnoreCase(YES));
+                    }
 
-                            attr = eFile.getAttribute("firstPart");
-                            if (StringUtils.isNumeric(attr)) {
-                                movieFile.setFirstPart(Integer.parseInt(attr));
-                            }
+                    movieFile.setFilename(eFile.getValueFromElement("fileURL"));
 
-                            attr = eFile.getAttribute("lastPart");
-                            if (StringUtils.isNumeric(attr)) {
-                                movieFile.setLastPart(Integer.parseInt(attr));
-                            }
+                    if (eFile.getValueFromElement("fileArchiveName") != null) {
+                        movieFile.setArchiveName(eFile.getValueFromElement("fileArchiveName"));
+                    }
 
-                            attr = eFile.getAttribute("subtitlesExchange");
-                            if (StringTools.isValidString(attr)) {
-                                movieFile.setSubtitlesExchange(attr.equalsIgnoreCase(YES));
-                            }
+                    // We need to get the part from the fileTitle
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("fileTitle")) {
+                        String part = eFileParts.getAttribute(PART);
+                        String source = eFileParts.getAttribute(SOURCE);
+                        if (StringUtils.isNumeric(part)) {
+                            movieFile.setTitle(NumberUtils.toInt(part, 0), eFileParts.getTextContent(), source);
+                        } else {
+                            movieFile.setTitle(eFileParts.getTextContent(), source);
+                        }
+                    }
 
-                            movieFile.setFilename(DOMHelper.getValueFromElement(eFile, "fileURL"));
+                    // Get the airs info
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("airsInfo")) {
+                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
 
-                            if (DOMHelper.getValueFromElement(eFile, "fileArchiveName") != null) {
-                                movieFile.setArchiveName(DOMHelper.getValueFromElement(eFile, "fileArchiveName"));
-                            }
+                        movieFile.setAirsAfterSeason(part, eFileParts.getAttribute("afterSeason"));
+                        movieFile.setAirsBeforeEpisode(part, eFileParts.getAttribute("beforeEpisode"));
+                        movieFile.setAirsBeforeSeason(part, eFileParts.getAttribute("beforeSeason"));
+                    }
 
-                            // We need to get the part from the fileTitle
-                            NodeList nlFileParts = eFile.getElementsByTagName("fileTitle");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        String part = eFileParts.getAttribute(PART);
-                                        String source = eFileParts.getAttribute(SOURCE);
-                                        if (StringUtils.isNumeric(part)) {
-                                            movieFile.setTitle(NumberUtils.toInt(part, 0), eFileParts.getTextContent(), source);
-                                        } else {
-                                            movieFile.setTitle(eFileParts.getTextContent(), source);
-                                        }
-                                    }
-                                }
-                            }
+                    // Get first aired information
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("firstAired")) {
+                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
+                        String source = eFileParts.getAttribute(SOURCE);
+                        movieFile.setFirstAired(part, eFileParts.getTextContent(), source);
+                    }
 
-                            // Get the airs info
-                            nlFileParts = eFile.getElementsByTagName("airsInfo");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
-
-                                        movieFile.setAirsAfterSeason(part, eFileParts.getAttribute("afterSeason"));
-                                        movieFile.setAirsBeforeEpisode(part, eFileParts.getAttribute("beforeEpisode"));
-                                        movieFile.setAirsBeforeSeason(part, eFileParts.getAttribute("beforeSeason"));
-                                    }
-                                }
-                            }
+                    // get the file plot
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("filePlot")) {
+                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
+                        String source = eFileParts.getAttribute(SOURCE);
+                        movieFile.setPlot(part, eFileParts.getTextContent(), source, Boolean.TRUE);
+                    }
 
-                            // Get first aired information
-                            nlFileParts = eFile.getElementsByTagName("firstAired");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
-                                        String source = eFileParts.getAttribute(SOURCE);
-                                        movieFile.setFirstAired(part, eFileParts.getTextContent(), source);
-                                    }
-                                }
-                            }
+                    // get the file rating
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("fileRating")) {
+                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
+                        String source = eFileParts.getAttribute(SOURCE);
+                        movieFile.setRating(part, eFileParts.getTextContent(), source);
+                    }
 
-                            // get the file plot
-                            nlFileParts = eFile.getElementsByTagName("filePlot");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
-                                        String source = eFileParts.getAttribute(SOURCE);
-                                        movieFile.setPlot(part, eFileParts.getTextContent(), source, Boolean.TRUE);
-                                    }
-                                }
-                            }
+                    // get the file image url
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("fileImageURL")) {
+                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
+                        movieFile.setVideoImageURL(part, HTMLTools.decodeUrl(eFileParts.getTextContent()));
+                    }
 
-                            // get the file rating
-                            nlFileParts = eFile.getElementsByTagName("fileRating");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
-                                        String source = eFileParts.getAttribute(SOURCE);
-                                        movieFile.setRating(part, eFileParts.getTextContent(), source);
-                                    }
-                                }
-                            }
+                    // get the file image filename
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("fileImageFile")) {
+                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
+                        movieFile.setVideoImageFilename(part, HTMLTools.decodeUrl(eFileParts.getTextContent()));
+                    }
 
-                            // get the file image url
-                            nlFileParts = eFile.getElementsByTagName("fileImageURL");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
-                                        movieFile.setVideoImageURL(part, HTMLTools.decodeUrl(eFileParts.getTextContent()));
-                                    }
-                                }
-                            }
+                    // get the file IDs
+                    for (XMLStreamElement eFileParts : eFile.getElementsByTagName("fileId")) {
+                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
+                        String source = eFileParts.getAttribute(SOURCE);
+                        movieFile.setId(part, source, eFileParts.getTextContent());
+                    }
 
-                            // get the file image filename
-                            nlFileParts = eFile.getElementsByTagName("fileImageFile");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
-                                        movieFile.setVideoImageFilename(part, HTMLTools.decodeUrl(eFileParts.getTextContent()));
-                                    }
-                                }
-                            }
+                    // The attachments are read from the first list of the movie for each file
+                    XMLStreamElement eAttachments = eMovie.getElementByName("attachments");
+                    if (eAttachments != null) {
+                        for (XMLStreamElement eAttachment : eAttachments.getChildElements()) {
+                            Attachment attachment = new Attachment();
+                            attachment.setType(AttachmentType.fromString(eAttachment.getAttribute("type")));
+                            attachment.setAttachmentId(Integer.parseInt(eAttachment.getValueFromElement("attachmentId")));
+                            attachment.setContentType(ContentType.fromString(eAttachment.getValueFromElement("contentType")));
+                            attachment.setMimeType(eAttachment.getValueFromElement("mimeType"));
+                            attachment.setPart(Integer.parseInt(eAttachment.getValueFromElement("part")));
+                            attachment.setSourceFile(movieFile.getFile());
+                            movieFile.addAttachment(attachment);
+                        }
+                    }
 
-                            // get the file IDs
-                            nlFileParts = eFile.getElementsByTagName("fileId");
-                            if (nlFileParts.getLength() > 0) {
-                                for (int looperFile = 0; looperFile < nlFileParts.getLength(); looperFile++) {
-                                    Node nFileParts = nlFileParts.item(looperFile);
-                                    if (nFileParts.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eFileParts = (Element) nFileParts;
-                                        int part = NumberUtils.toInt(eFileParts.getAttribute(PART), 1);
-                                        String source = eFileParts.getAttribute(SOURCE);
-                                        movieFile.setId(part, source, eFileParts.getTextContent());
-                                    }
-                                }
-                            }
+                    // Parse watched
+                    String watchedDateString = eFile.getValueFromElement("watchedDate");
+                    final long watchedDate;
+                    if (StringTools.isNotValidString(watchedDateString)) {
+                        watchedDate = 0;
+                    } else {
+                        // strip milliseconds
+                        Calendar cal = Calendar.getInstance();
+                        cal.setTimeInMillis(DateTime.parse(watchedDateString).toMillis());
+                        cal.set(Calendar.MILLISECOND, 0);
+                        watchedDate = cal.getTimeInMillis();
+                    }
+                    final boolean watched = Boolean.parseBoolean(eFile.getAttribute("watched"));
+                    movieFile.setWatched(watched, watchedDate);
 
-                            NodeList nlAttachments = eMovie.getElementsByTagName("attachments");
-                            if (nlAttachments.getLength() > 0) {
-                                nlAttachments = nlAttachments.item(0).getChildNodes();
-                                for (int looperAtt = 0; looperAtt < nlAttachments.getLength(); looperAtt++) {
-                                    Node nAttachment = nlAttachments.item(looperAtt);
-                                    if (nAttachment.getNodeType() == Node.ELEMENT_NODE) {
-                                        Element eAttachment = (Element) nAttachment;
-                                        Attachment attachment = new Attachment();
-                                        attachment.setType(AttachmentType.fromString(eAttachment.getAttribute("type")));
-                                        attachment.setAttachmentId(Integer.parseInt(DOMHelper.getValueFromElement(eAttachment, "attachmentId")));
-                                        attachment.setContentType(ContentType.fromString(DOMHelper.getValueFromElement(eAttachment, "contentType")));
-                                        attachment.setMimeType(DOMHelper.getValueFromElement(eAttachment, "mimeType"));
-                                        attachment.setPart(Integer.parseInt(DOMHelper.getValueFromElement(eAttachment, "part")));
-                                        attachment.setSourceFile(movieFile.getFile());
-                                        movieFile.addAttachment(attachment);
-                                    }
-                                }
-                            }
+                    // This is not a new file
+                    movieFile.setNewFile(Boolean.FALSE);
 
-                            // Parse watched 
-                            String watchedDateString = DOMHelper.getValueFromElement(eFile, "watchedDate");
-                            final long watchedDate;
-                            if (StringTools.isNotValidString(watchedDateString)) {
-                                watchedDate = 0;
-                            } else {
-                                // strip milliseconds
-                                Calendar cal = Calendar.getInstance();
-                                cal.setTimeInMillis(DateTime.parse(watchedDateString).toMillis());
-                                cal.set(Calendar.MILLISECOND, 0);
-                                watchedDate = cal.getTimeInMillis();
-                            }
-                            final boolean watched = Boolean.parseBoolean(eFile.getAttribute("watched"));
-                            movieFile.setWatched(watched, watchedDate);
-                            
-                            // This is not a new file
-                            movieFile.setNewFile(Boolean.FALSE);
-
-                            // Add the movie file to the movie
-                            movie.addMovieFile(movieFile);
-                        }
-                    }
-                }   // END of files
-
-                // Get the extra list
-                nlElements = eMovie.getElementsByTagName("extras");
-                if (nlElements.getLength() > 0) {
-                    nlElements = nlElements.item(0).getChildNodes();
-                    for (int looper = 0; looper < nlElements.getLength(); looper++) {
-                        nElements = nlElements.item(looper);
-                        if (nElements.getNodeType() == Node.ELEMENT_NODE) {
-                            Element eExtra = (Element) nElements;
-
-                            String extraTitle = eExtra.getAttribute(TITLE);
-                            String extraFilename = eExtra.getTextContent();
-
-                            if (!extraTitle.isEmpty() && !extraFilename.isEmpty()) {
-                                boolean exist = Boolean.FALSE;
-                                if (extraFilename.startsWith("http:")) {
-                                    // This is a URL from a NFO file
-                                    ExtraFile ef = new ExtraFile();
-                                    ef.setNewFile(Boolean.FALSE);
-                                    ef.setTitle(extraTitle);
-                                    ef.setFilename(extraFilename);
-                                    movie.addExtraFile(ef, Boolean.FALSE);  // Add to the movie, but it's not dirty
+                    // Add the movie file to the movie
+                    movie.addMovieFile(movieFile);
+                }
+            }   // END of files
+
+            // Get the extra list
+            eElements = eMovie.getElementByName("extras");
+            if (eElements != null) {
+                for (XMLStreamElement eExtra : eElements.getChildElements()) {
+                    String extraTitle = eExtra.getAttribute(TITLE);
+                    String extraFilename = eExtra.getTextContent();
+
+                    if (!extraTitle.isEmpty() && !extraFilename.isEmpty()) {
+                        boolean exist = Boolean.FALSE;
+                        if (extraFilename.startsWith("http:")) {
+                            // This is a URL from a NFO file
+                            ExtraFile ef = new ExtraFile();
+                            ef.setNewFile(Boolean.FALSE);
+                            ef.setTitle(extraTitle);
+                            ef.setFilename(extraFilename);
+                            movie.addExtraFile(ef, Boolean.FALSE);  // Add to the movie, but it's not dirty
+                            exist = Boolean.TRUE;
+                        } else {
+                            // Check for existing files
+                            for (ExtraFile ef : movie.getExtraFiles()) {
+                                // Check if the movie has already the extra file
+                                if (ef.getFilename().equals(extraFilename)) {
                                     exist = Boolean.TRUE;
-                                } else {
-                                    // Check for existing files
-                                    for (ExtraFile ef : movie.getExtraFiles()) {
-                                        // Check if the movie has already the extra file
-                                        if (ef.getFilename().equals(extraFilename)) {
-                                            exist = Boolean.TRUE;
-                                            // the extra file is old
-                                            ef.setNewFile(Boolean.FALSE);
-                                            break;
-                                        }
-                                    }
-                                }
-
-                                if (!exist) {
-                                    // the extra file has been deleted so force the dirty flag
-                                    forceDirtyFlag = Boolean.TRUE;
+                                    // the extra file is old
+                                    ef.setNewFile(Boolean.FALSE);
+                                    break;
                                 }
                             }
                         }
-                    }
-                }   // END of extras
 
-            }   // End of ELEMENT_NODE
+                        if (!exist) {
+                            // the extra file has been deleted so force the dirty flag
+                            forceDirtyFlag = Boolean.TRUE;
+                        }
+                    }
+                }
+            }   // END of extras
         }   // End of Movie Loop
 
         // This is a new movie, so clear the current dirty flags
@@ -785,33 +612,19 @@ public class MovieJukeboxXMLReader {
      */
     public boolean parseSetXML(File xmlSetFile, Movie setMaster, List<Movie> moviesList) {
         boolean forceDirtyFlag = Boolean.FALSE;
-        Document xmlDoc;
+        XMLStreamElement xmlDoc;
 
         try {
-            xmlDoc = DOMHelper.getDocFromFile(xmlSetFile);
-        } catch (MalformedURLException error) {
-            LOG.error(ERROR_FIXIT, xmlSetFile.getName(), "movie");
-            LOG.error(SystemTools.getStackTrace(error));
-            return Boolean.FALSE;
-        } catch (IOException error) {
-            LOG.error(ERROR_FIXIT, xmlSetFile.getName(), "movie");
-            LOG.error(SystemTools.getStackTrace(error));
-            return Boolean.FALSE;
-        } catch (ParserConfigurationException | SAXException error) {
+            xmlDoc = JukeboxSnapshot.readDocument(xmlSetFile);
+        } catch (IOException | XMLStreamException error) {
             LOG.error(ERROR_FIXIT, xmlSetFile.getName(), "movie");
             LOG.error(SystemTools.getStackTrace(error));
             return Boolean.FALSE;
         }
 
-        Node nFilename;
-        NodeList nlFilenames = xmlDoc.getElementsByTagName("baseFilename");
         Collection<String> xmlSetMovieNames = new ArrayList<>();
-        for (int loopMovie = 0; loopMovie < nlFilenames.getLength(); loopMovie++) {
-            nFilename = nlFilenames.item(loopMovie);
-            if (nFilename.getNodeType() == Node.ELEMENT_NODE) {
-                Element eFilename = (Element) nFilename;
-                xmlSetMovieNames.add(eFilename.getTextContent());
-            }
+        for (XMLStreamElement eFilename : xmlDoc.getElementsByTagName("baseFilename")) {
+            xmlSetMovieNames.add(eFilename.getTextContent());
         }
 
         int counter = setMaster.getSetSize();
@@ -849,251 +662,221 @@ public class MovieJukeboxXMLReader {
      * @return
      */
     public boolean parsePersonXML(File xmlFile, Person person) {
-        Document xmlDoc;
+        XMLStreamElement xmlDoc;
         try {
-            xmlDoc = DOMHelper.getDocFromFile(xmlFile);
-        } catch (MalformedURLException error) {
-            LOG.error(ERROR_FIXIT, xmlFile.getName(), "person");
-            LOG.error(SystemTools.getStackTrace(error));
-            return Boolean.FALSE;
-        } catch (IOException error) {
-            LOG.error(ERROR_FIXIT, xmlFile.getName(), "person");
-            LOG.error(SystemTools.getStackTrace(error));
-            return Boolean.FALSE;
-        } catch (ParserConfigurationException | SAXException error) {
+            xmlDoc = JukeboxSnapshot.readDocument(xmlFile);
+        } catch (IOException | XMLStreamException error) {
             LOG.error(ERROR_FIXIT, xmlFile.getName(), "person");
             LOG.error(SystemTools.getStackTrace(error));
             return Boolean.FALSE;
         }
 
-        Node nPeople, nTemp;
-        NodeList nlPeople = xmlDoc.getElementsByTagName("person");
-        String sTemp;
-        Element eTemp;
-        NodeList nlTemp;
-        for (int looper = 0; looper < nlPeople.getLength(); looper++) {
-            nPeople = nlPeople.item(looper);
-            if (nPeople.getNodeType() == Node.ELEMENT_NODE) {
-                Element ePerson = (Element) nPeople;
-
-                // Get IDs
-                nlTemp = ePerson.getElementsByTagName("id");
-                for (int idLoop = 0; idLoop < nlTemp.getLength(); idLoop++) {
-                    nTemp = nlTemp.item(idLoop);
-
-                    if (nTemp.getNodeType() == Node.ELEMENT_NODE) {
-                        Element eId = (Element) nTemp;
-                        String personDatabase = eId.getAttribute("persondb");
-                        if (StringTools.isNotValidString(personDatabase)) {
-                            personDatabase = ImdbPlugin.IMDB_PLUGIN_ID;
-                        }
-                        person.setId(personDatabase, eId.getTextContent());
-                    }
-                }
+        // Only process the first in the file
+        XMLStreamElement ePerson = xmlDoc.getElementByName("person");
+        if (ePerson == null) {
+            // FAILED
+            return Boolean.FALSE;
+        }
 
-                // Get Name
-                eTemp = DOMHelper.getElementByName(ePerson, "name");
-                if (eTemp != null) {
-                    sTemp = eTemp.getTextContent();
-                    if (StringTools.isNotValidString(person.getName())) {
-                        person.setName(sTemp);
-                    } else {
-                        person.addAka(sTemp);
-                    }
-                }
+        // Get IDs
+        for (XMLStreamElement eId : ePerson.getElementsByTagName("id")) {
+            String personDatabase = eId.getAttribute("persondb");
+            if (StringTools.isNotValidString(personDatabase)) {
+                personDatabase = ImdbPlugin.IMDB_PLUGIN_ID;
+            }
+            person.setId(personDatabase, eId.getTextContent());
+        }
 
-                person.setTitle(DOMHelper.getValueFromElement(ePerson, "title"));
-                person.setFilename(DOMHelper.getValueFromElement(ePerson, "baseFilename"));
-                person.setBiography(DOMHelper.getValueFromElement(ePerson, "biography"));
-                person.setYear(DOMHelper.getValueFromElement(ePerson, "birthday"));
-                person.setBirthPlace(DOMHelper.getValueFromElement(ePerson, "birthplace"));
-                person.setBirthName(DOMHelper.getValueFromElement(ePerson, "birthname"));
-                person.setUrl(DOMHelper.getValueFromElement(ePerson, "url"));
-                person.setPhotoFilename(DOMHelper.getValueFromElement(ePerson, "photoFile"));
-                person.setPhotoURL(DOMHelper.getValueFromElement(ePerson, "photoURL"));
-                person.setBackdropFilename(DOMHelper.getValueFromElement(ePerson, "backdropFile"));
-                person.setBackdropURL(DOMHelper.getValueFromElement(ePerson, "backdropURL"));
-                person.setKnownMovies(Integer.parseInt(DOMHelper.getValueFromElement(ePerson, "knownMovies")));
-                person.setVersion(Integer.parseInt(DOMHelper.getValueFromElement(ePerson, "version")));
-                person.setLastModifiedAt(DOMHelper.getValueFromElement(ePerson, "lastModifiedAt"));
-
-                nlTemp = ePerson.getElementsByTagName("movie");
-                for (int movieLoop = 0; movieLoop < nlTemp.getLength(); movieLoop++) {
-                    nTemp = nlTemp.item(movieLoop);
-                    if (nTemp.getNodeType() == Node.ELEMENT_NODE) {
-                        Filmography film = new Filmography();
-                        Element eMovie = (Element) nTemp;
-
-                        film.setId(eMovie.getAttribute("id"));
-
-                        // Process the attributes
-                        NamedNodeMap nnmAttr = eMovie.getAttributes();
-                        for (int i = 0; i < nnmAttr.getLength(); i++) {
-                            Node nAttr = nnmAttr.item(i);
-                            String ns = nAttr.getNodeName();
-
-                            if ("id".equalsIgnoreCase(ns)) {
-                                film.setId(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.toLowerCase().contains(ID)) {
-                                person.setId(ns.substring(3), nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(NAME)) {
-                                film.setName(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(TITLE)) {
-                                film.setTitle(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(ORIGINAL_TITLE)) {
-                                film.setOriginalTitle(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(YEAR)) {
-                                film.setYear(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(RATING)) {
-                                film.setRating(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(CHARACTER)) {
-                                film.setCharacter(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(JOB)) {
-                                film.setJob(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(DEPARTMENT)) {
-                                film.setDepartment(nAttr.getTextContent());
-                                continue;
-                            }
-                            if (ns.equalsIgnoreCase(URL)) {
-                                film.setUrl(nAttr.getTextContent());
-                                //continue; // Last contine not needed
-                            }
-                        }
+        // Get Name
+        XMLStreamElement eTemp = ePerson.getElementByName("name");
+        if (eTemp != null) {
+            String sTemp = eTemp.getTextContent();
+            if (StringTools.isNotValidString(person.getName())) {
+                person.setName(sTemp);
+            } else {
+                person.addAka(sTemp);
+            }
+        }
 
-                        // Set the filename
-                        film.setFilename(eMovie.getTextContent());
-                        film.setDirty(Boolean.FALSE);
-                        person.addFilm(film);
-                    }
+        person.setTitle(ePerson.getValueFromElement("title"));
+        person.setFilename(ePerson.getValueFromElement("baseFilename"));
+        person.setBiography(ePerson.getValueFromElement("biography"));
+        person.setYear(ePerson.getValueFromElement("birthday"));
+        person.setBirthPlace(ePerson.getValueFromElement("birthplace"));
+        person.setBirthName(ePerson.getValueFromElement("birthname"));
+        person.setUrl(ePerson.getValueFromElement("url"));
+        person.setPhotoFilename(ePerson.getValueFromElement("photoFile"));
+        person.setPhotoURL(ePerson.getValueFromElement("photoURL"));
+        person.setBackdropFilename(ePerson.getValueFromElement("backdropFile"));
+        person.setBackdropURL(ePerson.getValueFromElement("backdropURL"));
+        person.setKnownMovies(Integer.parseInt(ePerson.getValueFromElement("knownMovies")));
+        person.setVersion(Integer.parseInt(ePerson.getValueFromElement("version")));
+        person.setLastModifiedAt(ePerson.getValueFromElement("lastModifiedAt"));
+
+        for (XMLStreamElement eMovie : ePerson.getElementsByTagName("movie")) {
+            Filmography film = new Filmography();
+
+            film.setId(eMovie.getAttribute("id"));
+
+            // Process the attributes
+            for (Map.Entry<String, String> attr : eMovie.getAttributes().entrySet()) {
+                String ns = attr.getKey();
+
+                if ("id".equalsIgnoreCase(ns)) {
+                    film.setId(attr.getValue());
+                    continue;
+                }
+                if (ns.toLowerCase().contains(ID)) {
+                    person.setId(ns.substring(3), attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(NAME)) {
+                    film.setName(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(TITLE)) {
+                    film.setTitle(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(ORIGINAL_TITLE)) {
+                    film.setOriginalTitle(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(YEAR)) {
+                    film.setYear(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(RATING)) {
+                    film.setRating(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(CHARACTER)) {
+                    film.setCharacter(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(JOB)) {
+                    film.setJob(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(DEPARTMENT)) {
+                    film.setDepartment(attr.getValue());
+                    continue;
+                }
+                if (ns.equalsIgnoreCase(URL)) {
+                    film.setUrl(attr.getValue());
+                    //continue; // Last contine not needed
                 }
-
-                person.setFilename();
-                person.setDirty(Boolean.FALSE);
-
-                // Only process the first in the file
-                return Boolean.TRUE;
             }
+
+            // Set the filename
+            film.setFilename(eMovie.getTextContent());
+            film.setDirty(Boolean.FALSE);
+            person.addFilm(film);
         }
 
-        // FAILED
-        return Boolean.FALSE;
+        person.setFilename();
+        person.setDirty(Boolean.FALSE);
+
+        return Boolean.TRUE;
     }
 
-    private void parseOverridableAspectRatio(Movie movie, Element element) {
+    private void parseOverridableAspectRatio(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "aspect");
         movie.setAspectRatio(ASPECT_TOOLS.cleanAspectRatio(ov.getValue()), ov.getSource());
     }
 
-    private void parseOverridableCertification(Movie movie, Element element) {
+    private void parseOverridableCertification(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "certification");
         movie.setCertification(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableCompany(Movie movie, Element element) {
+    private void parseOverridableCompany(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "company");
         movie.setCompany(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableContainer(Movie movie, Element element) {
+    private void parseOverridableContainer(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "container");
         movie.setContainer(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableCountry(Movie movie, Element element) {
+    private void parseOverridableCountry(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "country");
         movie.setCountries(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableFramesPerSecond(Movie movie, Element element) {
+    private void parseOverridableFramesPerSecond(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "fps");
         float fps = NumberUtils.toFloat(ov.getValue(), 0.0f);
         movie.setFps(fps, ov.getSource());
     }
 
-    private void parseOverridableLanguage(Movie movie, Element element) {
+    private void parseOverridableLanguage(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, LANGUAGE);
         movie.setLanguage(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableOriginalTitle(Movie movie, Element element) {
+    private void parseOverridableOriginalTitle(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, ORIGINAL_TITLE);
         movie.setOriginalTitle(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableOutline(Movie movie, Element element) {
+    private void parseOverridableOutline(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "outline");
         movie.setOutline(ov.getValue(), ov.getSource(), Boolean.FALSE);
     }
 
-    private void parseOverridablePlot(Movie movie, Element element) {
+    private void parseOverridablePlot(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "plot");
         movie.setPlot(ov.getValue(), ov.getSource(), Boolean.FALSE);
     }
 
-    private void parseOverridableQuote(Movie movie, Element element) {
+    private void parseOverridableQuote(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "quote");
         movie.setQuote(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableReleaseDate(Movie movie, Element element) {
+    private void parseOverridableReleaseDate(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "releaseDate");
         movie.setReleaseDate(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableResolution(Movie movie, Element element) {
+    private void parseOverridableResolution(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "resolution");
         movie.setResolution(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableRuntime(Movie movie, Element element) {
+    private void parseOverridableRuntime(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "runtime");
         movie.setRuntime(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableTagline(Movie movie, Element element) {
+    private void parseOverridableTagline(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "tagline");
         movie.setTagline(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableTitle(Movie movie, Element element) {
+    private void parseOverridableTitle(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, TITLE);
         movie.setTitle(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableTop250(Movie movie, Element element) {
+    private void parseOverridableTop250(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "top250");
         movie.setTop250(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableVideoOutput(Movie movie, Element element) {
+    private void parseOverridableVideoOutput(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "videoOutput");
         movie.setVideoOutput(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableVideoSource(Movie movie, Element element) {
+    private void parseOverridableVideoSource(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, "videoSource");
         movie.setVideoSource(ov.getValue(), ov.getSource());
     }
 
-    private void parseOverridableYear(Movie movie, Element element) {
+    private void parseOverridableYear(Movie movie, XMLStreamElement element) {
         OverridableValue ov = new OverridableValue(element, YEAR);
         movie.setYear(ov.getValue(), ov.getValue());
     }
@@ -1106,22 +889,13 @@ public class MovieJukeboxXMLReader {
         private String value = "";
         private String source = "";
 
-        public OverridableValue(Element element, String tagName) {
-            NodeList nlElement = element.getElementsByTagName(tagName);
-            if (nlElement != null && nlElement.getLength() > 0) {
-                Element tagElement = (Element) nlElement.item(0);
-
-                // Get the value if it exists
-                if (tagElement.getChildNodes() != null && tagElement.getChildNodes().getLength() > 0) {
-                    try {
-                        value = (tagElement.getChildNodes().item(0)).getNodeValue();
-                        // Get the source
-                        source = tagElement.getAttribute(SOURCE);
-                    } catch (DOMException ex) {
-                        // Log the error but otherwise ignore it
-                        LOG.trace("Failed getting '{}': {}", tagName, ex.getMessage(), ex);
-                    }
-                }
+        public OverridableValue(XMLStreamElement element, String tagName) {
+            XMLStreamElement tagElement = element.getElementByName(tagName);
+            // Get the value if it exists
+            if (tagElement != null && tagElement.hasChildNodes()) {
+                value = tagElement.getValue();
+                // Get the source
+                source = tagElement.getAttribute(SOURCE);
             }
         }
 
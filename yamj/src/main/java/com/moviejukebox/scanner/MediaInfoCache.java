@@ -0,0 +1,401 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.scanner;
+
+import com.moviejukebox.tools.FileTools;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the MediaInfo output, so the MediaInfo tool is only run again for a file when the file has changed.
+ *
+ * The results are kept per file path with the size and the last modified date of the file. Files that no longer exist are
+ * removed when the cache is saved. The files are checked outside the lock and the failed results are not kept.
+ */
+public class MediaInfoCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MediaInfoCache.class);
+    private static final int FORMAT_VERSION = 1;
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+    private final File cacheFile;
+    private final Map<String, CacheEntry> entries = new HashMap<>();
+    // The paths that have been used during this run
+    private final Set<String> usedPaths = new HashSet<>();
+    private boolean loaded = Boolean.FALSE;
+    private boolean modified = Boolean.FALSE;
+    private int hits = 0;
+    private int misses = 0;
+
+    public MediaInfoCache(File cacheFile) {
+        this.cacheFile = cacheFile;
+    }
+
+    /**
+     * Get the MediaInfo output for the file
+     *
+     * @param file
+     * @return the output or null if the file is not cached or has changed
+     */
+    public MediaInfo getMediaInfo(File file) {
+        // The file is checked outside the lock, so the other scanning threads are not kept waiting
+        long size = file.length();
+        long lastModified = file.lastModified();
+        synchronized (this) {
+            CacheEntry entry = getEntry(file.getAbsolutePath(), size, lastModified);
+            if (entry == null || entry.mediaInfo == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.mediaInfo;
+        }
+    }
+
+    /**
+     * Store the MediaInfo output for the file.
+     *
+     * An empty output is not stored, MediaInfo is run again for the file by the next run.
+     *
+     * @param file
+     * @param mediaInfo
+     */
+    public void putMediaInfo(File file, MediaInfo mediaInfo) {
+        if (mediaInfo == null || mediaInfo.isEmpty()) {
+            return;
+        }
+
+        long size = file.length();
+        long lastModified = file.lastModified();
+        if (lastModified == 0L) {
+            // The file could not be read
+            return;
+        }
+        synchronized (this) {
+            createEntry(file.getAbsolutePath(), size, lastModified).mediaInfo = mediaInfo;
+        }
+    }
+
+    /**
+     * Get the name of the video inside the archive file
+     *
+     * @param file
+     * @return the name or null if the file is not cached or has changed
+     */
+    public String getArchiveName(File file) {
+        long size = file.length();
+        long lastModified = file.lastModified();
+        synchronized (this) {
+            CacheEntry entry = getEntry(file.getAbsolutePath(), size, lastModified);
+            if (entry == null || entry.archiveName == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            return entry.archiveName;
+        }
+    }
+
+    /**
+     * Store the name of the video inside the archive file
+     *
+     * @param file
+     * @param archiveName
+     */
+    public void putArchiveName(File file, String archiveName) {
+        if (StringUtils.isBlank(archiveName)) {
+            return;
+        }
+
+        long size = file.length();
+        long lastModified = file.lastModified();
+        if (lastModified == 0L) {
+            return;
+        }
+        synchronized (this) {
+            createEntry(file.getAbsolutePath(), size, lastModified).archiveName = archiveName;
+        }
+    }
+
+    private CacheEntry getEntry(String path, long size, long lastModified) {
+        load();
+
+        CacheEntry entry = entries.get(path);
+        if (entry == null) {
+            return null;
+        }
+
+        usedPaths.add(path);
+        if (entry.size != size || entry.lastModified != lastModified) {
+            // The file has changed
+            entries.remove(path);
+            modified = Boolean.TRUE;
+            return null;
+        }
+        return entry;
+    }
+
+    private CacheEntry createEntry(String path, long size, long lastModified) {
+        load();
+
+        usedPaths.add(path);
+        modified = Boolean.TRUE;
+
+        CacheEntry entry = entries.get(path);
+        if (entry == null || entry.size != size || entry.lastModified != lastModified) {
+            entry = new CacheEntry(size, lastModified);
+            entries.put(path, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Read the cache file if it has not been read yet
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = Boolean.TRUE;
+
+        if (!cacheFile.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(cacheFile))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOG.debug("Unknown format of {}, ignored", cacheFile.getName());
+                return;
+            }
+
+            int count = in.readInt();
+            for (int loop = 0; loop < count; loop++) {
+                String path = readString(in);
+                CacheEntry entry = new CacheEntry(in.readLong(), in.readLong());
+                if (in.readBoolean()) {
+                    entry.archiveName = readString(in);
+                }
+                if (in.readBoolean()) {
+                    Map<String, String> infosGeneral = readMap(in);
+                    entry.mediaInfo = new MediaInfo(infosGeneral, readList(in), readList(in), readList(in));
+                }
+                entries.put(path, entry);
+            }
+            LOG.debug("Read {} MediaInfo results from {}", entries.size(), cacheFile.getAbsolutePath());
+        } catch (IOException ex) {
+            LOG.warn("Failed to read the MediaInfo cache {}: {}", cacheFile.getAbsolutePath(), ex.getMessage());
+            entries.clear();
+        }
+    }
+
+    /**
+     * Remove the files that no longer exist and write the cache file
+     */
+    public void save() {
+        List<String> unusedPaths = new ArrayList<>();
+        synchronized (this) {
+            if (!loaded) {
+                // Not used during this run
+                return;
+            }
+            // The used files exist, so only check the others
+            for (String path : entries.keySet()) {
+                if (!usedPaths.contains(path)) {
+                    unusedPaths.add(path);
+                }
+            }
+        }
+
+        List<String> removedPaths = new ArrayList<>();
+        for (String path : unusedPaths) {
+            if (!new File(path).exists()) {
+                removedPaths.add(path);
+            }
+        }
+
+        synchronized (this) {
+            int evicted = 0;
+            for (String path : removedPaths) {
+                // Not when the file was scanned again in the meantime
+                if (!usedPaths.contains(path) && entries.remove(path) != null) {
+                    evicted++;
+                }
+            }
+            writeCache(evicted);
+        }
+    }
+
+    private void writeCache(int evicted) {
+        LOG.debug("MediaInfo cache: {} hits, {} misses, {} removed files", hits, misses, evicted);
+        if (!modified && evicted == 0) {
+            return;
+        }
+
+        FileTools.makeDirsForFile(cacheFile);
+        File tempFile = new File(cacheFile.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+                CacheEntry cached = entry.getValue();
+                writeString(out, entry.getKey());
+                out.writeLong(cached.size);
+                out.writeLong(cached.lastModified);
+                out.writeBoolean(cached.archiveName != null);
+                if (cached.archiveName != null) {
+                    writeString(out, cached.archiveName);
+                }
+                out.writeBoolean(cached.mediaInfo != null);
+                if (cached.mediaInfo != null) {
+                    writeMap(out, cached.mediaInfo.getInfosGeneral());
+                    writeList(out, cached.mediaInfo.getInfosVideo());
+                    writeList(out, cached.mediaInfo.getInfosAudio());
+                    writeList(out, cached.mediaInfo.getInfosText());
+                }
+            }
+        } catch (IOException ex) {
+            LOG.warn("Failed to write the MediaInfo cache {}: {}", cacheFile.getAbsolutePath(), ex.getMessage());
+            tempFile.delete();
+            return;
+        }
+
+        if (cacheFile.exists() && !cacheFile.delete()) {
+            LOG.warn("Failed to replace the MediaInfo cache {}", cacheFile.getAbsolutePath());
+            tempFile.delete();
+            return;
+        }
+        if (tempFile.renameTo(cacheFile)) {
+            modified = Boolean.FALSE;
+        }
+    }
+
+    // The values can be longer than the limit of writeUTF
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(CHARSET);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, CHARSET);
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, String> map = new HashMap<>(size * 2);
+        for (int loop = 0; loop < size; loop++) {
+            map.put(readString(in), readString(in));
+        }
+        return map;
+    }
+
+    private static void writeList(DataOutputStream out, List<Map<String, String>> list) throws IOException {
+        out.writeInt(list.size());
+        for (Map<String, String> map : list) {
+            writeMap(out, map);
+        }
+    }
+
+    private static List<Map<String, String>> readList(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<Map<String, String>> list = new ArrayList<>(size);
+        for (int loop = 0; loop < size; loop++) {
+            list.add(readMap(in));
+        }
+        return list;
+    }
+
+    /**
+     * The cached results for a file
+     */
+    private static final class CacheEntry {
+
+        private final long size;
+        private final long lastModified;
+        private String archiveName;
+        private MediaInfo mediaInfo;
+
+        CacheEntry(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * The parsed MediaInfo output of a file
+     */
+    public static final class MediaInfo {
+
+        private final Map<String, String> infosGeneral;
+        private final List<Map<String, String>> infosVideo;
+        private final List<Map<String, String>> infosAudio;
+        private final List<Map<String, String>> infosText;
+
+        public MediaInfo(Map<String, String> infosGeneral, List<Map<String, String>> infosVideo, List<Map<String, String>> infosAudio, List<Map<String, String>> infosText) {
+            this.infosGeneral = infosGeneral;
+            this.infosVideo = infosVideo;
+            this.infosAudio = infosAudio;
+            this.infosText = infosText;
+        }
+
+        public Map<String, String> getInfosGeneral() {
+            return infosGeneral;
+        }
+
+        public List<Map<String, String>> getInfosVideo() {
+            return infosVideo;
+        }
+
+        public List<Map<String, String>> getInfosAudio() {
+            return infosAudio;
+        }
+
+        public List<Map<String, String>> getInfosText() {
+            return infosText;
+        }
+
+        /**
+         * The output of a failed run has no video and no audio
+         *
+         * @return
+         */
+        public boolean isEmpty() {
+            return infosVideo.isEmpty() && infosAudio.isEmpty();
+        }
+    }
+}
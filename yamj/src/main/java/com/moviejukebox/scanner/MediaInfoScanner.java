@@ -77,10 +77,18 @@ public class MediaInfoScanner {
     private static final String LANG_DELIM = PropertiesUtil.getProperty("mjb.language.delimiter", Movie.SPACE_SLASH_SPACE);
     private static final String AUDIO_LANG_UNKNOWN = PropertiesUtil.getProperty("mjb.language.audio.unknown");
     private static final List<String> MI_DISK_IMAGES = new ArrayList<>();
+    private static final MediaInfoCache MI_CACHE;
+    private static final String TEMP_DIR = FileTools.getCanonicalPath(PropertiesUtil.getProperty("mjb.jukeboxTempDir", "./temp"));
     // DVD rip infos Scanner
     private final DVDRipScanner localDVDRipScanner;
 
     static {
+        if (PropertiesUtil.getBooleanProperty("mediainfo.cache.enable", Boolean.TRUE)) {
+            MI_CACHE = new MediaInfoCache(new File(FileTools.getCanonicalPath(PropertiesUtil.getProperty("mediainfo.cache.file", "./cache/mediainfo.cache"))));
+        } else {
+            MI_CACHE = null;
+        }
+
         File checkMediainfo = findMediaInfo();
 
         if (checkMediainfo.canExecute()) {
@@ -292,17 +300,10 @@ public class MediaInfoScanner {
             }
         }
 
-        
-        try (MediaInfoStream stream = createStream(movieFilePath)) {
-
-            Map<String, String> infosGeneral = new HashMap<>();
-            List<Map<String, String>> infosVideo = new ArrayList<>();
-            List<Map<String, String>> infosAudio = new ArrayList<>();
-            List<Map<String, String>> infosText = new ArrayList<>();
 
-            parseMediaInfo(stream, infosGeneral, infosVideo, infosAudio, infosText);
-
-            updateMovieInfo(currentMovie, infosGeneral, infosVideo, infosAudio, infosText, infosMultiPart);
+        try {
+            MediaInfoCache.MediaInfo mediaInfo = readMediaInfo(movieFilePath);
+            updateMovieInfo(currentMovie, mediaInfo.getInfosGeneral(), mediaInfo.getInfosVideo(), mediaInfo.getInfosAudio(), mediaInfo.getInfosText(), infosMultiPart);
         } catch (Exception ex) {
             LOG.warn("Failed reading mediainfo output for {}", movieFilePath);
             LOG.error(SystemTools.getStackTrace(ex));
@@ -325,17 +326,11 @@ public class MediaInfoScanner {
     }
 
     private void scanMultiParts(String movieFilePath, Map<String, String> infosMultiPart) {
-        try (MediaInfoStream stream = createStream(movieFilePath)) {
-
-            Map<String, String> infosGeneral = new HashMap<>();
-            List<Map<String, String>> infosVideo = new ArrayList<>();
-            List<Map<String, String>> infosAudio = new ArrayList<>();
-            List<Map<String, String>> infosText = new ArrayList<>();
-
-            parseMediaInfo(stream, infosGeneral, infosVideo, infosAudio, infosText);
+        try {
+            MediaInfoCache.MediaInfo mediaInfo = readMediaInfo(movieFilePath);
 
             // resolve duration
-            int duration = getDuration(infosGeneral, infosVideo);
+            int duration = getDuration(mediaInfo.getInfosGeneral(), mediaInfo.getInfosVideo());
             // add already stored multipart runtime
             duration = duration + getMultiPartDuration(infosMultiPart);
             if (duration > 0) {
@@ -347,6 +342,60 @@ public class MediaInfoScanner {
         }
     }
 
+    /**
+     * Get the MediaInfo output for the file from the cache or by running MediaInfo
+     *
+     * @param movieFilePath
+     * @return
+     * @throws Exception
+     */
+    private MediaInfoCache.MediaInfo readMediaInfo(String movieFilePath) throws Exception {
+        File movieFile = new File(movieFilePath);
+        boolean useCache = isCacheable(movieFilePath);
+        if (useCache) {
+            MediaInfoCache.MediaInfo mediaInfo = MI_CACHE.getMediaInfo(movieFile);
+            if (mediaInfo != null) {
+                LOG.debug("Using cached MediaInfo for {}", movieFilePath);
+                return mediaInfo;
+            }
+        }
+
+        Map<String, String> infosGeneral = new HashMap<>();
+        List<Map<String, String>> infosVideo = new ArrayList<>();
+        List<Map<String, String>> infosAudio = new ArrayList<>();
+        List<Map<String, String>> infosText = new ArrayList<>();
+
+        try (MediaInfoStream stream = createStream(movieFilePath)) {
+            parseMediaInfo(stream, infosGeneral, infosVideo, infosAudio, infosText);
+        }
+
+        MediaInfoCache.MediaInfo mediaInfo = new MediaInfoCache.MediaInfo(infosGeneral, infosVideo, infosAudio, infosText);
+        if (useCache) {
+            MI_CACHE.putMediaInfo(movieFile, mediaInfo);
+        }
+        return mediaInfo;
+    }
+
+    /**
+     * The results are not cached when they are read from the .mediainfo files or for the files extracted to the temporary
+     * directory
+     *
+     * @param movieFilePath
+     * @return
+     */
+    private static boolean isCacheable(String movieFilePath) {
+        return MI_CACHE != null && !MI_READ_FROM_FILE && !FileTools.getCanonicalPath(movieFilePath).startsWith(TEMP_DIR);
+    }
+
+    /**
+     * Save the MediaInfo results for the next run and remove the files that no longer exist
+     */
+    public static void saveCache() {
+        if (MI_CACHE != null) {
+            MI_CACHE.save();
+        }
+    }
+
     @SuppressWarnings("resource")
     protected MediaInfoStream createStream(String movieFilePath) throws IOException {
         if (MI_READ_FROM_FILE) {
@@ -896,6 +945,16 @@ public class MediaInfoScanner {
             return null;
         }
 
+        File movieFile = new File(movieFilePath);
+        boolean useCache = isCacheable(movieFilePath);
+        if (useCache) {
+            String mediaArchive = MI_CACHE.getArchiveName(movieFile);
+            if (mediaArchive != null) {
+                LOG.debug("Using cached archive name {} for {}", mediaArchive, movieFilePath);
+                return mediaArchive;
+            }
+        }
+
         LOG.debug("Mini-scan on {}", movieFilePath);
 
         try {
@@ -928,6 +987,9 @@ public class MediaInfoScanner {
             }
 
             LOG.debug("Returning with archivename {}", mediaArchive);
+            if (useCache && mediaArchive != null) {
+                MI_CACHE.putArchiveName(movieFile, mediaArchive);
+            }
 
             return mediaArchive;
             
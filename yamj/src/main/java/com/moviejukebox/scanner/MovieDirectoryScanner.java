@@ -34,12 +34,23 @@ import com.moviejukebox.tools.HTMLTools;
 import com.moviejukebox.tools.OverrideTools;
 import com.moviejukebox.tools.PropertiesUtil;
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.lang3.StringUtils;
@@ -60,6 +71,7 @@ public class MovieDirectoryScanner {
     private static int dirCount = 1;
     private static int fileCount = 0;
     private static final Pattern PATTERN_RAR_PART = Pattern.compile("\\.part(\\d+)\\.rar");
+    private static final String NMJ_DATABASE = "nmj_database";
 
     private int mediaLibraryRootPathIndex; // always includes path delimiter
     private final Set<String> supportedExtensions = new HashSet<>();
@@ -76,6 +88,8 @@ public class MovieDirectoryScanner {
     private final Boolean excludeMultiPartBluRay;
     private final Boolean playFullBluRayDisk;
     private final Boolean nmjCompliant;
+    // Number of threads reading the directories, 0 for the sequential scan
+    private int walkerThreads;
 
     // BD rip infos Scanner
     private final BDRipScanner localBDRipScanner;
@@ -98,6 +112,7 @@ public class MovieDirectoryScanner {
         hashpathdepth = PropertiesUtil.getIntProperty("mjb.scanner.hashpathdepth", 0);
         playFullBluRayDisk = PropertiesUtil.getBooleanProperty("mjb.playFullBluRayDisk", Boolean.FALSE);
         nmjCompliant = PropertiesUtil.getBooleanProperty("mjb.nmjCompliant", Boolean.FALSE);
+        walkerThreads = PropertiesUtil.getIntProperty("mjb.scanner.walkerThreads", 0);
 
         localBDRipScanner = new BDRipScanner();
     }
@@ -111,7 +126,7 @@ public class MovieDirectoryScanner {
      */
     public Library scan(MediaLibraryPath srcPath, Library library) {
 
-        File directory = new FileTools.FileEx(srcPath.getPath(), archiveScanners);
+        FileTools.FileEx directory = new FileTools.FileEx(srcPath.getPath(), archiveScanners);
 
         String mediaLibraryRoot;
         if (directory.isFile()) {
@@ -122,10 +137,23 @@ public class MovieDirectoryScanner {
         // including path delimiter
         mediaLibraryRootPathIndex = FileTools.getDirPathWithSeparator(mediaLibraryRoot).length();
 
-        this.scanDirectory(srcPath, directory, library);
+        if (walkerThreads > 0 && directory.isDirectory()) {
+            this.walkDirectory(srcPath, directory, library);
+        } else {
+            this.scanDirectory(srcPath, directory, library);
+        }
         return library;
     }
 
+    /**
+     * Set the number of threads reading the directories
+     *
+     * @param walkerThreads the number of threads, 0 for the sequential scan
+     */
+    public void setWalkerThreads(int walkerThreads) {
+        this.walkerThreads = walkerThreads;
+    }
+
     /**
      * Recursively scan the directory for video files
      *
@@ -140,7 +168,7 @@ public class MovieDirectoryScanner {
         } else {
 
             // skip this directory if it is the nmj_database
-            if (nmjCompliant && "nmj_database".equalsIgnoreCase(directory.getName())) {
+            if (nmjCompliant && NMJ_DATABASE.equalsIgnoreCase(directory.getName())) {
                 LOG.debug("Scanning of directory {} skipped due nmj database", directory.getAbsolutePath());
                 return;
             }
@@ -157,25 +185,10 @@ public class MovieDirectoryScanner {
                 List<File> fileList = Arrays.asList(files);
                 Collections.sort(fileList);
 
-                // Prescan files list. Ignore directory if file with predefined name is found.
-                // TODO May be read the file and exclude files by mask (similar to .cvsignore)
-                for (File file : files) {
-                    if (".mjbignore".equalsIgnoreCase(file.getName())) {
-                        LOG.debug("Scanning of directory {} skipped due to override file", directory.getAbsolutePath());
-                        return;
-                    }
-
-                    if (nmjCompliant) {
-                        // also check for .no_all.nmj and .no_video.nmj and the
-                        if (".no_all.nmj".equalsIgnoreCase(file.getName())) {
-                            LOG.debug("Scanning of directory {} skipped due to nmj all override file", directory.getAbsolutePath());
-                            return;
-                        }
-                        if (".no_video.nmj".equalsIgnoreCase(file.getName())) {
-                            LOG.debug("Scanning of directory {} skipped due to nmj video override file", directory.getAbsolutePath());
-                            return;
-                        }
-                    }
+                String overrideFile = getOverrideFile(files);
+                if (overrideFile != null) {
+                    LOG.debug("Scanning of directory {} skipped due to {}", directory.getAbsolutePath(), overrideFile);
+                    return;
                 }
 
                 // add all files to the global cache, after ignore check but before the actual scan
@@ -198,6 +211,140 @@ public class MovieDirectoryScanner {
         }
     }
 
+    /**
+     * Prescan files list. Ignore directory if file with predefined name is found.
+     *
+     * @param files
+     * @return the description of the override file or null if the directory should be scanned
+     */
+    private String getOverrideFile(File[] files) {
+        // TODO May be read the file and exclude files by mask (similar to .cvsignore)
+        for (File file : files) {
+            if (".mjbignore".equalsIgnoreCase(file.getName())) {
+                return "override file";
+            }
+
+            if (nmjCompliant) {
+                // also check for .no_all.nmj and .no_video.nmj and the
+                if (".no_all.nmj".equalsIgnoreCase(file.getName())) {
+                    return "nmj all override file";
+                }
+                if (".no_video.nmj".equalsIgnoreCase(file.getName())) {
+                    return "nmj video override file";
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scan the directory tree with the directories read in parallel.
+     *
+     * All the directories are read first with a pool of threads, reading the attributes of each file only once. After that the
+     * files are scanned in the same order as the sequential scan, so the library is filled in the same way.
+     *
+     * @param srcPath
+     * @param directory
+     * @param collection
+     */
+    private void walkDirectory(MediaLibraryPath srcPath, FileTools.FileEx directory, Library collection) {
+        DirectoryNode root = new DirectoryNode(directory);
+        ForkJoinPool pool = new ForkJoinPool(walkerThreads);
+        try {
+            pool.invoke(new WalkTask(srcPath, root));
+        } finally {
+            pool.shutdown();
+        }
+
+        scanNode(srcPath, root, collection);
+    }
+
+    /**
+     * Scan a directory that has been read by the walker
+     *
+     * @param srcPath
+     * @param node
+     * @param collection
+     */
+    private void scanNode(MediaLibraryPath srcPath, DirectoryNode node, Library collection) {
+        File directory = node.getDirectory();
+        FileTools.fileCache.fileAdd(directory);
+
+        // skip this directory if it is the nmj_database
+        if (nmjCompliant && NMJ_DATABASE.equalsIgnoreCase(directory.getName())) {
+            LOG.debug("Scanning of directory {} skipped due nmj database", directory.getAbsolutePath());
+            return;
+        }
+
+        File[] files = node.getFiles();
+        if (files != null) {
+            fileCount += files.length;
+        }
+
+        System.out.print("\r    Scanning directory #" + dirCount++ + ", " + fileCount + " files scanned");
+
+        if (files == null || files.length == 0) {
+            return;
+        }
+
+        String overrideFile = getOverrideFile(files);
+        if (overrideFile != null) {
+            LOG.debug("Scanning of directory {} skipped due to {}", directory.getAbsolutePath(), overrideFile);
+            return;
+        }
+
+        // add all files of the directory to the global cache in one batch
+        FileTools.fileCache.addFiles(files);
+
+        for (File file : files) {
+            DirectoryNode child = node.getChild(file.getName());
+            // The directories have already been filtered by the walker
+            if (child == null && (node.isExcluded(file.getName()) || isFiltered(srcPath, file))) {
+                continue;
+            }
+
+            if (file.isDirectory() && ("VIDEO_TS".equalsIgnoreCase(file.getName()) || "BDMV".equalsIgnoreCase(file.getName()))) {
+                scanFile(srcPath, directory, collection);
+            } else if (child != null) {
+                scanNode(srcPath, child, collection);
+            } else if (file.isDirectory()) {
+                scanDirectory(srcPath, file, collection);
+            } else {
+                scanFile(srcPath, file, collection);
+            }
+        }
+    }
+
+    /**
+     * Read the content of the directory with the attributes of each file
+     *
+     * @param directory
+     * @return the sorted files or null if the directory could not be read
+     */
+    private static File[] readDirectory(FileTools.FileEx directory) {
+        List<File> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath())) {
+            for (Path path : stream) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (IOException ex) {
+                    // e.g. a broken link, the attributes are read again when needed
+                    attributes = null;
+                }
+                files.add(new FileTools.FileEx(directory, path.getFileName().toString(), attributes));
+            }
+        } catch (IOException | DirectoryIteratorException ex) {
+            LOG.debug("Failed to read directory {}: {}", directory.getAbsolutePath(), ex.getMessage());
+            return null;
+        }
+
+        File[] sorted = files.toArray(new File[files.size()]);
+        Arrays.sort(sorted);
+        directory.setListFiles(sorted);
+        return sorted;
+    }
+
     /**
      * Checks the file or directory passed to determine if it should be excluded
      * from the scan
@@ -451,6 +598,81 @@ public class MovieDirectoryScanner {
 
     }
 
+    /**
+     * A directory read by the walker
+     */
+    private static final class DirectoryNode {
+
+        private final FileTools.FileEx directory;
+        private File[] files;
+        // The sub directories to scan and the excluded sub directories
+        private final Map<String, DirectoryNode> children = new HashMap<>();
+        private final Set<String> excluded = new HashSet<>();
+
+        DirectoryNode(FileTools.FileEx directory) {
+            this.directory = directory;
+        }
+
+        public FileTools.FileEx getDirectory() {
+            return directory;
+        }
+
+        public File[] getFiles() {
+            return files;
+        }
+
+        public DirectoryNode getChild(String name) {
+            return children.get(name);
+        }
+
+        public boolean isExcluded(String name) {
+            return excluded.contains(name);
+        }
+    }
+
+    /**
+     * Read a directory and fork the reading of its sub directories
+     */
+    private final class WalkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+        private final MediaLibraryPath srcPath;
+        private final DirectoryNode node;
+
+        WalkTask(MediaLibraryPath srcPath, DirectoryNode node) {
+            this.srcPath = srcPath;
+            this.node = node;
+        }
+
+        @Override
+        protected void compute() {
+            if (nmjCompliant && NMJ_DATABASE.equalsIgnoreCase(node.directory.getName())) {
+                return;
+            }
+
+            node.files = readDirectory(node.directory);
+            if (node.files == null || getOverrideFile(node.files) != null) {
+                return;
+            }
+
+            List<WalkTask> tasks = new ArrayList<>();
+            for (File file : node.files) {
+                if (!file.isDirectory()) {
+                    continue;
+                }
+
+                if (isFiltered(srcPath, file)) {
+                    node.excluded.add(file.getName());
+                } else {
+                    DirectoryNode child = new DirectoryNode((FileTools.FileEx) file);
+                    node.children.put(file.getName(), child);
+                    tasks.add(new WalkTask(srcPath, child));
+                }
+            }
+            invokeAll(tasks);
+        }
+    }
+
     /**
      * Return the file length, or if file is the directory, the sum of all files
      * in directory. Created for issue 1241
@@ -38,6 +38,7 @@ import com.moviejukebox.tools.TraktTV;
 import java.io.File;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
@@ -60,6 +61,18 @@ public class WatchedScanner {
         throw new UnsupportedOperationException("Watched Scanner cannot be initialised");
     }
 
+    /**
+     * Get the scanned watched files, wherever they are stored
+     *
+     * @return
+     */
+    public static Collection<File> getWatchedFiles() {
+        if (!WATCH_FILES) {
+            return Collections.emptyList();
+        }
+        return FileTools.fileCache.searchExtensions(EXTENSIONS);
+    }
+
     /**
      * Calculate the watched state of a movie based on the files
      * {filename}.watched & {filename}.unwatched
@@ -35,13 +35,8 @@ import com.moviejukebox.tools.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
 import java.util.*;
 import java.util.Map.Entry;
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -727,9 +722,6 @@ public abstract class ArtworkScanner implements IArtworkScanner {
      */
     @Override
     public boolean validateArtwork(IImage artworkImage, int artworkWidth, int artworkHeight, boolean checkAspect) {
-        @SuppressWarnings("rawtypes")
-        Iterator readers = ImageIO.getImageReadersBySuffix("jpeg");
-        ImageReader reader = (ImageReader) readers.next();
         int urlWidth;
         int urlHeight;
         float urlAspect;
@@ -742,16 +734,13 @@ public abstract class ArtworkScanner implements IArtworkScanner {
             return Boolean.FALSE;
         }
 
-        try (InputStream in = new URL(artworkImage.getUrl()).openStream();
-             ImageInputStream iis = ImageIO.createImageInputStream(in))
-        {
-            reader.setInput(iis, Boolean.TRUE);
-            urlWidth = reader.getWidth(0);
-            urlHeight = reader.getHeight(0);
-        } catch (IOException ex) {
-            LOG.debug("ValidateArtwork error: {}: can't open URL", ex.getMessage());
+        ImageProbe.ImageInfo imageInfo = ImageProbe.getImageInfo(artworkImage.getUrl());
+        if (imageInfo == null) {
+            LOG.debug("ValidateArtwork error: can't read URL {}", artworkImage.getUrl());
             return Boolean.FALSE; // Quit and return a Boolean.FALSE poster
         }
+        urlWidth = imageInfo.getWidth();
+        urlHeight = imageInfo.getHeight();
 
         urlAspect = (float) urlWidth / (float) urlHeight;
 
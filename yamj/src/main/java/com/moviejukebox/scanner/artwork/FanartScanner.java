@@ -38,13 +38,9 @@ import com.omertron.thetvdbapi.model.*;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.*;
-import javax.imageio.ImageIO;
-import javax.imageio.ImageReader;
-import javax.imageio.stream.ImageInputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -451,9 +447,6 @@ public final class FanartScanner {
     }
 
     public static boolean validateArtwork(IImage artworkImage, int artworkWidth, int artworkHeight, boolean checkAspect) {
-        @SuppressWarnings("rawtypes")
-        Iterator readers = ImageIO.getImageReadersBySuffix("jpeg");
-        ImageReader reader = (ImageReader) readers.next();
         int urlWidth, urlHeight;
         float urlAspect;
 
@@ -465,19 +458,13 @@ public final class FanartScanner {
             return false;
         }
 
-        try {
-            URL url = new URL(artworkImage.getUrl());
-
-            try (InputStream in = url.openStream();
-                    ImageInputStream iis = ImageIO.createImageInputStream(in)) {
-                reader.setInput(iis, true);
-                urlWidth = reader.getWidth(0);
-                urlHeight = reader.getHeight(0);
-            }
-        } catch (IOException error) {
-            LOG.debug("ValidateFanart error: {}: can't open url", error.getMessage());
+        ImageProbe.ImageInfo imageInfo = ImageProbe.getImageInfo(artworkImage.getUrl());
+        if (imageInfo == null) {
+            LOG.debug("ValidateFanart error: can't read url {}", artworkImage.getUrl());
             return false; // Quit and return a false fanart
         }
+        urlWidth = imageInfo.getWidth();
+        urlHeight = imageInfo.getHeight();
 
         urlAspect = (float) urlWidth / (float) urlHeight;
 
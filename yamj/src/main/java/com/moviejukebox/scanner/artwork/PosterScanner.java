@@ -26,27 +26,33 @@ import java.awt.Dimension;
 import java.awt.color.CMMException;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
 
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
 import javax.imageio.stream.ImageInputStream;
 
-import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.moviejukebox.model.IImage;
+import com.moviejukebox.model.Identifiable;
 import com.moviejukebox.model.Image;
 import com.moviejukebox.model.Jukebox;
 import com.moviejukebox.model.Movie;
@@ -57,8 +63,11 @@ import com.moviejukebox.plugin.poster.IPosterPlugin;
 import com.moviejukebox.plugin.poster.ITvShowPosterPlugin;
 import com.moviejukebox.scanner.AttachmentScanner;
 import com.moviejukebox.tools.FileTools;
+import com.moviejukebox.tools.ImageProbe;
 import com.moviejukebox.tools.PropertiesUtil;
 import com.moviejukebox.tools.StringTools;
+import com.moviejukebox.tools.SystemTools;
+import com.moviejukebox.tools.ThreadExecutor;
 
 /**
  * Scanner for poster files in local directory and from the Internet
@@ -95,6 +104,15 @@ public final class PosterScanner {
     private static final int POSTER_HEIGHT;
     private static final String TV_POSTER_SEARCH_PRIORITY;
     private static final String MOVIE_POSTER_SEARCH_PRIORITY;
+    private static final int POSTER_PARALLEL_SEARCH = PropertiesUtil.getIntProperty("poster.scanner.parallelSearch", 1);
+    // The searches besides the one of the movie thread
+    private static final ExecutorService SEARCH_POOL = Executors.newCachedThreadPool(ThreadExecutor.downloadThreadFactory("PosterSearch"));
+    private static final TokenSearch PLUGIN_SEARCH = new TokenSearch() {
+        @Override
+        public IImage search(Identifiable ident, Movie movie, String posterSearchToken) {
+            return searchPosterURL(ident, movie, posterSearchToken);
+        }
+    };
 
     static {
         StringTokenizer st;
@@ -328,57 +346,256 @@ public final class PosterScanner {
      * Image.UNKNOWN)
      */
     public static IImage getPosterURL(Movie movie) {
-        String posterSearchToken;
+        List<String> searches = new ArrayList<>();
+        StringTokenizer st = new StringTokenizer(movie.isTVShow() ? TV_POSTER_SEARCH_PRIORITY : MOVIE_POSTER_SEARCH_PRIORITY, ",");
+        while (st.hasMoreTokens()) {
+            searches.add(st.nextToken());
+        }
+
         IImage posterImage = Image.UNKNOWN;
-        StringTokenizer st;
+        if (POSTER_PARALLEL_SEARCH > 1 && searches.size() > 1) {
+            posterImage = getPosterURL(movie, searches, POSTER_PARALLEL_SEARCH, PLUGIN_SEARCH);
+        } else {
+            for (String posterSearchToken : searches) {
+                posterImage = searchPosterURL(movie, movie, posterSearchToken);
+                if (StringTools.isValidString(posterImage.getUrl())) {
+                    break;
+                }
+            }
+        }
+
+        if (StringTools.isValidString(posterImage.getUrl())) {
+            movie.setDirty(DirtyFlag.POSTER, Boolean.TRUE);
+        }
+        return posterImage;
+    }
+
+    /**
+     * Run the next searches of the priority list while waiting for the first ones.
+     *
+     * The poster of the first search with a valid poster is used. A search sees the IDs of the movie and the IDs found by the
+     * earlier searches that were done when it started. When an earlier search then found an ID it read, it is run again with
+     * that ID, so the result is the same as searching in turn. The searches that are not needed any more are cancelled and
+     * the IDs they found are not kept.
+     *
+     * @param movie
+     * @param searches the search tokens in priority order
+     * @param parallelSearch the number of searches running at the same time
+     * @param tokenSearch
+     * @return
+     */
+    static IImage getPosterURL(Movie movie, List<String> searches, int parallelSearch, TokenSearch tokenSearch) {
+        // The IDs of the movie with the IDs found by the searches taken so far
+        Map<String, String> knownIds = new HashMap<>(movie.getIdMap());
+        Map<String, String> foundIds = new HashMap<>();
+        List<FutureTask<IImage>> tasks = new ArrayList<>();
+        List<SearchIds> searchIds = new ArrayList<>();
+        try {
+            for (int index = 0; index < searches.size(); index++) {
+                while (tasks.size() < searches.size() && tasks.size() < index + parallelSearch) {
+                    SearchIds ids = new SearchIds(knownIds);
+                    FutureTask<IImage> task = new FutureTask<>(new PosterSearch(tokenSearch, ids, movie, searches.get(tasks.size())));
+                    if (tasks.size() > index) {
+                        SEARCH_POOL.execute(task);
+                    }
+                    searchIds.add(ids);
+                    tasks.add(task);
+                }
+
+                // Search here when the search has not been started by the pool
+                FutureTask<IImage> task = tasks.get(index);
+                task.run();
+                IImage posterImage = getResult(task);
+
+                SearchIds ids = searchIds.get(index);
+                if (ids.isOutdated(knownIds)) {
+                    LOG.debug("Searching {} again for a poster for {} with the IDs found by the earlier searches", searches.get(index), movie.getBaseName());
+                    ids = new SearchIds(knownIds);
+                    task = new FutureTask<>(new PosterSearch(tokenSearch, ids, movie, searches.get(index)));
+                    task.run();
+                    posterImage = getResult(task);
+                }
+
+                // The IDs of the searches taken are kept like the searches in turn do
+                knownIds.putAll(ids.getFoundIds());
+                foundIds.putAll(ids.getFoundIds());
+                if (StringTools.isValidString(posterImage.getUrl())) {
+                    return posterImage;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // The IDs of the searches not needed any more are dropped
+            for (FutureTask<IImage> task : tasks) {
+                task.cancel(true);
+            }
+            for (Map.Entry<String, String> id : foundIds.entrySet()) {
+                movie.setId(id.getKey(), id.getValue());
+            }
+        }
+        return Image.UNKNOWN;
+    }
+
+    /**
+     * Wait for the result of a search
+     *
+     * @param task
+     * @return the poster or Image.UNKNOWN if the search failed, the failure is logged by the search
+     * @throws InterruptedException
+     */
+    private static IImage getResult(FutureTask<IImage> task) throws InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException ex) {
+            return Image.UNKNOWN;
+        }
+    }
+
+    /**
+     * Search a poster with the plugin of the search token and validate it
+     *
+     * @param ident where the IDs of the movie are read and the found IDs stored
+     * @param movie
+     * @param posterSearchToken
+     * @return The valid poster or Image.UNKNOWN
+     */
+    private static IImage searchPosterURL(Identifiable ident, Movie movie, String posterSearchToken) {
+        IImage posterImage = Image.UNKNOWN;
+        IPosterPlugin iPosterPlugin = PLUGINS.get(posterSearchToken);
+
+        // Check that plugin is register even on movie or tv
+        if (iPosterPlugin == null) {
+            LOG.error("'{}' plugin doesn't exist, please check your moviejukebox properties. Valid plugins are : {}", posterSearchToken, getPluginsCode());
+        }
+
+        String msg;
 
         if (movie.isTVShow()) {
-            st = new StringTokenizer(TV_POSTER_SEARCH_PRIORITY, ",");
+            iPosterPlugin = TV_PLUGINS.get(posterSearchToken);
+            msg = "TvShow";
         } else {
-            st = new StringTokenizer(MOVIE_POSTER_SEARCH_PRIORITY, ",");
+            iPosterPlugin = MOVIE_PLUGINS.get(posterSearchToken);
+            msg = "Movie";
         }
 
-        while (st.hasMoreTokens() && StringTools.isNotValidString(posterImage.getUrl())) {
-            posterSearchToken = st.nextToken();
+        if (iPosterPlugin == null) {
+            LOG.info("{} is not a {} Poster plugin - skipping", posterSearchToken, msg);
+        } else {
+            LOG.debug("Using {} to search for a {} poster for {}", posterSearchToken, msg, movie.getTitle());
+            posterImage = iPosterPlugin.getPosterUrl(ident, movie);
+        }
 
-            IPosterPlugin iPosterPlugin = PLUGINS.get(posterSearchToken);
+        // Validate the poster- No need to validate if we're UNKNOWN
+        if (!Movie.UNKNOWN.equalsIgnoreCase(posterImage.getUrl()) && POSTER_VALIDATE && !validatePoster(posterImage, POSTER_WIDTH, POSTER_HEIGHT, POSTER_VALIDATE_ASPECT)) {
+            posterImage = Image.UNKNOWN;
+        } else if (!Movie.UNKNOWN.equalsIgnoreCase(posterImage.getUrl())) {
+            LOG.debug("Poster URL found at {}: {}", posterSearchToken, posterImage.getUrl());
+            // TODO: This is a hack, but seeing as only one poster scanner uses it, it should be safe until it's all refactored to use the Artwork class
+            posterImage.setSubimage(posterSearchToken);
+        }
+        return posterImage;
+    }
+
+    /**
+     * The search of a poster for a token of the priority list
+     */
+    interface TokenSearch {
+
+        /**
+         * Search a poster
+         *
+         * @param ident where the IDs of the movie are read and the found IDs stored
+         * @param movie
+         * @param posterSearchToken
+         * @return The poster or Image.UNKNOWN
+         */
+        IImage search(Identifiable ident, Movie movie, String posterSearchToken);
+    }
+
+    /**
+     * A poster search run by the search pool or the thread of the movie
+     */
+    private static final class PosterSearch implements Callable<IImage> {
+
+        private final TokenSearch tokenSearch;
+        private final SearchIds ids;
+        private final Movie movie;
+        private final String posterSearchToken;
+
+        private PosterSearch(TokenSearch tokenSearch, SearchIds ids, Movie movie, String posterSearchToken) {
+            this.tokenSearch = tokenSearch;
+            this.ids = ids;
+            this.movie = movie;
+            this.posterSearchToken = posterSearchToken;
+        }
 
-            // Check that plugin is register even on movie or tv
-            if (iPosterPlugin == null) {
-                LOG.error("'{}' plugin doesn't exist, please check your moviejukebox properties. Valid plugins are : {}", posterSearchToken, getPluginsCode());
+        @Override
+        public IImage call() {
+            try {
+                return tokenSearch.search(ids, movie, posterSearchToken);
+            } catch (RuntimeException ex) {
+                if (Thread.currentThread().isInterrupted()) {
+                    LOG.debug("Cancelled search of {} for a poster for {}: {}", posterSearchToken, movie.getBaseName(), ex.getMessage());
+                } else {
+                    LOG.warn("Failed to search {} for a poster for {}: {}", posterSearchToken, movie.getBaseName(), ex.getMessage());
+                    LOG.warn(SystemTools.getStackTrace(ex));
+                }
+                throw ex;
             }
+        }
+    }
 
-            String msg;
+    /**
+     * The IDs found by a search, they are copied to the movie by the thread of the movie once no search is running
+     */
+    private static final class SearchIds implements Identifiable {
 
-            if (movie.isTVShow()) {
-                iPosterPlugin = TV_PLUGINS.get(posterSearchToken);
-                msg = "TvShow";
-            } else {
-                iPosterPlugin = MOVIE_PLUGINS.get(posterSearchToken);
-                msg = "Movie";
+        // The IDs known when the search is created, the search threads do not read the movie
+        private final Map<String, String> knownIds;
+        private final Map<String, String> ids = new ConcurrentHashMap<>();
+        // The IDs the search asked for
+        private final Set<String> readKeys = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        private SearchIds(Map<String, String> knownIds) {
+            this.knownIds = new HashMap<>(knownIds);
+        }
+
+        @Override
+        public String getId(String key) {
+            readKeys.add(key);
+            String id = ids.get(key);
+            if (id == null) {
+                id = knownIds.get(key);
             }
+            return id == null ? Movie.UNKNOWN : id;
+        }
 
-            if (iPosterPlugin == null) {
-                LOG.info("{} is not a {} Poster plugin - skipping", posterSearchToken, msg);
-            } else {
-                LOG.debug("Using {} to search for a {} poster for {}", posterSearchToken, msg, movie.getTitle());
-                posterImage = iPosterPlugin.getPosterUrl(movie, movie);
+        @Override
+        public void setId(String key, String id) {
+            if (key != null && id != null) {
+                ids.put(key, id);
             }
+        }
 
-            // Validate the poster- No need to validate if we're UNKNOWN
-            if (!Movie.UNKNOWN.equalsIgnoreCase(posterImage.getUrl()) && POSTER_VALIDATE && !validatePoster(posterImage, POSTER_WIDTH, POSTER_HEIGHT, POSTER_VALIDATE_ASPECT)) {
-                posterImage = Image.UNKNOWN;
-            } else {
-                if (!Movie.UNKNOWN.equalsIgnoreCase(posterImage.getUrl())) {
-                    LOG.debug("Poster URL found at {}: {}", posterSearchToken, posterImage.getUrl());
-                    // TODO: This is a hack, but seeing as only one poster scanner uses it, it should be safe until it's all refactored to use the Artwork class
-                    posterImage.setSubimage(posterSearchToken);
-                    movie.setDirty(DirtyFlag.POSTER, Boolean.TRUE);
+        private Map<String, String> getFoundIds() {
+            return ids;
+        }
+
+        /**
+         * Check if an ID the search read has been found by an earlier search after the search started
+         *
+         * @param currentIds the IDs known now
+         * @return
+         */
+        private boolean isOutdated(Map<String, String> currentIds) {
+            for (String key : readKeys) {
+                if (!StringUtils.equals(knownIds.get(key), currentIds.get(key))) {
+                    return true;
                 }
             }
+            return false;
         }
-
-        return posterImage;
     }
 
     /**
@@ -455,34 +672,14 @@ public final class PosterScanner {
     /**
      * Read an URL and get the dimensions of the image.
      *
-     * This will try to determine the image type from the URL, if that fails
-     * then it will default to JPEG.
-     *
-     * If the reading of the image fails, then the other type (PNG or JPEG) will
-     * be used instead in case there was an incorrectly named extension
+     * The image type is found from the content, the dimensions are cached
+     * between runs, see ImageProbe
      *
      * @param imageUrl
      * @return
      */
     public static Dimension getUrlDimensions(String imageUrl) {
-        String imageExtension = FilenameUtils.getExtension(imageUrl);
-        if (StringUtils.isBlank(imageExtension)) {
-            imageExtension = "jpeg";
-        }
-
-        Dimension imageDimension = getUrlDimensions(imageUrl, imageExtension);
-
-        if (imageDimension.equals(new Dimension(0, 0))) {
-            LOG.info("Looks like an invalid image, trying a different reader for URL: {}", imageUrl);
-            if ("png".equals(imageExtension)) {
-                imageExtension = "jpeg";
-            } else {
-                imageExtension = "png";
-            }
-            imageDimension = getUrlDimensions(imageUrl, imageExtension);
-        }
-
-        return imageDimension;
+        return ImageProbe.getDimension(imageUrl);
     }
 
     /**
@@ -490,31 +687,13 @@ public final class PosterScanner {
      * type
      *
      * @param imageUrl
-     * @param imageType
+     * @param imageType not used, the image type is found from the content
      * @return
+     * @deprecated use {@link #getUrlDimensions(String)}
      */
+    @Deprecated
     public static Dimension getUrlDimensions(String imageUrl, String imageType) {
-        Dimension imageDimension = new Dimension(0, 0);
-
-        @SuppressWarnings("rawtypes")
-        Iterator readers = ImageIO.getImageReadersBySuffix(imageType);
-
-        if (readers.hasNext()) {
-            ImageReader reader = (ImageReader) readers.next();
-
-            try (InputStream in = new URL(imageUrl).openStream();
-                 ImageInputStream iis = ImageIO.createImageInputStream(in))
-            {
-                reader.setInput(iis, Boolean.TRUE);
-                imageDimension.setSize(reader.getWidth(0), reader.getHeight(0));
-            } catch (IOException ex) {
-                LOG.debug("getUrlDimensions error: {}: can't open url: {}", ex.getMessage(), imageUrl);
-            } finally {
-                reader.dispose();
-            }
-        }
-
-        return imageDimension;
+        return getUrlDimensions(imageUrl);
     }
 
     public static void register(String key, IPosterPlugin posterPlugin) {
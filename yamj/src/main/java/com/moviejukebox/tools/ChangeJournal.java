@@ -0,0 +1,215 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.*;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Journal of the size and last modified date of the video files and jukebox files at the end of the last run.
+ *
+ * The files checked during this run are compared with the journal to find the changes since the last run. Files in the journal
+ * that have not been checked during this run have been removed.
+ */
+public class ChangeJournal {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeJournal.class);
+    private static final int FORMAT_VERSION = 1;
+    // Size and date of a file that does not exist
+    private static final long[] MISSING = {-1L, -1L};
+    private final File journalFile;
+    private final Map<String, long[]> previous = new HashMap<>();
+    private final Map<String, long[]> current = new HashMap<>();
+    private String previousFingerprint = null;
+    private long previousRunTime = 0L;
+
+    /**
+     * Create the journal and read the journal of the last run
+     *
+     * @param journalFile
+     */
+    public ChangeJournal(File journalFile) {
+        this.journalFile = journalFile;
+        load();
+    }
+
+    private void load() {
+        if (!journalFile.exists()) {
+            LOG.debug("No change journal found, all videos will be processed");
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(journalFile))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOG.debug("Unknown format of {}, ignored", journalFile.getName());
+                return;
+            }
+
+            previousFingerprint = in.readUTF();
+            // The journal is saved at the end of the run
+            previousRunTime = journalFile.lastModified();
+            int count = in.readInt();
+            for (int loop = 0; loop < count; loop++) {
+                previous.put(in.readUTF(), new long[]{in.readLong(), in.readLong()});
+            }
+        } catch (IOException ex) {
+            LOG.warn("Failed to read the change journal {}: {}", journalFile.getAbsolutePath(), ex.getMessage());
+            previous.clear();
+            previousFingerprint = null;
+            previousRunTime = 0L;
+        }
+    }
+
+    /**
+     * Does the journal of the last run exist
+     *
+     * @return
+     */
+    public synchronized boolean isEmpty() {
+        return previousFingerprint == null;
+    }
+
+    /**
+     * Get the time the journal of the last run was saved
+     *
+     * @return the time or 0 if there is no journal
+     */
+    public synchronized long getPreviousRunTime() {
+        return previousRunTime;
+    }
+
+    /**
+     * Check if the fingerprint of the settings has changed since the last run
+     *
+     * @param fingerprint
+     * @return
+     */
+    public synchronized boolean isFingerprintChanged(String fingerprint) {
+        return previousFingerprint == null || !previousFingerprint.equals(fingerprint);
+    }
+
+    /**
+     * Record the current state of the file and check if it has changed since the last run
+     *
+     * @param file
+     * @return true if the file is new or has changed
+     */
+    public synchronized boolean isChanged(File file) {
+        long[] state = record(file);
+        long[] last = previous.get(file.getAbsolutePath());
+        return last == null || !Arrays.equals(last, state);
+    }
+
+    /**
+     * Check if a file recorded by the last run has changed, the files that were not recorded by the last run are ignored
+     *
+     * @param file
+     * @return true if the file was recorded by the last run and has changed or has been removed
+     */
+    public synchronized boolean isRecordedChanged(File file) {
+        return previous.containsKey(file.getAbsolutePath()) && isChanged(file);
+    }
+
+    /**
+     * Get the files recorded by the last run in a directory or its sub-directories
+     *
+     * @param directory
+     * @return
+     */
+    public synchronized List<File> getPreviousFiles(File directory) {
+        String prefix = directory.getAbsolutePath() + File.separator;
+        List<File> files = new ArrayList<>();
+        for (String path : previous.keySet()) {
+            if (path.startsWith(prefix)) {
+                files.add(new File(path));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Record the current state of the file
+     *
+     * @param file
+     * @return the size and last modified date of the file
+     */
+    public synchronized long[] record(File file) {
+        long[] state = file.exists() ? new long[]{file.length(), file.lastModified()} : MISSING;
+        current.put(file.getAbsolutePath(), state);
+        return state;
+    }
+
+    /**
+     * Get the files of the last run that have not been checked during this run
+     *
+     * @return
+     */
+    public synchronized Collection<String> getRemovedFiles() {
+        List<String> removed = new ArrayList<>();
+        for (String path : previous.keySet()) {
+            if (!current.containsKey(path)) {
+                removed.add(path);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Write the recorded files as the journal for the next run
+     *
+     * @param fingerprint the fingerprint of the settings of this run
+     */
+    public synchronized void save(String fingerprint) {
+        FileTools.makeDirsForFile(journalFile);
+        File tempFile = new File(journalFile.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(fingerprint);
+            out.writeInt(current.size());
+            for (Map.Entry<String, long[]> entry : current.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue()[0]);
+                out.writeLong(entry.getValue()[1]);
+            }
+        } catch (IOException ex) {
+            LOG.warn("Failed to write the change journal {}: {}", journalFile.getAbsolutePath(), ex.getMessage());
+            tempFile.delete();
+            return;
+        }
+
+        if (journalFile.exists() && !journalFile.delete()) {
+            LOG.warn("Failed to replace the change journal {}", journalFile.getAbsolutePath());
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(journalFile)) {
+            LOG.warn("Failed to replace the change journal {}", journalFile.getAbsolutePath());
+            return;
+        }
+        LOG.debug("Saved {} files to the change journal", current.size());
+    }
+}
@@ -22,6 +22,7 @@
  */
 package com.moviejukebox.tools;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -295,16 +296,7 @@ public final class DOMHelper {
      */
     public static boolean writeDocumentToFile(Document doc, File localFile) {
         try {
-            Transformer trans = TransformerFactory.newInstance().newTransformer();
-
-            // Define the output properties
-            trans.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
-            trans.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-            trans.setOutputProperty(OutputKeys.INDENT, YES);
-            trans.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
-            doc.setXmlStandalone(true);
-
-            trans.transform(new DOMSource(doc), new StreamResult(localFile));
+            createDocumentTransformer(doc).transform(new DOMSource(doc), new StreamResult(localFile));
             return true;
         } catch (IllegalArgumentException | DOMException | TransformerException error) {
             LOG.error("Error writing the document to {}", localFile);
@@ -313,6 +305,36 @@ public final class DOMHelper {
         }
     }
 
+    /**
+     * Write the Document out to a byte array using the same formatting as the files
+     *
+     * @param doc The document to convert
+     * @return the content or null if the document could not be written
+     */
+    public static byte[] writeDocumentToBytes(Document doc) {
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            createDocumentTransformer(doc).transform(new DOMSource(doc), new StreamResult(content));
+            return content.toByteArray();
+        } catch (IllegalArgumentException | DOMException | TransformerException error) {
+            LOG.error("Error writing the document");
+            LOG.error("Message: {}", error.getMessage());
+            return null;
+        }
+    }
+
+    private static Transformer createDocumentTransformer(Document doc) throws TransformerException {
+        Transformer trans = TransformerFactory.newInstance().newTransformer();
+
+        // Define the output properties
+        trans.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "no");
+        trans.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        trans.setOutputProperty(OutputKeys.INDENT, YES);
+        trans.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
+        doc.setXmlStandalone(true);
+        return trans;
+    }
+
     /**
      * Override the standard Sax ErrorHandler with this one, to minimise noise about failed parsing errors
      */
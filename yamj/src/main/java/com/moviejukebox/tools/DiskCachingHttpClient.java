@@ -0,0 +1,333 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.*;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Http client that keeps the text responses in the persistent web cache.
+ *
+ * A cached response is used without a request until the time to live of the host has passed, after that the server is asked
+ * with the ETag or Last-Modified of the response whether it has changed.
+ *
+ * Images and other binary content are not cached.
+ */
+public class DiskCachingHttpClient extends CloseableHttpClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DiskCachingHttpClient.class);
+    // Larger responses are not cached
+    private static final long MAX_ENTRY_SIZE = 4L * 1024 * 1024;
+    // The response headers that are kept in the cache
+    private static final String[] CACHED_HEADERS = {HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED};
+    // The query parameters with credentials, e.g. api_key=... or apikey=...
+    private static final Pattern CREDENTIAL_PARAMETER = Pattern.compile(
+            "([?&;](?:api_?key|key|token|access_token|auth|password|passwd|pass|secret|signature|sig)=)([^&;#]*)", Pattern.CASE_INSENSITIVE);
+    private final CloseableHttpClient httpClient;
+    private final HttpDiskCache cache;
+
+    public DiskCachingHttpClient(CloseableHttpClient httpClient, HttpDiskCache cache) {
+        this.httpClient = httpClient;
+        this.cache = cache;
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException, ClientProtocolException {
+        if (target == null) {
+            return httpClient.execute(target, request, context);
+        }
+
+        long timeToLive = cache.getTimeToLive(target.getHostName());
+        boolean cacheable = timeToLive > 0 && isCacheable(request);
+        String key = null;
+        HttpDiskCache.Entry entry = null;
+        long now = System.currentTimeMillis();
+        if (cacheable) {
+            key = getKey(target, request);
+            entry = cache.get(key);
+            if (entry != null && entry.isFresh(timeToLive, now)) {
+                cache.recordHit();
+                return createResponse(entry);
+            }
+        }
+
+        if (!cacheable) {
+            return httpClient.execute(target, request, context);
+        }
+        return requestAndStore(target, request, context, key, entry, now);
+    }
+
+    /**
+     * Request the response from the server, or only ask whether the cached response has changed, and store it in the cache
+     */
+    private CloseableHttpResponse requestAndStore(HttpHost target, HttpRequest request, HttpContext context, String key,
+            HttpDiskCache.Entry cached, long now) throws IOException {
+        HttpDiskCache.Entry entry = cached;
+        CloseableHttpResponse response;
+        if (entry != null && entry.canRevalidate()) {
+            Header etag = entry.getFirstHeader(HttpHeaders.ETAG);
+            Header lastModified = entry.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+            if (etag != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, etag.getValue());
+            }
+            if (lastModified != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, lastModified.getValue());
+            }
+
+            try {
+                response = httpClient.execute(target, request, context);
+            } finally {
+                request.removeHeaders(HttpHeaders.IF_NONE_MATCH);
+                request.removeHeaders(HttpHeaders.IF_MODIFIED_SINCE);
+            }
+
+            if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+                response.close();
+                cache.recordRevalidation();
+                entry = entry.revalidated(now);
+                cache.put(entry);
+                return createResponse(entry);
+            }
+        } else {
+            response = httpClient.execute(target, request, context);
+        }
+
+        cache.recordMiss();
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_OK || !isStorable(response)) {
+            return response;
+        }
+
+        byte[] body;
+        try {
+            body = readBody(response);
+        } catch (IOException ex) {
+            response.close();
+            throw ex;
+        }
+        if (body == null) {
+            LOG.trace("Response too large to be cached: {}", key);
+            return response;
+        }
+        response.close();
+
+        List<Header> headers = new ArrayList<>();
+        for (String name : CACHED_HEADERS) {
+            Header header = response.getFirstHeader(name);
+            if (header != null) {
+                headers.add(header);
+            }
+        }
+
+        entry = new HttpDiskCache.Entry(key, now, headers, body);
+        cache.put(entry);
+        LOG.trace("Cached {} bytes for {}", entry.getBody().length, key);
+        return createResponse(entry);
+    }
+
+    /**
+     * Read the body up to the size limit, a chunked response has no length to check before reading it
+     *
+     * @param response
+     * @return the body or null if it is too large to be cached, the response then keeps the whole body
+     * @throws IOException
+     */
+    private static byte[] readBody(HttpResponse response) throws IOException {
+        HttpEntity entity = response.getEntity();
+        InputStream in = entity.getContent();
+        if (in == null) {
+            return new byte[0];
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream(entity.getContentLength() > 0 ? (int) entity.getContentLength() : 8192);
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            body.write(buffer, 0, read);
+            if (body.size() > MAX_ENTRY_SIZE) {
+                // Give the caller the part already read followed by the rest of the body
+                InputStreamEntity whole = new InputStreamEntity(new SequenceInputStream(new ByteArrayInputStream(body.toByteArray()), in), -1);
+                whole.setContentType(entity.getContentType());
+                whole.setContentEncoding(entity.getContentEncoding());
+                response.setEntity(whole);
+                return null;
+            }
+        }
+        in.close();
+        return body.toByteArray();
+    }
+
+    /**
+     * Only plain GET requests are cached, requests with credentials or ranges are always sent
+     *
+     * @param request
+     * @return
+     */
+    private static boolean isCacheable(HttpRequest request) {
+        return HttpGet.METHOD_NAME.equals(request.getRequestLine().getMethod())
+                && !request.containsHeader(HttpHeaders.AUTHORIZATION)
+                && !request.containsHeader(HttpHeaders.RANGE)
+                && !request.containsHeader(HttpHeaders.IF_NONE_MATCH)
+                && !request.containsHeader(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+
+    /**
+     * Only text responses that the server allows to store are cached
+     *
+     * @param response
+     * @return
+     */
+    private static boolean isStorable(HttpResponse response) {
+        HttpEntity entity = response.getEntity();
+        if (entity == null || entity.getContentLength() > MAX_ENTRY_SIZE) {
+            return false;
+        }
+
+        for (Header header : response.getHeaders(HttpHeaders.CACHE_CONTROL)) {
+            if (StringUtils.containsIgnoreCase(header.getValue(), "no-store")) {
+                return false;
+            }
+        }
+
+        Header contentType = entity.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.getValue().toLowerCase();
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml") || type.contains("javascript");
+    }
+
+    /**
+     * The key is the full URL and the headers that change the content of the response.
+     *
+     * The values of the credentials in the URL, like the API keys, are replaced by their hash, so they are not written to the
+     * cache files.
+     *
+     * @param target
+     * @param request
+     * @return
+     */
+    private static String getKey(HttpHost target, HttpRequest request) {
+        StringBuilder key = new StringBuilder();
+        if (request instanceof HttpUriRequest && ((HttpUriRequest) request).getURI().isAbsolute()) {
+            key.append(hideCredentials(((HttpUriRequest) request).getURI().toString()));
+        } else {
+            key.append(target.toURI()).append(hideCredentials(request.getRequestLine().getUri()));
+        }
+
+        for (String name : new String[]{HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE}) {
+            Header header = request.getFirstHeader(name);
+            if (header != null) {
+                key.append('\n').append(name).append(':').append(header.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * Replace the values of the credential parameters of the URL by their hash
+     *
+     * @param url
+     * @return
+     */
+    static String hideCredentials(String url) {
+        Matcher matcher = CREDENTIAL_PARAMETER.matcher(url);
+        if (!matcher.find()) {
+            return url;
+        }
+
+        StringBuffer hidden = new StringBuffer();
+        do {
+            matcher.appendReplacement(hidden, Matcher.quoteReplacement(matcher.group(1) + DigestUtils.sha1Hex(matcher.group(2))));
+        } while (matcher.find());
+        matcher.appendTail(hidden);
+        return hidden.toString();
+    }
+
+    private static CloseableHttpResponse createResponse(HttpDiskCache.Entry entry) {
+        CachedResponse response = new CachedResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK"));
+        for (Header header : entry.getHeaders()) {
+            response.addHeader(header);
+        }
+
+        ByteArrayEntity entity = new ByteArrayEntity(entry.getBody());
+        entity.setContentType(entry.getFirstHeader(HttpHeaders.CONTENT_TYPE));
+        response.setEntity(entity);
+        return response;
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return httpClient.getParams();
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return httpClient.getConnectionManager();
+    }
+
+    /**
+     * A response from the cache, there is no connection to release
+     */
+    private static final class CachedResponse extends BasicHttpResponse implements CloseableHttpResponse {
+
+        CachedResponse(StatusLine statusLine) {
+            super(statusLine);
+        }
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+    }
+}
@@ -34,8 +34,11 @@ import com.moviejukebox.scanner.IArchiveScanner;
 import java.io.*;
 import java.net.URL;
 import java.nio.channels.FileChannel;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import org.apache.commons.io.FileUtils;
@@ -573,8 +576,7 @@ public final class FileTools {
         Collection<File> files = FileTools.fileCache.searchFilename(safeFilename, Boolean.TRUE);
 
         if (!files.isEmpty()) {
-            // Copy the synchronized list to avoid ConcurrentModificationException
-            Iterator<File> iter = new ArrayList<>(FileTools.fileCache.searchFilename(safeFilename, Boolean.TRUE)).iterator();
+            Iterator<File> iter = files.iterator();
 
             while (iter.hasNext() && (searchFile == null)) {
                 File file = iter.next();
@@ -636,6 +638,11 @@ public final class FileTools {
              return true;
         }
         
+        // the whole image may have been read for the validation
+        if (ImageProbe.writeDownload(imageURL, imageFile)) {
+            return true;
+        }
+
         // download image
         return YamjHttpClientBuilder.getHttpClient().downloadImage(imageFile, url);
     }
@@ -809,6 +816,35 @@ public final class FileTools {
             }
         }
 
+        /**
+         * Create the file with the attributes that have already been read, e.g. by a directory walker
+         *
+         * @param parent
+         * @param child
+         * @param attributes the attributes or null if they could not be read
+         */
+        public FileEx(File parent, String child, BasicFileAttributes attributes) {
+            this(parent, child);
+            fileExists = Boolean.TRUE;
+            if (attributes != null) {
+                isDir = attributes.isDirectory();
+                isfile = attributes.isRegularFile();
+                fileLen = attributes.size();
+                fileLastModified = attributes.lastModifiedTime().toMillis();
+            }
+        }
+
+        /**
+         * Set the content of the directory when it has already been read
+         *
+         * @param files
+         */
+        public void setListFiles(File[] files) {
+            synchronized (this) {
+                listFiles = files;
+            }
+        }
+
         @Override
         public boolean isDirectory() {
             if (isDir == null) {
@@ -940,6 +976,10 @@ public final class FileTools {
         //cache for ALL files found during initial scan
 
         private final Map<String, File> cachedFiles = new ConcurrentHashMap<>(1000);
+        // index of the name of each cached path (and its parent folders) to the paths with that name
+        private final ConcurrentNavigableMap<String, Set<String>> nameIndex = new ConcurrentSkipListMap<>();
+        // index of each folder path to the paths directly inside it
+        private final Map<String, Set<String>> childIndex = new ConcurrentHashMap<>(1000);
 
         /**
          * Check whether the file exists
@@ -967,7 +1007,9 @@ public final class FileTools {
          * @param file
          */
         public void fileAdd(File file) {
-            cachedFiles.put(file.getAbsolutePath().toUpperCase(), file);
+            String path = file.getAbsolutePath().toUpperCase();
+            cachedFiles.put(path, file);
+            indexPath(path);
         }
 
         /**
@@ -1026,20 +1068,125 @@ public final class FileTools {
                 map.put(f.getAbsolutePath().toUpperCase(), f);
             }
             cachedFiles.putAll(map);
+            for (String path : map.keySet()) {
+                indexPath(path);
+            }
         }
 
         public long size() {
             return cachedFiles.size();
         }
 
-        public Collection<File> searchFilename(String searchName, boolean findAll) {
-            ArrayList<File> files = new ArrayList<>();
+        /**
+         * Add the path and any of its parent folders not already known to the name and folder indexes
+         *
+         * @param path upper case absolute path
+         */
+        private void indexPath(String path) {
+            synchronized (childIndex) {
+                String child = path;
+                int pos = child.lastIndexOf(File.separatorChar);
+                while (pos >= 0 && pos < child.length() - 1) {
+                    String parent = child.substring(0, pos);
+                    if (!addToIndex(childIndex, parent, child)) {
+                        // already indexed, so all the parents are too
+                        break;
+                    }
+                    addToIndex(nameIndex, child.substring(pos + 1), child);
+
+                    child = parent;
+                    pos = child.lastIndexOf(File.separatorChar);
+                }
+            }
+        }
 
+        private static boolean addToIndex(Map<String, Set<String>> index, String key, String path) {
+            Set<String> paths = index.get(key);
+            if (paths == null) {
+                paths = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>(4));
+                index.put(key, paths);
+            }
+            return paths.add(path);
+        }
+
+        /**
+         * Find the files whose absolute path contains the search name (case insensitive)
+         *
+         * If the search name contains a path separator, the match is resolved through the name index: the text after the last
+         * separator must be the start of a file or folder name, and a folder matches all the files inside it. Otherwise all the
+         * cached paths are scanned.
+         *
+         * @param searchName
+         * @param findAll find all files or only the first one
+         * @return
+         */
+        public Collection<File> searchFilename(String searchName, boolean findAll) {
             String upperName = searchName.toUpperCase();
 
-            for (String listName : cachedFiles.keySet()) {
-                if (listName.contains(upperName)) {
-                    files.add(cachedFiles.get(listName));
+            int pos = upperName.lastIndexOf(File.separatorChar);
+            if (pos < 0 || pos == upperName.length() - 1) {
+                return scanFilename(upperName, findAll);
+            }
+
+            String namePrefix = upperName.substring(pos + 1);
+            String pathPrefix = upperName.substring(0, pos + 1);
+
+            Set<String> found = new LinkedHashSet<>();
+            Deque<String> toCheck = new ArrayDeque<>();
+            for (Map.Entry<String, Set<String>> entry : nameIndex.tailMap(namePrefix).entrySet()) {
+                if (!entry.getKey().startsWith(namePrefix)) {
+                    break;
+                }
+
+                for (String path : entry.getValue()) {
+                    int nameStart = path.lastIndexOf(File.separatorChar) + 1;
+                    if (!path.startsWith(pathPrefix, nameStart - pathPrefix.length())) {
+                        continue;
+                    }
+
+                    // the matched path and everything inside it
+                    toCheck.push(path);
+                    while (!toCheck.isEmpty()) {
+                        String checkPath = toCheck.pop();
+                        if (!found.add(checkPath)) {
+                            continue;
+                        }
+
+                        if (!findAll && cachedFiles.containsKey(checkPath)) {
+                            return Collections.singletonList(cachedFiles.get(checkPath));
+                        }
+
+                        Set<String> children = childIndex.get(checkPath);
+                        if (children != null) {
+                            toCheck.addAll(children);
+                        }
+                    }
+                }
+            }
+
+            List<File> files = new ArrayList<>();
+            for (String path : found) {
+                File file = cachedFiles.get(path);
+                if (file != null) {
+                    files.add(file);
+                }
+            }
+            return files;
+        }
+
+        /**
+         * Find the files whose absolute path contains the search name by checking all the cached paths
+         *
+         * @param upperName
+         * @param findAll
+         * @return
+         */
+        private Collection<File> scanFilename(String upperName, boolean findAll) {
+            ArrayList<File> files = new ArrayList<>();
+
+            for (Map.Entry<String, File> entry : cachedFiles.entrySet()) {
+                if (entry.getKey().contains(upperName)) {
+                    files.add(entry.getValue());
                     if (!findAll) {
                         // We only look for the first
                         break;
@@ -1050,6 +1197,30 @@ public final class FileTools {
             return files;
         }
 
+        /**
+         * Find the files with one of the extensions by checking all the cached paths
+         *
+         * @param extensions
+         * @return
+         */
+        public Collection<File> searchExtensions(Collection<String> extensions) {
+            List<String> upperExtensions = new ArrayList<>();
+            for (String extension : extensions) {
+                upperExtensions.add("." + extension.toUpperCase());
+            }
+
+            List<File> files = new ArrayList<>();
+            for (Map.Entry<String, File> entry : cachedFiles.entrySet()) {
+                for (String extension : upperExtensions) {
+                    if (entry.getKey().endsWith(extension)) {
+                        files.add(entry.getValue());
+                        break;
+                    }
+                }
+            }
+            return files;
+        }
+
         public void saveFileList(String filename) throws FileNotFoundException, UnsupportedEncodingException {
             try (PrintWriter p = new PrintWriter(new OutputStreamWriter(new FileOutputStream(filename, Boolean.TRUE), DEFAULT_CHARSET))) {
                 Set<String> names = cachedFiles.keySet();
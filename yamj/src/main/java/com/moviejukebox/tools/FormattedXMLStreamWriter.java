@@ -0,0 +1,386 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * XMLStreamWriter that writes the same output as the transformer used by DOMHelper.writeDocumentToFile
+ *
+ * The elements are indented by 4 spaces, elements with text only are written on one line, the attributes are sorted by name
+ * and the characters are escaped like the transformer does. Namespaces are not supported.
+ */
+public class FormattedXMLStreamWriter implements XMLStreamWriter {
+
+    private static final String LINE_SEPARATOR = System.getProperty("line.separator");
+    private static final String INDENT = "    ";
+    private final Writer writer;
+    private final Deque<OpenElement> elements = new ArrayDeque<>();
+    // The attributes of the start tag that has not been written yet, sorted like the DOM does
+    private final Map<String, String> attributes = new TreeMap<>();
+    private boolean startTagOpen = Boolean.FALSE;
+
+    public FormattedXMLStreamWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void writeStartDocument() throws XMLStreamException {
+        writeStartDocument("UTF-8", "1.0");
+    }
+
+    @Override
+    public void writeStartDocument(String version) throws XMLStreamException {
+        writeStartDocument("UTF-8", version);
+    }
+
+    @Override
+    public void writeStartDocument(String encoding, String version) throws XMLStreamException {
+        write("<?xml version=\"" + version + "\" encoding=\"" + encoding + "\"?>");
+    }
+
+    @Override
+    public void writeEndDocument() throws XMLStreamException {
+        while (!elements.isEmpty()) {
+            writeEndElement();
+        }
+    }
+
+    @Override
+    public void writeStartElement(String localName) throws XMLStreamException {
+        closeStartTag();
+        OpenElement parent = elements.peek();
+        if (parent != null) {
+            parent.hasChildElements = Boolean.TRUE;
+            writeIndent(elements.size());
+        }
+        elements.push(new OpenElement(localName));
+        write("<" + localName);
+        startTagOpen = Boolean.TRUE;
+    }
+
+    @Override
+    public void writeStartElement(String namespaceURI, String localName) throws XMLStreamException {
+        writeStartElement(localName);
+    }
+
+    @Override
+    public void writeStartElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        writeStartElement(localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String localName) throws XMLStreamException {
+        writeStartElement(localName);
+        // The element is closed when the next item is written, so the attributes can still be added
+        elements.peek().isEmpty = Boolean.TRUE;
+    }
+
+    @Override
+    public void writeEmptyElement(String namespaceURI, String localName) throws XMLStreamException {
+        writeEmptyElement(localName);
+    }
+
+    @Override
+    public void writeEmptyElement(String prefix, String localName, String namespaceURI) throws XMLStreamException {
+        writeEmptyElement(localName);
+    }
+
+    @Override
+    public void writeEndElement() throws XMLStreamException {
+        if (startTagOpen && elements.peek().isEmpty) {
+            closeStartTag();
+        }
+
+        OpenElement element = elements.peek();
+        if (element == null) {
+            throw new XMLStreamException("No element to end");
+        }
+
+        if (startTagOpen) {
+            // No content, so the element is written as an empty element
+            writeStartTag(Boolean.TRUE);
+        } else {
+            elements.pop();
+            if (element.hasChildElements) {
+                writeIndent(elements.size());
+            }
+            write("</" + element.name + ">");
+            if (elements.isEmpty()) {
+                write(LINE_SEPARATOR);
+            }
+        }
+    }
+
+    @Override
+    public void writeAttribute(String localName, String value) throws XMLStreamException {
+        if (!startTagOpen) {
+            throw new XMLStreamException("Attribute '" + localName + "' written outside of a start tag");
+        }
+        attributes.put(localName, value == null ? "" : value);
+    }
+
+    @Override
+    public void writeAttribute(String prefix, String namespaceURI, String localName, String value) throws XMLStreamException {
+        writeAttribute(localName, value);
+    }
+
+    @Override
+    public void writeAttribute(String namespaceURI, String localName, String value) throws XMLStreamException {
+        writeAttribute(localName, value);
+    }
+
+    @Override
+    public void writeCharacters(String text) throws XMLStreamException {
+        if (text == null || text.isEmpty()) {
+            // The transformer does not write empty text, so the element stays an empty element
+            return;
+        }
+        closeStartTag();
+        write(escape(text, Boolean.FALSE));
+    }
+
+    @Override
+    public void writeCharacters(char[] text, int start, int len) throws XMLStreamException {
+        writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public void writeCData(String data) throws XMLStreamException {
+        closeStartTag();
+        write("<![CDATA[" + data + "]]>");
+    }
+
+    @Override
+    public void writeComment(String data) throws XMLStreamException {
+        closeStartTag();
+        if (!elements.isEmpty()) {
+            writeIndent(elements.size());
+            elements.peek().hasChildElements = Boolean.TRUE;
+        }
+        write("<!--" + data + "-->");
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target) throws XMLStreamException {
+        writeProcessingInstruction(target, null);
+    }
+
+    @Override
+    public void writeProcessingInstruction(String target, String data) throws XMLStreamException {
+        closeStartTag();
+        write("<?" + target + (data == null ? "" : " " + data) + "?>");
+    }
+
+    @Override
+    public void writeDTD(String dtd) throws XMLStreamException {
+        write(dtd);
+    }
+
+    @Override
+    public void writeEntityRef(String name) throws XMLStreamException {
+        closeStartTag();
+        write("&" + name + ";");
+    }
+
+    @Override
+    public void writeNamespace(String prefix, String namespaceURI) throws XMLStreamException {
+        throw new XMLStreamException("Namespaces are not supported");
+    }
+
+    @Override
+    public void writeDefaultNamespace(String namespaceURI) throws XMLStreamException {
+        throw new XMLStreamException("Namespaces are not supported");
+    }
+
+    @Override
+    public String getPrefix(String uri) throws XMLStreamException {
+        return null;
+    }
+
+    @Override
+    public void setPrefix(String prefix, String uri) throws XMLStreamException {
+        throw new XMLStreamException("Namespaces are not supported");
+    }
+
+    @Override
+    public void setDefaultNamespace(String uri) throws XMLStreamException {
+        throw new XMLStreamException("Namespaces are not supported");
+    }
+
+    @Override
+    public void setNamespaceContext(NamespaceContext context) throws XMLStreamException {
+        throw new XMLStreamException("Namespaces are not supported");
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        throw new IllegalArgumentException("Property '" + name + "' is not supported");
+    }
+
+    @Override
+    public void flush() throws XMLStreamException {
+        try {
+            writer.flush();
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
+    @Override
+    public void close() throws XMLStreamException {
+        writeEndDocument();
+        flush();
+    }
+
+    /**
+     * Write the attributes and the end of the start tag, if there is a start tag to close
+     *
+     * @throws XMLStreamException
+     */
+    private void closeStartTag() throws XMLStreamException {
+        if (startTagOpen) {
+            writeStartTag(elements.peek().isEmpty);
+        }
+    }
+
+    /**
+     * Write the attributes and the end of the open start tag
+     *
+     * @param isEmpty true to end the element as well
+     * @throws XMLStreamException
+     */
+    private void writeStartTag(boolean isEmpty) throws XMLStreamException {
+        startTagOpen = Boolean.FALSE;
+
+        StringBuilder tag = new StringBuilder();
+        for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+            tag.append(' ').append(attribute.getKey()).append("=\"").append(escape(attribute.getValue(), Boolean.TRUE)).append('"');
+        }
+        attributes.clear();
+
+        if (isEmpty) {
+            elements.pop();
+            tag.append("/>");
+            if (elements.isEmpty()) {
+                tag.append(LINE_SEPARATOR);
+            }
+        } else {
+            tag.append('>');
+        }
+        write(tag.toString());
+    }
+
+    private void writeIndent(int depth) throws XMLStreamException {
+        StringBuilder indent = new StringBuilder(LINE_SEPARATOR);
+        for (int loop = 0; loop < depth; loop++) {
+            indent.append(INDENT);
+        }
+        write(indent.toString());
+    }
+
+    private void write(String text) throws XMLStreamException {
+        try {
+            writer.write(text);
+        } catch (IOException ex) {
+            throw new XMLStreamException(ex);
+        }
+    }
+
+    /**
+     * Escape the text the same way as the transformer
+     *
+     * @param text
+     * @param isAttribute
+     * @return
+     */
+    protected static String escape(String text, boolean isAttribute) {
+        StringBuilder escaped = null;
+        int length = text.length();
+        for (int pos = 0; pos < length; pos++) {
+            char ch = text.charAt(pos);
+            int next = pos + 1;
+            String replacement;
+            if (ch == '&') {
+                replacement = "&amp;";
+            } else if (ch == '<') {
+                replacement = "&lt;";
+            } else if (ch == '>') {
+                replacement = "&gt;";
+            } else if (ch == '"' && isAttribute) {
+                replacement = "&quot;";
+            } else if (ch == '\n') {
+                replacement = isAttribute ? "&#10;" : LINE_SEPARATOR;
+            } else if (ch == '\t') {
+                replacement = isAttribute ? "&#9;" : null;
+            } else if (Character.isHighSurrogate(ch) && next < length && Character.isLowSurrogate(text.charAt(next))) {
+                // Characters outside the basic plane are written as character references
+                replacement = "&#" + Character.toCodePoint(ch, text.charAt(next)) + ";";
+                next++;
+            } else if (ch < 0x20 || (!isAttribute && ch >= 0x7F && ch <= 0x9F) || Character.isSurrogate(ch)) {
+                replacement = "&#" + (int) ch + ";";
+            } else {
+                replacement = null;
+            }
+
+            if (replacement != null) {
+                if (escaped == null) {
+                    escaped = new StringBuilder(length + 16);
+                    escaped.append(text, 0, pos);
+                }
+                escaped.append(replacement);
+            } else if (escaped != null) {
+                escaped.append(ch);
+            }
+            pos = next - 1;
+        }
+        return escaped == null ? text : escaped.toString();
+    }
+
+    /**
+     * An element that has been started and not ended yet
+     */
+    private static final class OpenElement {
+
+        private final String name;
+        private boolean hasChildElements = Boolean.FALSE;
+        private boolean isEmpty = Boolean.FALSE;
+
+        OpenElement(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -23,6 +23,8 @@
 package com.moviejukebox.tools;
 
 import com.jhlabs.image.PerspectiveFilter;
+import com.moviejukebox.model.JukeboxStatistics;
+import com.moviejukebox.model.enumerations.JukeboxStatistic;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.Rectangle2D;
@@ -32,6 +34,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.net.URL;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import javax.imageio.*;
 import javax.imageio.stream.FileImageOutputStream;
 import org.slf4j.Logger;
@@ -42,6 +46,16 @@ public final class GraphicTools {
     private static final Logger LOG = LoggerFactory.getLogger(GraphicTools.class);
     private static float quality;
     private static int jpegQuality;
+    // Decoded skin resource images, keyed by the absolute path of the image file
+    private static final int RESOURCE_CACHE_SIZE = Math.max(1, PropertiesUtil.getIntProperty("mjb.resourceImageCacheSize", 100));
+    private static final Map<String, CachedImage> RESOURCE_CACHE = new LinkedHashMap<String, CachedImage>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedImage> eldest) {
+            return size() > RESOURCE_CACHE_SIZE;
+        }
+    };
 
     private GraphicTools() {
         throw new UnsupportedOperationException("Class cannot be instantiated");
@@ -73,6 +87,56 @@ public final class GraphicTools {
         throw new FileNotFoundException("Image file '" + fileImage.getAbsolutePath() + "' does not exist");
     }
 
+    /**
+     * Load a resource image of the skin, such as a logo or an overlay.
+     *
+     * The decoded images are cached (keyed by path and modification time) and shared, so the image must not be changed.
+     *
+     * @param filename
+     * @return
+     * @throws IOException
+     */
+    public static BufferedImage loadResourceImage(String filename) throws IOException {
+        return loadResourceImage(new File(filename));
+    }
+
+    /**
+     * Load a resource image of the skin from a file, the image is shared and must not be changed
+     *
+     * @param imageFile
+     * @return
+     * @throws IOException
+     */
+    public static BufferedImage loadResourceImage(File imageFile) throws IOException {
+        String cacheKey = imageFile.getAbsolutePath();
+        long lastModified = imageFile.lastModified();
+        JukeboxStatistics.increment(JukeboxStatistic.RESOURCE_IMAGES_LOADED);
+
+        synchronized (RESOURCE_CACHE) {
+            CachedImage cached = RESOURCE_CACHE.get(cacheKey);
+            if (cached != null && cached.lastModified == lastModified) {
+                return cached.image;
+            }
+        }
+
+        // Decode outside of the lock, so other images can be loaded at the same time
+        BufferedImage image = loadJPEGImage(imageFile);
+        JukeboxStatistics.increment(JukeboxStatistic.RESOURCE_IMAGES_DECODED);
+        if (image.getType() != BufferedImage.TYPE_INT_ARGB) {
+            // Convert to the type of the posters and thumbnails, which is the fastest to draw onto them
+            BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = converted.createGraphics();
+            g2d.drawImage(image, 0, 0, null);
+            g2d.dispose();
+            image = converted;
+        }
+
+        synchronized (RESOURCE_CACHE) {
+            RESOURCE_CACHE.put(cacheKey, new CachedImage(image, lastModified));
+        }
+        return image;
+    }
+
     /**
      * Load a JPG image from an URL
      *
@@ -192,10 +256,8 @@ public final class GraphicTools {
             y = nMaxHeight - tempHeight;
         }
 
-        Image temp1 = imgSrc.getScaledInstance(tempWidth, tempHeight, Image.SCALE_SMOOTH);
         BufferedImage bi = new BufferedImage(nMaxWidth, nMaxHeight, BufferedImage.TYPE_INT_ARGB);
-        //bi.getGraphics().drawImage(temp1, 0, y, null);
-        bi.createGraphics().drawImage(temp1, 0, y, null);
+        ImageScaler.drawScaled(imgSrc, bi, 0, y, tempWidth, tempHeight);
         return bi;
     }
 
@@ -208,10 +270,7 @@ public final class GraphicTools {
         tempWidth = nMaxWidth;
         tempHeight = nMaxHeight;
 
-        Image temp1 = imgSrc.getScaledInstance(tempWidth, tempHeight, Image.SCALE_SMOOTH);
-        BufferedImage bi = new BufferedImage(nMaxWidth, nMaxHeight, BufferedImage.TYPE_INT_ARGB);
-        bi.createGraphics().drawImage(temp1, 0, 0, null);
-        return bi;
+        return ImageScaler.scale(imgSrc, tempWidth, tempHeight);
     }
 
     public static BufferedImage scaleToSizeBestFit(int nMaxWidth, BufferedImage imgSrc) {
@@ -225,10 +284,7 @@ public final class GraphicTools {
         tempWidth = nMaxWidth;
         tempHeight = (int) (((double) imageHeight * (double) nMaxWidth) / imageWidth);
 
-        Image temp1 = imgSrc.getScaledInstance(tempWidth, tempHeight, Image.SCALE_SMOOTH);
-        BufferedImage bi = new BufferedImage(tempWidth, tempHeight, BufferedImage.TYPE_INT_ARGB);
-        bi.createGraphics().drawImage(temp1, 0, 0, null);
-        return bi;
+        return ImageScaler.scale(imgSrc, tempWidth, tempHeight);
     }
 
     public static BufferedImage scaleToSizeNormalized(int nMaxWidth, int nMaxHeight, BufferedImage imgSrc) {
@@ -250,10 +306,7 @@ public final class GraphicTools {
             tempHeight = nMaxHeight;
         }
 
-        Image temp1 = imgSrc.getScaledInstance(tempWidth, tempHeight, Image.SCALE_SMOOTH);
-        BufferedImage bi = new BufferedImage(tempWidth, tempHeight, BufferedImage.TYPE_INT_ARGB);
-        bi.createGraphics().drawImage(temp1, 0, 0, null);
-        return cropToSize(nMaxWidth, nMaxHeight, bi);
+        return cropToSize(nMaxWidth, nMaxHeight, ImageScaler.scale(imgSrc, tempWidth, tempHeight));
     }
 
     public static BufferedImage cropToSize(int nMaxWidth, int nMaxHeight, BufferedImage imgSrc) {
@@ -409,4 +462,18 @@ public final class GraphicTools {
         }
         return perspectiveFilter.filter(bi, null);
     }
+
+    /**
+     * Decoded image and the modification time of the file when it was decoded
+     */
+    private static final class CachedImage {
+
+        private final BufferedImage image;
+        private final long lastModified;
+
+        CachedImage(BufferedImage image, long lastModified) {
+            this.image = image;
+            this.lastModified = lastModified;
+        }
+    }
 }
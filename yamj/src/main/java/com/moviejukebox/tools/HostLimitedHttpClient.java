@@ -0,0 +1,386 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.io.IOUtils;
+import org.apache.http.Header;
+import org.apache.http.HeaderIterator;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.StatusLine;
+import org.apache.http.client.ClientProtocolException;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Http client that sends each request within the download limits of its host, see ThreadExecutor.enterIO.
+ *
+ * It wraps the client that sends the requests over the network, so the responses taken from the web cache do not wait for a
+ * slot of the host and are not counted in its latency.
+ *
+ * The slot is kept until the body of the response is read to its end or the body or the response is closed, so the download
+ * of the body is within the limits too.
+ */
+public class HostLimitedHttpClient extends CloseableHttpClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HostLimitedHttpClient.class);
+
+    private final CloseableHttpClient httpClient;
+
+    public HostLimitedHttpClient(CloseableHttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    @Override
+    protected CloseableHttpResponse doExecute(HttpHost target, HttpRequest request, HttpContext context) throws IOException, ClientProtocolException {
+        if (target == null) {
+            return httpClient.execute(target, request, context);
+        }
+
+        // get the download limit for the host
+        ThreadExecutor.enterIO(target.toURI());
+        CloseableHttpResponse response = null;
+        try {
+            response = httpClient.execute(target, request, context);
+            ThreadExecutor.reportIO(response.getStatusLine().getStatusCode());
+        } catch (SocketTimeoutException | ConnectTimeoutException ex) {
+            ThreadExecutor.reportIO(HostLimiter.STATUS_TIMEOUT);
+            throw ex;
+        } finally {
+            if (response == null) {
+                ThreadExecutor.leaveIO();
+            }
+        }
+
+        HttpEntity entity = response.getEntity();
+        if (entity == null || !entity.isStreaming()) {
+            ThreadExecutor.leaveIO();
+            return response;
+        }
+
+        // The slot is kept while the body is downloaded
+        HostSlot slot = new HostSlot();
+        response.setEntity(new HostLimitedEntity(entity, slot));
+        return new HostLimitedResponse(response, slot);
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+    }
+
+    @Override
+    @Deprecated
+    public HttpParams getParams() {
+        return httpClient.getParams();
+    }
+
+    @Override
+    @Deprecated
+    public ClientConnectionManager getConnectionManager() {
+        return httpClient.getConnectionManager();
+    }
+
+    /**
+     * The download slot of a response, given back once when the body is read or closed
+     */
+    private static final class HostSlot {
+
+        private final Thread owner = Thread.currentThread();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private void release() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            if (Thread.currentThread() == owner) {
+                ThreadExecutor.leaveIO();
+            } else {
+                // The download state belongs to the thread that sent the request
+                LOG.warn("Response of {} closed by another thread, the download slot is kept", owner.getName());
+            }
+        }
+    }
+
+    /**
+     * The body of the response, it gives back the slot at its end or when it is closed
+     */
+    private static final class HostLimitedEntity extends HttpEntityWrapper {
+
+        private final HostSlot slot;
+        private InputStream content;
+
+        private HostLimitedEntity(HttpEntity entity, HostSlot slot) {
+            super(entity);
+            this.slot = slot;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (content == null) {
+                content = new HostLimitedInputStream(super.getContent(), slot);
+            }
+            return content;
+        }
+
+        @Override
+        public void writeTo(OutputStream outstream) throws IOException {
+            try (InputStream in = getContent()) {
+                IOUtils.copy(in, outstream);
+            }
+        }
+
+        @Override
+        @Deprecated
+        public void consumeContent() throws IOException {
+            try {
+                super.consumeContent();
+            } finally {
+                slot.release();
+            }
+        }
+    }
+
+    private static final class HostLimitedInputStream extends FilterInputStream {
+
+        private final HostSlot slot;
+
+        private HostLimitedInputStream(InputStream in, HostSlot slot) {
+            super(in);
+            this.slot = slot;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int value = super.read();
+                if (value < 0) {
+                    slot.release();
+                }
+                return value;
+            } catch (SocketTimeoutException ex) {
+                ThreadExecutor.reportIO(HostLimiter.STATUS_TIMEOUT);
+                throw ex;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int count = super.read(b, off, len);
+                if (count < 0) {
+                    slot.release();
+                }
+                return count;
+            } catch (SocketTimeoutException ex) {
+                ThreadExecutor.reportIO(HostLimiter.STATUS_TIMEOUT);
+                throw ex;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                slot.release();
+            }
+        }
+    }
+
+    /**
+     * The response, closing it gives back the slot when the body was not read
+     */
+    private static final class HostLimitedResponse implements CloseableHttpResponse {
+
+        private final CloseableHttpResponse response;
+        private final HostSlot slot;
+
+        private HostLimitedResponse(CloseableHttpResponse response, HostSlot slot) {
+            this.response = response;
+            this.slot = slot;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                response.close();
+            } finally {
+                slot.release();
+            }
+        }
+
+        @Override
+        public StatusLine getStatusLine() {
+            return response.getStatusLine();
+        }
+
+        @Override
+        public void setStatusLine(StatusLine statusline) {
+            response.setStatusLine(statusline);
+        }
+
+        @Override
+        public void setStatusLine(ProtocolVersion ver, int code) {
+            response.setStatusLine(ver, code);
+        }
+
+        @Override
+        public void setStatusLine(ProtocolVersion ver, int code, String reason) {
+            response.setStatusLine(ver, code, reason);
+        }
+
+        @Override
+        public void setStatusCode(int code) {
+            response.setStatusCode(code);
+        }
+
+        @Override
+        public void setReasonPhrase(String reason) {
+            response.setReasonPhrase(reason);
+        }
+
+        @Override
+        public HttpEntity getEntity() {
+            return response.getEntity();
+        }
+
+        @Override
+        public void setEntity(HttpEntity entity) {
+            response.setEntity(entity);
+        }
+
+        @Override
+        public Locale getLocale() {
+            return response.getLocale();
+        }
+
+        @Override
+        public void setLocale(Locale loc) {
+            response.setLocale(loc);
+        }
+
+        @Override
+        public ProtocolVersion getProtocolVersion() {
+            return response.getProtocolVersion();
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return response.containsHeader(name);
+        }
+
+        @Override
+        public Header[] getHeaders(String name) {
+            return response.getHeaders(name);
+        }
+
+        @Override
+        public Header getFirstHeader(String name) {
+            return response.getFirstHeader(name);
+        }
+
+        @Override
+        public Header getLastHeader(String name) {
+            return response.getLastHeader(name);
+        }
+
+        @Override
+        public Header[] getAllHeaders() {
+            return response.getAllHeaders();
+        }
+
+        @Override
+        public void addHeader(Header header) {
+            response.addHeader(header);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            response.addHeader(name, value);
+        }
+
+        @Override
+        public void setHeader(Header header) {
+            response.setHeader(header);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            response.setHeader(name, value);
+        }
+
+        @Override
+        public void setHeaders(Header[] headers) {
+            response.setHeaders(headers);
+        }
+
+        @Override
+        public void removeHeader(Header header) {
+            response.removeHeader(header);
+        }
+
+        @Override
+        public void removeHeaders(String name) {
+            response.removeHeaders(name);
+        }
+
+        @Override
+        public HeaderIterator headerIterator() {
+            return response.headerIterator();
+        }
+
+        @Override
+        public HeaderIterator headerIterator(String name) {
+            return response.headerIterator(name);
+        }
+
+        @Override
+        @Deprecated
+        public HttpParams getParams() {
+            return response.getParams();
+        }
+
+        @Override
+        @Deprecated
+        public void setParams(HttpParams params) {
+            response.setParams(params);
+        }
+    }
+}
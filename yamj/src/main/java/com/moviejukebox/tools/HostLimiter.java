@@ -0,0 +1,345 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The download limits of a web host
+ *
+ * Each host gets its own limits from the longest matching rule of mjb.MaxDownloadSlots and mjb.MaxDownloadRate:<br/>
+ * - the download slots are the most requests running at the same time, the limit is lowered when the host answers with 429
+ * or 503, times out or slows down, and raised again by one slot per round of good answers<br/>
+ * - the rate is the most requests started per second, a second of unused requests can be used at once
+ * <p>
+ * The wait for a slot and the requests running at the same time are counted for each host, see logStatistics.
+ */
+public final class HostLimiter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HostLimiter.class);
+    private static final String DEFAULT_RULE = ".*";
+    /**
+     * Status of a request that timed out or could not connect
+     */
+    public static final int STATUS_TIMEOUT = -1;
+    public static final int STATUS_OK = 200;
+    private static final int STATUS_TOO_MANY_REQUESTS = 429;
+    private static final int STATUS_UNAVAILABLE = 503;
+    // Pause of a host that asks to slow down, doubled while it keeps asking
+    private static final long MIN_PAUSE = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_PAUSE = TimeUnit.SECONDS.toNanos(60);
+    // A request is slow when it takes this many times the average of the host and longer than SLOW_LATENCY
+    private static final int SLOW_FACTOR = 4;
+    private static final long SLOW_LATENCY = TimeUnit.SECONDS.toNanos(2);
+    private static final Map<String, Integer> SLOT_RULES = new HashMap<>();
+    private static final Map<String, Double> RATE_RULES = new HashMap<>();
+    private static final ConcurrentMap<String, HostLimiter> HOSTS = new ConcurrentHashMap<>();
+
+    static {
+        // Default, can be overridden
+        SLOT_RULES.put(DEFAULT_RULE, 1);
+        String slotsProperty = PropertiesUtil.getProperty("mjb.MaxDownloadSlots", ".*=1");
+        LOG.debug("Using download limits: {}", slotsProperty);
+        for (Map.Entry<String, String> rule : parseRules(slotsProperty).entrySet()) {
+            SLOT_RULES.put(rule.getKey(), Math.max(1, (int) Double.parseDouble(rule.getValue())));
+        }
+
+        String rateProperty = PropertiesUtil.getProperty("mjb.MaxDownloadRate", "");
+        LOG.debug("Using download rates: {}", rateProperty);
+        for (Map.Entry<String, String> rule : parseRules(rateProperty).entrySet()) {
+            RATE_RULES.put(rule.getKey(), Double.valueOf(rule.getValue()));
+        }
+    }
+
+    private final String host;
+    private final int maxSlots;
+    // Time between two requests, 0 when the rate is not limited
+    private final long interval;
+    private final long burst;
+    // The state of the host is guarded by the host itself
+    private double slots;
+    private int inFlight = 0;
+    private long nextStart;
+    private long pausedUntil = 0;
+    private long pause = 0;
+    private long averageLatency = 0;
+    // Statistics
+    private int requests = 0;
+    private int errors = 0;
+    private int slowDowns = 0;
+    private int maxInFlight = 0;
+    private long totalWait = 0;
+    private long maxWait = 0;
+
+    HostLimiter(String host, int maxSlots, double rate) {
+        this.host = host;
+        this.maxSlots = maxSlots;
+        this.slots = maxSlots;
+        if (rate > 0) {
+            this.interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+            this.burst = Math.max(interval, TimeUnit.SECONDS.toNanos(1));
+        } else {
+            this.interval = 0;
+            this.burst = 0;
+        }
+        this.nextStart = System.nanoTime() - burst;
+    }
+
+    /**
+     * Check if the host asked to slow down with the HTTP status
+     *
+     * @param status
+     * @return
+     */
+    public static boolean isOverloaded(int status) {
+        return status == STATUS_TOO_MANY_REQUESTS || status == STATUS_UNAVAILABLE;
+    }
+
+    /**
+     * Get the limits of the host, they are created with the first request to the host
+     *
+     * @param host
+     * @return
+     */
+    public static HostLimiter getHost(String host) {
+        HostLimiter limiter = HOSTS.get(host);
+        if (limiter == null) {
+            String slotRule = findRule(host, SLOT_RULES);
+            String rateRule = findRule(host, RATE_RULES);
+            Double rate = rateRule == null ? null : RATE_RULES.get(rateRule);
+            LOG.debug("IO download host: {}; rule: {}; rate rule: {}", host, slotRule, rateRule);
+
+            limiter = new HostLimiter(host, SLOT_RULES.get(slotRule), rate == null ? 0 : rate);
+            HostLimiter previous = HOSTS.putIfAbsent(host, limiter);
+            if (previous != null) {
+                limiter = previous;
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * Wait for a download slot and the rate of the host.
+     *
+     * An interrupted thread does not get the slot, so a cancelled task sends no request.
+     *
+     * @throws InterruptedIOException
+     */
+    public void acquire() throws InterruptedIOException {
+        long start = System.nanoTime();
+        long delay;
+        synchronized (this) {
+            long now = start;
+            try {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                while (inFlight >= (int) slots || now < pausedUntil) {
+                    if (now < pausedUntil) {
+                        TimeUnit.NANOSECONDS.timedWait(this, pausedUntil - now);
+                    } else {
+                        wait();
+                    }
+                    now = System.nanoTime();
+                }
+            } catch (InterruptedException ex) {
+                throw interrupted();
+            }
+
+            inFlight++;
+            maxInFlight = Math.max(maxInFlight, inFlight);
+
+            // Take the next start time of the rate, the unused time of an idle host is kept up to the burst
+            long requestStart = Math.max(nextStart, now - burst);
+            nextStart = requestStart + interval;
+            delay = requestStart - now;
+        }
+
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException ex) {
+                synchronized (this) {
+                    inFlight--;
+                    notifyAll();
+                }
+                throw interrupted();
+            }
+        }
+
+        long wait = System.nanoTime() - start;
+        synchronized (this) {
+            totalWait += wait;
+            maxWait = Math.max(maxWait, wait);
+        }
+    }
+
+    private InterruptedIOException interrupted() {
+        // Keep the interrupt for the task
+        Thread.currentThread().interrupt();
+        return new InterruptedIOException("Interrupted while waiting for " + host);
+    }
+
+    /**
+     * Give back the download slot and adapt the limit to the answer of the host
+     *
+     * @param latency the time of the request in nanoseconds
+     * @param status the HTTP status of the answer or STATUS_TIMEOUT
+     */
+    public synchronized void release(long latency, int status) {
+        inFlight--;
+        requests++;
+
+        if (isOverloaded(status) || status == STATUS_TIMEOUT) {
+            errors++;
+            slowDown();
+            if (status != STATUS_TIMEOUT) {
+                // The host asked us to wait
+                pause = pause == 0 ? MIN_PAUSE : Math.min(pause * 2, MAX_PAUSE);
+                pausedUntil = System.nanoTime() + pause;
+                LOG.debug("Host {} answered {}, pausing for {}ms with {} slots", host, status, TimeUnit.NANOSECONDS.toMillis(pause), (int) slots);
+            }
+        } else {
+            if (status >= 400) {
+                errors++;
+            }
+            pause = 0;
+
+            if (averageLatency > 0 && latency > SLOW_LATENCY && latency > SLOW_FACTOR * averageLatency) {
+                slowDown();
+            } else {
+                // One more slot after a round of good answers
+                slots = Math.min(maxSlots, slots + 1.0 / slots);
+            }
+            averageLatency = averageLatency == 0 ? latency : averageLatency + (latency - averageLatency) / 8;
+        }
+        notifyAll();
+    }
+
+    private void slowDown() {
+        slowDowns++;
+        slots = Math.max(1.0, slots / 2);
+    }
+
+    /**
+     * Get the number of download slots the host has now
+     *
+     * @return
+     */
+    public synchronized int getSlots() {
+        return (int) slots;
+    }
+
+    /**
+     * Get the number of requests running now
+     *
+     * @return
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Get the most requests that were running at the same time
+     *
+     * @return
+     */
+    public synchronized int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Write the download statistics of each host to the log
+     */
+    public static void logStatistics() {
+        if (HOSTS.isEmpty()) {
+            return;
+        }
+
+        LOG.info("Download statistics per host:");
+        for (HostLimiter limiter : new TreeMap<>(HOSTS).values()) {
+            synchronized (limiter) {
+                LOG.info("  {}: {} requests, {} errors, {} slow downs, wait {}ms average / {}ms max, {} of {} slots used, {} running",
+                        limiter.host,
+                        limiter.requests,
+                        limiter.errors,
+                        limiter.slowDowns,
+                        limiter.requests == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(limiter.totalWait / limiter.requests),
+                        TimeUnit.NANOSECONDS.toMillis(limiter.maxWait),
+                        limiter.maxInFlight,
+                        limiter.maxSlots,
+                        limiter.inFlight);
+            }
+        }
+    }
+
+    /**
+     * Read the "regexp=value" rules of the property, the invalid rules are ignored
+     *
+     * @param property
+     * @return
+     */
+    private static Map<String, String> parseRules(String property) {
+        Map<String, String> rules = new HashMap<>();
+        Matcher matcher = Pattern.compile(",?\\s*([^=]+)=(\\d+(?:\\.\\d+)?)").matcher(property);
+        while (matcher.find()) {
+            String rule = matcher.group(1);
+            try {
+                Pattern.compile(rule);
+                LOG.debug("{}={}", rule, matcher.group(2));
+                rules.put(rule, matcher.group(2));
+            } catch (PatternSyntaxException error) {
+                LOG.debug("Rule '{}' is not valid regexp, ignored", rule);
+            }
+        }
+        return rules;
+    }
+
+    /**
+     * Find the longest rule matching the host
+     *
+     * @param host
+     * @param rules
+     * @return the rule or null if no rule matches
+     */
+    private static String findRule(String host, Map<String, ?> rules) {
+        String found = null;
+        for (String rule : rules.keySet()) {
+            if (host.matches(rule) && (found == null || rule.length() > found.length())) {
+                found = rule;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent store for the web responses.
+ *
+ * Each response is written compressed to its own file in the cache directory, so the responses survive between runs. The
+ * size of the cache is limited and the least recently used responses are removed first.
+ *
+ * The time a response stays fresh is set per host, with the same regular expression rules as mjb.MaxDownloadSlots.
+ */
+public class HttpDiskCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpDiskCache.class);
+    private static final String CACHE_EXTENSION = ".cache";
+    private static final String TEMP_EXTENSION = ".tmp";
+    private static final int FORMAT_VERSION = 1;
+    private final File cacheDir;
+    private final long maxSize;
+    private final Map<Pattern, Long> timeToLive = new LinkedHashMap<>();
+    // The size of each cache file, in least recently used order
+    private final LinkedHashMap<String, Long> cacheFiles = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalSize = 0;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Create the cache and read the existing cache files
+     *
+     * @param cacheDir the directory for the cache files
+     * @param maxSize the maximum size of the cache files in bytes
+     * @param timeToLive the rules for the time to live in minutes, e.g. ".*=1440,.*imdb.*=4320"
+     */
+    public HttpDiskCache(File cacheDir, long maxSize, String timeToLive) {
+        this.cacheDir = cacheDir;
+        this.maxSize = maxSize;
+        parseTimeToLive(timeToLive);
+        loadCacheFiles();
+    }
+
+    private void parseTimeToLive(String rules) {
+        if (StringUtils.isBlank(rules)) {
+            return;
+        }
+
+        Matcher matcher = Pattern.compile(",?\\s*([^=]+)=(\\d+)").matcher(rules);
+        while (matcher.find()) {
+            String host = matcher.group(1);
+            try {
+                timeToLive.put(Pattern.compile(host, Pattern.CASE_INSENSITIVE), Long.parseLong(matcher.group(2)) * 60000L);
+                LOG.trace("Added cache time to live '{}' of {} minutes", host, matcher.group(2));
+            } catch (PatternSyntaxException | NumberFormatException ex) {
+                LOG.debug("Rule '{}' is no valid regexp, ignored", host);
+            }
+        }
+    }
+
+    private void loadCacheFiles() {
+        FileTools.makeDirs(cacheDir);
+
+        File[] files = cacheDir.listFiles();
+        if (files == null) {
+            LOG.warn("Unable to read the web cache directory: {}", cacheDir.getAbsolutePath());
+            return;
+        }
+
+        List<File> cached = new ArrayList<>();
+        for (File file : files) {
+            if (file.getName().endsWith(CACHE_EXTENSION)) {
+                cached.add(file);
+            } else if (file.getName().endsWith(TEMP_EXTENSION)) {
+                // Left over from an interrupted write
+                file.delete();
+            }
+        }
+
+        // The last modified date is the last time the file was used
+        Collections.sort(cached, new Comparator<File>() {
+            @Override
+            public int compare(File file1, File file2) {
+                long modified1 = file1.lastModified();
+                long modified2 = file2.lastModified();
+                return modified1 < modified2 ? -1 : (modified1 == modified2 ? 0 : 1);
+            }
+        });
+
+        synchronized (cacheFiles) {
+            for (File file : cached) {
+                cacheFiles.put(file.getName(), file.length());
+                totalSize += file.length();
+            }
+            evict();
+        }
+        LOG.debug("Web cache has {} responses ({} KB) in {}", cacheFiles.size(), totalSize / 1024, cacheDir.getAbsolutePath());
+    }
+
+    /**
+     * Get the time a response from the host stays fresh
+     *
+     * @param host
+     * @return the time in milliseconds, zero if the responses from the host should not be cached
+     */
+    public long getTimeToLive(String host) {
+        long ttl = 0;
+        // The last matching rule wins, so the specific rules can follow the default rule
+        for (Map.Entry<Pattern, Long> rule : timeToLive.entrySet()) {
+            if (rule.getKey().matcher(host).matches()) {
+                ttl = rule.getValue();
+            }
+        }
+        return ttl;
+    }
+
+    /**
+     * Get the cached response
+     *
+     * @param key the key of the request
+     * @return the response or null if it is not in the cache
+     */
+    public Entry get(String key) {
+        String filename = getFilename(key);
+        synchronized (cacheFiles) {
+            if (cacheFiles.get(filename) == null) {
+                return null;
+            }
+        }
+
+        File file = new File(cacheDir, filename);
+        Entry entry;
+        try {
+            entry = readEntry(file);
+        } catch (IOException ex) {
+            LOG.debug("Failed to read web cache file {}: {}", filename, ex.getMessage());
+            remove(filename);
+            return null;
+        }
+
+        if (!key.equals(entry.getKey())) {
+            // Two keys with the same hash, the response is replaced on the next put
+            return null;
+        }
+
+        // Keep the least recently used order for the next run
+        file.setLastModified(System.currentTimeMillis());
+        return entry;
+    }
+
+    /**
+     * Add or replace the response in the cache
+     *
+     * @param entry
+     */
+    public void put(Entry entry) {
+        String filename = getFilename(entry.getKey());
+        File file = new File(cacheDir, filename);
+        File tempFile = new File(cacheDir, filename + "." + Thread.currentThread().getId() + TEMP_EXTENSION);
+
+        try {
+            writeEntry(tempFile, entry);
+        } catch (IOException ex) {
+            LOG.debug("Failed to write web cache file {}: {}", filename, ex.getMessage());
+            tempFile.delete();
+            return;
+        }
+
+        synchronized (cacheFiles) {
+            if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+                LOG.debug("Failed to replace web cache file {}", filename);
+                tempFile.delete();
+                removeFile(filename);
+                return;
+            }
+
+            Long oldSize = cacheFiles.put(filename, file.length());
+            totalSize += file.length() - (oldSize == null ? 0 : oldSize);
+            evict();
+        }
+    }
+
+    private void remove(String filename) {
+        synchronized (cacheFiles) {
+            removeFile(filename);
+        }
+    }
+
+    private void removeFile(String filename) {
+        Long size = cacheFiles.remove(filename);
+        if (size != null) {
+            totalSize -= size;
+        }
+        new File(cacheDir, filename).delete();
+    }
+
+    /**
+     * Remove the least recently used files until the cache is no larger than the maximum size
+     */
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> iter = cacheFiles.entrySet().iterator();
+        while (totalSize > maxSize && iter.hasNext()) {
+            Map.Entry<String, Long> eldest = iter.next();
+            iter.remove();
+            totalSize -= eldest.getValue();
+            new File(cacheDir, eldest.getKey()).delete();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static String getFilename(String key) {
+        return DigestUtils.sha1Hex(key) + CACHE_EXTENSION;
+    }
+
+    private static Entry readEntry(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Unknown format");
+            }
+
+            String key = in.readUTF();
+            long validated = in.readLong();
+            int headerCount = in.readInt();
+            List<Header> headers = new ArrayList<>(headerCount);
+            for (int count = 0; count < headerCount; count++) {
+                headers.add(new BasicHeader(in.readUTF(), in.readUTF()));
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            return new Entry(key, validated, headers, body);
+        }
+    }
+
+    private static void writeEntry(File file, Entry entry) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(entry.getKey());
+            out.writeLong(entry.getValidated());
+            out.writeInt(entry.getHeaders().size());
+            for (Header header : entry.getHeaders()) {
+                out.writeUTF(header.getName());
+                out.writeUTF(header.getValue());
+            }
+            out.writeInt(entry.getBody().length);
+            out.write(entry.getBody());
+        }
+    }
+
+    /**
+     * Count a request answered from the cache
+     */
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Count a request answered from the cache after the server confirmed the response was not modified
+     */
+    public void recordRevalidation() {
+        revalidations.incrementAndGet();
+    }
+
+    /**
+     * Count a request that was downloaded
+     */
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int getSize() {
+        synchronized (cacheFiles) {
+            return cacheFiles.size();
+        }
+    }
+
+    public long getTotalSize() {
+        synchronized (cacheFiles) {
+            return totalSize;
+        }
+    }
+
+    public File getCacheDir() {
+        return cacheDir;
+    }
+
+    /**
+     * A cached response
+     */
+    public static final class Entry {
+
+        private final String key;
+        private final long validated;
+        private final List<Header> headers;
+        private final byte[] body;
+
+        /**
+         * Create the cached response
+         *
+         * @param key the key of the request
+         * @param validated the time the response was downloaded or last confirmed by the server
+         * @param headers the headers of the response to keep
+         * @param body the content of the response
+         */
+        public Entry(String key, long validated, List<Header> headers, byte[] body) {
+            this.key = key;
+            this.validated = validated;
+            this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+            this.body = body;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getValidated() {
+            return validated;
+        }
+
+        public List<Header> getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * Get the first header with the name
+         *
+         * @param name
+         * @return the header or null if not found
+         */
+        public Header getFirstHeader(String name) {
+            for (Header header : headers) {
+                if (header.getName().equalsIgnoreCase(name)) {
+                    return header;
+                }
+            }
+            return null;
+        }
+
+        public boolean isFresh(long timeToLive, long now) {
+            return now - validated < timeToLive;
+        }
+
+        /**
+         * Can the response be checked with a conditional request
+         *
+         * @return
+         */
+        public boolean canRevalidate() {
+            return getFirstHeader("ETag") != null || getFirstHeader("Last-Modified") != null;
+        }
+
+        /**
+         * Copy the response with a new validation time
+         *
+         * @param now
+         * @return
+         */
+        public Entry revalidated(long now) {
+            return new Entry(key, now, headers, body);
+        }
+    }
+}
@@ -0,0 +1,474 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.util.EntityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read the size and the format of the images on the web for the artwork validation.
+ *
+ * Only the first bytes of the image are requested with the pooled HTTP client, the format is found from the content. The sizes
+ * are kept between runs. When the site sends the whole image, it is kept for a while so the download of the validated image
+ * does not request it again, see writeDownload.
+ */
+public final class ImageProbe {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageProbe.class);
+    private static final int FORMAT_VERSION = 1;
+    // The header of the common image formats is at the start, except for large JPEG metadata
+    private static final int PROBE_BYTES = 64 * 1024;
+    private static final long MAX_KEPT_BYTES = 32L * 1024L * 1024L;
+    // The largest image read into memory, the size of a larger one is read from the stream like a normal download
+    private static final int MAX_IMAGE_BYTES = (int) (MAX_KEPT_BYTES / 4);
+    // The URLs are written with writeUTF
+    private static final int MAX_URL_LENGTH = 4096;
+    private static final File CACHE_FILE = new File(FileTools.getCanonicalPath(PropertiesUtil.getProperty("mjb.imageSizeCache.file", "./cache/imagesizes.cache")));
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(PropertiesUtil.getIntProperty("mjb.imageSizeCache.maxAge", 30));
+    private static final ConcurrentMap<String, ImageInfo> SIZES = new ConcurrentHashMap<>();
+    // The whole images that were read for the validation, the least recently used are dropped first
+    private static final Map<String, byte[]> DOWNLOADS = new LinkedHashMap<>(16, 0.75f, true);
+    private static long keptBytes = 0;
+    private static boolean loaded = Boolean.FALSE;
+    private static boolean modified = Boolean.FALSE;
+    private static int hits = 0;
+    private static int misses = 0;
+    private static int reused = 0;
+
+    private ImageProbe() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    /**
+     * The size and the format of an image
+     */
+    public static final class ImageInfo {
+
+        private final int width;
+        private final int height;
+        private final String format;
+        private final long probed;
+
+        private ImageInfo(int width, int height, String format, long probed) {
+            this.width = width;
+            this.height = height;
+            this.format = format;
+            this.probed = probed;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * Get the format name of the image reader, e.g. "JPEG" or "png"
+         *
+         * @return
+         */
+        public String getFormat() {
+            return format;
+        }
+
+        public Dimension getDimension() {
+            return new Dimension(width, height);
+        }
+    }
+
+    /**
+     * Get the size and the format of the image, they are read from the cache or the first bytes of the image
+     *
+     * @param imageUrl
+     * @return the image info or null if the image could not be read
+     */
+    public static ImageInfo getImageInfo(String imageUrl) {
+        if (StringTools.isNotValidString(imageUrl)) {
+            return null;
+        }
+
+        load();
+        ImageInfo info = SIZES.get(imageUrl);
+        if (info != null && System.currentTimeMillis() - info.probed < MAX_AGE) {
+            count(Boolean.TRUE);
+            return info;
+        }
+        count(Boolean.FALSE);
+
+        try {
+            info = probe(imageUrl);
+        } catch (IOException ex) {
+            LOG.debug("Failed to read the size of the image {}: {}", imageUrl, ex.getMessage());
+            return null;
+        }
+
+        if (info != null && imageUrl.length() <= MAX_URL_LENGTH) {
+            SIZES.put(imageUrl, info);
+            synchronized (ImageProbe.class) {
+                modified = Boolean.TRUE;
+            }
+        }
+        return info;
+    }
+
+    /**
+     * Get the size of the image
+     *
+     * @param imageUrl
+     * @return the size or 0x0 if the image could not be read
+     */
+    public static Dimension getDimension(String imageUrl) {
+        ImageInfo info = getImageInfo(imageUrl);
+        return info == null ? new Dimension(0, 0) : info.getDimension();
+    }
+
+    /**
+     * Write the image into the file when the whole image was read for the validation
+     *
+     * @param imageUrl
+     * @param imageFile
+     * @return true if the image was written, false if it has to be downloaded
+     */
+    public static boolean writeDownload(String imageUrl, File imageFile) {
+        byte[] content;
+        synchronized (DOWNLOADS) {
+            content = DOWNLOADS.remove(imageUrl);
+            if (content == null) {
+                return false;
+            }
+            keptBytes -= content.length;
+        }
+
+        try (OutputStream out = new FileOutputStream(imageFile)) {
+            out.write(content);
+        } catch (IOException ex) {
+            LOG.debug("Failed to write the image {} to {}: {}", imageUrl, imageFile.getAbsolutePath(), ex.getMessage());
+            return false;
+        }
+
+        synchronized (ImageProbe.class) {
+            reused++;
+        }
+        LOG.debug("Reused the validated image '{}' for '{}'", imageUrl, imageFile.getAbsolutePath());
+        return true;
+    }
+
+    private static ImageInfo probe(String imageUrl) throws IOException {
+        URL url = new URL(imageUrl.replaceAll(" ", "%20"));
+        if (!url.getProtocol().startsWith("http")) {
+            try (InputStream in = url.openStream()) {
+                return readInfo(in);
+            }
+        }
+
+        // The first bytes are enough most of the time
+        Content content = request(url, Boolean.TRUE);
+        if (content == null) {
+            return null;
+        }
+        if (content.info == null && !content.whole) {
+            content = request(url, Boolean.FALSE);
+            if (content == null) {
+                return null;
+            }
+        }
+
+        if (content.info != null && content.bytes != null) {
+            keep(imageUrl, content.bytes);
+        }
+        return content.info;
+    }
+
+    /**
+     * The image info read from the content sent by the site
+     */
+    private static final class Content {
+
+        private final ImageInfo info;
+        // The whole image when it is small enough to be kept
+        private final byte[] bytes;
+        // False when only the first bytes were sent
+        private final boolean whole;
+
+        private Content(ImageInfo info, byte[] bytes, boolean whole) {
+            this.info = info;
+            this.bytes = bytes;
+            this.whole = whole;
+        }
+    }
+
+    /**
+     * Read the image with the pooled client within the download limits of the host.
+     *
+     * The content is read into memory up to the size of the range or of the largest kept image. The size of a larger image
+     * is read from the stream and the rest of it is not downloaded.
+     *
+     * @param url
+     * @param header only request the first bytes
+     * @return the content or null if the site failed to send it
+     * @throws IOException
+     */
+    private static Content request(URL url, boolean header) throws IOException {
+        HttpGet httpGet = new HttpGet(url.toString());
+        if (header) {
+            httpGet.setHeader(HttpHeaders.RANGE, "bytes=0-" + (PROBE_BYTES - 1));
+        }
+
+        ThreadExecutor.enterIO(url);
+        try {
+            HttpResponse response = YamjHttpClientBuilder.getHttpClient().execute(httpGet);
+            int status = response.getStatusLine().getStatusCode();
+            ThreadExecutor.reportIO(status);
+
+            HttpEntity entity = response.getEntity();
+            if (status != HttpStatus.SC_OK && status != HttpStatus.SC_PARTIAL_CONTENT) {
+                EntityUtils.consumeQuietly(entity);
+                LOG.debug("Image request failed with status {} for URL: {}", status, url);
+                return null;
+            }
+            if (entity == null) {
+                return null;
+            }
+
+            // A site that does not support ranges sends the whole image, it is kept so it can be saved without a second request
+            boolean whole = status == HttpStatus.SC_OK;
+            int limit = whole ? MAX_IMAGE_BYTES : PROBE_BYTES;
+            try (InputStream in = entity.getContent()) {
+                if (entity.getContentLength() <= limit) {
+                    byte[] bytes = readBounded(in, limit);
+                    if (bytes.length <= limit) {
+                        return new Content(readInfo(new ByteArrayInputStream(bytes)), whole ? bytes : null, whole);
+                    }
+                    // The length was not sent
+                    ImageInfo info = readInfo(new SequenceInputStream(new ByteArrayInputStream(bytes), in));
+                    httpGet.abort();
+                    return new Content(info, null, Boolean.TRUE);
+                }
+
+                LOG.trace("Reading the size from the stream of {} bytes for URL: {}", entity.getContentLength(), url);
+                ImageInfo info = readInfo(in);
+                // Do not download the rest when the stream is closed
+                httpGet.abort();
+                return new Content(info, null, Boolean.TRUE);
+            }
+        } finally {
+            ThreadExecutor.leaveIO();
+        }
+    }
+
+    /**
+     * Read the content up to one byte more than the limit
+     *
+     * @param in
+     * @param limit
+     * @return the bytes, longer than the limit if the content is
+     * @throws IOException
+     */
+    private static byte[] readBounded(InputStream in, int limit) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(limit, PROBE_BYTES) + 1);
+        byte[] buffer = new byte[8192];
+        int read;
+        while (out.size() <= limit && (read = in.read(buffer, 0, Math.min(buffer.length, limit + 1 - out.size()))) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Find the image reader from the content and read the size of the first image
+     *
+     * @param in
+     * @return the image info or null if the image could not be read
+     */
+    private static ImageInfo readInfo(InputStream in) {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+            if (iis == null) {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, Boolean.TRUE);
+                return new ImageInfo(reader.getWidth(0), reader.getHeight(0), reader.getFormatName(), System.currentTimeMillis());
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException ex) {
+            // Not an image or not enough of it
+            LOG.trace("Failed to read the image: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    private static void keep(String imageUrl, byte[] content) {
+        if (content.length > MAX_IMAGE_BYTES) {
+            return;
+        }
+
+        synchronized (DOWNLOADS) {
+            byte[] previous = DOWNLOADS.put(imageUrl, content);
+            if (previous != null) {
+                keptBytes -= previous.length;
+            }
+            keptBytes += content.length;
+
+            Iterator<byte[]> iter = DOWNLOADS.values().iterator();
+            while (keptBytes > MAX_KEPT_BYTES && iter.hasNext()) {
+                keptBytes -= iter.next().length;
+                iter.remove();
+            }
+        }
+    }
+
+    private static synchronized void count(boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    /**
+     * Read the cache file if it has not been read yet
+     */
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = Boolean.TRUE;
+
+        if (MAX_AGE <= 0 || !CACHE_FILE.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(CACHE_FILE))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOG.debug("Unknown format of {}, ignored", CACHE_FILE.getName());
+                return;
+            }
+
+            int count = in.readInt();
+            for (int loop = 0; loop < count; loop++) {
+                String imageUrl = in.readUTF();
+                SIZES.put(imageUrl, new ImageInfo(in.readInt(), in.readInt(), in.readUTF(), in.readLong()));
+            }
+            LOG.debug("Read {} image sizes from {}", SIZES.size(), CACHE_FILE.getAbsolutePath());
+        } catch (IOException ex) {
+            LOG.warn("Failed to read the image size cache {}: {}", CACHE_FILE.getAbsolutePath(), ex.getMessage());
+            SIZES.clear();
+        }
+    }
+
+    /**
+     * Remove the old sizes and write the cache file
+     */
+    public static synchronized void saveCache() {
+        if (!loaded) {
+            // Not used during this run
+            return;
+        }
+        LOG.debug("Image size cache: {} hits, {} misses, {} images reused", hits, misses, reused);
+
+        long now = System.currentTimeMillis();
+        Iterator<ImageInfo> iter = SIZES.values().iterator();
+        while (iter.hasNext()) {
+            if (now - iter.next().probed >= MAX_AGE) {
+                iter.remove();
+                modified = Boolean.TRUE;
+            }
+        }
+
+        if (!modified || MAX_AGE <= 0) {
+            return;
+        }
+
+        FileTools.makeDirsForFile(CACHE_FILE);
+        File tempFile = new File(CACHE_FILE.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+            Map<String, ImageInfo> sizes = new LinkedHashMap<>(SIZES);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(sizes.size());
+            for (Map.Entry<String, ImageInfo> entry : sizes.entrySet()) {
+                ImageInfo info = entry.getValue();
+                out.writeUTF(entry.getKey());
+                out.writeInt(info.width);
+                out.writeInt(info.height);
+                out.writeUTF(StringUtils.defaultString(info.format));
+                out.writeLong(info.probed);
+            }
+        } catch (IOException ex) {
+            LOG.warn("Failed to write the image size cache {}: {}", CACHE_FILE.getAbsolutePath(), ex.getMessage());
+            tempFile.delete();
+            return;
+        }
+
+        if (CACHE_FILE.exists() && !CACHE_FILE.delete()) {
+            LOG.warn("Failed to replace the image size cache {}", CACHE_FILE.getAbsolutePath());
+            tempFile.delete();
+            return;
+        }
+        if (tempFile.renameTo(CACHE_FILE)) {
+            modified = Boolean.FALSE;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
+
+/**
+ * Image scaling with Graphics2D, the fast replacement of Image.getScaledInstance with SCALE_SMOOTH
+ *
+ * Large reductions are done in steps that halve the image with bilinear interpolation, which averages the pixels like the smooth
+ * scaling does, the last step uses bicubic interpolation. The steps alternate between two integer RGB or ARGB buffers, the
+ * later steps only use the top left part of them. Each thread keeps its buffers up to the first step of a poster through a soft
+ * reference, so they can be reclaimed when memory is short.
+ */
+public final class ImageScaler {
+
+    // Covers the 1000x1500 first step of a 2000x3000 poster, larger step buffers are allocated for each call and not kept
+    private static final int MAX_SCRATCH_PIXELS = 1500000;
+    private static final ThreadLocal<SoftReference<BufferedImage[]>> SCRATCH = new ThreadLocal<>();
+
+    private ImageScaler() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    /**
+     * Scale the image to a new ARGB image of the size
+     *
+     * @param source
+     * @param width
+     * @param height
+     * @return
+     */
+    public static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        drawScaled(source, target, 0, 0, width, height);
+        return target;
+    }
+
+    /**
+     * Scale the image and draw it at the position of the target image
+     *
+     * @param source
+     * @param target
+     * @param x
+     * @param y
+     * @param width
+     * @param height
+     */
+    public static void drawScaled(BufferedImage source, BufferedImage target, int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Width (" + width + ") and height (" + height + ") must be > 0");
+        }
+
+        int type = source.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        BufferedImage[] buffers = null;
+        int buffer = 0;
+
+        // Halve the image while it is at least twice the size of the target
+        while (currentWidth >= width * 2 || currentHeight >= height * 2) {
+            int stepWidth = Math.max(currentWidth / 2, width);
+            int stepHeight = Math.max(currentHeight / 2, height);
+            if (buffers == null) {
+                buffers = getScratch(type, stepWidth, stepHeight);
+            }
+            if (buffers[buffer] == null) {
+                buffers[buffer] = new BufferedImage(stepWidth, stepHeight, type);
+            }
+            BufferedImage scratch = buffers[buffer];
+
+            Graphics2D g2d = scratch.createGraphics();
+            try {
+                g2d.setComposite(AlphaComposite.Src);
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g2d.drawImage(current, 0, 0, stepWidth, stepHeight, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g2d.dispose();
+            }
+
+            current = scratch;
+            currentWidth = stepWidth;
+            currentHeight = stepHeight;
+            buffer = 1 - buffer;
+        }
+
+        Graphics2D g2d = target.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, x, y, x + width, y + height, 0, 0, currentWidth, currentHeight, null);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Get the two step buffers for the size of the first step
+     *
+     * The buffers of the thread are only used when they have the type and are large enough, the buffers of larger images are
+     * allocated when the steps need them.
+     *
+     * @param type
+     * @param width
+     * @param height
+     * @return
+     */
+    private static BufferedImage[] getScratch(int type, int width, int height) {
+        if ((long) width * height > MAX_SCRATCH_PIXELS) {
+            return new BufferedImage[2];
+        }
+
+        SoftReference<BufferedImage[]> reference = SCRATCH.get();
+        BufferedImage[] buffers = reference == null ? null : reference.get();
+        if (buffers == null || buffers[0].getType() != type || buffers[0].getWidth() < width || buffers[0].getHeight() < height) {
+            int scratchWidth = width;
+            int scratchHeight = height;
+            if (buffers != null && buffers[0].getType() == type
+                    && (long) Math.max(width, buffers[0].getWidth()) * Math.max(height, buffers[0].getHeight()) <= MAX_SCRATCH_PIXELS) {
+                scratchWidth = Math.max(width, buffers[0].getWidth());
+                scratchHeight = Math.max(height, buffers[0].getHeight());
+            }
+            buffers = new BufferedImage[]{new BufferedImage(scratchWidth, scratchHeight, type), new BufferedImage(scratchWidth, scratchHeight, type)};
+            SCRATCH.set(new SoftReference<>(buffers));
+        }
+        return buffers;
+    }
+}
@@ -0,0 +1,351 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.stream.XMLStreamException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The documents of the jukebox XML files read during the last run, so the files that have not changed are not parsed again.
+ *
+ * The snapshot is written during the run with the documents read from the XML files and the ones taken from the previous
+ * snapshot, the index is added at the end of the run. The previous snapshot is mapped in memory and a document is only used
+ * when the modification time and the length of its file are the same as when it was read.
+ */
+public final class JukeboxSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JukeboxSnapshot.class);
+    private static final int FORMAT_VERSION = 1;
+    // The position of the index and the format version at the end of the file
+    private static final int FOOTER_SIZE = 12;
+    private static final boolean ENABLED = PropertiesUtil.getBooleanProperty("mjb.snapshot", Boolean.FALSE);
+    private static final JukeboxSnapshot JUKEBOX_SNAPSHOT = new JukeboxSnapshot(new File(FileTools.getCanonicalPath(PropertiesUtil.getProperty("mjb.snapshot.file", "./cache/jukebox.snapshot"))));
+    private final File snapshotFile;
+    // The snapshot being written during the run
+    private final File tempFile;
+    // A complete snapshot that could not replace the mapped one, it is moved in place by the next run
+    private final File newFile;
+    // The documents of the previous snapshot
+    private final Map<String, Entry> previous = new HashMap<>();
+    // The documents written to the new snapshot
+    private final Map<String, Entry> written = new LinkedHashMap<>();
+    private ByteBuffer snapshot = null;
+    private DataOutputStream output = null;
+    private long outputSize = 0;
+    private boolean loaded = Boolean.FALSE;
+    private boolean failed = Boolean.FALSE;
+    private boolean saved = Boolean.FALSE;
+    private int hits = 0;
+    private int misses = 0;
+
+    /**
+     * The snapshot of a run, kept in the snapshot file
+     *
+     * @param snapshotFile
+     */
+    JukeboxSnapshot(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+        this.tempFile = new File(snapshotFile.getAbsolutePath() + ".tmp");
+        this.newFile = new File(snapshotFile.getAbsolutePath() + ".new");
+    }
+
+    /**
+     * Get the document of the jukebox XML file from the snapshot or read it from the file
+     *
+     * @param xmlFile
+     * @return the document
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    public static XMLStreamElement readDocument(File xmlFile) throws IOException, XMLStreamException {
+        if (!ENABLED) {
+            return XMLStreamElement.readDocument(xmlFile);
+        }
+        return JUKEBOX_SNAPSHOT.read(xmlFile);
+    }
+
+    /**
+     * Add the index to the snapshot of this run and replace the previous one.
+     *
+     * Called at the end of the run, the documents read after it are not kept.
+     */
+    public static void saveSnapshot() {
+        JUKEBOX_SNAPSHOT.save();
+    }
+
+    /**
+     * Get the document of the jukebox XML file from the previous snapshot or read it from the file, and add it to the
+     * snapshot of this run
+     *
+     * @param xmlFile
+     * @return the document
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    XMLStreamElement read(File xmlFile) throws IOException, XMLStreamException {
+        String path = xmlFile.getAbsolutePath();
+        // Get the stamp before the file is read, a change during the read is found by the next run
+        long lastModified = xmlFile.lastModified();
+        long length = xmlFile.length();
+
+        ByteBuffer data = getData(path, lastModified, length);
+        if (data != null) {
+            try {
+                XMLStreamElement document = XMLStreamElement.readBinary(data.duplicate());
+                byte[] bytes = new byte[data.remaining()];
+                data.get(bytes);
+                write(path, lastModified, length, bytes);
+                return document;
+            } catch (IOException ex) {
+                LOG.debug("Invalid snapshot of {}: {}", xmlFile.getName(), ex.getMessage());
+            }
+        }
+
+        XMLStreamElement document = XMLStreamElement.readDocument(xmlFile);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            document.writeBinary(out);
+        }
+        write(path, lastModified, length, bytes.toByteArray());
+        return document;
+    }
+
+    /**
+     * Get the data of the document if the file has not changed since it was saved
+     *
+     * @return the data or null
+     */
+    private synchronized ByteBuffer getData(String path, long lastModified, long length) {
+        load();
+
+        Entry entry = previous.get(path);
+        if (snapshot == null || entry == null || entry.lastModified != lastModified || entry.length != length) {
+            misses++;
+            return null;
+        }
+        hits++;
+
+        ByteBuffer data = snapshot.duplicate();
+        data.limit(entry.offset + entry.size);
+        data.position(entry.offset);
+        return data.slice();
+    }
+
+    /**
+     * Add the data of the document to the new snapshot
+     */
+    private synchronized void write(String path, long lastModified, long length, byte[] data) {
+        if (failed || saved || written.containsKey(path)) {
+            return;
+        }
+        if (outputSize + data.length > Integer.MAX_VALUE - FOOTER_SIZE) {
+            // The snapshot is mapped with a single buffer
+            return;
+        }
+
+        try {
+            if (output == null) {
+                FileTools.makeDirsForFile(tempFile);
+                output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+                output.writeInt(FORMAT_VERSION);
+                outputSize = 4;
+            }
+            output.write(data);
+        } catch (IOException ex) {
+            LOG.warn("Failed to write the jukebox snapshot {}: {}", tempFile.getAbsolutePath(), ex.getMessage());
+            closeOutput();
+            tempFile.delete();
+            failed = Boolean.TRUE;
+            return;
+        }
+
+        written.put(path, new Entry(lastModified, length, (int) outputSize, data.length));
+        outputSize += data.length;
+    }
+
+    /**
+     * Map the previous snapshot if it has not been read yet
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = Boolean.TRUE;
+
+        if (newFile.exists() && (!snapshotFile.exists() || snapshotFile.delete()) && !newFile.renameTo(snapshotFile)) {
+            LOG.debug("Failed to replace the jukebox snapshot with {}", newFile.getName());
+        }
+        if (!snapshotFile.exists()) {
+            return;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "r");
+                FileChannel channel = file.getChannel()) {
+            long size = channel.size();
+            if (size < 4 + FOOTER_SIZE || size > Integer.MAX_VALUE) {
+                LOG.debug("Invalid size of {}, ignored", snapshotFile.getName());
+                return;
+            }
+
+            // The mapping stays valid when the channel is closed
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            long indexOffset = mapped.getLong((int) size - FOOTER_SIZE);
+            if (mapped.getInt(0) != FORMAT_VERSION || mapped.getInt((int) size - 4) != FORMAT_VERSION
+                    || indexOffset < 4 || indexOffset > size - FOOTER_SIZE) {
+                LOG.debug("Unknown format of {}, ignored", snapshotFile.getName());
+                return;
+            }
+
+            ByteBuffer index = mapped.duplicate();
+            index.limit((int) size - FOOTER_SIZE);
+            index.position((int) indexOffset);
+            int count = index.getInt();
+            for (int loop = 0; loop < count; loop++) {
+                byte[] path = new byte[index.getInt()];
+                index.get(path);
+                Entry entry = new Entry(index.getLong(), index.getLong(), index.getInt(), index.getInt());
+                if (entry.offset < 4 || entry.size < 0 || entry.offset + (long) entry.size > indexOffset) {
+                    throw new IOException("Invalid entry");
+                }
+                previous.put(new String(path, StandardCharsets.UTF_8), entry);
+            }
+
+            snapshot = mapped;
+            LOG.debug("Read the index of {} documents from {}", previous.size(), snapshotFile.getAbsolutePath());
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException ex) {
+            LOG.warn("Failed to read the jukebox snapshot {}: {}", snapshotFile.getAbsolutePath(), ex.getMessage());
+            previous.clear();
+        }
+    }
+
+    /**
+     * Add the index to the new snapshot and replace the previous one.
+     *
+     * Only the documents read during this run are kept, so the files that are no longer in the jukebox are dropped.
+     */
+    synchronized void save() {
+        if (!loaded) {
+            // Not used during this run
+            return;
+        }
+        LOG.debug("Jukebox snapshot: {} documents reused, {} files parsed", hits, misses);
+        saved = Boolean.TRUE;
+
+        if (output == null) {
+            return;
+        }
+
+        try {
+            output.writeInt(written.size());
+            for (Map.Entry<String, Entry> document : written.entrySet()) {
+                byte[] path = document.getKey().getBytes(StandardCharsets.UTF_8);
+                Entry entry = document.getValue();
+                output.writeInt(path.length);
+                output.write(path);
+                output.writeLong(entry.lastModified);
+                output.writeLong(entry.length);
+                output.writeInt(entry.offset);
+                output.writeInt(entry.size);
+            }
+            output.writeLong(outputSize);
+            output.writeInt(FORMAT_VERSION);
+            output.close();
+        } catch (IOException ex) {
+            LOG.warn("Failed to write the jukebox snapshot {}: {}", tempFile.getAbsolutePath(), ex.getMessage());
+            closeOutput();
+            tempFile.delete();
+            return;
+        } finally {
+            output = null;
+            written.clear();
+            previous.clear();
+            snapshot = null;
+        }
+
+        if (snapshotFile.exists() && !snapshotFile.delete()) {
+            // The previous snapshot can still be mapped on some systems
+            newFile.delete();
+            if (!tempFile.renameTo(newFile)) {
+                LOG.warn("Failed to replace the jukebox snapshot {}", snapshotFile.getAbsolutePath());
+                tempFile.delete();
+            }
+            return;
+        }
+        if (!tempFile.renameTo(snapshotFile)) {
+            LOG.warn("Failed to replace the jukebox snapshot {}", snapshotFile.getAbsolutePath());
+            tempFile.delete();
+        }
+    }
+
+    synchronized int getHits() {
+        return hits;
+    }
+
+    synchronized int getMisses() {
+        return misses;
+    }
+
+    private void closeOutput() {
+        if (output != null) {
+            try {
+                output.close();
+            } catch (IOException ex) {
+                LOG.trace("Failed to close {}: {}", tempFile.getName(), ex.getMessage());
+            }
+            output = null;
+        }
+    }
+
+    /**
+     * The stamp of the file and the position of its document in the snapshot
+     */
+    private static final class Entry {
+
+        private final long lastModified;
+        private final long length;
+        private final int offset;
+        private final int size;
+
+        Entry(long lastModified, long length, int offset, int size) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import static com.moviejukebox.tools.StringTools.isNotValidString;
+import static com.moviejukebox.tools.StringTools.isValidString;
+
+import com.moviejukebox.model.Filmography;
+import com.moviejukebox.model.Movie;
+import com.moviejukebox.model.Person;
+import com.moviejukebox.model.enumerations.DirtyFlag;
+import java.util.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Update the people of the videos with the information of the scanned people and link the filmography of the scanned people to
+ * the videos.
+ *
+ * The people names, the filmography and the videos are indexed by name and ID once, so every match is a hash look up instead of
+ * a scan of all the people or videos. The matching rules are the same as Filmography.comparePersonName and
+ * Filmography.compareMovieAndFilm, including the order of the matches.
+ */
+public class PeopleReconciler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PeopleReconciler.class);
+    private static final char KEY_SEPARATOR = '\u0000';
+    private final List<Movie> movies;
+    private final List<Person> people;
+    // The position of the people (in library order) for each name, title, aka and ID
+    private final Map<String, List<Integer>> personNameIndex = new HashMap<>();
+    private final Map<String, List<Integer>> personIdIndex = new HashMap<>();
+    // The filmography of the people for each name, title and ID
+    private final Map<String, Set<FilmEntry>> filmNameIndex = new HashMap<>();
+    private final Map<String, Set<FilmEntry>> filmIdIndex = new HashMap<>();
+
+    /**
+     * Create the reconciler
+     *
+     * @param movies the videos to update, in library order
+     * @param people the scanned people, in library order
+     */
+    public PeopleReconciler(Collection<Movie> movies, Collection<Person> people) {
+        this.movies = new ArrayList<>(movies);
+        this.people = new ArrayList<>(people);
+    }
+
+    /**
+     * Update the videos and the people
+     */
+    public void reconcile() {
+        buildIndexes();
+
+        for (Movie movie : movies) {
+            updateMoviePeople(movie);
+            updateFilmography(movie);
+        }
+
+        clearMissingFilmography();
+    }
+
+    private void buildIndexes() {
+        for (int position = 0; position < people.size(); position++) {
+            Person person = people.get(position);
+
+            addPosition(personNameIndex, caseKey(person.getName()), position);
+            addPosition(personNameIndex, caseKey(person.getTitle()), position);
+            for (String aka : person.getAka()) {
+                addPosition(personNameIndex, caseKey(aka), position);
+            }
+            for (Map.Entry<String, String> id : person.getIdMap().entrySet()) {
+                if (isValidString(id.getValue())) {
+                    addPosition(personIdIndex, idKey(id.getKey(), id.getValue()), position);
+                }
+            }
+
+            List<Filmography> filmography = person.getFilmography();
+            for (int filmPosition = 0; filmPosition < filmography.size(); filmPosition++) {
+                FilmEntry entry = new FilmEntry(position, filmPosition, filmography.get(filmPosition));
+                addEntry(filmNameIndex, caseKey(entry.film.getName()), entry);
+                addEntry(filmNameIndex, caseKey(entry.film.getTitle()), entry);
+                for (Map.Entry<String, String> id : entry.film.getIdMap().entrySet()) {
+                    if (isValidString(id.getValue())) {
+                        addEntry(filmIdIndex, idKey(id.getKey(), id.getValue()), entry);
+                    }
+                }
+            }
+        }
+        LOG.debug("Indexed {} people with {} names and {} IDs", people.size(), personNameIndex.size(), personIdIndex.size());
+    }
+
+    /**
+     * Copy the information from the first matching scanned person to each of the video people
+     *
+     * @param movie
+     */
+    private void updateMoviePeople(Movie movie) {
+        for (Filmography moviePerson : movie.getPeople()) {
+            Person person = findPerson(moviePerson);
+            if (person == null) {
+                continue;
+            }
+
+            boolean dirty = Boolean.FALSE;
+            if (!moviePerson.getFilename().equals(person.getFilename()) && isValidString(person.getFilename())) {
+                moviePerson.setFilename(person.getFilename());
+                dirty = Boolean.TRUE;
+            }
+            if (!moviePerson.getUrl().equals(person.getUrl()) && isValidString(person.getUrl())) {
+                moviePerson.setUrl(person.getUrl());
+                dirty = Boolean.TRUE;
+            }
+            for (Map.Entry<String, String> e : person.getIdMap().entrySet()) {
+                if (isNotValidString(e.getValue())) {
+                    continue;
+                }
+
+                if (moviePerson.getId(e.getKey()).equals(e.getValue())) {
+                    continue;
+                }
+
+                moviePerson.setId(e.getKey(), e.getValue());
+                dirty = Boolean.TRUE;
+            }
+
+            if (!moviePerson.getPhotoFilename().equals(person.getPhotoFilename()) && isValidString(person.getPhotoFilename())) {
+                moviePerson.setPhotoFilename(person.getPhotoFilename());
+                dirty = Boolean.TRUE;
+            }
+
+            if (dirty) {
+                movie.setDirty(DirtyFlag.INFO, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Find the first scanned person that matches the video person by name or ID
+     *
+     * @param moviePerson
+     * @return the person or null if there is no match
+     */
+    private Person findPerson(Filmography moviePerson) {
+        int first = Integer.MAX_VALUE;
+        first = firstPosition(personNameIndex.get(caseKey(moviePerson.getName())), first);
+        first = firstPosition(personNameIndex.get(caseKey(moviePerson.getTitle())), first);
+        for (Map.Entry<String, String> id : moviePerson.getIdMap().entrySet()) {
+            if (isValidString(id.getValue())) {
+                first = firstPosition(personIdIndex.get(idKey(id.getKey(), id.getValue())), first);
+            }
+        }
+        return first == Integer.MAX_VALUE ? null : people.get(first);
+    }
+
+    /**
+     * Link the first matching film of each person to the video
+     *
+     * @param movie
+     */
+    private void updateFilmography(Movie movie) {
+        // Find the first matching film of each person
+        SortedMap<Integer, FilmEntry> matches = new TreeMap<>();
+        addMatches(matches, filmNameIndex.get(caseKey(movie.getOriginalTitle())));
+        addMatches(matches, filmNameIndex.get(caseKey(movie.getTitle())));
+        for (Map.Entry<String, String> id : movie.getIdMap().entrySet()) {
+            if (isValidString(id.getValue())) {
+                addMatches(matches, filmIdIndex.get(idKey(id.getKey(), id.getValue())));
+            }
+        }
+
+        for (FilmEntry entry : matches.values()) {
+            String oldTitleKey = caseKey(entry.film.getTitle());
+
+            entry.film.setFilename(movie.getBaseName());
+            entry.film.setTitle(movie.getTitle());
+            if (entry.film.isDirty()) {
+                people.get(entry.personPosition).setDirty();
+            }
+
+            // The title is used for the matching of the following videos
+            String newTitleKey = caseKey(entry.film.getTitle());
+            if (!Objects.equals(oldTitleKey, newTitleKey)) {
+                String nameKey = caseKey(entry.film.getName());
+                if (!Objects.equals(oldTitleKey, nameKey)) {
+                    removeEntry(filmNameIndex, oldTitleKey, entry);
+                }
+                addEntry(filmNameIndex, newTitleKey, entry);
+            }
+        }
+    }
+
+    /**
+     * Clear the filename of any filmography that is not changed and no longer matches a video
+     */
+    private void clearMissingFilmography() {
+        Set<String> movieNames = new HashSet<>();
+        Set<String> movieIds = new HashSet<>();
+        for (Movie movie : movies) {
+            movieNames.add(caseKey(movie.getOriginalTitle()));
+            movieNames.add(caseKey(movie.getTitle()));
+            for (Map.Entry<String, String> id : movie.getIdMap().entrySet()) {
+                if (isValidString(id.getValue())) {
+                    movieIds.add(idKey(id.getKey(), id.getValue()));
+                }
+            }
+        }
+        movieNames.remove(null);
+
+        for (Person person : people) {
+            for (Filmography film : person.getFilmography()) {
+                if (film.isDirty() || isNotValidString(film.getFilename())) {
+                    continue;
+                }
+
+                if (!matchesMovie(film, movieNames, movieIds)) {
+                    film.clearFilename();
+                    person.setDirty();
+                }
+            }
+        }
+    }
+
+    private static boolean matchesMovie(Filmography film, Set<String> movieNames, Set<String> movieIds) {
+        for (Map.Entry<String, String> id : film.getIdMap().entrySet()) {
+            if (isValidString(id.getValue()) && movieIds.contains(idKey(id.getKey(), id.getValue()))) {
+                return true;
+            }
+        }
+        return movieNames.contains(caseKey(film.getName())) || movieNames.contains(caseKey(film.getTitle()));
+    }
+
+    private static void addMatches(SortedMap<Integer, FilmEntry> matches, Set<FilmEntry> entries) {
+        if (entries == null) {
+            return;
+        }
+
+        for (FilmEntry entry : entries) {
+            FilmEntry current = matches.get(entry.personPosition);
+            if (current == null || entry.filmPosition < current.filmPosition) {
+                matches.put(entry.personPosition, entry);
+            }
+        }
+    }
+
+    private static int firstPosition(List<Integer> positions, int first) {
+        if (positions == null || positions.isEmpty()) {
+            return first;
+        }
+        // The positions are added in order, so the first is the lowest
+        return Math.min(positions.get(0), first);
+    }
+
+    private static void addPosition(Map<String, List<Integer>> index, String key, int position) {
+        if (key == null) {
+            return;
+        }
+
+        List<Integer> positions = index.get(key);
+        if (positions == null) {
+            positions = new ArrayList<>(1);
+            index.put(key, positions);
+        } else if (positions.get(positions.size() - 1) == position) {
+            return;
+        }
+        positions.add(position);
+    }
+
+    private static void addEntry(Map<String, Set<FilmEntry>> index, String key, FilmEntry entry) {
+        if (key == null) {
+            return;
+        }
+
+        Set<FilmEntry> entries = index.get(key);
+        if (entries == null) {
+            entries = new HashSet<>(2);
+            index.put(key, entries);
+        }
+        entries.add(entry);
+    }
+
+    private static void removeEntry(Map<String, Set<FilmEntry>> index, String key, FilmEntry entry) {
+        if (key == null) {
+            return;
+        }
+
+        Set<FilmEntry> entries = index.get(key);
+        if (entries != null) {
+            entries.remove(entry);
+        }
+    }
+
+    /**
+     * Create a key where two strings have the same key if they are equal ignoring case (the same rules as
+     * String.equalsIgnoreCase)
+     *
+     * @param value
+     * @return the key or null if the value is null
+     */
+    private static String caseKey(String value) {
+        if (value == null) {
+            return null;
+        }
+
+        char[] chars = value.toCharArray();
+        for (int pos = 0; pos < chars.length; pos++) {
+            chars[pos] = Character.toLowerCase(Character.toUpperCase(chars[pos]));
+        }
+        return new String(chars);
+    }
+
+    private static String idKey(String idType, String id) {
+        return idType + KEY_SEPARATOR + id;
+    }
+
+    /**
+     * A film of a person and its position in the person's filmography
+     */
+    private static final class FilmEntry {
+
+        private final int personPosition;
+        private final int filmPosition;
+        private final Filmography film;
+
+        FilmEntry(int personPosition, int filmPosition, Filmography film) {
+            this.personPosition = personPosition;
+            this.filmPosition = filmPosition;
+            this.film = film;
+        }
+    }
+}
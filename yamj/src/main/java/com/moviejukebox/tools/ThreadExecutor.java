@@ -22,70 +22,41 @@
  */
 package com.moviejukebox.tools;
 
+import java.io.InterruptedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Queue;
 import java.util.Stack;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ThreadExecutor<T> implements ThreadFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(ThreadExecutor.class);
-    private final Collection<Future<T>> values = new ArrayList<>(100);
+    // The tasks are also submitted by running tasks, see submitNext
+    private final Queue<Future<T>> values = new ConcurrentLinkedQueue<>();
     private ThreadPoolExecutor pool = null;
     private BlockingQueue<Runnable> queue = null;
     private final int threadsRun, threadsIo, threadsTotal;
+    private final boolean downloadThreads;
     private final boolean ignoreErrors = true;
     private Semaphore runningThreads, ioThreads;
-    private static final Map<String, String> HOST_GROUP = new HashMap<>();
-    private static final Map<String, Semaphore> GROUP_LIMITS = new HashMap<>();
-
-    /**
-     * Handle IO slots allocation to avoid throttling / ban on source sites
-     * <p>
-     * Find the proper semaphore for each host:<br/>
-     * - Map each unique host to a group (hostgrp)<br/>
-     * - Max each group (rule) to a semaphore
-     *
-     * @author Gabriel Corneanu
-     */
-    static {
-        // First we have to read/create the rules
-        // Default, can be overridden
-        GROUP_LIMITS.put(".*", new Semaphore(1));
-        String limitsProperty = PropertiesUtil.getProperty("mjb.MaxDownloadSlots", ".*=1");
-        LOG.debug("Using download limits: {}", limitsProperty);
-
-        Pattern semaphorePattern = Pattern.compile(",?\\s*([^=]+)=(\\d+)");
-        Matcher semaphoreMatcher = semaphorePattern.matcher(limitsProperty);
-        while (semaphoreMatcher.find()) {
-            String group = semaphoreMatcher.group(1);
-            try {
-                Pattern.compile(group);
-                LOG.debug("{}={}", group, semaphoreMatcher.group(2));
-                GROUP_LIMITS.put(group, new Semaphore(Integer.parseInt(semaphoreMatcher.group(2))));
-            } catch (NumberFormatException error) {
-                LOG.debug("Rule '{}' is not valid regexp, ignored", group);
-            }
-        }
-    }
 
     /**
      * Helper class Encapsulates a fixed thread pool ExecutorService Saves
@@ -101,19 +72,38 @@ public class ThreadExecutor<T> implements ThreadFactory {
      * @param threadsIo
      */
     public ThreadExecutor(int threadsRun, int threadsIo) {
+        this(threadsRun, threadsIo, false);
+    }
+
+    /**
+     * Create the executor with a thread for each processing and downloading slot.
+     *
+     * The processing slots still limit the tasks that use the CPU, but the tasks waiting for a web site do not keep the
+     * other tasks from running. Without the download threads only the processing threads are started and the downloading
+     * slots are used by them.
+     *
+     * @param threadsRun
+     * @param threadsIo
+     * @param downloadThreads
+     */
+    public ThreadExecutor(int threadsRun, int threadsIo, boolean downloadThreads) {
         this.threadsRun = threadsRun;
         this.threadsIo = threadsIo <= 0 ? threadsRun : threadsIo;
+        this.downloadThreads = downloadThreads;
         threadsTotal = this.threadsRun + this.threadsIo;
         restart();
     }
 
     /*
      * Thread descendant class used for our execution scheduling
+     * The download threads have no running and io semaphores, they only keep the limits of the hosts
      */
     private static final class ScheduledThread extends Thread {
 
         private final Semaphore sRun, sIo;
-        private Semaphore sIotarget;
+        private HostLimiter ioHost;
+        private long ioStart;
+        private int ioStatus;
         private final Stack<String> hosts = new Stack<>();
 
         private ScheduledThread(Runnable r, Semaphore sRun, Semaphore sIo) {
@@ -122,17 +112,7 @@ public class ThreadExecutor<T> implements ThreadFactory {
             this.sIo = sIo;
         }
 
-        @Override
-        public void run() {
-            sRun.acquireUninterruptibly();
-            try {
-                super.run();
-            } finally {
-                sRun.release();
-            }
-        }
-
-        private void enterIO(URL url) {
+        private void enterIO(URL url) throws InterruptedIOException {
             String host = url.getHost().toLowerCase();
 
             if (!hosts.empty()) {
@@ -143,37 +123,37 @@ public class ThreadExecutor<T> implements ThreadFactory {
                 hosts.push(host);
                 return;
             }
-            String semaphoreGroup;
-            synchronized (HOST_GROUP) {
-                semaphoreGroup = HOST_GROUP.get(host);
-                // first time not found, search for matching group
-                if (semaphoreGroup == null) {
-                    semaphoreGroup = ".*";
-                    for (String searchGroup : GROUP_LIMITS.keySet()) {
-                        if (host.matches(searchGroup)) {
-                            if (searchGroup.length() > semaphoreGroup.length()) {
-                                semaphoreGroup = searchGroup;
-                            }
-                        }
-                    }
-                    LOG.debug("IO download host: {}; rule: {}", host, semaphoreGroup);
-                    HOST_GROUP.put(host, semaphoreGroup);
-                }
-            }
 
             // there should be NO way to fail
-            //String dbgstr = "host="+host+"; thread="+getName();
-            //logger.finest("ThreadExecutor: Try EnterIO: "+dbgstr);
-            Semaphore s = GROUP_LIMITS.get(semaphoreGroup);
-            sIotarget = s;
-            sRun.release(); // exit running state; another thread might be released;
-            sIotarget.acquireUninterruptibly(); // aquire URL target semaphore
+            ioHost = HostLimiter.getHost(host);
+            if (sRun != null) {
+                sRun.release(); // exit running state; another thread might be released;
+            }
+            try {
+                ioHost.acquire(); // wait for a slot and the rate of the host
+            } catch (InterruptedIOException ex) {
+                // no slot taken, the caller does not leave the io state
+                ioHost = null;
+                if (sRun != null) {
+                    sRun.acquireUninterruptibly(); //back to running state
+                }
+                throw ex;
+            }
             hosts.push(host);
-            sIo.acquireUninterruptibly(); // enter io state
-            //logger.finest("ThreadExecutor: EnterIO done: "+dbgstr);
+            if (sIo != null) {
+                sIo.acquireUninterruptibly(); // enter io state
+            }
+            ioStart = System.nanoTime();
+            ioStatus = HostLimiter.STATUS_OK;
             //ready to go...
         }
 
+        private void reportIO(int status) {
+            if (!hosts.empty()) {
+                ioStatus = status;
+            }
+        }
+
         private void leaveIO() {
             if (hosts.empty()) {
                 LOG.info(SystemTools.getStackTrace(new Throwable("ThreadExecutor: Unbalanced LeaveIO call.")));
@@ -187,17 +167,39 @@ public class ThreadExecutor<T> implements ThreadFactory {
                 return;
             }
 
-            //String dbgstr = "host="+host+"; thread="+getName();
-            sIotarget.release();
-            sIo.release();
-            sIotarget = null;
-            //logger.finest("ThreadExecutor: Try LeaveIO: "+dbgstr);
-            sRun.acquireUninterruptibly(); //back to running state
-            //logger.finest("ThreadExecutor: LeaveIO done: "+dbgstr);
+            ioHost.release(System.nanoTime() - ioStart, ioStatus);
+            ioHost = null;
+            if (sIo != null) {
+                sIo.release();
+                sRun.acquireUninterruptibly(); //back to running state
+            }
         }
     }
 
-    public static void enterIO(URL url) {
+    /**
+     * Create the threads for the downloads a task starts besides its own work.
+     *
+     * The threads keep the limits of the hosts, but do not take processing or downloading slots, the task that waits for
+     * them already has one.
+     *
+     * @param name the name of the threads
+     * @return
+     */
+    public static ThreadFactory downloadThreadFactory(final String name) {
+        return new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new ScheduledThread(r, null, null);
+                thread.setName(name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    public static void enterIO(URL url) throws InterruptedIOException {
         if (!(Thread.currentThread() instanceof ScheduledThread)) {
             // logger.info(getStackTrace(new Throwable("ThreadExecutor: Unmanaged thread call to EnterIO; ignored.")));
             // If this isn't a managed thread, then just exit.
@@ -206,7 +208,7 @@ public class ThreadExecutor<T> implements ThreadFactory {
         ((ScheduledThread) Thread.currentThread()).enterIO(url);
     }
 
-    public static void enterIO(String url) {
+    public static void enterIO(String url) throws InterruptedIOException {
         URL u;
         try {
             u = new URL(url);
@@ -231,6 +233,17 @@ public class ThreadExecutor<T> implements ThreadFactory {
         ((ScheduledThread) Thread.currentThread()).leaveIO();
     }
 
+    /**
+     * Tell the download limits how the host answered the current request
+     *
+     * @param status the HTTP status of the answer or HostLimiter.STATUS_TIMEOUT
+     */
+    public static void reportIO(int status) {
+        if (Thread.currentThread() instanceof ScheduledThread) {
+            ((ScheduledThread) Thread.currentThread()).reportIO(status);
+        }
+    }
+
     @Override
     public Thread newThread(Runnable r) {
         return new ScheduledThread(r, runningThreads, ioThreads);
@@ -247,10 +260,23 @@ public class ThreadExecutor<T> implements ThreadFactory {
         queue = new ArrayBlockingQueue<>(100);
 //        queue = new LinkedBlockingQueue<Runnable>();
         //allow more threads, they are managed by semaphores
-        pool = new ThreadPoolExecutor(threadsRun, 2 * threadsTotal,
+        //the pool only grows over the core threads when the queue is full, so the download threads have to be core threads
+        final Semaphore running = runningThreads;
+        pool = new ThreadPoolExecutor(downloadThreads ? threadsTotal : threadsRun, 2 * threadsTotal,
                 100, TimeUnit.MILLISECONDS,
                 queue,
-                this);
+                this) {
+            // The running state is taken for each task, an idle thread waiting for the queue must not keep it
+            @Override
+            protected void beforeExecute(Thread t, Runnable r) {
+                running.acquireUninterruptibly();
+            }
+
+            @Override
+            protected void afterExecute(Runnable r, Throwable t) {
+                running.release();
+            }
+        };
     }
 
     public void submit(Callable<T> c) throws InterruptedException {
@@ -263,15 +289,40 @@ public class ThreadExecutor<T> implements ThreadFactory {
         values.add(pool.submit(c));
     }
 
+    /**
+     * Submit the next stage of a running task, so the item continues as soon as its own work is done instead of waiting for
+     * all the tasks of the current stage.
+     *
+     * The queue is shared with the first stage, when it is full the next stage is run by the calling thread. Waiting for
+     * space like submit does could block all the threads of the pool.
+     *
+     * @param c
+     */
+    public void submitNext(Callable<T> c) {
+        if (queue.remainingCapacity() > 0) {
+            try {
+                values.add(pool.submit(c));
+                return;
+            } catch (RejectedExecutionException ex) {
+                LOG.trace("Queue is full, running the next stage in the current thread");
+            }
+        }
+
+        FutureTask<T> task = new FutureTask<>(c);
+        values.add(task);
+        task.run();
+    }
+
     public void submit(Runnable r) throws InterruptedException {
         T result = null;
         submit(Executors.callable(r, result));
     }
 
     public List<T> waitForValues() throws Throwable {
-        pool.shutdown();
-        List<T> v = new ArrayList<>(values.size());
-        for (Future<T> f : values) {
+        List<T> v = new ArrayList<>();
+        // The next stages are added while the tasks are running, so the pool is only shut down when all of them are done
+        Future<T> f;
+        while ((f = values.poll()) != null) {
             try {
                 v.add(f.get());
             } catch (ExecutionException ex) {
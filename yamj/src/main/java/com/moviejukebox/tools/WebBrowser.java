@@ -27,6 +27,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.StringWriter;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
@@ -139,8 +140,10 @@ public class WebBrowser {
 
                 } catch (FileNotFoundException ex) {
                     LOG.error("URL not found: {}", url.toString());
+                    reportFailure(cnx, ex);
                 } catch (IOException ex) {
                     LOG.error("Error getting URL {}, {}", url.toString(), ex.getMessage());
+                    reportFailure(cnx, ex);
                 } finally {
                     // Close resources
                     if (bufferedReader != null) {
@@ -156,6 +159,7 @@ public class WebBrowser {
                 }
             } catch (SocketTimeoutException ex) {
                 LOG.error("Timeout Error with {}", url.toString());
+                reportFailure(cnx, ex);
             } finally {
                 if (cnx != null) {
                     if (cnx instanceof HttpURLConnection) {
@@ -170,6 +174,30 @@ public class WebBrowser {
         }
     }
     
+    /**
+     * Tell the download limits of the host when the request timed out or the host asked to slow down.
+     *
+     * Other failures, like an unknown host or a refused connection, do not slow down the host.
+     *
+     * @param cnx the connection or null if it was not opened
+     * @param ex
+     */
+    private static void reportFailure(URLConnection cnx, IOException ex) {
+        if (ex instanceof SocketTimeoutException) {
+            ThreadExecutor.reportIO(HostLimiter.STATUS_TIMEOUT);
+        } else if (cnx instanceof HttpURLConnection) {
+            try {
+                // The status is known when the host answered
+                int status = ((HttpURLConnection) cnx).getResponseCode();
+                if (HostLimiter.isOverloaded(status)) {
+                    ThreadExecutor.reportIO(status);
+                }
+            } catch (IOException error) {
+                LOG.trace("No status of {}: {}", cnx.getURL(), error.getMessage());
+            }
+        }
+    }
+
     /**
      * Check the URL to see if it's one of the special cases that needs to be worked around
      *
@@ -315,7 +343,12 @@ public class WebBrowser {
             return Movie.UNKNOWN;
         }
 
-        ThreadExecutor.enterIO(url);
+        try {
+            ThreadExecutor.enterIO(url);
+        } catch (InterruptedIOException ex) {
+            LOG.warn("Unable to retrieve URL: {} - Error: {}", urlString, ex.getMessage());
+            return Movie.UNKNOWN;
+        }
 
         try {
             URLConnection cnx = openProxiedConnection(url);
@@ -324,6 +357,7 @@ public class WebBrowser {
             return cnx.getURL().toString();
         } catch (IOException ex) {
             LOG.warn("Unable to retrieve URL: {} - Error: {}", urlString, ex.getMessage());
+            reportFailure(null, ex);
             return Movie.UNKNOWN;
         } finally {
             ThreadExecutor.leaveIO();
@@ -0,0 +1,490 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.BufferedInputStream;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * An element of an XML document read in a single pass with a StAX reader, the reading counterpart of XMLStreamHelper
+ *
+ * The elements keep what the jukebox readers use from the DOM: the attributes, the value of the first child node and the text
+ * content. getElementsByTagName gives the same elements as the DOM method, but from an index of the descendants built on the
+ * first call instead of a search of the tree for each name.
+ */
+public final class XMLStreamElement {
+
+    private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+        @Override
+        protected XMLInputFactory initialValue() {
+            // The factory reuses its readers, so each thread has its own
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+            return factory;
+        }
+    };
+    private static final String DEFAULT_RETURN = "";
+    // The types of the nodes in the binary form
+    private static final byte NODE_TEXT = 0;
+    private static final byte NODE_COMMENT = 1;
+    private static final byte NODE_ELEMENT = 2;
+
+    private final String name;
+    private final Map<String, String> attributes;
+    // The text, comment and element children in the document order
+    private final List<Object> childNodes = new ArrayList<>(1);
+    private List<XMLStreamElement> childElements = null;
+    private Map<String, List<XMLStreamElement>> descendants = null;
+
+    private XMLStreamElement(String name, Map<String, String> attributes) {
+        this.name = name;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Read the document from the file, like DOMHelper.getDocFromFile a file that is not an XML file is read again wrapped in a
+     * root element
+     *
+     * @param xmlFile
+     * @return the document, its child is the root element
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    public static XMLStreamElement readDocument(File xmlFile) throws IOException, XMLStreamException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(xmlFile))) {
+            return readDocument(INPUT_FACTORY.get().createXMLStreamReader(in));
+        } catch (XMLStreamException ex) {
+            if (FilenameUtils.isExtension(xmlFile.getName().toLowerCase(), "xml")) {
+                throw ex;
+            }
+        }
+
+        // Try wrapping the file in a root
+        try (Reader in = new StringReader(DOMHelper.wrapInXml(FileTools.readFileToString(xmlFile)))) {
+            return readDocument(INPUT_FACTORY.get().createXMLStreamReader(in));
+        }
+    }
+
+    /**
+     * Read the document from a string
+     *
+     * @param xml
+     * @return the document, its child is the root element
+     * @throws XMLStreamException
+     */
+    public static XMLStreamElement readDocument(String xml) throws XMLStreamException {
+        return readDocument(INPUT_FACTORY.get().createXMLStreamReader(new StringReader(xml)));
+    }
+
+    private static XMLStreamElement readDocument(XMLStreamReader reader) throws XMLStreamException {
+        XMLStreamElement document = new XMLStreamElement(null, Collections.<String, String>emptyMap());
+        Deque<XMLStreamElement> parents = new ArrayDeque<>();
+        XMLStreamElement current = document;
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        XMLStreamElement element = new XMLStreamElement(getName(reader.getPrefix(), reader.getLocalName()), readAttributes(reader));
+                        current.childNodes.add(element);
+                        parents.push(current);
+                        current = element;
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        current = parents.pop();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (current != document) {
+                            current.addText(reader.getText());
+                        }
+                        break;
+                    case XMLStreamConstants.COMMENT:
+                        if (current != document) {
+                            current.childNodes.add(new Comment(reader.getText()));
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return document;
+    }
+
+    private static Map<String, String> readAttributes(XMLStreamReader reader) {
+        int count = reader.getAttributeCount();
+        if (count == 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> attributes = new LinkedHashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            attributes.put(getName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private static String getName(String prefix, String localName) {
+        if (prefix == null || prefix.isEmpty()) {
+            return localName;
+        }
+        return prefix + ":" + localName;
+    }
+
+    /**
+     * Adjacent texts are one text node, like in a normalized DOM
+     *
+     * @param text
+     */
+    private void addText(String text) {
+        int last = childNodes.size() - 1;
+        if (last >= 0 && childNodes.get(last) instanceof String) {
+            childNodes.set(last, childNodes.get(last) + text);
+        } else {
+            childNodes.add(text);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the value of the attribute
+     *
+     * @param attributeName
+     * @return the value or an empty string if there is no such attribute, like the DOM
+     */
+    public String getAttribute(String attributeName) {
+        String value = attributes.get(attributeName);
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Get the attributes in the order of the document
+     *
+     * @return
+     */
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public boolean hasChildNodes() {
+        return !childNodes.isEmpty();
+    }
+
+    /**
+     * Get the value of the first child node, like the node value of the first child in the DOM
+     *
+     * @return the text or comment, null if the first child is an element or there are no child nodes
+     */
+    public String getValue() {
+        if (childNodes.isEmpty()) {
+            return null;
+        }
+        Object first = childNodes.get(0);
+        if (first instanceof String) {
+            return (String) first;
+        }
+        if (first instanceof Comment) {
+            return ((Comment) first).text;
+        }
+        return null;
+    }
+
+    /**
+     * Get the value of the first element with the name, like DOMHelper.getValueFromElement
+     *
+     * @param tagName
+     * @return the value or an empty string if there is no such element or it has no child nodes
+     */
+    public String getValueFromElement(String tagName) {
+        XMLStreamElement element = getElementByName(tagName);
+        if (element == null || !element.hasChildNodes()) {
+            return DEFAULT_RETURN;
+        }
+        return element.getValue();
+    }
+
+    /**
+     * Get the text of the element and of all its descendants
+     *
+     * @return
+     */
+    public String getTextContent() {
+        if (childNodes.size() == 1 && childNodes.get(0) instanceof String) {
+            return (String) childNodes.get(0);
+        }
+        StringBuilder text = new StringBuilder();
+        appendTextContent(text);
+        return text.toString();
+    }
+
+    private void appendTextContent(StringBuilder text) {
+        for (Object node : childNodes) {
+            if (node instanceof String) {
+                text.append((String) node);
+            } else if (node instanceof XMLStreamElement) {
+                ((XMLStreamElement) node).appendTextContent(text);
+            }
+        }
+    }
+
+    /**
+     * Get the child elements
+     *
+     * @return
+     */
+    public List<XMLStreamElement> getChildElements() {
+        if (childElements == null) {
+            List<XMLStreamElement> elements = new ArrayList<>(childNodes.size());
+            for (Object node : childNodes) {
+                if (node instanceof XMLStreamElement) {
+                    elements.add((XMLStreamElement) node);
+                }
+            }
+            childElements = elements;
+        }
+        return childElements;
+    }
+
+    /**
+     * Get all the descendant elements with the name in the document order, like Element.getElementsByTagName
+     *
+     * @param tagName
+     * @return
+     */
+    public List<XMLStreamElement> getElementsByTagName(String tagName) {
+        if (descendants == null) {
+            Map<String, List<XMLStreamElement>> index = new HashMap<>();
+            addDescendants(index);
+            descendants = index;
+        }
+        List<XMLStreamElement> elements = descendants.get(tagName);
+        return elements == null ? Collections.<XMLStreamElement>emptyList() : elements;
+    }
+
+    private void addDescendants(Map<String, List<XMLStreamElement>> index) {
+        for (XMLStreamElement child : getChildElements()) {
+            List<XMLStreamElement> elements = index.get(child.name);
+            if (elements == null) {
+                elements = new ArrayList<>(1);
+                index.put(child.name, elements);
+            }
+            elements.add(child);
+            child.addDescendants(index);
+        }
+    }
+
+    /**
+     * Get the first descendant element with the name, like DOMHelper.getElementByName
+     *
+     * @param tagName
+     * @return the element or null
+     */
+    public XMLStreamElement getElementByName(String tagName) {
+        List<XMLStreamElement> elements = getElementsByTagName(tagName);
+        return elements.isEmpty() ? null : elements.get(0);
+    }
+
+    /**
+     * Write the document in the binary form of the jukebox snapshot.
+     *
+     * The names are written once and then referred to by their number, the text and the attributes are written as UTF-8.
+     *
+     * @param out
+     * @throws IOException
+     */
+    void writeBinary(DataOutput out) throws IOException {
+        writeNodes(out, new HashMap<String, Integer>());
+    }
+
+    private void writeNodes(DataOutput out, Map<String, Integer> names) throws IOException {
+        writeNumber(out, childNodes.size());
+        for (Object node : childNodes) {
+            if (node instanceof String) {
+                out.writeByte(NODE_TEXT);
+                writeString(out, (String) node);
+            } else if (node instanceof Comment) {
+                out.writeByte(NODE_COMMENT);
+                writeString(out, ((Comment) node).text);
+            } else {
+                XMLStreamElement element = (XMLStreamElement) node;
+                out.writeByte(NODE_ELEMENT);
+                writeName(out, element.name, names);
+                writeNumber(out, element.attributes.size());
+                for (Map.Entry<String, String> attribute : element.attributes.entrySet()) {
+                    writeName(out, attribute.getKey(), names);
+                    writeString(out, attribute.getValue());
+                }
+                element.writeNodes(out, names);
+            }
+        }
+    }
+
+    /**
+     * Read a document written by writeBinary
+     *
+     * @param in
+     * @return the document
+     * @throws IOException if the data is not a document
+     */
+    static XMLStreamElement readBinary(ByteBuffer in) throws IOException {
+        XMLStreamElement document = new XMLStreamElement(null, Collections.<String, String>emptyMap());
+        try {
+            document.readNodes(in, new ArrayList<String>());
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            throw new IOException("Invalid document data", ex);
+        }
+        return document;
+    }
+
+    private void readNodes(ByteBuffer in, List<String> names) throws IOException {
+        int count = readNumber(in);
+        for (int loop = 0; loop < count; loop++) {
+            byte type = in.get();
+            if (type == NODE_TEXT) {
+                childNodes.add(readString(in));
+            } else if (type == NODE_COMMENT) {
+                childNodes.add(new Comment(readString(in)));
+            } else if (type == NODE_ELEMENT) {
+                String elementName = readName(in, names);
+                int attributeCount = readNumber(in);
+                Map<String, String> elementAttributes;
+                if (attributeCount == 0) {
+                    elementAttributes = Collections.emptyMap();
+                } else {
+                    elementAttributes = new LinkedHashMap<>(attributeCount * 2);
+                    for (int attribute = 0; attribute < attributeCount; attribute++) {
+                        elementAttributes.put(readName(in, names), readString(in));
+                    }
+                }
+                XMLStreamElement element = new XMLStreamElement(elementName, elementAttributes);
+                element.readNodes(in, names);
+                childNodes.add(element);
+            } else {
+                throw new IOException("Unknown node type " + type);
+            }
+        }
+    }
+
+    private static void writeName(DataOutput out, String value, Map<String, Integer> names) throws IOException {
+        Integer index = names.get(value);
+        if (index != null) {
+            writeNumber(out, index);
+        } else {
+            // A new name is written after the next free number
+            writeNumber(out, names.size());
+            writeString(out, value);
+            names.put(value, names.size());
+        }
+    }
+
+    private static String readName(ByteBuffer in, List<String> names) throws IOException {
+        int index = readNumber(in);
+        if (index == names.size()) {
+            names.add(readString(in));
+        }
+        return names.get(index);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeNumber(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        byte[] bytes = new byte[readNumber(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Write a positive number in as few bytes as possible, 7 bits per byte
+     */
+    private static void writeNumber(DataOutput out, int value) throws IOException {
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            out.writeByte((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        out.writeByte(rest);
+    }
+
+    private static int readNumber(ByteBuffer in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte next = in.get();
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IOException("Invalid number");
+    }
+
+    @Override
+    public String toString() {
+        return "<" + name + ">";
+    }
+
+    /**
+     * A comment is a child node but not a part of the text content
+     */
+    private static final class Comment {
+
+        private final String text;
+
+        Comment(String text) {
+            this.text = text;
+        }
+    }
+}
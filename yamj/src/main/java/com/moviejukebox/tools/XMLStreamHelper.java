@@ -0,0 +1,138 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import java.io.Writer;
+import java.util.Map;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMResult;
+import org.w3c.dom.Node;
+
+/**
+ * Generic set of routines to write XML with a StAX writer, the streaming counterpart of DOMHelper.appendChild
+ */
+public final class XMLStreamHelper {
+
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private XMLStreamHelper() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    /**
+     * Create a writer with the same formatting as DOMHelper.writeDocumentToFile
+     *
+     * @param writer the buffered destination
+     * @return
+     */
+    public static XMLStreamWriter createFormattedWriter(Writer writer) {
+        return new FormattedXMLStreamWriter(writer);
+    }
+
+    /**
+     * Create a writer that appends the elements to a DOM node
+     *
+     * @param parent
+     * @return
+     * @throws XMLStreamException
+     */
+    public static XMLStreamWriter createDOMWriter(Node parent) throws XMLStreamException {
+        return OUTPUT_FACTORY.createXMLStreamWriter(new DOMResult(parent));
+    }
+
+    /**
+     * Write an element with a text value
+     *
+     * @param writer
+     * @param elementName
+     * @param elementValue
+     * @throws XMLStreamException
+     */
+    public static void appendChild(XMLStreamWriter writer, String elementName, String elementValue) throws XMLStreamException {
+        appendChild(writer, elementName, elementValue, null);
+    }
+
+    /**
+     * Write an element with a text value and a set of attributes
+     *
+     * @param writer
+     * @param elementName
+     * @param elementValue
+     * @param childAttributes
+     * @throws XMLStreamException
+     */
+    public static void appendChild(XMLStreamWriter writer, String elementName, String elementValue, Map<String, String> childAttributes) throws XMLStreamException {
+        writer.writeStartElement(elementName);
+        if (childAttributes != null) {
+            for (Map.Entry<String, String> attrib : childAttributes.entrySet()) {
+                writeAttribute(writer, attrib.getKey(), attrib.getValue());
+            }
+        }
+        writeText(writer, elementValue);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Write an element with a text value and a single attribute/value pair
+     *
+     * @param writer
+     * @param elementName
+     * @param elementValue
+     * @param attribName
+     * @param attribValue
+     * @throws XMLStreamException
+     */
+    public static void appendChild(XMLStreamWriter writer, String elementName, String elementValue, String attribName, String attribValue) throws XMLStreamException {
+        writer.writeStartElement(elementName);
+        writeAttribute(writer, attribName, attribValue);
+        writeText(writer, elementValue);
+        writer.writeEndElement();
+    }
+
+    /**
+     * Write an attribute, a null value is written as an empty value like the DOM does
+     *
+     * @param writer
+     * @param attribName
+     * @param attribValue
+     * @throws XMLStreamException
+     */
+    public static void writeAttribute(XMLStreamWriter writer, String attribName, String attribValue) throws XMLStreamException {
+        writer.writeAttribute(attribName, attribValue == null ? "" : attribValue);
+    }
+
+    /**
+     * Write the text of an element, empty text is not written so the element is written as an empty element
+     *
+     * @param writer
+     * @param text
+     * @throws XMLStreamException
+     */
+    public static void writeText(XMLStreamWriter writer, String text) throws XMLStreamException {
+        if (text != null && !text.isEmpty()) {
+            writer.writeCharacters(text);
+        }
+    }
+}
@@ -126,6 +126,10 @@ public class YamjHttpClient extends PoolingHttpClient {
                     }
                     success = Boolean.TRUE;
                 }
+            } catch (InterruptedIOException ex) {
+                // the wait for the download limit of the host was cancelled
+                LOG.debug("Image download cancelled");
+                break;
             } catch (Exception e)  {
                 retryCount--;
                 LOG.debug("Image download attempt failed");
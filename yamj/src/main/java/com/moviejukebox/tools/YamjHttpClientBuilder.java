@@ -22,6 +22,7 @@
  */
 package com.moviejukebox.tools;
 
+import java.io.File;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.SocketAddress;
@@ -38,6 +39,7 @@ import org.apache.http.client.config.CookieSpecs;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.config.SocketConfig;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.cache.CacheConfig;
 import org.apache.http.impl.client.cache.CachingHttpClientBuilder;
@@ -60,10 +62,15 @@ public class YamjHttpClientBuilder {
     private static final int TIMEOUT_SOCKET = PropertiesUtil.getIntProperty("mjb.Timeout.Socket", 90000);
     private static final int TIMEOUT_CONNECT = PropertiesUtil.getIntProperty("mjb.Timeout.Connect", 25000);
     private static final int TIMEOUT_READ = PropertiesUtil.getIntProperty("mjb.Timeout.Read", 90000);
+    private static final boolean HTTP_CACHE_ENABLE = PropertiesUtil.getBooleanProperty("mjb.httpCache.enable", Boolean.FALSE);
+    private static final String HTTP_CACHE_DIRECTORY = PropertiesUtil.getProperty("mjb.httpCache.directory", "./cache/http");
+    private static final int HTTP_CACHE_MAX_SIZE = PropertiesUtil.getIntProperty("mjb.httpCache.maxSize", 200);
+    private static final String HTTP_CACHE_TTL = PropertiesUtil.getProperty("mjb.httpCache.ttl", ".*=1440");
 
     private static YamjHttpClient YAMJ_HTTP_CLIENT;
     private static Lock LOCK = new ReentrantLock(true);
     private static Proxy PROXY;
+    private static HttpDiskCache HTTP_DISK_CACHE;
     
     static {
         // create the java proxy object
@@ -101,6 +108,16 @@ public class YamjHttpClientBuilder {
             LOG.trace("Connect Timeout: {}", TIMEOUT_CONNECT);
             LOG.trace("Read Timeout   : {}", TIMEOUT_READ);
         }
+
+        if (HTTP_DISK_CACHE != null) {
+            LOG.debug("Web cache: {} hits, {} not modified, {} misses, {} evicted, {} responses ({} KB)",
+                    HTTP_DISK_CACHE.getHits(),
+                    HTTP_DISK_CACHE.getRevalidations(),
+                    HTTP_DISK_CACHE.getMisses(),
+                    HTTP_DISK_CACHE.getEvictions(),
+                    HTTP_DISK_CACHE.getSize(),
+                    HTTP_DISK_CACHE.getTotalSize() / 1024);
+        }
     }
 
     /**
@@ -163,11 +180,20 @@ public class YamjHttpClientBuilder {
                         .setProxy(proxy)
                         .build());
 
+        // the requests sent over the network keep the download limits of their host
+        CloseableHttpClient httpClient = new HostLimitedHttpClient(builder.build());
+        if (HTTP_CACHE_ENABLE && HTTP_CACHE_MAX_SIZE > 0) {
+            // keep the text responses between runs
+            File cacheDir = new File(FileTools.getCanonicalPath(HTTP_CACHE_DIRECTORY));
+            HTTP_DISK_CACHE = new HttpDiskCache(cacheDir, HTTP_CACHE_MAX_SIZE * 1024L * 1024L, HTTP_CACHE_TTL);
+            httpClient = new DiskCachingHttpClient(httpClient, HTTP_DISK_CACHE);
+        }
+
         // show status
         showStatus();
         
         // build the client
-        YamjHttpClient wrapper = new YamjHttpClient(builder.build(), connManager);
+        YamjHttpClient wrapper = new YamjHttpClient(httpClient, connManager);
         wrapper.setUserAgentSelector(new WebBrowserUserAgentSelector());
         wrapper.addGroupLimit(".*", 1); // default limit, can be overwritten
         
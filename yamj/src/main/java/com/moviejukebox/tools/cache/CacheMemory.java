@@ -22,12 +22,17 @@
  */
 package com.moviejukebox.tools.cache;
 
+import com.moviejukebox.tools.FileTools;
 import com.moviejukebox.tools.PropertiesUtil;
 import com.moviejukebox.tools.StringTools;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,13 +42,23 @@ import org.slf4j.LoggerFactory;
  * database Many sites provide a "last modified" date/time attribute, so we
  * should consider also caching that in the database
  *
+ * The objects are kept in a namespace per type, which is the first part of
+ * the cache key. Each namespace has its own size limit and time to live, and
+ * can be saved to disk between runs.
+ *
  * @author Stuart.Boston
  *
  */
 public final class CacheMemory {
 
-    private static final Map<String, Object> CACHE = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, CacheNamespace> NAMESPACES = new ConcurrentHashMap<>();
     private static final Logger LOG = LoggerFactory.getLogger(CacheMemory.class);
+    private static final String KEY_SEPARATOR = "-";
+    private static final String CACHE_EXTENSION = ".cache";
+    private static final int MAX_ENTRIES = PropertiesUtil.getIntProperty("mjb.cache.maxEntries", 500);
+    private static final long TIME_TO_LIVE = PropertiesUtil.getLongProperty("mjb.cache.ttl", 10080);
+    private static final boolean PERSIST = PropertiesUtil.getBooleanProperty("mjb.cache.persist", Boolean.FALSE);
+    private static final String CACHE_DIRECTORY = PropertiesUtil.getProperty("mjb.cache.directory", "./cache/objects");
     private static boolean cacheEnabled = initCacheState();
 
     private CacheMemory() {
@@ -62,13 +77,8 @@ public final class CacheMemory {
             return;
         }
 
-        if (CACHE.containsKey(key)) {
-            LOG.debug("Cache (Add): Already contains object ({}) with key '{}' overwriting...", value.getClass().getSimpleName(), key);
-            CACHE.remove(key);
-        } else {
-            LOG.debug("Cache (Add): Adding object ({}) for key '{}'", value.getClass().getSimpleName(), key);
-        }
-        CACHE.put(key, value);
+        LOG.debug("Cache (Add): Adding object ({}) for key '{}'", value.getClass().getSimpleName(), key);
+        getNamespace(key).put(key, value);
     }
 
     /**
@@ -82,19 +92,35 @@ public final class CacheMemory {
             return null;
         }
 
-        if (CACHE.containsKey(key)) {
-            Object value = CACHE.get(key);
-            if (value == null) {
-                LOG.debug("Cache (Get): No object found for {}", key);
-            } else {
-                LOG.debug("Cache (Get): Got object ({}) for {}", value.getClass().getSimpleName(), key);
-                return value;
-            }
-        } else {
+        Object value = getNamespace(key).get(key);
+        if (value == null) {
             LOG.debug("Cache (Get): No object found for {}", key);
+        } else {
+            LOG.debug("Cache (Get): Got object ({}) for {}", value.getClass().getSimpleName(), key);
+        }
+        return value;
+    }
+
+    /**
+     * Get an item from the cache, loading and adding it if it is not cached.
+     *
+     * Threads that need the same item while it is being loaded wait for the
+     * first load instead of requesting it again.
+     *
+     * @param <T>
+     * @param key
+     * @param loader loads the item, the item is not cached if it is null
+     * @return
+     * @throws Exception the exception of the loader
+     */
+    public static <T> T getFromCache(String key, Callable<T> loader) throws Exception {
+        if (!cacheEnabled) {
+            return loader.call();
         }
 
-        return null;
+        T value = getNamespace(key).get(key, loader);
+        LOG.debug("Cache (Get): Got object ({}) for {}", value == null ? "null" : value.getClass().getSimpleName(), key);
+        return value;
     }
 
     /**
@@ -107,8 +133,63 @@ public final class CacheMemory {
             return;
         }
 
-        if (CACHE.containsKey(key)) {
-            CACHE.remove(key);
+        getNamespace(key).remove(key);
+    }
+
+    /**
+     * Get the namespace of the key, creating it (and reading the saved
+     * objects) if needed
+     *
+     * @param key
+     * @return
+     */
+    private static CacheNamespace getNamespace(String key) {
+        String name = StringUtils.substringBefore(key, KEY_SEPARATOR);
+        CacheNamespace namespace = NAMESPACES.get(name);
+        if (namespace != null) {
+            return namespace;
+        }
+
+        synchronized (NAMESPACES) {
+            namespace = NAMESPACES.get(name);
+            if (namespace == null) {
+                int maxEntries = PropertiesUtil.getIntProperty("mjb.cache.maxEntries." + name, MAX_ENTRIES);
+                long timeToLive = PropertiesUtil.getLongProperty("mjb.cache.ttl." + name, TIME_TO_LIVE);
+                namespace = new CacheNamespace(name, maxEntries, timeToLive * 60000L);
+                if (PERSIST) {
+                    namespace.load(getCacheFile(name));
+                }
+                NAMESPACES.put(name, namespace);
+            }
+        }
+        return namespace;
+    }
+
+    private static File getCacheFile(String name) {
+        return new File(FileTools.getCanonicalPath(CACHE_DIRECTORY), FileTools.makeSafeFilename(name) + CACHE_EXTENSION);
+    }
+
+    /**
+     * Get the namespaces that have been used, sorted by name
+     *
+     * @return
+     */
+    public static List<CacheNamespace> getNamespaces() {
+        return new ArrayList<>(new TreeMap<>(NAMESPACES).values());
+    }
+
+    /**
+     * Save the namespaces to disk, if enabled
+     */
+    public static void saveCache() {
+        if (!PERSIST || !cacheEnabled) {
+            return;
+        }
+
+        File cacheDir = new File(FileTools.getCanonicalPath(CACHE_DIRECTORY));
+        FileTools.makeDirs(cacheDir);
+        for (CacheNamespace namespace : NAMESPACES.values()) {
+            namespace.save(getCacheFile(namespace.getName()));
         }
     }
 
@@ -177,14 +258,15 @@ public final class CacheMemory {
     }
 
     /**
-     * Called when running low on memory, clear the cache and turn off the
-     * caching routine Also print out a message to warn the user
+     * Called when running low on memory, move the cached objects to soft
+     * references so the garbage collector can remove them when needed
      */
     public static void purgeCache() {
         if (cacheEnabled) {
-            LOG.debug("Cache: Disabling cache due to low memory.");
-            setCacheState(false);
-            clear();
+            LOG.debug("Cache: Releasing cached objects due to low memory.");
+            for (CacheNamespace namespace : NAMESPACES.values()) {
+                namespace.release();
+            }
         }
     }
 
@@ -193,6 +275,8 @@ public final class CacheMemory {
      */
     public static void clear() {
         LOG.debug("Cache: Clearing cache");
-        CACHE.clear();
+        for (CacheNamespace namespace : NAMESPACES.values()) {
+            namespace.clear();
+        }
     }
 }
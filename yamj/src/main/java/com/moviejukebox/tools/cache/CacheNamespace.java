@@ -0,0 +1,427 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools.cache;
+
+import java.io.*;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The cached objects of one type, e.g. the Allocine movies or the TheTVDb series.
+ *
+ * The number of objects is limited and the least recently used objects are moved to soft references when the limit is
+ * reached, so they are only removed when the memory is needed. Objects older than the time to live are not returned.
+ *
+ * Objects that are being loaded are shared, so threads that need the same object at the same time wait for the first thread
+ * instead of loading it again.
+ */
+public class CacheNamespace {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheNamespace.class);
+    private static final int FORMAT_VERSION = 1;
+    private final String name;
+    private final int maxEntries;
+    private final long timeToLive;
+    // The objects in least recently used order
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    // The objects moved out of the entries, the garbage collector can remove these
+    private final Map<String, KeyedReference> softEntries = new HashMap<>();
+    private final ReferenceQueue<CacheEntry> clearedEntries = new ReferenceQueue<>();
+    // The objects that are being loaded
+    private final ConcurrentMap<String, FutureTask<?>> loading = new ConcurrentHashMap<>();
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long coalesced = 0;
+
+    /**
+     * Create the namespace
+     *
+     * @param name
+     * @param maxEntries the maximum number of objects kept in memory
+     * @param timeToLive the time an object is valid in milliseconds, 0 for no limit
+     */
+    public CacheNamespace(String name, int maxEntries, long timeToLive) {
+        this.name = name;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Add or replace an object
+     *
+     * @param key
+     * @param value
+     */
+    public synchronized void put(String key, Object value) {
+        put(key, new CacheEntry(value, System.currentTimeMillis()));
+    }
+
+    private void put(String key, CacheEntry entry) {
+        removeClearedEntries();
+        softEntries.remove(key);
+        entries.put(key, entry);
+
+        // Move the least recently used objects to the soft references
+        Iterator<Map.Entry<String, CacheEntry>> iter = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iter.hasNext()) {
+            Map.Entry<String, CacheEntry> eldest = iter.next();
+            iter.remove();
+            softEntries.put(eldest.getKey(), new KeyedReference(eldest.getKey(), eldest.getValue(), clearedEntries));
+            evictions++;
+        }
+    }
+
+    /**
+     * Get an object
+     *
+     * @param key
+     * @return the object or null if it is not cached or has expired
+     */
+    public synchronized Object get(String key) {
+        Object value = lookup(key);
+        if (value == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return value;
+    }
+
+    /**
+     * Get an object, loading it if it is not cached.
+     *
+     * If another thread is loading the same object, wait for that thread instead of loading it again. Objects that are
+     * loaded as null are not cached.
+     *
+     * @param <T>
+     * @param key
+     * @param loader
+     * @return the object
+     * @throws Exception the exception of the loader
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Callable<T> loader) throws Exception {
+        Object value = get(key);
+        if (value != null) {
+            return (T) value;
+        }
+
+        FutureTask<T> task = new FutureTask<>(loader);
+        FutureTask<?> running = loading.putIfAbsent(key, task);
+        if (running != null) {
+            synchronized (this) {
+                coalesced++;
+            }
+            return (T) getResult(running);
+        }
+
+        try {
+            // Another thread may have finished loading the object just before
+            synchronized (this) {
+                value = lookup(key);
+            }
+            if (value != null) {
+                return (T) value;
+            }
+
+            task.run();
+            T result = getResult(task);
+            if (result != null) {
+                put(key, result);
+            }
+            return result;
+        } finally {
+            loading.remove(key, task);
+        }
+    }
+
+    private static <T> T getResult(FutureTask<T> task) throws Exception {
+        try {
+            return task.get();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private Object lookup(String key) {
+        removeClearedEntries();
+
+        CacheEntry entry = entries.get(key);
+        if (entry == null) {
+            KeyedReference reference = softEntries.remove(key);
+            entry = reference == null ? null : reference.get();
+            if (entry != null) {
+                // Used again, so keep it in memory
+                put(key, entry);
+            }
+        }
+
+        if (entry != null && isExpired(entry.getCreated(), System.currentTimeMillis())) {
+            entries.remove(key);
+            entry = null;
+        }
+
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Remove an object
+     *
+     * @param key
+     */
+    public synchronized void remove(String key) {
+        entries.remove(key);
+        softEntries.remove(key);
+    }
+
+    /**
+     * Move all the objects to soft references, so they can be removed by the garbage collector when the memory is low
+     */
+    public synchronized void release() {
+        removeClearedEntries();
+        for (Map.Entry<String, CacheEntry> entry : entries.entrySet()) {
+            softEntries.put(entry.getKey(), new KeyedReference(entry.getKey(), entry.getValue(), clearedEntries));
+        }
+        entries.clear();
+    }
+
+    /**
+     * Remove all the objects, the statistics are kept
+     */
+    public synchronized void clear() {
+        entries.clear();
+        softEntries.clear();
+        removeClearedEntries();
+    }
+
+    private boolean isExpired(long created, long now) {
+        return timeToLive > 0 && now - created > timeToLive;
+    }
+
+    private void removeClearedEntries() {
+        KeyedReference reference;
+        while ((reference = (KeyedReference) clearedEntries.poll()) != null) {
+            if (softEntries.get(reference.getKey()) == reference) {
+                softEntries.remove(reference.getKey());
+            }
+        }
+    }
+
+    /**
+     * Read the objects saved by a previous run. Expired objects and objects of classes that have changed are skipped.
+     *
+     * @param file
+     */
+    public synchronized void load(File file) {
+        if (!file.exists()) {
+            return;
+        }
+
+        int loaded = 0;
+        long now = System.currentTimeMillis();
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(file))))) {
+            if (in.readInt() != FORMAT_VERSION) {
+                LOG.debug("Cache: Unknown format of {}, ignored", file.getName());
+                return;
+            }
+
+            int count = in.readInt();
+            for (int loop = 0; loop < count; loop++) {
+                String key = in.readUTF();
+                long created = in.readLong();
+                byte[] data = new byte[in.readInt()];
+                in.readFully(data);
+
+                if (isExpired(created, now)) {
+                    continue;
+                }
+
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(data))) {
+                    put(key, new CacheEntry(objectIn.readObject(), created));
+                    loaded++;
+                } catch (IOException | ClassNotFoundException ex) {
+                    LOG.trace("Cache: Failed to read '{}': {}", key, ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            LOG.debug("Cache: Failed to read {}: {}", file.getName(), ex.getMessage());
+        }
+        LOG.debug("Cache: Loaded {} objects for '{}'", loaded, name);
+    }
+
+    /**
+     * Write the objects that are in memory and can be serialised, including the soft references that have not been cleared.
+     *
+     * The file of the previous run is kept when there is nothing to write, as the cache may not have been used.
+     *
+     * @param file
+     */
+    public synchronized void save(File file) {
+        removeClearedEntries();
+        Map<String, byte[]> serialised = new LinkedHashMap<>();
+        Map<String, Long> created = new HashMap<>();
+        long now = System.currentTimeMillis();
+
+        // The soft references are the least recently used, so they are read first by the next run
+        Map<String, CacheEntry> saved = new LinkedHashMap<>();
+        for (Map.Entry<String, KeyedReference> reference : softEntries.entrySet()) {
+            CacheEntry entry = reference.getValue().get();
+            if (entry != null) {
+                saved.put(reference.getKey(), entry);
+            }
+        }
+        saved.putAll(entries);
+
+        for (Map.Entry<String, CacheEntry> entry : saved.entrySet()) {
+            if (!(entry.getValue().getValue() instanceof Serializable) || isExpired(entry.getValue().getCreated(), now)) {
+                continue;
+            }
+
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(data)) {
+                objectOut.writeObject(entry.getValue().getValue());
+            } catch (IOException ex) {
+                LOG.trace("Cache: Failed to write '{}': {}", entry.getKey(), ex.getMessage());
+                continue;
+            }
+            serialised.put(entry.getKey(), data.toByteArray());
+            created.put(entry.getKey(), entry.getValue().getCreated());
+        }
+
+        if (serialised.isEmpty()) {
+            LOG.debug("Cache: Nothing to save for '{}'", name);
+            return;
+        }
+
+        File tempFile = new File(file.getAbsolutePath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(serialised.size());
+            for (Map.Entry<String, byte[]> entry : serialised.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(created.get(entry.getKey()));
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } catch (IOException ex) {
+            LOG.debug("Cache: Failed to write {}: {}", tempFile.getName(), ex.getMessage());
+            tempFile.delete();
+            return;
+        }
+
+        if (file.exists() && !file.delete()) {
+            LOG.debug("Cache: Failed to replace {}", file.getName());
+            tempFile.delete();
+            return;
+        }
+        if (!tempFile.renameTo(file)) {
+            LOG.debug("Cache: Failed to replace {}", file.getName());
+            tempFile.delete();
+            return;
+        }
+        LOG.debug("Cache: Saved {} objects for '{}'", serialised.size(), name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized long getCoalesced() {
+        return coalesced;
+    }
+
+    /**
+     * A cached object and the time it was created
+     */
+    private static final class CacheEntry {
+
+        private final Object value;
+        private final long created;
+
+        CacheEntry(Object value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public long getCreated() {
+            return created;
+        }
+    }
+
+    /**
+     * Soft reference that knows its key, so it can be removed from the map once it is cleared
+     */
+    private static final class KeyedReference extends SoftReference<CacheEntry> {
+
+        private final String key;
+
+        KeyedReference(String key, CacheEntry entry, ReferenceQueue<CacheEntry> queue) {
+            super(entry, queue);
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.writer;
+
+import com.moviejukebox.tools.FileTools;
+import java.io.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fingerprints of the content of the index pages in the jukebox.
+ *
+ * An index page with the same content as the page in the jukebox does not need to be written, transformed and copied again.
+ * The fingerprints are only valid for the same skin and views, so they are discarded when these change.
+ */
+public class IndexFingerprints {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexFingerprints.class);
+    private static final int FORMAT_VERSION = 1;
+    private final File fingerprintFile;
+    private final String skinVersion;
+    // The fingerprints of the pages in the jukebox
+    private final Map<String, String> previous = new HashMap<>();
+    // The fingerprints of the pages written during this run, until their HTML has been generated
+    private final Map<String, String> written = new ConcurrentHashMap<>();
+    // The fingerprints of the pages at the end of this run
+    private final Map<String, String> current = new ConcurrentHashMap<>();
+
+    /**
+     * Create the fingerprints and read the fingerprints of the last run
+     *
+     * @param fingerprintFile
+     * @param skinVersion the version of the skin and the views used to transform the pages
+     */
+    public IndexFingerprints(File fingerprintFile, String skinVersion) {
+        this.fingerprintFile = fingerprintFile;
+        this.skinVersion = skinVersion;
+        load();
+    }
+
+    private void load() {
+        if (!fingerprintFile.exists()) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(fingerprintFile))))) {
+            if (in.readInt() != FORMAT_VERSION || !skinVersion.equals(in.readUTF())) {
+                LOG.debug("Skin or format changed, all index pages will be written");
+                return;
+            }
+
+            int count = in.readInt();
+            for (int loop = 0; loop < count; loop++) {
+                previous.put(in.readUTF(), in.readUTF());
+            }
+        } catch (IOException ex) {
+            LOG.debug("Failed to read the index fingerprints {}: {}", fingerprintFile.getName(), ex.getMessage());
+            previous.clear();
+        }
+    }
+
+    /**
+     * Get the fingerprint of the content of a page
+     *
+     * @param content the content of the page
+     * @return
+     */
+    public static String fingerprint(byte[] content) {
+        return DigestUtils.sha1Hex(content);
+    }
+
+    /**
+     * Check if the page in the jukebox has the same content
+     *
+     * @param filename the name of the page
+     * @param fingerprint the fingerprint of the content of the page
+     * @param jukeboxFiles the page files that must exist in the jukebox
+     * @return true if the page in the jukebox is the same
+     */
+    public boolean isUnchanged(String filename, String fingerprint, File... jukeboxFiles) {
+        if (!fingerprint.equals(previous.get(filename))) {
+            return false;
+        }
+
+        for (File jukeboxFile : jukeboxFiles) {
+            if (!FileTools.fileCache.fileExists(jukeboxFile)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Note the fingerprint of a page that has been written, it is only kept for the next run once committed
+     *
+     * @param filename
+     * @param fingerprint
+     */
+    public void setWritten(String filename, String fingerprint) {
+        written.put(filename, fingerprint);
+    }
+
+    /**
+     * Keep the fingerprint of a written page for the next run, once all the files of the page have been generated
+     *
+     * @param filename
+     */
+    public void commit(String filename) {
+        String fingerprint = written.remove(filename);
+        if (fingerprint != null) {
+            current.put(filename, fingerprint);
+        }
+    }
+
+    /**
+     * Keep the fingerprint of a page that has not been generated during this run
+     *
+     * @param filename
+     */
+    public void keep(String filename) {
+        String fingerprint = previous.get(filename);
+        if (fingerprint != null) {
+            current.put(filename, fingerprint);
+        }
+    }
+
+    /**
+     * Write the fingerprints of the pages for the next run, once the pages have been copied to the jukebox
+     */
+    public void save() {
+        FileTools.makeDirsForFile(fingerprintFile);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(fingerprintFile))))) {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(skinVersion);
+            out.writeInt(current.size());
+            for (Map.Entry<String, String> entry : current.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+        } catch (IOException ex) {
+            LOG.warn("Failed to write the index fingerprints {}: {}", fingerprintFile.getAbsolutePath(), ex.getMessage());
+            fingerprintFile.delete();
+        }
+    }
+}
@@ -26,10 +26,17 @@ import com.moviejukebox.model.*;
 import com.moviejukebox.model.enumerations.DirtyFlag;
 import com.moviejukebox.tools.*;
 import java.io.*;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -37,6 +44,7 @@ import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.*;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,6 +73,18 @@ public class MovieJukeboxHTMLWriter {
     private static final String MYIHOME_IP = PropertiesUtil.getProperty("mjb.myiHome.IP", "");
     private static final boolean GENERATE_MULTIPART_PLAYLIST = PropertiesUtil.getBooleanProperty("mjb.playlist.generateMultiPart", Boolean.TRUE);
     private static final int MAX_RETRY_COUNT = 3;   // The number of times to retry writing a HTML page
+    // Compiled XSL templates, keyed by the absolute path of the XSL file
+    private static final int TEMPLATES_CACHE_SIZE = Math.max(1, PropertiesUtil.getIntProperty("mjb.xslCacheSize", 25));
+    private static final Map<String, CachedTemplates> TEMPLATES_CACHE = new LinkedHashMap<String, CachedTemplates>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedTemplates> eldest) {
+            return size() > TEMPLATES_CACHE_SIZE;
+        }
+    };
+    // The property values passed to every stylesheet, built once on first use
+    private static volatile List<Entry<String, String>> transformParameters = null;
 
     public MovieJukeboxHTMLWriter() {
 
@@ -575,16 +595,22 @@ public class MovieJukeboxHTMLWriter {
         }
     }
 
-    public void generateMoviesIndexHTML(final Jukebox jukebox, final Library library, ThreadExecutor<Void> tasks) throws Throwable {
-        tasks.restart();
+    /**
+     * Submit the generation of the index pages to the tasks, the caller waits for the tasks to finish
+     *
+     * @param jukebox
+     * @param library
+     * @param tasks
+     * @throws InterruptedException
+     */
+    public void submitMoviesIndexHTML(final Jukebox jukebox, final Library library, ThreadExecutor<Void> tasks) throws InterruptedException {
         for (final IndexInfo idx : library.getGeneratedIndexes()) {
             if (idx.canSkip) { // this is evaluated during XML indexing
                 LOG.debug("Category '{}' & '{}' no change detected, skipping HTML generation.", idx.categoryName, idx.key);
 
                 // Add the index files to the cache so they aren't deleted
                 for (int page = 1; page <= idx.pages; page++) {
-                    FileTools.addJukeboxFile(idx.baseName + page + EXT_XML);
-                    FileTools.addJukeboxFile(idx.baseName + page + EXT_HTML);
+                    addIndexPageFiles(idx, page);
                 }
             } else {
                 LOG.debug("Category '{}' & '{}'", idx.categoryName, idx.key);
@@ -592,15 +618,51 @@ public class MovieJukeboxHTMLWriter {
                     @Override
                     public Void call() {
                         for (int page = 1; page <= idx.pages; page++) {
-                            writeSingleIndexPage(jukebox, idx, page);
+                            if (idx.isPageUnchanged(page)) {
+                                // The page in the jukebox is up to date
+                                addIndexPageFiles(idx, page);
+                            } else {
+                                writeSingleIndexPage(jukebox, idx, page);
+                            }
                         }
                         return null;
                     }
                 });
             }
         }
+    }
+
+    /**
+     * Add the files of an index page that is not generated again to the cache so they aren't deleted
+     *
+     * @param idx
+     * @param page
+     */
+    private static void addIndexPageFiles(IndexInfo idx, int page) {
+        String filename = idx.baseName + page;
+        FileTools.addJukeboxFile(filename + EXT_XML);
+
+        for (String htmlFilename : getIndexHtmlFilenames(filename)) {
+            FileTools.addJukeboxFile(htmlFilename);
+        }
+    }
 
-        tasks.waitFor();
+    /**
+     * Get the names of the HTML files generated from an index page, one for each view of mjb.view.indexList
+     *
+     * @param filename the name of the index page without extension
+     * @return
+     */
+    public static List<String> getIndexHtmlFilenames(String filename) {
+        List<String> htmlFilenames = new ArrayList<>();
+        for (final String indexStr : PropertiesUtil.getProperty("mjb.view.indexList", "index.xsl").split(",")) {
+            String suffix = "";
+            if (!"index.xsl".equals(indexStr)) {
+                suffix = indexStr.replace("index", "").replace(EXT_XSL, "");
+            }
+            htmlFilenames.add(filename + suffix + EXT_HTML);
+        }
+        return htmlFilenames;
     }
 
     private static void writeSingleIndexPage(Jukebox jukebox, IndexInfo idx, int page) {
@@ -646,6 +708,7 @@ public class MovieJukeboxHTMLWriter {
 
                 doTransform(transformer, xmlSource, xmlResult, "Category page");
             }
+            idx.setPageGenerated(page);
         } catch (Exception error) {
             LOG.error("Failed generating HTML library index for Category: {}, Key: {}, Page: {}", idx.categoryName, idx.key, page);
             LOG.error(SystemTools.getStackTrace(error));
@@ -653,7 +716,9 @@ public class MovieJukeboxHTMLWriter {
     }
 
     /**
-     * Creates and caches Transformer, one for every thread/xsl file.
+     * Creates a new Transformer from the cached compiled XSL file.
+     *
+     * The compiled Templates are cached (keyed by path and modification time), but a new Transformer is created for every call.
      *
      * @param xslFile
      * @param styleSheetTargetRootPath
@@ -661,31 +726,22 @@ public class MovieJukeboxHTMLWriter {
      */
     public static Transformer getTransformer(File xslFile, String styleSheetTargetRootPath) {
         /*
-         * Removed caching of transformer, as saxon keeps all parsed documents in memory, causing memory leaks.
-         * Creating a new transformer every time doesn't consume too much time and has no impact on performance.
-         * It lets YAMJ save lot of memory.
-         * @author Vincent
+         * Saxon keeps all the documents parsed by a transformer in memory, causing memory leaks if the transformer is cached.
+         * So only the (immutable and thread safe) compiled Templates are cached and a new transformer is created from them
+         * every time, which is cheap and lets YAMJ save lot of memory.
          */
-        Source xslSource = new StreamSource(xslFile);
-
-        // Sometimes the StreamSource doesn't return an object and we get a null pointer exception, so check it and try loading it again
-        for (int looper = 1; looper < 5; looper++) {
-            xslSource = new StreamSource(xslFile);
-            if (xslSource != null) {
-                // looks ok, so quit the loop
-                break;
-            }
-        }
-
         Transformer transformer = null;
         try {
-            transformer = TRANSFORMER.newTransformer(xslSource);
+            Templates templates = getTemplates(xslFile);
+            if (templates == null) {
+                return null;
+            }
+
+            transformer = templates.newTransformer();
             transformer.setParameter("homePage", INDEX_HTML_FILE);
             transformer.setParameter("rootPath", new File(styleSheetTargetRootPath).getAbsolutePath().replace('\\', '/'));
-            for (Entry<Object, Object> e : PropertiesUtil.getEntrySet()) {
-                if (e.getKey() != null && e.getValue() != null) {
-                    transformer.setParameter(e.getKey().toString(), e.getValue().toString());
-                }
+            for (Entry<String, String> e : getTransformParameters()) {
+                transformer.setParameter(e.getKey(), e.getValue());
             }
         } catch (TransformerConfigurationException ex) {
             LOG.error("Failed to get transformer for XSL: " + xslFile.getAbsolutePath());
@@ -694,6 +750,100 @@ public class MovieJukeboxHTMLWriter {
         return transformer;
     }
 
+    /**
+     * Get the compiled templates for the XSL file, compiling the file if it is not in the cache or has changed on disk.
+     *
+     * The file is compiled outside the lock of the cache, the threads that need the same file wait for its compilation.
+     *
+     * @param xslFile
+     * @return the compiled templates or null if the XSL file could not be compiled
+     */
+    private static Templates getTemplates(final File xslFile) {
+        String cacheKey = xslFile.getAbsolutePath();
+        long lastModified = xslFile.lastModified();
+
+        CachedTemplates cached;
+        synchronized (TEMPLATES_CACHE) {
+            cached = TEMPLATES_CACHE.get(cacheKey);
+            if (cached == null || cached.lastModified != lastModified) {
+                cached = new CachedTemplates(new FutureTask<>(new Callable<Templates>() {
+                    @Override
+                    public Templates call() throws TransformerConfigurationException {
+                        LOG.debug("Compiling XSL file {}", xslFile.getAbsolutePath());
+                        return TRANSFORMER.newTemplates(new StreamSource(xslFile));
+                    }
+                }), lastModified);
+                TEMPLATES_CACHE.put(cacheKey, cached);
+            }
+        }
+
+        // Does nothing when the file is already compiled or another thread is compiling it
+        cached.templates.run();
+        try {
+            return cached.templates.get();
+        } catch (ExecutionException ex) {
+            LOG.error("Failed to compile XSL: " + cacheKey);
+            LOG.warn(SystemTools.getStackTrace(ex.getCause()));
+            synchronized (TEMPLATES_CACHE) {
+                // Compile the file again the next time
+                if (TEMPLATES_CACHE.get(cacheKey) == cached) {
+                    TEMPLATES_CACHE.remove(cacheKey);
+                }
+            }
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Get the properties to pass to the transformer as parameters.
+     *
+     * @return
+     */
+    private static List<Entry<String, String>> getTransformParameters() {
+        List<Entry<String, String>> parameters = transformParameters;
+        if (parameters == null) {
+            parameters = new ArrayList<>();
+            for (Entry<Object, Object> e : PropertiesUtil.getEntrySet()) {
+                if (e.getKey() != null && e.getValue() != null) {
+                    parameters.add(new SimpleImmutableEntry<>(e.getKey().toString(), e.getValue().toString()));
+                }
+            }
+            transformParameters = parameters;
+        }
+        return parameters;
+    }
+
+    /**
+     * Get a hash of the parameters given to the XSL files, e.g. the skin properties and the labels
+     *
+     * @return
+     */
+    public static String getTransformParametersHash() {
+        Map<String, String> sorted = new TreeMap<>();
+        for (Entry<String, String> e : getTransformParameters()) {
+            sorted.put(e.getKey(), e.getValue());
+        }
+
+        StringBuilder parameters = new StringBuilder();
+        for (Entry<String, String> e : sorted.entrySet()) {
+            parameters.append(e.getKey()).append('=').append(e.getValue()).append('\n');
+        }
+        return DigestUtils.sha1Hex(parameters.toString());
+    }
+
+    /**
+     * Clear the compiled XSL files and the parameters, e.g. after the skin or the properties have changed
+     */
+    public static void clearTransformerCache() {
+        synchronized (TEMPLATES_CACHE) {
+            TEMPLATES_CACHE.clear();
+        }
+        transformParameters = null;
+    }
+
     /**
      * Try to safely perform the transformation. Will retry up to maxRetryCount times before throwing the error
      *
@@ -727,4 +877,18 @@ public class MovieJukeboxHTMLWriter {
             }
         } while (retryCount <= MAX_RETRY_COUNT);
     }
+
+    /**
+     * Compiled XSL file and the modification time of the file when it was compiled
+     */
+    private static final class CachedTemplates {
+
+        private final FutureTask<Templates> templates;
+        private final long lastModified;
+
+        CachedTemplates(FutureTask<Templates> templates, long lastModified) {
+            this.templates = templates;
+            this.lastModified = lastModified;
+        }
+    }
 }
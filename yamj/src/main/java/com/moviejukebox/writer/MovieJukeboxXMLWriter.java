@@ -35,16 +35,22 @@ import com.moviejukebox.plugin.ImdbPlugin;
 import com.moviejukebox.tools.*;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.Callable;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.pojava.datetime.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
@@ -60,6 +66,7 @@ public class MovieJukeboxXMLWriter {
     private static final GitRepositoryState GIT = new GitRepositoryState();
     // Literals
     public static final String EXT_XML = ".xml";
+    private static final String EXT_PART = ".part";
     public static final String EXT_HTML = ".html";
     // String to append to the eversion categories file if needed
     public static final String EV_FILE_SUFFIX = "_small";
@@ -92,6 +99,10 @@ public class MovieJukeboxXMLWriter {
     public static final String SOURCE = "source";
     private static final boolean FORCE_XML_OVERWRITE = PropertiesUtil.getBooleanProperty("mjb.forceXMLOverwrite", Boolean.FALSE);
     private static final boolean FORCE_INDEX_OVERWRITE = PropertiesUtil.getBooleanProperty("mjb.forceIndexOverwrite", Boolean.FALSE);
+    private static final boolean FORCE_HTML_OVERWRITE = PropertiesUtil.getBooleanProperty("mjb.forceHTMLOverwrite", Boolean.FALSE);
+    private static final boolean SKIP_HTML_GENERATION = PropertiesUtil.getBooleanProperty("mjb.skipHtmlGeneration", Boolean.FALSE);
+    private static final String INDEX_FINGERPRINTS_FILE = "jukebox_indexes.dat";
+    private IndexFingerprints indexFingerprints = null;
     private final int nbMoviesPerPage;
     private final int nbMoviesPerLine;
     private int nbTvShowsPerPage;
@@ -348,16 +359,13 @@ public class MovieJukeboxXMLWriter {
                 DOMHelper.writeDocumentToFile(xmlDoc, xmlEvFile);
             }
 
-            Element eMovie;
             for (Movie movie : library.getMoviesList()) {
                 if (fullMovieInfoInIndexes) {
-                    eMovie = writeMovie(xmlDoc, movie, library);
+                    appendMovie(eLibrary, movie, library);
                 } else {
-                    eMovie = writeMovieForIndex(xmlDoc, movie);
+                    // Add the movie
+                    eLibrary.appendChild(writeMovieForIndex(xmlDoc, movie));
                 }
-
-                // Add the movie
-                eLibrary.appendChild(eMovie);
             }
         }
 
@@ -422,6 +430,12 @@ public class MovieJukeboxXMLWriter {
 
         StringBuilder loggerString;
 
+        // The HTML pages also depend on the skin, the views and the parameters of the XSL files
+        String skinVersion = SkinProperties.getFileDate() + "|" + PropertiesUtil.getProperty("mjb.view.indexList", "index.xsl")
+                + "|" + MovieJukeboxHTMLWriter.getTransformParametersHash();
+        indexFingerprints = new IndexFingerprints(new File(jukebox.getJukeboxRootLocationDetailsFile(), INDEX_FINGERPRINTS_FILE), skinVersion);
+        FileTools.addJukeboxFile(INDEX_FINGERPRINTS_FILE);
+
         tasks.restart();
 
         for (Map.Entry<String, Index> category : library.getIndexes().entrySet()) {
@@ -604,7 +618,9 @@ public class MovieJukeboxXMLWriter {
                             for (int current = 1; current <= last; current++) {
                                 String name = idx.baseName + current + EXT_XML;
                                 FileTools.addJukeboxFile(name);
+                                indexFingerprints.keep(name);
                             }
+                            JukeboxStatistics.increment(JukeboxStatistic.INDEX_PAGES_SKIPPED, last);
                         } else {
                             LOG.debug("Category '{}' - generating {} XML file{}", categoryPath, last, last == 1 ? "." : "s.");
 
@@ -613,7 +629,7 @@ public class MovieJukeboxXMLWriter {
                                 // All pages are handled here
                                 next = (current % last) + 1; // this gives 1 for last
                                 writeIndexPage(library, tmpMovieList.subList(moviepos, Math.min(moviepos + nbVideosPerPage, tmpMovieList.size())),
-                                        jukebox.getJukeboxTempLocationDetails(), idx, previous, current, next, last, tmpMovieList.size());
+                                        jukebox, idx, previous, current, next, last, tmpMovieList.size());
 
                                 moviepos += nbVideosPerPage;
                                 previous = current;
@@ -636,9 +652,11 @@ public class MovieJukeboxXMLWriter {
     /**
      * Write out the index pages
      *
+     * Pages with the same content as the page in the jukebox are not written again.
+     *
      * @param library
      * @param movies
-     * @param rootPath
+     * @param jukebox
      * @param idx
      * @param previous
      * @param current
@@ -646,9 +664,9 @@ public class MovieJukeboxXMLWriter {
      * @param last
      * @param indexCount
      */
-    public void writeIndexPage(Library library, List<Movie> movies, String rootPath, IndexInfo idx, int previous, int current, int next, int last, int indexCount) {
+    public void writeIndexPage(Library library, List<Movie> movies, Jukebox jukebox, IndexInfo idx, int previous, int current, int next, int last, int indexCount) {
         String prefix = idx.baseName;
-        File xmlFile = new File(rootPath, prefix + current + EXT_XML);
+        File xmlFile = new File(jukebox.getJukeboxTempLocationDetails(), prefix + current + EXT_XML);
 
         Document xmlDoc;
         try {
@@ -760,7 +778,7 @@ public class MovieJukeboxXMLWriter {
                         continue;
                     }
                 }
-                eLibrary.appendChild(writePerson(xmlDoc, person, false));
+                appendPerson(eLibrary, person);
                 break;
             }
         }
@@ -776,7 +794,7 @@ public class MovieJukeboxXMLWriter {
 
         if (fullMovieInfoInIndexes) {
             for (Movie movie : movies) {
-                eMovies.appendChild(writeMovie(xmlDoc, movie, library));
+                appendMovie(eMovies, movie, library);
             }
         } else {
             for (Movie movie : movies) {
@@ -793,8 +811,67 @@ public class MovieJukeboxXMLWriter {
         // Add the Library node to the document
         xmlDoc.appendChild(eLibrary);
 
+        byte[] content = DOMHelper.writeDocumentToBytes(xmlDoc);
+        if (content == null) {
+            LOG.error("Failed writing index page: {}", xmlFile.getName());
+            return;
+        }
+
+        // Compare with the page in the jukebox
+        List<File> jukeboxFiles = new ArrayList<>();
+        jukeboxFiles.add(new File(jukebox.getJukeboxRootLocationDetailsFile(), xmlFile.getName()));
+        if (!SKIP_HTML_GENERATION) {
+            for (String htmlFilename : MovieJukeboxHTMLWriter.getIndexHtmlFilenames(prefix + current)) {
+                jukeboxFiles.add(new File(jukebox.getJukeboxRootLocationDetailsFile(), htmlFilename));
+            }
+        }
+        String fingerprint = IndexFingerprints.fingerprint(content);
+        boolean unchanged = indexFingerprints != null
+                && indexFingerprints.isUnchanged(xmlFile.getName(), fingerprint, jukeboxFiles.toArray(new File[jukeboxFiles.size()]));
+        if (unchanged && !FORCE_INDEX_OVERWRITE && !FORCE_HTML_OVERWRITE) {
+            LOG.trace("Index page {} has not changed, skipping", xmlFile.getName());
+            idx.setPageUnchanged(current);
+            indexFingerprints.keep(xmlFile.getName());
+            JukeboxStatistics.increment(JukeboxStatistic.INDEX_PAGES_SKIPPED);
+            return;
+        }
+
         // Save the document to file
-        DOMHelper.writeDocumentToFile(xmlDoc, xmlFile);
+        try (FileOutputStream out = new FileOutputStream(xmlFile)) {
+            out.write(content);
+            JukeboxStatistics.increment(JukeboxStatistic.INDEX_PAGES_WRITTEN);
+        } catch (IOException error) {
+            xmlFile.delete();
+            LOG.error("Error writing the document to {}", xmlFile);
+            LOG.error("Message: {}", error.getMessage());
+            return;
+        }
+
+        if (indexFingerprints != null) {
+            indexFingerprints.setWritten(xmlFile.getName(), fingerprint);
+        }
+    }
+
+    /**
+     * Write the fingerprints of the index pages, once the pages have been copied to the jukebox
+     *
+     * Only the pages whose HTML files have been generated are kept, the other written pages are generated again on the next run.
+     *
+     * @param library
+     */
+    public void saveIndexFingerprints(Library library) {
+        if (indexFingerprints == null) {
+            return;
+        }
+
+        for (IndexInfo idx : library.getGeneratedIndexes()) {
+            for (int page = 1; page <= idx.pages; page++) {
+                if (SKIP_HTML_GENERATION || idx.isPageGenerated(page)) {
+                    indexFingerprints.commit(idx.baseName + page + EXT_XML);
+                }
+            }
+        }
+        indexFingerprints.save();
     }
 
     private Element processIndexCategory(Document doc, String categoryName, String categoryKey, boolean isCurrentKey, IndexInfo idx, int indexSize,
@@ -878,28 +955,27 @@ public class MovieJukeboxXMLWriter {
     }
 
     /**
-     * Create an element based on a collection of items
+     * Write an element based on a collection of items
      *
-     * @param doc
+     * @param writer
      * @param set
      * @param element
      * @param items
      * @param library
      * @param cat
-     * @return
+     * @throws XMLStreamException
      */
-    private static Element generateElementSet(Document doc, String set, String element, Collection<String> items, Library library, String cat, String source) {
+    private static void writeElementSet(XMLStreamWriter writer, String set, String element, Collection<String> items, Library library, String cat, String source) throws XMLStreamException {
 
         if (!items.isEmpty()) {
-            Element eSet = doc.createElement(set);
-            eSet.setAttribute(COUNT, String.valueOf(items.size()));
-            eSet.setAttribute(SOURCE, source);
+            writer.writeStartElement(set);
+            writer.writeAttribute(COUNT, String.valueOf(items.size()));
+            XMLStreamHelper.writeAttribute(writer, SOURCE, source);
             for (String item : items) {
-                writeIndexedElement(doc, eSet, element, item, createIndexAttribute(library, cat, item));
+                writeIndexedElement(writer, element, item, createIndexAttribute(library, cat, item));
             }
-            return eSet;
+            writer.writeEndElement();
         }
-        return null;
     }
 
     /**
@@ -907,17 +983,17 @@ public class MovieJukeboxXMLWriter {
      *
      * If there is a non-null value in the indexValue, this will be appended to the element.
      *
-     * @param doc
-     * @param parentElement
+     * @param writer
      * @param attributeName
      * @param attributeValue
      * @param indexValue
+     * @throws XMLStreamException
      */
-    private static void writeIndexedElement(Document doc, Element parentElement, String attributeName, String attributeValue, String indexValue) {
+    private static void writeIndexedElement(XMLStreamWriter writer, String attributeName, String attributeValue, String indexValue) throws XMLStreamException {
         if (indexValue == null) {
-            DOMHelper.appendChild(doc, parentElement, attributeName, attributeValue);
+            XMLStreamHelper.appendChild(writer, attributeName, attributeValue);
         } else {
-            DOMHelper.appendChild(doc, parentElement, attributeName, attributeValue, INDEX, indexValue);
+            XMLStreamHelper.appendChild(writer, attributeName, attributeValue, INDEX, indexValue);
         }
     }
 
@@ -948,93 +1024,111 @@ public class MovieJukeboxXMLWriter {
     }
 
     /**
-     * Create an element with the movie details in it
+     * Add the movie details to a DOM element of an index
      *
-     * @param doc
+     * @param parent
      * @param movie
      * @param library
-     * @return
+     */
+    protected void appendMovie(Element parent, Movie movie, Library library) {
+        try {
+            XMLStreamWriter writer = XMLStreamHelper.createDOMWriter(parent);
+            writeMovie(writer, movie, library);
+            writer.close();
+        } catch (XMLStreamException error) {
+            LOG.error("Failed to add the details of {} to the index", movie.getBaseName());
+            LOG.error(SystemTools.getStackTrace(error));
+        }
+    }
+
+    /**
+     * Write an element with the movie details in it
+     *
+     * @param writer
+     * @param movie
+     * @param library
+     * @throws XMLStreamException
      */
     @SuppressWarnings("deprecation")
-    private Element writeMovie(Document doc, Movie movie, Library library) {
-        Element eMovie = doc.createElement(MOVIE);
+    private void writeMovie(XMLStreamWriter writer, Movie movie, Library library) throws XMLStreamException {
+        writer.writeStartElement(MOVIE);
 
         // holds the child attributes for reuse
         Map<String, String> childAttributes = new LinkedHashMap<>();
 
-        eMovie.setAttribute("isExtra", Boolean.toString(movie.isExtra()));
-        eMovie.setAttribute("isSet", Boolean.toString(movie.isSetMaster()));
+        writer.writeAttribute("isExtra", Boolean.toString(movie.isExtra()));
+        writer.writeAttribute("isSet", Boolean.toString(movie.isSetMaster()));
         if (movie.isSetMaster()) {
-            eMovie.setAttribute("setSize", Integer.toString(movie.getSetSize()));
+            writer.writeAttribute("setSize", Integer.toString(movie.getSetSize()));
         }
-        eMovie.setAttribute("isTV", Boolean.toString(movie.isTVShow()));
+        writer.writeAttribute("isTV", Boolean.toString(movie.isTVShow()));
 
         for (Map.Entry<String, String> e : movie.getIdMap().entrySet()) {
-            DOMHelper.appendChild(doc, eMovie, "id", e.getValue(), MOVIEDB, e.getKey());
+            XMLStreamHelper.appendChild(writer, "id", e.getValue(), MOVIEDB, e.getKey());
         }
 
-        DOMHelper.appendChild(doc, eMovie, "mjbVersion", GitRepositoryState.getVersion());
-        DOMHelper.appendChild(doc, eMovie, "mjbGitSHA", GIT.getCommitId());
-        DOMHelper.appendChild(doc, eMovie, "xmlGenerationDate", DateTimeTools.convertDateToString(new Date(), DateTimeTools.getDateFormatLongString()));
-        DOMHelper.appendChild(doc, eMovie, "baseFilenameBase", movie.getBaseFilename());
-        DOMHelper.appendChild(doc, eMovie, BASE_FILENAME, movie.getBaseName());
+        XMLStreamHelper.appendChild(writer, "mjbVersion", GitRepositoryState.getVersion());
+        XMLStreamHelper.appendChild(writer, "mjbGitSHA", GIT.getCommitId());
+        XMLStreamHelper.appendChild(writer, "xmlGenerationDate", DateTimeTools.convertDateToString(new Date(), DateTimeTools.getDateFormatLongString()));
+        XMLStreamHelper.appendChild(writer, "baseFilenameBase", movie.getBaseFilename());
+        XMLStreamHelper.appendChild(writer, BASE_FILENAME, movie.getBaseName());
         if ((TITLE_SORT_TYPE == TitleSortType.ADOPT_ORIGINAL) && (StringTools.isValidString(movie.getOriginalTitle()))) {
-            DOMHelper.appendChild(doc, eMovie, TITLE, movie.getOriginalTitle(), SOURCE, movie.getOverrideSource(OverrideFlag.TITLE));
+            XMLStreamHelper.appendChild(writer, TITLE, movie.getOriginalTitle(), SOURCE, movie.getOverrideSource(OverrideFlag.TITLE));
         } else {
-            DOMHelper.appendChild(doc, eMovie, TITLE, movie.getTitle(), SOURCE, movie.getOverrideSource(OverrideFlag.TITLE));
+            XMLStreamHelper.appendChild(writer, TITLE, movie.getTitle(), SOURCE, movie.getOverrideSource(OverrideFlag.TITLE));
         }
-        DOMHelper.appendChild(doc, eMovie, SORT_TITLE, movie.getTitleSort());
-        DOMHelper.appendChild(doc, eMovie, ORIGINAL_TITLE, movie.getOriginalTitle(), SOURCE, movie.getOverrideSource(OverrideFlag.ORIGINALTITLE));
+        XMLStreamHelper.appendChild(writer, SORT_TITLE, movie.getTitleSort());
+        XMLStreamHelper.appendChild(writer, ORIGINAL_TITLE, movie.getOriginalTitle(), SOURCE, movie.getOverrideSource(OverrideFlag.ORIGINALTITLE));
 
         childAttributes.clear();
         childAttributes.put("Year", Library.getYearCategory(movie.getYear()));
         childAttributes.put(SOURCE, movie.getOverrideSource(OverrideFlag.YEAR));
-        DOMHelper.appendChild(doc, eMovie, YEAR, movie.getYear(), childAttributes);
+        XMLStreamHelper.appendChild(writer, YEAR, movie.getYear(), childAttributes);
 
-        DOMHelper.appendChild(doc, eMovie, "releaseDate", movie.getReleaseDate(), SOURCE, movie.getOverrideSource(OverrideFlag.RELEASEDATE));
-        DOMHelper.appendChild(doc, eMovie, "showStatus", movie.getShowStatus());
+        XMLStreamHelper.appendChild(writer, "releaseDate", movie.getReleaseDate(), SOURCE, movie.getOverrideSource(OverrideFlag.RELEASEDATE));
+        XMLStreamHelper.appendChild(writer, "showStatus", movie.getShowStatus());
 
         // This is the main rating
-        DOMHelper.appendChild(doc, eMovie, RATING, Integer.toString(movie.getRating()));
+        XMLStreamHelper.appendChild(writer, RATING, Integer.toString(movie.getRating()));
 
         // This is the list of ratings
-        Element eRatings = doc.createElement("ratings");
+        writer.writeStartElement("ratings");
         for (String site : movie.getRatings().keySet()) {
-            DOMHelper.appendChild(doc, eRatings, RATING, Integer.toString(movie.getRating(site)), MOVIEDB, site);
+            XMLStreamHelper.appendChild(writer, RATING, Integer.toString(movie.getRating(site)), MOVIEDB, site);
         }
-        eMovie.appendChild(eRatings);
+        writer.writeEndElement();
 
-        DOMHelper.appendChild(doc, eMovie, "watched", Boolean.toString(movie.isWatched()));
-        DOMHelper.appendChild(doc, eMovie, "watchedNFO", Boolean.toString(movie.isWatchedNFO()));
-        DOMHelper.appendChild(doc, eMovie, "watchedFile", Boolean.toString(movie.isWatchedFile()));
+        XMLStreamHelper.appendChild(writer, "watched", Boolean.toString(movie.isWatched()));
+        XMLStreamHelper.appendChild(writer, "watchedNFO", Boolean.toString(movie.isWatchedNFO()));
+        XMLStreamHelper.appendChild(writer, "watchedFile", Boolean.toString(movie.isWatchedFile()));
         if (movie.isWatched()) {
-            DOMHelper.appendChild(doc, eMovie, "watchedDate", getWatchedDateString(movie.getWatchedDate()));
+            XMLStreamHelper.appendChild(writer, "watchedDate", getWatchedDateString(movie.getWatchedDate()));
         }
-        DOMHelper.appendChild(doc, eMovie, "top250", Integer.toString(movie.getTop250()), SOURCE, movie.getOverrideSource(OverrideFlag.TOP250));
-        DOMHelper.appendChild(doc, eMovie, DETAILS, HTMLTools.encodeUrl(movie.getBaseName()) + EXT_HTML);
-        DOMHelper.appendChild(doc, eMovie, "posterURL", HTMLTools.encodeUrl(movie.getPosterURL()));
-        DOMHelper.appendChild(doc, eMovie, "posterFile", HTMLTools.encodeUrl(movie.getPosterFilename()));
-        DOMHelper.appendChild(doc, eMovie, "fanartURL", HTMLTools.encodeUrl(movie.getFanartURL()));
-        DOMHelper.appendChild(doc, eMovie, "fanartFile", HTMLTools.encodeUrl(movie.getFanartFilename()));
-        DOMHelper.appendChild(doc, eMovie, "detailPosterFile", HTMLTools.encodeUrl(movie.getDetailPosterFilename()));
-        DOMHelper.appendChild(doc, eMovie, "thumbnail", HTMLTools.encodeUrl(movie.getThumbnailFilename()));
-        DOMHelper.appendChild(doc, eMovie, "bannerURL", HTMLTools.encodeUrl(movie.getBannerURL()));
-        DOMHelper.appendChild(doc, eMovie, "bannerFile", HTMLTools.encodeUrl(movie.getBannerFilename()));
-        DOMHelper.appendChild(doc, eMovie, "wideBannerFile", HTMLTools.encodeUrl(movie.getWideBannerFilename()));
-        DOMHelper.appendChild(doc, eMovie, "clearLogoURL", HTMLTools.encodeUrl(movie.getClearLogoURL()));
-        DOMHelper.appendChild(doc, eMovie, "clearLogoFile", HTMLTools.encodeUrl(movie.getClearLogoFilename()));
-        DOMHelper.appendChild(doc, eMovie, "clearArtURL", HTMLTools.encodeUrl(movie.getClearArtURL()));
-        DOMHelper.appendChild(doc, eMovie, "clearArtFile", HTMLTools.encodeUrl(movie.getClearArtFilename()));
-        DOMHelper.appendChild(doc, eMovie, "tvThumbURL", HTMLTools.encodeUrl(movie.getTvThumbURL()));
-        DOMHelper.appendChild(doc, eMovie, "tvThumbFile", HTMLTools.encodeUrl(movie.getTvThumbFilename()));
-        DOMHelper.appendChild(doc, eMovie, "seasonThumbURL", HTMLTools.encodeUrl(movie.getSeasonThumbURL()));
-        DOMHelper.appendChild(doc, eMovie, "seasonThumbFile", HTMLTools.encodeUrl(movie.getSeasonThumbFilename()));
-        DOMHelper.appendChild(doc, eMovie, "movieDiscURL", HTMLTools.encodeUrl(movie.getMovieDiscURL()));
-        DOMHelper.appendChild(doc, eMovie, "movieDiscFile", HTMLTools.encodeUrl(movie.getMovieDiscFilename()));
-        DOMHelper.appendChild(doc, eMovie, "plot", movie.getPlot(), SOURCE, movie.getOverrideSource(OverrideFlag.PLOT));
-        DOMHelper.appendChild(doc, eMovie, "outline", movie.getOutline(), SOURCE, movie.getOverrideSource(OverrideFlag.OUTLINE));
-        DOMHelper.appendChild(doc, eMovie, "quote", movie.getQuote(), SOURCE, movie.getOverrideSource(OverrideFlag.QUOTE));
-        DOMHelper.appendChild(doc, eMovie, "tagline", movie.getTagline(), SOURCE, movie.getOverrideSource(OverrideFlag.TAGLINE));
+        XMLStreamHelper.appendChild(writer, "top250", Integer.toString(movie.getTop250()), SOURCE, movie.getOverrideSource(OverrideFlag.TOP250));
+        XMLStreamHelper.appendChild(writer, DETAILS, HTMLTools.encodeUrl(movie.getBaseName()) + EXT_HTML);
+        XMLStreamHelper.appendChild(writer, "posterURL", HTMLTools.encodeUrl(movie.getPosterURL()));
+        XMLStreamHelper.appendChild(writer, "posterFile", HTMLTools.encodeUrl(movie.getPosterFilename()));
+        XMLStreamHelper.appendChild(writer, "fanartURL", HTMLTools.encodeUrl(movie.getFanartURL()));
+        XMLStreamHelper.appendChild(writer, "fanartFile", HTMLTools.encodeUrl(movie.getFanartFilename()));
+        XMLStreamHelper.appendChild(writer, "detailPosterFile", HTMLTools.encodeUrl(movie.getDetailPosterFilename()));
+        XMLStreamHelper.appendChild(writer, "thumbnail", HTMLTools.encodeUrl(movie.getThumbnailFilename()));
+        XMLStreamHelper.appendChild(writer, "bannerURL", HTMLTools.encodeUrl(movie.getBannerURL()));
+        XMLStreamHelper.appendChild(writer, "bannerFile", HTMLTools.encodeUrl(movie.getBannerFilename()));
+        XMLStreamHelper.appendChild(writer, "wideBannerFile", HTMLTools.encodeUrl(movie.getWideBannerFilename()));
+        XMLStreamHelper.appendChild(writer, "clearLogoURL", HTMLTools.encodeUrl(movie.getClearLogoURL()));
+        XMLStreamHelper.appendChild(writer, "clearLogoFile", HTMLTools.encodeUrl(movie.getClearLogoFilename()));
+        XMLStreamHelper.appendChild(writer, "clearArtURL", HTMLTools.encodeUrl(movie.getClearArtURL()));
+        XMLStreamHelper.appendChild(writer, "clearArtFile", HTMLTools.encodeUrl(movie.getClearArtFilename()));
+        XMLStreamHelper.appendChild(writer, "tvThumbURL", HTMLTools.encodeUrl(movie.getTvThumbURL()));
+        XMLStreamHelper.appendChild(writer, "tvThumbFile", HTMLTools.encodeUrl(movie.getTvThumbFilename()));
+        XMLStreamHelper.appendChild(writer, "seasonThumbURL", HTMLTools.encodeUrl(movie.getSeasonThumbURL()));
+        XMLStreamHelper.appendChild(writer, "seasonThumbFile", HTMLTools.encodeUrl(movie.getSeasonThumbFilename()));
+        XMLStreamHelper.appendChild(writer, "movieDiscURL", HTMLTools.encodeUrl(movie.getMovieDiscURL()));
+        XMLStreamHelper.appendChild(writer, "movieDiscFile", HTMLTools.encodeUrl(movie.getMovieDiscFilename()));
+        XMLStreamHelper.appendChild(writer, "plot", movie.getPlot(), SOURCE, movie.getOverrideSource(OverrideFlag.PLOT));
+        XMLStreamHelper.appendChild(writer, "outline", movie.getOutline(), SOURCE, movie.getOverrideSource(OverrideFlag.OUTLINE));
+        XMLStreamHelper.appendChild(writer, "quote", movie.getQuote(), SOURCE, movie.getOverrideSource(OverrideFlag.QUOTE));
+        XMLStreamHelper.appendChild(writer, "tagline", movie.getTagline(), SOURCE, movie.getOverrideSource(OverrideFlag.TAGLINE));
 
         childAttributes.clear();
         String countryIndex = createIndexAttribute(library, Library.INDEX_COUNTRY, movie.getCountriesAsString());
@@ -1042,198 +1136,189 @@ public class MovieJukeboxXMLWriter {
             childAttributes.put(INDEX, countryIndex);
         }
         childAttributes.put(SOURCE, movie.getOverrideSource(OverrideFlag.COUNTRY));
-        DOMHelper.appendChild(doc, eMovie, COUNTRY, movie.getCountriesAsString(), childAttributes);
+        XMLStreamHelper.appendChild(writer, COUNTRY, movie.getCountriesAsString(), childAttributes);
         if (XML_COMPATIBLE) {
-            Element eCountry = doc.createElement("countries");
-            int cnt = 0;
+            writer.writeStartElement("countries");
+            writer.writeAttribute(COUNT, String.valueOf(movie.getCountries().size()));
             for (String country : movie.getCountries()) {
-                writeIndexedElement(doc, eCountry, "land", country, createIndexAttribute(library, Library.INDEX_COUNTRY, country));
-                cnt++;
+                writeIndexedElement(writer, "land", country, createIndexAttribute(library, Library.INDEX_COUNTRY, country));
             }
-            eCountry.setAttribute(COUNT, String.valueOf(cnt));
-            eMovie.appendChild(eCountry);
+            writer.writeEndElement();
         }
 
-        DOMHelper.appendChild(doc, eMovie, "company", movie.getCompany(), SOURCE, movie.getOverrideSource(OverrideFlag.COMPANY));
+        XMLStreamHelper.appendChild(writer, "company", movie.getCompany(), SOURCE, movie.getOverrideSource(OverrideFlag.COMPANY));
         if (XML_COMPATIBLE) {
-            Element eCompany = doc.createElement("companies");
-            int cnt = 0;
-            for (String company : movie.getCompany().split(Movie.SPACE_SLASH_SPACE)) {
-                DOMHelper.appendChild(doc, eCompany, "credit", company);
-                cnt++;
+            String[] companies = movie.getCompany().split(Movie.SPACE_SLASH_SPACE);
+            writer.writeStartElement("companies");
+            writer.writeAttribute(COUNT, String.valueOf(companies.length));
+            for (String company : companies) {
+                XMLStreamHelper.appendChild(writer, "credit", company);
             }
-            eCompany.setAttribute(COUNT, String.valueOf(cnt));
-            eMovie.appendChild(eCompany);
+            writer.writeEndElement();
         }
 
-        DOMHelper.appendChild(doc, eMovie, "runtime", movie.getRuntime(), SOURCE, movie.getOverrideSource(OverrideFlag.RUNTIME));
-        DOMHelper.appendChild(doc, eMovie, "certification", Library.getIndexingCertification(movie.getCertification()), SOURCE, movie.getOverrideSource(OverrideFlag.CERTIFICATION));
-        DOMHelper.appendChild(doc, eMovie, SEASON, Integer.toString(movie.getSeason()));
+        XMLStreamHelper.appendChild(writer, "runtime", movie.getRuntime(), SOURCE, movie.getOverrideSource(OverrideFlag.RUNTIME));
+        XMLStreamHelper.appendChild(writer, "certification", Library.getIndexingCertification(movie.getCertification()), SOURCE, movie.getOverrideSource(OverrideFlag.CERTIFICATION));
+        XMLStreamHelper.appendChild(writer, SEASON, Integer.toString(movie.getSeason()));
 
-        DOMHelper.appendChild(doc, eMovie, LANGUAGE, movie.getLanguage(), SOURCE, movie.getOverrideSource(OverrideFlag.LANGUAGE));
+        XMLStreamHelper.appendChild(writer, LANGUAGE, movie.getLanguage(), SOURCE, movie.getOverrideSource(OverrideFlag.LANGUAGE));
         if (XML_COMPATIBLE) {
-            Element eLanguage = doc.createElement("languages");
-            int cnt = 0;
-            for (String language : movie.getLanguage().split(Movie.SPACE_SLASH_SPACE)) {
-                DOMHelper.appendChild(doc, eLanguage, "lang", language);
-                cnt++;
+            String[] languages = movie.getLanguage().split(Movie.SPACE_SLASH_SPACE);
+            writer.writeStartElement("languages");
+            writer.writeAttribute(COUNT, String.valueOf(languages.length));
+            for (String language : languages) {
+                XMLStreamHelper.appendChild(writer, "lang", language);
             }
-            eLanguage.setAttribute(COUNT, String.valueOf(cnt));
-            eMovie.appendChild(eLanguage);
+            writer.writeEndElement();
         }
 
-        DOMHelper.appendChild(doc, eMovie, "subtitles", movie.getSubtitles());
+        XMLStreamHelper.appendChild(writer, "subtitles", movie.getSubtitles());
         if (XML_COMPATIBLE) {
-            Element eSubtitle = doc.createElement("subs");
-            int cnt = 0;
-            for (String subtitle : SubtitleTools.getSubtitles(movie)) {
-                DOMHelper.appendChild(doc, eSubtitle, "subtitle", subtitle);
-                cnt++;
+            Collection<String> subtitles = SubtitleTools.getSubtitles(movie);
+            writer.writeStartElement("subs");
+            writer.writeAttribute(COUNT, String.valueOf(subtitles.size()));
+            for (String subtitle : subtitles) {
+                XMLStreamHelper.appendChild(writer, "subtitle", subtitle);
             }
-            eSubtitle.setAttribute(COUNT, String.valueOf(cnt));
-            eMovie.appendChild(eSubtitle);
+            writer.writeEndElement();
         }
 
-        DOMHelper.appendChild(doc, eMovie, "trailerExchange", movie.isTrailerExchange() ? YES : "NO");
+        XMLStreamHelper.appendChild(writer, "trailerExchange", movie.isTrailerExchange() ? YES : "NO");
 
         if (movie.getTrailerLastScan() == 0) {
-            DOMHelper.appendChild(doc, eMovie, TRAILER_LAST_SCAN, Movie.UNKNOWN);
+            XMLStreamHelper.appendChild(writer, TRAILER_LAST_SCAN, Movie.UNKNOWN);
         } else {
+            String trailerLastScan;
             try {
                 DateTime dt = new DateTime(movie.getTrailerLastScan());
-                DOMHelper.appendChild(doc, eMovie, TRAILER_LAST_SCAN, DateTimeTools.convertDateToString(dt));
+                trailerLastScan = DateTimeTools.convertDateToString(dt);
             } catch (Exception error) {
-                DOMHelper.appendChild(doc, eMovie, TRAILER_LAST_SCAN, Movie.UNKNOWN);
+                trailerLastScan = Movie.UNKNOWN;
             }
+            XMLStreamHelper.appendChild(writer, TRAILER_LAST_SCAN, trailerLastScan);
         }
 
-        DOMHelper.appendChild(doc, eMovie, "container", movie.getContainer(), SOURCE, movie.getOverrideSource(OverrideFlag.CONTAINER));
-        DOMHelper.appendChild(doc, eMovie, "videoCodec", movie.getVideoCodec());
-        DOMHelper.appendChild(doc, eMovie, "audioCodec", movie.getAudioCodec());
+        XMLStreamHelper.appendChild(writer, "container", movie.getContainer(), SOURCE, movie.getOverrideSource(OverrideFlag.CONTAINER));
+        XMLStreamHelper.appendChild(writer, "videoCodec", movie.getVideoCodec());
+        XMLStreamHelper.appendChild(writer, "audioCodec", movie.getAudioCodec());
 
         // Write codec information
-        eMovie.appendChild(createCodecsElement(doc, movie.getCodecs()));
-        DOMHelper.appendChild(doc, eMovie, "audioChannels", movie.getAudioChannels());
-        DOMHelper.appendChild(doc, eMovie, "resolution", movie.getResolution(), SOURCE, movie.getOverrideSource(OverrideFlag.RESOLUTION));
+        writeCodecs(writer, movie.getCodecs());
+        XMLStreamHelper.appendChild(writer, "audioChannels", movie.getAudioChannels());
+        XMLStreamHelper.appendChild(writer, "resolution", movie.getResolution(), SOURCE, movie.getOverrideSource(OverrideFlag.RESOLUTION));
 
         // If the source is unknown, use the default source
         if (StringTools.isNotValidString(movie.getVideoSource())) {
-            DOMHelper.appendChild(doc, eMovie, "videoSource", DEFAULT_SOURCE, SOURCE, Movie.UNKNOWN);
+            XMLStreamHelper.appendChild(writer, "videoSource", DEFAULT_SOURCE, SOURCE, Movie.UNKNOWN);
         } else {
-            DOMHelper.appendChild(doc, eMovie, "videoSource", movie.getVideoSource(), SOURCE, movie.getOverrideSource(OverrideFlag.VIDEOSOURCE));
+            XMLStreamHelper.appendChild(writer, "videoSource", movie.getVideoSource(), SOURCE, movie.getOverrideSource(OverrideFlag.VIDEOSOURCE));
         }
 
-        DOMHelper.appendChild(doc, eMovie, "videoOutput", movie.getVideoOutput(), SOURCE, movie.getOverrideSource(OverrideFlag.VIDEOOUTPUT));
-        DOMHelper.appendChild(doc, eMovie, "aspect", movie.getAspectRatio(), SOURCE, movie.getOverrideSource(OverrideFlag.ASPECTRATIO));
-        DOMHelper.appendChild(doc, eMovie, "fps", Float.toString(movie.getFps()), SOURCE, movie.getOverrideSource(OverrideFlag.FPS));
+        XMLStreamHelper.appendChild(writer, "videoOutput", movie.getVideoOutput(), SOURCE, movie.getOverrideSource(OverrideFlag.VIDEOOUTPUT));
+        XMLStreamHelper.appendChild(writer, "aspect", movie.getAspectRatio(), SOURCE, movie.getOverrideSource(OverrideFlag.ASPECTRATIO));
+        XMLStreamHelper.appendChild(writer, "fps", Float.toString(movie.getFps()), SOURCE, movie.getOverrideSource(OverrideFlag.FPS));
 
         if (movie.getFileDate() == null) {
-            DOMHelper.appendChild(doc, eMovie, "fileDate", Movie.UNKNOWN);
+            XMLStreamHelper.appendChild(writer, "fileDate", Movie.UNKNOWN);
         } else {
             // Try to catch any date re-formatting errors
+            String fileDate;
             try {
-                DOMHelper.appendChild(doc, eMovie, "fileDate", DateTimeTools.convertDateToString(movie.getFileDate()));
+                fileDate = DateTimeTools.convertDateToString(movie.getFileDate());
             } catch (ArrayIndexOutOfBoundsException error) {
-                DOMHelper.appendChild(doc, eMovie, "fileDate", Movie.UNKNOWN);
+                fileDate = Movie.UNKNOWN;
             }
+            XMLStreamHelper.appendChild(writer, "fileDate", fileDate);
         }
-        DOMHelper.appendChild(doc, eMovie, "fileSize", movie.getFileSizeString());
-        DOMHelper.appendChild(doc, eMovie, "first", HTMLTools.encodeUrl(movie.getFirst()));
-        DOMHelper.appendChild(doc, eMovie, "previous", HTMLTools.encodeUrl(movie.getPrevious()));
-        DOMHelper.appendChild(doc, eMovie, "next", HTMLTools.encodeUrl(movie.getNext()));
-        DOMHelper.appendChild(doc, eMovie, "last", HTMLTools.encodeUrl(movie.getLast()));
-        DOMHelper.appendChild(doc, eMovie, "libraryDescription", movie.getLibraryDescription());
-        DOMHelper.appendChild(doc, eMovie, "prebuf", Long.toString(movie.getPrebuf()));
+        XMLStreamHelper.appendChild(writer, "fileSize", movie.getFileSizeString());
+        XMLStreamHelper.appendChild(writer, "first", HTMLTools.encodeUrl(movie.getFirst()));
+        XMLStreamHelper.appendChild(writer, "previous", HTMLTools.encodeUrl(movie.getPrevious()));
+        XMLStreamHelper.appendChild(writer, "next", HTMLTools.encodeUrl(movie.getNext()));
+        XMLStreamHelper.appendChild(writer, "last", HTMLTools.encodeUrl(movie.getLast()));
+        XMLStreamHelper.appendChild(writer, "libraryDescription", movie.getLibraryDescription());
+        XMLStreamHelper.appendChild(writer, "prebuf", Long.toString(movie.getPrebuf()));
 
         if (!movie.getGenres().isEmpty()) {
-            Element eGenres = doc.createElement("genres");
-            eGenres.setAttribute(COUNT, String.valueOf(movie.getGenres().size()));
-            eGenres.setAttribute(SOURCE, movie.getOverrideSource(OverrideFlag.GENRES));
+            writer.writeStartElement("genres");
+            writer.writeAttribute(COUNT, String.valueOf(movie.getGenres().size()));
+            XMLStreamHelper.writeAttribute(writer, SOURCE, movie.getOverrideSource(OverrideFlag.GENRES));
             for (String genre : movie.getGenres()) {
-                writeIndexedElement(doc, eGenres, "genre", genre, createIndexAttribute(library, Library.INDEX_GENRES, Library.getIndexingGenre(genre)));
+                writeIndexedElement(writer, "genre", genre, createIndexAttribute(library, Library.INDEX_GENRES, Library.getIndexingGenre(genre)));
             }
-            eMovie.appendChild(eGenres);
+            writer.writeEndElement();
         }
 
         Collection<String> items = movie.getSetsKeys();
         if (!items.isEmpty()) {
-            Element eSets = doc.createElement("sets");
-            eSets.setAttribute(COUNT, String.valueOf(items.size()));
+            writer.writeStartElement("sets");
+            writer.writeAttribute(COUNT, String.valueOf(items.size()));
             for (String item : items) {
-                Element eSetItem = doc.createElement("set");
+                writer.writeStartElement("set");
                 Integer order = movie.getSetOrder(item);
                 if (null != order) {
-                    eSetItem.setAttribute(ORDER, String.valueOf(order));
+                    writer.writeAttribute(ORDER, String.valueOf(order));
                 }
                 String index = createIndexAttribute(library, Library.INDEX_SET, item);
                 if (null != index) {
-                    eSetItem.setAttribute(INDEX, index);
+                    writer.writeAttribute(INDEX, index);
                 }
 
-                eSetItem.setTextContent(item);
-                eSets.appendChild(eSetItem);
+                XMLStreamHelper.writeText(writer, item);
+                writer.writeEndElement();
             }
-            eMovie.appendChild(eSets);
-        }
-
-        writeIndexedElement(doc, eMovie, "director", movie.getDirector(), createIndexAttribute(library, Library.INDEX_DIRECTOR, movie.getDirector()));
-
-        Element eSet;
-        eSet = generateElementSet(doc, "directors", "director", movie.getDirectors(), library, Library.INDEX_DIRECTOR, movie.getOverrideSource(OverrideFlag.DIRECTORS));
-        if (eSet != null) {
-            eMovie.appendChild(eSet);
+            writer.writeEndElement();
         }
 
-        eSet = generateElementSet(doc, "writers", "writer", movie.getWriters(), library, Library.INDEX_WRITER, movie.getOverrideSource(OverrideFlag.WRITERS));
-        if (eSet != null) {
-            eMovie.appendChild(eSet);
-        }
+        writeIndexedElement(writer, "director", movie.getDirector(), createIndexAttribute(library, Library.INDEX_DIRECTOR, movie.getDirector()));
 
-        eSet = generateElementSet(doc, "cast", "actor", movie.getCast(), library, Library.INDEX_CAST, movie.getOverrideSource(OverrideFlag.ACTORS));
-        if (eSet != null) {
-            eMovie.appendChild(eSet);
-        }
+        writeElementSet(writer, "directors", "director", movie.getDirectors(), library, Library.INDEX_DIRECTOR, movie.getOverrideSource(OverrideFlag.DIRECTORS));
+        writeElementSet(writer, "writers", "writer", movie.getWriters(), library, Library.INDEX_WRITER, movie.getOverrideSource(OverrideFlag.WRITERS));
+        writeElementSet(writer, "cast", "actor", movie.getCast(), library, Library.INDEX_CAST, movie.getOverrideSource(OverrideFlag.ACTORS));
 
         // Issue 1901: Awards
         if (ENABLE_AWARDS) {
             Collection<AwardEvent> awards = movie.getAwards();
             if (awards != null && !awards.isEmpty()) {
-                Element eAwards = doc.createElement("awards");
-                eAwards.setAttribute(COUNT, String.valueOf(awards.size()));
+                writer.writeStartElement("awards");
+                writer.writeAttribute(COUNT, String.valueOf(awards.size()));
                 for (AwardEvent event : awards) {
-                    Element eEvent = doc.createElement("event");
-                    eEvent.setAttribute(NAME, event.getName());
-                    eEvent.setAttribute(COUNT, String.valueOf(event.getAwards().size()));
+                    writer.writeStartElement("event");
+                    XMLStreamHelper.writeAttribute(writer, NAME, event.getName());
+                    writer.writeAttribute(COUNT, String.valueOf(event.getAwards().size()));
                     for (Award award : event.getAwards()) {
-                        Element eAwardItem = doc.createElement("award");
-                        eAwardItem.setAttribute(NAME, award.getName());
-                        eAwardItem.setAttribute(WON, Integer.toString(award.getWon()));
-                        eAwardItem.setAttribute("nominated", Integer.toString(award.getNominated()));
-                        eAwardItem.setAttribute(YEAR, Integer.toString(award.getYear()));
-                        if (award.getWons() != null && !award.getWons().isEmpty()) {
-                            eAwardItem.setAttribute("wons", StringUtils.join(award.getWons(), Movie.SPACE_SLASH_SPACE));
-                            if (XML_COMPATIBLE) {
+                        writer.writeStartElement("award");
+                        XMLStreamHelper.writeAttribute(writer, NAME, award.getName());
+                        writer.writeAttribute(WON, Integer.toString(award.getWon()));
+                        writer.writeAttribute("nominated", Integer.toString(award.getNominated()));
+                        writer.writeAttribute(YEAR, Integer.toString(award.getYear()));
+                        boolean hasWons = award.getWons() != null && !award.getWons().isEmpty();
+                        if (hasWons) {
+                            writer.writeAttribute("wons", StringUtils.join(award.getWons(), Movie.SPACE_SLASH_SPACE));
+                        }
+                        boolean hasNominations = award.getNominations() != null && !award.getNominations().isEmpty();
+                        if (hasNominations) {
+                            writer.writeAttribute("nominations", StringUtils.join(award.getNominations(), Movie.SPACE_SLASH_SPACE));
+                        }
+
+                        if (XML_COMPATIBLE) {
+                            if (hasWons) {
                                 for (String won : award.getWons()) {
-                                    DOMHelper.appendChild(doc, eAwardItem, WON, won);
+                                    XMLStreamHelper.appendChild(writer, WON, won);
                                 }
                             }
-                        }
-                        if (award.getNominations() != null && !award.getNominations().isEmpty()) {
-                            eAwardItem.setAttribute("nominations", StringUtils.join(award.getNominations(), Movie.SPACE_SLASH_SPACE));
-                            if (XML_COMPATIBLE) {
+                            if (hasNominations) {
                                 for (String nomination : award.getNominations()) {
-                                    DOMHelper.appendChild(doc, eAwardItem, "nomination", nomination);
+                                    XMLStreamHelper.appendChild(writer, "nomination", nomination);
                                 }
                             }
+                        } else {
+                            XMLStreamHelper.writeText(writer, award.getName());
                         }
-                        if (!XML_COMPATIBLE) {
-                            eAwardItem.setTextContent(award.getName());
-                        }
-                        eEvent.appendChild(eAwardItem);
+                        writer.writeEndElement();
                     }
-                    eAwards.appendChild(eEvent);
+                    writer.writeEndElement();
                 }
-                eMovie.appendChild(eAwards);
+                writer.writeEndElement();
             }
         }
 
@@ -1241,112 +1326,95 @@ public class MovieJukeboxXMLWriter {
         if (ENABLE_PEOPLE) {
             Collection<Filmography> people = movie.getPeople();
             if (people != null && !people.isEmpty()) {
-                Element ePeople = doc.createElement("people");
-                ePeople.setAttribute(COUNT, String.valueOf(people.size()));
+                writer.writeStartElement("people");
+                writer.writeAttribute(COUNT, String.valueOf(people.size()));
                 for (Filmography person : people) {
-                    Element ePerson = doc.createElement("person");
-
-                    ePerson.setAttribute(NAME, person.getName());
-                    ePerson.setAttribute("doublage", person.getDoublage());
-                    ePerson.setAttribute(TITLE, person.getTitle());
-                    ePerson.setAttribute(CHARACTER, person.getCharacter());
-                    ePerson.setAttribute(JOB, person.getJob());
-                    ePerson.setAttribute("id", person.getId());
+                    writer.writeStartElement("person");
+                    XMLStreamHelper.writeAttribute(writer, NAME, person.getName());
+                    XMLStreamHelper.writeAttribute(writer, "doublage", person.getDoublage());
+                    XMLStreamHelper.writeAttribute(writer, TITLE, person.getTitle());
+                    XMLStreamHelper.writeAttribute(writer, CHARACTER, person.getCharacter());
+                    XMLStreamHelper.writeAttribute(writer, JOB, person.getJob());
+                    XMLStreamHelper.writeAttribute(writer, "id", person.getId());
                     for (Map.Entry<String, String> personID : person.getIdMap().entrySet()) {
                         if (!personID.getKey().equals(ImdbPlugin.IMDB_PLUGIN_ID)) {
-                            ePerson.setAttribute(ID + personID.getKey(), personID.getValue());
+                            XMLStreamHelper.writeAttribute(writer, ID + personID.getKey(), personID.getValue());
                         }
                     }
-                    ePerson.setAttribute(DEPARTMENT, person.getDepartment());
-                    ePerson.setAttribute(URL, person.getUrl());
-                    ePerson.setAttribute(ORDER, Integer.toString(person.getOrder()));
-                    ePerson.setAttribute("cast_id", Integer.toString(person.getCastId()));
-                    ePerson.setAttribute("photoFile", person.getPhotoFilename());
+                    XMLStreamHelper.writeAttribute(writer, DEPARTMENT, person.getDepartment());
+                    XMLStreamHelper.writeAttribute(writer, URL, person.getUrl());
+                    writer.writeAttribute(ORDER, Integer.toString(person.getOrder()));
+                    writer.writeAttribute("cast_id", Integer.toString(person.getCastId()));
+                    XMLStreamHelper.writeAttribute(writer, "photoFile", person.getPhotoFilename());
                     String inx = createIndexAttribute(library, Library.INDEX_PERSON, person.getName());
                     if (inx != null) {
-                        ePerson.setAttribute(INDEX, inx);
+                        writer.writeAttribute(INDEX, inx);
                     }
-                    ePerson.setAttribute(SOURCE, person.getSource());
-                    ePerson.setTextContent(person.getFilename());
-                    ePeople.appendChild(ePerson);
+                    XMLStreamHelper.writeAttribute(writer, SOURCE, person.getSource());
+                    XMLStreamHelper.writeText(writer, person.getFilename());
+                    writer.writeEndElement();
                 }
-                eMovie.appendChild(ePeople);
+                writer.writeEndElement();
             }
         }
 
         // Issue 2012: Financial information about movie
         if (ENABLE_BUSINESS) {
-            Element eBusiness = doc.createElement("business");
-            eBusiness.setAttribute("budget", movie.getBudget());
+            writer.writeStartElement("business");
+            XMLStreamHelper.writeAttribute(writer, "budget", movie.getBudget());
 
             for (Map.Entry<String, String> gross : movie.getGross().entrySet()) {
-                DOMHelper.appendChild(doc, eBusiness, "gross", gross.getValue(), COUNTRY, gross.getKey());
+                XMLStreamHelper.appendChild(writer, "gross", gross.getValue(), COUNTRY, gross.getKey());
             }
 
             for (Map.Entry<String, String> openweek : movie.getOpenWeek().entrySet()) {
-                DOMHelper.appendChild(doc, eBusiness, "openweek", openweek.getValue(), COUNTRY, openweek.getKey());
+                XMLStreamHelper.appendChild(writer, "openweek", openweek.getValue(), COUNTRY, openweek.getKey());
             }
 
-            eMovie.appendChild(eBusiness);
+            writer.writeEndElement();
         }
 
         // Issue 2013: Add trivia
         if (ENABLE_TRIVIA) {
-            Element eTrivia = doc.createElement("didyouknow");
-            eTrivia.setAttribute(COUNT, String.valueOf(movie.getDidYouKnow().size()));
+            writer.writeStartElement("didyouknow");
+            writer.writeAttribute(COUNT, String.valueOf(movie.getDidYouKnow().size()));
 
             for (String trivia : movie.getDidYouKnow()) {
-                DOMHelper.appendChild(doc, eTrivia, "trivia", trivia);
+                XMLStreamHelper.appendChild(writer, "trivia", trivia);
             }
 
-            eMovie.appendChild(eTrivia);
+            writer.writeEndElement();
         }
 
         // Write the indexes that the movie belongs to
-        Element eIndexes = doc.createElement("indexes");
-        String originalName;
-        for (Entry<String, String> index : movie.getIndexes().entrySet()) {
-            Element eIndexEntry = doc.createElement(INDEX);
-            eIndexEntry.setAttribute("type", index.getKey());
-            originalName = Library.getOriginalCategory(index.getKey(), Boolean.TRUE);
-            eIndexEntry.setAttribute(ORIGINAL_NAME, originalName);
-            eIndexEntry.setAttribute("encoded", FileTools.makeSafeFilename(index.getValue()));
-            eIndexEntry.setTextContent(index.getValue());
-            eIndexes.appendChild(eIndexEntry);
-        }
-        eMovie.appendChild(eIndexes);
+        writeIndexes(writer, movie.getIndexes());
 
         // Write details about the files
-        Element eFiles = doc.createElement("files");
+        writer.writeStartElement("files");
         for (MovieFile mf : movie.getFiles()) {
-            Element eFileItem = doc.createElement("file");
-            eFileItem.setAttribute(SEASON, Integer.toString(mf.getSeason()));
-            eFileItem.setAttribute("firstPart", Integer.toString(mf.getFirstPart()));
-            eFileItem.setAttribute("lastPart", Integer.toString(mf.getLastPart()));
-            eFileItem.setAttribute(TITLE, mf.getTitle());
-            eFileItem.setAttribute("subtitlesExchange", mf.isSubtitlesExchange() ? YES : "NO");
+            writer.writeStartElement("file");
+            writer.writeAttribute(SEASON, Integer.toString(mf.getSeason()));
+            writer.writeAttribute("firstPart", Integer.toString(mf.getFirstPart()));
+            writer.writeAttribute("lastPart", Integer.toString(mf.getLastPart()));
+            XMLStreamHelper.writeAttribute(writer, TITLE, mf.getTitle());
+            writer.writeAttribute("subtitlesExchange", mf.isSubtitlesExchange() ? YES : "NO");
 
             // Fixes an issue with null file lengths
-            try {
-                if (mf.getFile() == null) {
-                    eFileItem.setAttribute("size", "0");
-                } else {
-                    eFileItem.setAttribute("size", Long.toString(mf.getSize()));
-                }
-            } catch (DOMException ex) {
-                LOG.debug("File length error for file {}", mf.getFilename(), ex);
-                eFileItem.setAttribute("size", "0");
+            if (mf.getFile() == null) {
+                writer.writeAttribute("size", "0");
+            } else {
+                writer.writeAttribute("size", Long.toString(mf.getSize()));
             }
 
             // Playlink values; can be empty, but not null
             for (Map.Entry<String, String> e : mf.getPlayLink().entrySet()) {
-                eFileItem.setAttribute(e.getKey().toLowerCase(), e.getValue());
+                XMLStreamHelper.writeAttribute(writer, e.getKey().toLowerCase(), e.getValue());
             }
 
-            eFileItem.setAttribute("watched", mf.isWatched() ? TRUE : FALSE);
+            writer.writeAttribute("watched", mf.isWatched() ? TRUE : FALSE);
 
             if (mf.getFile() != null) {
-                DOMHelper.appendChild(doc, eFileItem, "fileLocation", mf.getFile().getAbsolutePath());
+                XMLStreamHelper.appendChild(writer, "fileLocation", mf.getFile().getAbsolutePath());
             }
 
             // Write the fileURL
@@ -1363,7 +1431,7 @@ public class MovieJukeboxXMLWriter {
             }
 
             if (StringTools.isValidString(archiveName)) {
-                DOMHelper.appendChild(doc, eFileItem, "fileArchiveName", archiveName);
+                XMLStreamHelper.appendChild(writer, "fileArchiveName", archiveName);
 
                 // If they want full URL, do so
                 if (IS_EXTENDED_URL && !filename.endsWith(archiveName)) {
@@ -1371,14 +1439,14 @@ public class MovieJukeboxXMLWriter {
                 }
             }
 
-            DOMHelper.appendChild(doc, eFileItem, "fileURL", filename);
+            XMLStreamHelper.appendChild(writer, "fileURL", filename);
 
             for (int part = mf.getFirstPart(); part <= mf.getLastPart(); ++part) {
 
                 childAttributes.clear();
                 childAttributes.put(PART, Integer.toString(part));
                 childAttributes.put(SOURCE, mf.getOverrideSource(OverrideFlag.EPISODE_TITLE));
-                DOMHelper.appendChild(doc, eFileItem, "fileTitle", mf.getTitle(part), childAttributes);
+                XMLStreamHelper.appendChild(writer, "fileTitle", mf.getTitle(part), childAttributes);
 
                 // Only write out these for TV Shows
                 if (movie.isTVShow()) {
@@ -1387,16 +1455,16 @@ public class MovieJukeboxXMLWriter {
                     childAttributes.put("afterSeason", mf.getAirsAfterSeason(part));
                     childAttributes.put("beforeSeason", mf.getAirsBeforeSeason(part));
                     childAttributes.put("beforeEpisode", mf.getAirsBeforeEpisode(part));
-                    DOMHelper.appendChild(doc, eFileItem, "airsInfo", String.valueOf(part), childAttributes);
+                    XMLStreamHelper.appendChild(writer, "airsInfo", String.valueOf(part), childAttributes);
 
                     childAttributes.clear();
                     childAttributes.put(PART, Integer.toString(part));
                     childAttributes.put(SOURCE, mf.getOverrideSource(OverrideFlag.EPISODE_FIRST_AIRED));
-                    DOMHelper.appendChild(doc, eFileItem, "firstAired", mf.getFirstAired(part), childAttributes);
+                    XMLStreamHelper.appendChild(writer, "firstAired", mf.getFirstAired(part), childAttributes);
                 }
 
                 if (mf.getWatchedDate() > 0) {
-                    DOMHelper.appendChild(doc, eFileItem, "watchedDate", getWatchedDateString(mf.getWatchedDate()));
+                    XMLStreamHelper.appendChild(writer, "watchedDate", getWatchedDateString(mf.getWatchedDate()));
                 }
 
                 if (includeEpisodePlots) {
@@ -1418,19 +1486,19 @@ public class MovieJukeboxXMLWriter {
                     }
 
                     childAttributes.put(SOURCE, filePlotSource);
-                    DOMHelper.appendChild(doc, eFileItem, "filePlot", filePlot, childAttributes);
+                    XMLStreamHelper.appendChild(writer, "filePlot", filePlot, childAttributes);
                 }
 
                 if (includeEpisodeRating) {
                     childAttributes.clear();
                     childAttributes.put(PART, Integer.toString(part));
                     childAttributes.put(SOURCE, mf.getOverrideSource(OverrideFlag.EPISODE_RATING));
-                    DOMHelper.appendChild(doc, eFileItem, "fileRating", mf.getRating(part), childAttributes);
+                    XMLStreamHelper.appendChild(writer, "fileRating", mf.getRating(part), childAttributes);
                 }
 
                 if (includeVideoImages) {
-                    DOMHelper.appendChild(doc, eFileItem, "fileImageURL", HTMLTools.encodeUrl(mf.getVideoImageURL(part)), PART, String.valueOf(part));
-                    DOMHelper.appendChild(doc, eFileItem, "fileImageFile", HTMLTools.encodeUrl(mf.getVideoImageFilename(part)), PART, String.valueOf(part));
+                    XMLStreamHelper.appendChild(writer, "fileImageURL", HTMLTools.encodeUrl(mf.getVideoImageURL(part)), PART, String.valueOf(part));
+                    XMLStreamHelper.appendChild(writer, "fileImageFile", HTMLTools.encodeUrl(mf.getVideoImageFilename(part)), PART, String.valueOf(part));
                 }
 
                 // Episode IDs
@@ -1439,93 +1507,121 @@ public class MovieJukeboxXMLWriter {
                         childAttributes.clear();
                         childAttributes.put(PART, Integer.toString(part));
                         childAttributes.put(SOURCE, entry.getKey());
-                        DOMHelper.appendChild(doc, eFileItem, "fileId", entry.getValue(), childAttributes);
+                        XMLStreamHelper.appendChild(writer, "fileId", entry.getValue(), childAttributes);
                     }
                 }
             }
 
             if (mf.getAttachments() != null && !mf.getAttachments().isEmpty()) {
-                Element eAttachments = doc.createElement("attachments");
+                writer.writeStartElement("attachments");
                 for (Attachment att : mf.getAttachments()) {
-                    Element eAttachment = doc.createElement("attachment");
-                    eAttachment.setAttribute("type", att.getType().toString());
-                    DOMHelper.appendChild(doc, eAttachment, "attachmentId", String.valueOf(att.getAttachmentId()));
-                    DOMHelper.appendChild(doc, eAttachment, "contentType", att.getContentType().toString());
-                    DOMHelper.appendChild(doc, eAttachment, "mimeType", att.getMimeType());
-                    DOMHelper.appendChild(doc, eAttachment, "part", String.valueOf(att.getPart()));
-                    eAttachments.appendChild(eAttachment);
+                    writer.writeStartElement("attachment");
+                    writer.writeAttribute("type", att.getType().toString());
+                    XMLStreamHelper.appendChild(writer, "attachmentId", String.valueOf(att.getAttachmentId()));
+                    XMLStreamHelper.appendChild(writer, "contentType", att.getContentType().toString());
+                    XMLStreamHelper.appendChild(writer, "mimeType", att.getMimeType());
+                    XMLStreamHelper.appendChild(writer, "part", String.valueOf(att.getPart()));
+                    writer.writeEndElement();
                 }
-                eFileItem.appendChild(eAttachments);
+                writer.writeEndElement();
             }
 
-            eFiles.appendChild(eFileItem);
+            writer.writeEndElement();
         }
-        eMovie.appendChild(eFiles);
+        writer.writeEndElement();
 
         Collection<ExtraFile> extraFiles = movie.getExtraFiles();
         if (extraFiles != null && !extraFiles.isEmpty()) {
-            Element eExtras = doc.createElement("extras");
+            writer.writeStartElement("extras");
             for (ExtraFile ef : extraFiles) {
-                Element eExtraItem = doc.createElement("extra");
-                eExtraItem.setAttribute(TITLE, ef.getTitle());
+                writer.writeStartElement("extra");
+                XMLStreamHelper.writeAttribute(writer, TITLE, ef.getTitle());
                 if (ef.getPlayLink() != null) {
                     // Playlink values
                     for (Map.Entry<String, String> e : ef.getPlayLink().entrySet()) {
-                        eExtraItem.setAttribute(e.getKey().toLowerCase(), e.getValue());
+                        XMLStreamHelper.writeAttribute(writer, e.getKey().toLowerCase(), e.getValue());
                     }
                 }
-                eExtraItem.setTextContent(ef.getFilename()); // should already be URL-encoded
-                eExtras.appendChild(eExtraItem);
+                XMLStreamHelper.writeText(writer, ef.getFilename()); // should already be URL-encoded
+                writer.writeEndElement();
             }
-            eMovie.appendChild(eExtras);
+            writer.writeEndElement();
         }
 
-        return eMovie;
+        writer.writeEndElement();
     }
 
     /**
-     * Create an element with the codec information in it.
+     * Write an element with the codec information in it.
      *
-     * @param doc
+     * @param writer
      * @param movieCodecs
-     * @return
+     * @throws XMLStreamException
      */
-    private static Element createCodecsElement(Document doc, Set<Codec> movieCodecs) {
-        Element eCodecs = doc.createElement("codecs");
-        Element eCodecAudio = doc.createElement("audio");
-        Element eCodecVideo = doc.createElement("video");
+    private static void writeCodecs(XMLStreamWriter writer, Set<Codec> movieCodecs) throws XMLStreamException {
         int countAudio = 0;
-        int countVideo = 0;
-
-        Map<String, String> codecAttribs = new HashMap<>();
-
         for (Codec codec : movieCodecs) {
-            codecAttribs.clear();
-
-            codecAttribs.put("format", codec.getCodecFormat());
-            codecAttribs.put("formatProfile", codec.getCodecFormatProfile());
-            codecAttribs.put("formatVersion", codec.getCodecFormatVersion());
-            codecAttribs.put("codecId", codec.getCodecId());
-            codecAttribs.put("codecIdHint", codec.getCodecIdHint());
-            codecAttribs.put(SOURCE, codec.getCodecSource().toString());
-            codecAttribs.put("bitrate", codec.getCodecBitRate());
             if (codec.getCodecType() == CodecType.AUDIO) {
-                codecAttribs.put(LANGUAGE, codec.getCodecLanguage());
-                codecAttribs.put("langugageFull", codec.getCodecFullLanguage());
-                codecAttribs.put("channels", String.valueOf(codec.getCodecChannels()));
-                DOMHelper.appendChild(doc, eCodecAudio, "codec", codec.getCodec(), codecAttribs);
                 countAudio++;
-            } else {
-                DOMHelper.appendChild(doc, eCodecVideo, "codec", codec.getCodec(), codecAttribs);
-                countVideo++;
             }
         }
-        eCodecAudio.setAttribute(COUNT, String.valueOf(countAudio));
-        eCodecVideo.setAttribute(COUNT, String.valueOf(countVideo));
-        eCodecs.appendChild(eCodecAudio);
-        eCodecs.appendChild(eCodecVideo);
 
-        return eCodecs;
+        writer.writeStartElement("codecs");
+        writer.writeStartElement("audio");
+        writer.writeAttribute(COUNT, String.valueOf(countAudio));
+        for (Codec codec : movieCodecs) {
+            if (codec.getCodecType() == CodecType.AUDIO) {
+                writeCodec(writer, codec);
+            }
+        }
+        writer.writeEndElement();
+
+        writer.writeStartElement("video");
+        writer.writeAttribute(COUNT, String.valueOf(movieCodecs.size() - countAudio));
+        for (Codec codec : movieCodecs) {
+            if (codec.getCodecType() != CodecType.AUDIO) {
+                writeCodec(writer, codec);
+            }
+        }
+        writer.writeEndElement();
+        writer.writeEndElement();
+    }
+
+    private static void writeCodec(XMLStreamWriter writer, Codec codec) throws XMLStreamException {
+        Map<String, String> codecAttribs = new HashMap<>();
+        codecAttribs.put("format", codec.getCodecFormat());
+        codecAttribs.put("formatProfile", codec.getCodecFormatProfile());
+        codecAttribs.put("formatVersion", codec.getCodecFormatVersion());
+        codecAttribs.put("codecId", codec.getCodecId());
+        codecAttribs.put("codecIdHint", codec.getCodecIdHint());
+        codecAttribs.put(SOURCE, codec.getCodecSource().toString());
+        codecAttribs.put("bitrate", codec.getCodecBitRate());
+        if (codec.getCodecType() == CodecType.AUDIO) {
+            codecAttribs.put(LANGUAGE, codec.getCodecLanguage());
+            codecAttribs.put("langugageFull", codec.getCodecFullLanguage());
+            codecAttribs.put("channels", String.valueOf(codec.getCodecChannels()));
+        }
+        XMLStreamHelper.appendChild(writer, "codec", codec.getCodec(), codecAttribs);
+    }
+
+    /**
+     * Write the indexes that the movie or person belongs to
+     *
+     * @param writer
+     * @param indexes
+     * @throws XMLStreamException
+     */
+    private static void writeIndexes(XMLStreamWriter writer, Map<String, String> indexes) throws XMLStreamException {
+        writer.writeStartElement("indexes");
+        for (Entry<String, String> index : indexes.entrySet()) {
+            writer.writeStartElement(INDEX);
+            XMLStreamHelper.writeAttribute(writer, "type", index.getKey());
+            XMLStreamHelper.writeAttribute(writer, ORIGINAL_NAME, Library.getOriginalCategory(index.getKey(), Boolean.TRUE));
+            XMLStreamHelper.writeAttribute(writer, "encoded", FileTools.makeSafeFilename(index.getValue()));
+            XMLStreamHelper.writeText(writer, index.getValue());
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
     }
 
     /**
@@ -1547,26 +1643,20 @@ public class MovieJukeboxXMLWriter {
 
         LOG.debug("DirtyFlags for {} are: {}", movie.getBaseName(), movie.showDirty());
         if (!finalXmlFile.exists() || FORCE_XML_OVERWRITE || movie.isDirty(DirtyFlag.INFO) || movie.isDirty(DirtyFlag.RECHECK) || movie.isDirty(DirtyFlag.WATCHED)) {
-            Document xmlDoc;
-            try {
-                xmlDoc = DOMHelper.createDocument();
-            } catch (ParserConfigurationException error) {
+            File partXmlFile = new File(tempXmlFile.getPath() + EXT_PART);
+            try (Writer out = Files.newBufferedWriter(partXmlFile.toPath(), StandardCharsets.UTF_8)) {
+                writeMovieDetails(out, movie, library);
+            } catch (IOException | XMLStreamException | RuntimeException error) {
                 LOG.error("Failed writing {}", tempXmlFile.getAbsolutePath());
                 LOG.error(SystemTools.getStackTrace(error));
+                partXmlFile.delete();
                 return;
             }
 
-            Element eDetails = xmlDoc.createElement(DETAILS);
-            xmlDoc.appendChild(eDetails);
-
-            Element eMovie = writeMovie(xmlDoc, movie, library);
-
-            if (eMovie != null) {
-                eDetails.appendChild(eMovie);
+            if (!moveIntoPlace(partXmlFile, tempXmlFile)) {
+                return;
             }
 
-            DOMHelper.writeDocumentToFile(xmlDoc, tempXmlFile);
-
             if (WRITE_NFO_FILES) {
                 MovieNFOWriter.writeNfoFile(jukebox, movie);
             }
@@ -1574,95 +1664,118 @@ public class MovieJukeboxXMLWriter {
     }
 
     /**
-     * Generate the person
+     * Write the details XML document of the movie
      *
-     * @param doc
+     * @param out
+     * @param movie
+     * @param library
+     * @throws XMLStreamException
+     */
+    protected void writeMovieDetails(Writer out, Movie movie, Library library) throws XMLStreamException {
+        XMLStreamWriter writer = XMLStreamHelper.createFormattedWriter(out);
+        writer.writeStartDocument();
+        writer.writeStartElement(DETAILS);
+        writeMovie(writer, movie, library);
+        writer.writeEndDocument();
+        writer.close();
+    }
+
+    /**
+     * Add the person details to a DOM element of an index
+     *
+     * @param parent
+     * @param person
+     */
+    protected static void appendPerson(Element parent, Person person) {
+        try {
+            XMLStreamWriter writer = XMLStreamHelper.createDOMWriter(parent);
+            writePerson(writer, person, false);
+            writer.close();
+        } catch (XMLStreamException error) {
+            LOG.error("Failed to add the details of {} to the index", person.getName());
+            LOG.error(SystemTools.getStackTrace(error));
+        }
+    }
+
+    /**
+     * Write the person
+     *
+     * @param writer
      * @param person
      * @param includeVersion
-     * @return
+     * @throws XMLStreamException
      */
-    private static Element writePerson(Document doc, Person person, boolean includeVersion) {
-        Element ePerson = doc.createElement("person");
+    private static void writePerson(XMLStreamWriter writer, Person person, boolean includeVersion) throws XMLStreamException {
+        writer.writeStartElement("person");
 
         for (Map.Entry<String, String> e : person.getIdMap().entrySet()) {
-            DOMHelper.appendChild(doc, ePerson, "id", e.getValue(), "persondb", e.getKey());
+            XMLStreamHelper.appendChild(writer, "id", e.getValue(), "persondb", e.getKey());
         }
 
         // Add the version information to the output
         if (includeVersion) {
-            DOMHelper.appendChild(doc, ePerson, "mjbVersion", GitRepositoryState.getVersion());
-            DOMHelper.appendChild(doc, ePerson, "mjbGitSHA", GIT.getCommitId());
-            DOMHelper.appendChild(doc, ePerson, "xmlGenerationDate", DateTimeTools.convertDateToString(new Date(), DateTimeTools.getDateFormatLongString()));
+            XMLStreamHelper.appendChild(writer, "mjbVersion", GitRepositoryState.getVersion());
+            XMLStreamHelper.appendChild(writer, "mjbGitSHA", GIT.getCommitId());
+            XMLStreamHelper.appendChild(writer, "xmlGenerationDate", DateTimeTools.convertDateToString(new Date(), DateTimeTools.getDateFormatLongString()));
         }
-        DOMHelper.appendChild(doc, ePerson, NAME, person.getName());
-        DOMHelper.appendChild(doc, ePerson, TITLE, person.getTitle());
-        DOMHelper.appendChild(doc, ePerson, BASE_FILENAME, person.getFilename());
+        XMLStreamHelper.appendChild(writer, NAME, person.getName());
+        XMLStreamHelper.appendChild(writer, TITLE, person.getTitle());
+        XMLStreamHelper.appendChild(writer, BASE_FILENAME, person.getFilename());
 
         if (!person.getAka().isEmpty()) {
-            Element eAka = doc.createElement("aka");
+            writer.writeStartElement("aka");
             for (String aka : person.getAka()) {
-                DOMHelper.appendChild(doc, eAka, NAME, aka);
+                XMLStreamHelper.appendChild(writer, NAME, aka);
             }
-            ePerson.appendChild(eAka);
+            writer.writeEndElement();
         }
 
-        DOMHelper.appendChild(doc, ePerson, "biography", person.getBiography());
-        DOMHelper.appendChild(doc, ePerson, "birthday", person.getYear());
-        DOMHelper.appendChild(doc, ePerson, "birthplace", person.getBirthPlace());
-        DOMHelper.appendChild(doc, ePerson, "birthname", person.getBirthName());
-        DOMHelper.appendChild(doc, ePerson, URL, person.getUrl());
-        DOMHelper.appendChild(doc, ePerson, "photoFile", person.getPhotoFilename());
-        DOMHelper.appendChild(doc, ePerson, "photoURL", person.getPhotoURL());
-        DOMHelper.appendChild(doc, ePerson, "backdropFile", person.getBackdropFilename());
-        DOMHelper.appendChild(doc, ePerson, "backdropURL", person.getBackdropURL());
-        DOMHelper.appendChild(doc, ePerson, "knownMovies", String.valueOf(person.getKnownMovies()));
+        XMLStreamHelper.appendChild(writer, "biography", person.getBiography());
+        XMLStreamHelper.appendChild(writer, "birthday", person.getYear());
+        XMLStreamHelper.appendChild(writer, "birthplace", person.getBirthPlace());
+        XMLStreamHelper.appendChild(writer, "birthname", person.getBirthName());
+        XMLStreamHelper.appendChild(writer, URL, person.getUrl());
+        XMLStreamHelper.appendChild(writer, "photoFile", person.getPhotoFilename());
+        XMLStreamHelper.appendChild(writer, "photoURL", person.getPhotoURL());
+        XMLStreamHelper.appendChild(writer, "backdropFile", person.getBackdropFilename());
+        XMLStreamHelper.appendChild(writer, "backdropURL", person.getBackdropURL());
+        XMLStreamHelper.appendChild(writer, "knownMovies", String.valueOf(person.getKnownMovies()));
 
         if (!person.getFilmography().isEmpty()) {
-            Element eFilmography = doc.createElement("filmography");
+            writer.writeStartElement("filmography");
 
             for (Filmography film : person.getFilmography()) {
-                Element eMovie = doc.createElement(MOVIE);
-                eMovie.setAttribute("id", film.getId());
+                writer.writeStartElement(MOVIE);
+                XMLStreamHelper.writeAttribute(writer, "id", film.getId());
 
                 for (Map.Entry<String, String> e : film.getIdMap().entrySet()) {
                     if (!e.getKey().equals(ImdbPlugin.IMDB_PLUGIN_ID)) {
-                        eMovie.setAttribute(ID + e.getKey(), e.getValue());
+                        XMLStreamHelper.writeAttribute(writer, ID + e.getKey(), e.getValue());
                     }
                 }
-                eMovie.setAttribute(NAME, film.getName());
-                eMovie.setAttribute(TITLE, film.getTitle());
-                eMovie.setAttribute(ORIGINAL_TITLE, film.getOriginalTitle());
-                eMovie.setAttribute(YEAR, film.getYear());
-                eMovie.setAttribute(RATING, film.getRating());
-                eMovie.setAttribute(CHARACTER, film.getCharacter());
-                eMovie.setAttribute(JOB, film.getJob());
-                eMovie.setAttribute(DEPARTMENT, film.getDepartment());
-                eMovie.setAttribute(URL, film.getUrl());
-                eMovie.setTextContent(film.getFilename());
-
-                eFilmography.appendChild(eMovie);
+                XMLStreamHelper.writeAttribute(writer, NAME, film.getName());
+                XMLStreamHelper.writeAttribute(writer, TITLE, film.getTitle());
+                XMLStreamHelper.writeAttribute(writer, ORIGINAL_TITLE, film.getOriginalTitle());
+                XMLStreamHelper.writeAttribute(writer, YEAR, film.getYear());
+                XMLStreamHelper.writeAttribute(writer, RATING, film.getRating());
+                XMLStreamHelper.writeAttribute(writer, CHARACTER, film.getCharacter());
+                XMLStreamHelper.writeAttribute(writer, JOB, film.getJob());
+                XMLStreamHelper.writeAttribute(writer, DEPARTMENT, film.getDepartment());
+                XMLStreamHelper.writeAttribute(writer, URL, film.getUrl());
+                XMLStreamHelper.writeText(writer, film.getFilename());
+
+                writer.writeEndElement();
             }
-            ePerson.appendChild(eFilmography);
+            writer.writeEndElement();
         }
 
         // Write the indexes that the people belongs to
-        Element eIndexes = doc.createElement("indexes");
-        String originalName;
-        for (Entry<String, String> index : person.getIndexes().entrySet()) {
-            Element eIndexEntry = doc.createElement(INDEX);
-            eIndexEntry.setAttribute("type", index.getKey());
-            originalName = Library.getOriginalCategory(index.getKey(), Boolean.TRUE);
-            eIndexEntry.setAttribute(ORIGINAL_NAME, originalName);
-            eIndexEntry.setAttribute("encoded", FileTools.makeSafeFilename(index.getValue()));
-            eIndexEntry.setTextContent(index.getValue());
-            eIndexes.appendChild(eIndexEntry);
-        }
-        ePerson.appendChild(eIndexes);
-
-        DOMHelper.appendChild(doc, ePerson, "version", String.valueOf(person.getVersion()));
-        DOMHelper.appendChild(doc, ePerson, "lastModifiedAt", person.getLastModifiedAt());
-
-        return ePerson;
+        writeIndexes(writer, person.getIndexes());
+
+        XMLStreamHelper.appendChild(writer, "version", String.valueOf(person.getVersion()));
+        XMLStreamHelper.appendChild(writer, "lastModifiedAt", person.getLastModifiedAt());
+
+        writer.writeEndElement();
     }
 
     public void writePersonXML(Jukebox jukebox, Person person) {
@@ -1676,19 +1789,55 @@ public class MovieJukeboxXMLWriter {
         FileTools.addJukeboxFile(finalXmlFile.getName());
 
         if (!finalXmlFile.exists() || FORCE_XML_OVERWRITE || person.isDirty()) {
-            try {
-                Document personDoc = DOMHelper.createDocument();
-                Element eDetails = personDoc.createElement(DETAILS);
-                eDetails.appendChild(writePerson(personDoc, person, true));
-                personDoc.appendChild(eDetails);
-                DOMHelper.writeDocumentToFile(personDoc, tempXmlFile);
-            } catch (ParserConfigurationException error) {
+            File partXmlFile = new File(tempXmlFile.getPath() + EXT_PART);
+            try (Writer out = Files.newBufferedWriter(partXmlFile.toPath(), StandardCharsets.UTF_8)) {
+                writePersonDetails(out, person);
+            } catch (IOException | XMLStreamException | RuntimeException error) {
                 LOG.error("Failed writing person XML for {}", tempXmlFile.getName());
                 LOG.error(SystemTools.getStackTrace(error));
+                partXmlFile.delete();
+                return;
             }
+
+            moveIntoPlace(partXmlFile, tempXmlFile);
         }
     }
 
+    /**
+     * Move a completely written file to its place in the temporary jukebox, so an incomplete file is never copied to the jukebox
+     *
+     * @param partFile the written file
+     * @param xmlFile the file in the temporary jukebox
+     * @return true if the file has been moved
+     */
+    private static boolean moveIntoPlace(File partFile, File xmlFile) {
+        try {
+            Files.move(partFile.toPath(), xmlFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException error) {
+            LOG.error("Failed writing {}", xmlFile.getAbsolutePath());
+            LOG.error(SystemTools.getStackTrace(error));
+            partFile.delete();
+            return false;
+        }
+    }
+
+    /**
+     * Write the details XML document of the person
+     *
+     * @param out
+     * @param person
+     * @throws XMLStreamException
+     */
+    protected static void writePersonDetails(Writer out, Person person) throws XMLStreamException {
+        XMLStreamWriter writer = XMLStreamHelper.createFormattedWriter(out);
+        writer.writeStartDocument();
+        writer.writeStartElement(DETAILS);
+        writePerson(writer, person, true);
+        writer.writeEndDocument();
+        writer.close();
+    }
+
     private static String getWatchedDateString(long watchedDate) {
         if (watchedDate == 0) {
             return Movie.UNKNOWN;
@@ -0,0 +1,132 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.model;
+
+import com.moviejukebox.TestLogger;
+import com.moviejukebox.model.comparator.LastModifiedComparator;
+import com.moviejukebox.model.comparator.MovieRatingComparator;
+import com.moviejukebox.model.comparator.MovieReleaseComparator;
+import com.moviejukebox.model.comparator.MovieTitleComparator;
+import com.moviejukebox.model.comparator.MovieTop250Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time the index build and the sort of the categories of large libraries.
+ *
+ * Not part of the tests, run with: mvn -Pbenchmark test -Dbenchmark=com.moviejukebox.model.LibraryBenchmark
+ */
+public final class LibraryBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LibraryBenchmark.class);
+
+    private LibraryBenchmark() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    public static void main(String[] args) {
+        TestLogger.configure("INFO");
+        indexThroughput();
+        sortThroughput();
+    }
+
+    /**
+     * Time adding all the videos to the large categories of an index
+     */
+    private static void indexThroughput() {
+        for (int count : new int[]{10000, 50000, 200000}) {
+            List<Movie> movies = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                movies.add(new Movie());
+            }
+
+            long start = System.nanoTime();
+            Index index = new Index();
+            for (int i = 0; i < count; i++) {
+                Movie movie = movies.get(i);
+                index.addMovie("All", movie);
+                index.addMovie("Movies", movie);
+                index.addMovie("Genre " + (i % 20), movie);
+            }
+            LOG.info("Videos: {}, index build time: {}ms", count, (System.nanoTime() - start) / 1000000L);
+        }
+    }
+
+    /**
+     * Time the sort of the categories of a large library, with the sort keys read from the videos once
+     */
+    private static void sortThroughput() {
+        List<Comparator<Movie>> comparators = new ArrayList<>();
+        comparators.add(new MovieTitleComparator(true));
+        comparators.add(new MovieReleaseComparator(false));
+        comparators.add(new MovieRatingComparator(false));
+        comparators.add(new MovieTop250Comparator(true));
+        comparators.add(new LastModifiedComparator(false));
+
+        Random random = new Random(1);
+        for (int count : new int[]{10000, 40000}) {
+            List<Movie> movies = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                Movie movie = LibraryTest.movie("The Movie " + random.nextInt(count));
+                movie.setYear(String.valueOf(1950 + random.nextInt(70)), Movie.UNKNOWN);
+                movie.setReleaseDate(String.format("%02d.%02d.%d", 1 + random.nextInt(28), 1 + random.nextInt(12), 1950 + random.nextInt(70)), Movie.UNKNOWN);
+                movie.addRating("imdb", random.nextInt(100));
+                movie.setTop250(random.nextInt(250), Movie.UNKNOWN);
+                movies.add(movie);
+            }
+
+            // The large categories with each sort and a hundred small categories
+            List<List<Movie>> categories = new ArrayList<>();
+            List<Comparator<Movie>> categoryComparators = new ArrayList<>();
+            for (Comparator<Movie> comparator : comparators) {
+                categories.add(new ArrayList<>(movies));
+                categoryComparators.add(comparator);
+            }
+            for (int i = 0; i < 100; i++) {
+                categories.add(new ArrayList<>(movies.subList(i * count / 100, (i + 1) * count / 100)));
+                categoryComparators.add(comparators.get(i % comparators.size()));
+            }
+
+            long start = System.nanoTime();
+            for (Movie movie : movies) {
+                movie.buildSortKeys();
+            }
+            long keys = System.nanoTime();
+            for (int i = 0; i < categories.size(); i++) {
+                Collections.sort(categories.get(i), categoryComparators.get(i));
+            }
+            Collections.sort(movies);
+            long sorted = System.nanoTime();
+            for (Movie movie : movies) {
+                movie.clearSortKeys();
+            }
+            LOG.info("Videos: {}, sort keys: {}ms, sort of {} categories: {}ms", count, (keys - start) / 1000000L,
+                    categories.size(), (sorted - keys) / 1000000L);
+        }
+    }
+}
@@ -24,10 +24,19 @@ package com.moviejukebox.model;
 
 import com.moviejukebox.AbstractTests;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import com.moviejukebox.tools.ThreadExecutor;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
 
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -79,6 +88,66 @@ public class LibraryTest extends AbstractTests {
         assertEquals(5, index.size());
     }
 
+    /**
+     * A video is only added once to a category and the category keeps the insertion order
+     */
+    @Test
+    public void testIndexCategory() {
+        LOG.info("testIndexCategory");
+        Index index = new Index();
+        Movie first = movie("First");
+        Movie second = movie("Second");
+        index.addMovie("All", second);
+        index.addMovie("All", first);
+        index.addMovie("All", second);
+
+        List<Movie> category = index.get("All");
+        assertEquals(2, category.size());
+        assertSame(second, category.get(0));
+        assertSame(first, category.get(1));
+
+        Collections.sort(category);
+        assertEquals(2, category.size());
+        assertTrue(category.contains(first));
+
+        index.removeMovie("All", second);
+        assertEquals(1, category.size());
+        assertFalse(category.contains(second));
+        index.addMovie("All", second);
+        assertEquals(2, category.size());
+
+        // An equal video is still a different video
+        index.addMovie("All", movie("First"));
+        assertEquals(3, category.size());
+    }
+
+    /**
+     * A library large enough to be indexed in parts must have every video in the title index once
+     *
+     * @throws Throwable
+     */
+    @Test
+    public void testBuildIndex() throws Throwable {
+        LOG.info("testBuildIndex");
+        Library library = new Library();
+        for (int i = 0; i < 2500; i++) {
+            library.addMovie(movie("Movie " + i));
+        }
+        library.buildIndex(new ThreadExecutor<Void>(4, 1));
+
+        Index titleIndex = library.getIndexes().get(Library.INDEX_TITLE);
+        int count = 0;
+        for (List<Movie> category : titleIndex.values()) {
+            count += category.size();
+        }
+        assertEquals(2500, count);
+        for (Movie movie : library.values()) {
+            assertTrue(movie.getIndexes().containsKey(Library.INDEX_TITLE));
+            // The sort keys are not kept after the index build
+            assertNotSame(movie.getSortKeys(), movie.getSortKeys());
+        }
+    }
+
     @Test
     public void testIndexByTVShowSeasons() {
         LOG.info("testIndexByTVShowSeasons");
@@ -97,6 +166,33 @@ public class LibraryTest extends AbstractTests {
         }
     }
 
+    /**
+     * The New categories are out of date when a video is older than the new days now and was not at the last run
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testNewCategoryExpired() throws IOException {
+        LOG.info("testNewCategoryExpired");
+        File videoFile = File.createTempFile("yamj-new", ".avi");
+        try {
+            long now = System.currentTimeMillis();
+            assertTrue(videoFile.setLastModified(now - TimeUnit.DAYS.toMillis(8)));
+            Movie movie = movie("New Movie");
+            movie.getFirstFile().setFile(videoFile);
+            Library library = new Library();
+            library.addMovie(movie);
+
+            assertTrue(library.isNewCategoryExpired(now - TimeUnit.DAYS.toMillis(2), now));
+            assertFalse(library.isNewCategoryExpired(now - TimeUnit.DAYS.toMillis(1) / 2, now));
+
+            assertTrue(videoFile.setLastModified(now - TimeUnit.DAYS.toMillis(3)));
+            assertFalse(library.isNewCategoryExpired(now - TimeUnit.DAYS.toMillis(2), now));
+        } finally {
+            FileUtils.deleteQuietly(videoFile);
+        }
+    }
+
     private static Movie tv(String title, int season) {
         Movie movie = new Movie();
         movie.setTitle(title, Movie.UNKNOWN);
@@ -107,7 +203,7 @@ public class LibraryTest extends AbstractTests {
         return movie;
     }
 
-    private static Movie movie(String title) {
+    static Movie movie(String title) {
         return tv(title, -1);
     }
 }
@@ -24,9 +24,14 @@ package com.moviejukebox.model;
 
 import com.moviejukebox.AbstractTests;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import com.moviejukebox.model.comparator.MovieReleaseComparator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.Test;
@@ -83,6 +88,57 @@ public class MovieTest extends AbstractTests {
         assertEquals("Wrong number of writers returned", WRITER_MAX, people.size());
     }
 
+    /**
+     * The sort keys give the order of the values they are read from
+     */
+    @Test
+    public void testSortKeys() {
+        LOG.info("testSortKeys");
+        Movie march = createMovie("Matrix", "1999", "1999-03-31");
+        Movie december = createMovie("matrix", "1999", "1999-12-05");
+        Movie older = createMovie("Ägypten", "1990", null);
+        Movie noYear = createMovie("ÄGYPTEN", null, null);
+
+        assertEquals(19990331, march.getSortKeys().getReleaseDate());
+        assertEquals(19991205, december.getSortKeys().getReleaseDate());
+        assertEquals(1990, older.getSortKeys().getYear());
+
+        List<Movie> movies = new ArrayList<>(Arrays.asList(december, march, noYear, older));
+        Collections.sort(movies, new MovieReleaseComparator(true));
+        assertEquals(Arrays.asList(noYear, older, march, december), movies);
+
+        // The titles keep the order of compareToIgnoreCase
+        for (Movie movie1 : movies) {
+            for (Movie movie2 : movies) {
+                int expected = movie1.getStrippedTitleSort().compareToIgnoreCase(movie2.getStrippedTitleSort());
+                assertEquals(Integer.signum(expected), Integer.signum(movie1.compareTo(movie2)));
+            }
+        }
+
+        // The changes are seen until the keys are built
+        older.setYear("2005", Movie.UNKNOWN);
+        assertEquals(2005, older.getSortKeys().getYear());
+        older.setTitle("Zulu", Movie.UNKNOWN);
+        assertTrue(older.compareTo(march) > 0);
+
+        // The built keys are kept until they are cleared
+        older.buildSortKeys();
+        MovieSortKeys keys = older.getSortKeys();
+        older.setYear("2010", Movie.UNKNOWN);
+        assertSame(keys, older.getSortKeys());
+        assertEquals(2005, older.getSortKeys().getYear());
+        older.clearSortKeys();
+        assertEquals(2010, older.getSortKeys().getYear());
+    }
+
+    private static Movie createMovie(String title, String year, String releaseDate) {
+        Movie movie = new Movie();
+        movie.setTitle(title, Movie.UNKNOWN);
+        movie.setYear(year, Movie.UNKNOWN);
+        movie.setReleaseDate(releaseDate, Movie.UNKNOWN);
+        return movie;
+    }
+
     private static List<String> createList(String title, int count) {
         List<String> testList = new ArrayList<>(count);
 
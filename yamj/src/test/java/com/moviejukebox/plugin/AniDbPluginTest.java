@@ -0,0 +1,201 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.plugin;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.dao.DaoManager;
+import com.j256.ormlite.jdbc.JdbcConnectionSource;
+import com.moviejukebox.tools.FileTools;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.Random;
+import net.anidb.checksum.Ed2kChecksum;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the stored hashes of the AniDb plugin, without a connection to AniDb
+ */
+public class AniDbPluginTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AniDbPluginTest.class);
+    private static final int ED2K_CHUNK_SIZE = 9728000;
+    private File testDir;
+    private JdbcConnectionSource connectionSource;
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    @Before
+    public void setUp() throws SQLException {
+        testDir = new File(System.getProperty("java.io.tmpdir"), "yamj-anidb-test");
+        FileTools.deleteDir(testDir);
+        FileTools.makeDirs(testDir);
+        connectionSource = new JdbcConnectionSource("jdbc:sqlite:" + new File(testDir, "yamj_anidb.db").getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connectionSource.close();
+        FileTools.deleteDir(testDir);
+    }
+
+    /**
+     * A new database is created with the tables of version 2
+     *
+     * @throws SQLException
+     */
+    @Test
+    public void testCreateTables() throws SQLException {
+        LOG.info("createTables");
+        AniDbPlugin.updateTables(connectionSource);
+
+        Dao<AnidbTableInfo, String> tableDao = DaoManager.<Dao<AnidbTableInfo, String>, AnidbTableInfo>createDao(connectionSource, AnidbTableInfo.class);
+        assertEquals(1, tableDao.countOf());
+        assertNotNull(tableDao.queryForId("2"));
+        Dao<AnidbLocalFile, String> dao = DaoManager.<Dao<AnidbLocalFile, String>, AnidbLocalFile>createDao(connectionSource, AnidbLocalFile.class);
+        assertTrue(dao.isTableExists());
+        dao.queryBuilder().where().eq(AnidbLocalFile.LAST_MODIFIED_COLUMN_NAME, 0L).query();
+
+        // Nothing to update the next time
+        AniDbPlugin.updateTables(connectionSource);
+        assertEquals(1, tableDao.countOf());
+        assertNotNull(tableDao.queryForId("2"));
+    }
+
+    /**
+     * A database of version 1 gets the last modified date of the stored hashes, the old hashes are not used
+     *
+     * @throws SQLException
+     * @throws IOException
+     */
+    @Test
+    public void testUpdateTables() throws SQLException, IOException {
+        LOG.info("updateTables");
+        File video = new File(testDir, "Cowboy Bebop - 01.avi");
+        FileUtils.writeStringToFile(video, "Asteroid Blues", StandardCharsets.UTF_8);
+
+        // The tables of version 1, without the last modified date of the stored hashes
+        Dao<AnidbTableInfo, String> tableDao = DaoManager.<Dao<AnidbTableInfo, String>, AnidbTableInfo>createDao(connectionSource, AnidbTableInfo.class);
+        tableDao.executeRaw("CREATE TABLE anidb_tableinfo (version INTEGER PRIMARY KEY AUTOINCREMENT, lastTvdbMappingDownload TIMESTAMP, lastAnidbDataDumpDownload TIMESTAMP)");
+        tableDao.executeRaw("CREATE TABLE anidb_local_file (id INTEGER PRIMARY KEY AUTOINCREMENT, filename BLOB, ed2khash VARCHAR, size BIGINT, lastseen TIMESTAMP)");
+        tableDao.executeRaw("INSERT INTO anidb_tableinfo (version) VALUES (1)");
+        Dao<AnidbLocalFile, String> dao = DaoManager.<Dao<AnidbLocalFile, String>, AnidbLocalFile>createDao(connectionSource, AnidbLocalFile.class);
+        // The file names are stored as UTF-16 bytes by ORMLite
+        dao.executeRaw("INSERT INTO anidb_local_file (filename, ed2khash, size) VALUES (X'"
+                + Hex.encodeHexString(video.getAbsolutePath().getBytes(StandardCharsets.UTF_16)) + "', 'oldhash', " + video.length() + ")");
+
+        AniDbPlugin.updateTables(connectionSource);
+        assertEquals(1, tableDao.countOf());
+        assertNull(tableDao.queryForId("1"));
+        assertNotNull(tableDao.queryForId("2"));
+
+        // The stored hash has no date, so the file is hashed again
+        assertEquals(1, dao.countOf());
+        assertEquals(0L, dao.queryForAll().get(0).getLastModified());
+        assertNull(AniDbPlugin.loadLocalFile(dao, video));
+
+        AniDbPlugin.saveLocalFile(dao, video, "newhash");
+        assertEquals(1, dao.countOf());
+        assertEquals("newhash", AniDbPlugin.loadLocalFile(dao, video).getEd2k());
+    }
+
+    /**
+     * The stored hash is only used for the file with the same size and last modified date
+     *
+     * @throws SQLException
+     * @throws IOException
+     */
+    @Test
+    public void testStoredHash() throws SQLException, IOException {
+        LOG.info("storedHash");
+        File video = new File(testDir, "Cowboy Bebop - 02.avi");
+        FileUtils.writeStringToFile(video, "Stray Dog Strut", StandardCharsets.UTF_8);
+        AniDbPlugin.updateTables(connectionSource);
+        Dao<AnidbLocalFile, String> dao = DaoManager.<Dao<AnidbLocalFile, String>, AnidbLocalFile>createDao(connectionSource, AnidbLocalFile.class);
+
+        assertNull(AniDbPlugin.loadLocalFile(dao, video));
+        AniDbPlugin.saveLocalFile(dao, video, "hash1");
+        AnidbLocalFile localFile = AniDbPlugin.loadLocalFile(dao, video);
+        assertNotNull(localFile);
+        assertEquals("hash1", localFile.getEd2k());
+        assertEquals(video.length(), localFile.getSize());
+        assertEquals(video.lastModified(), localFile.getLastModified());
+
+        // Other last modified date
+        long lastModified = video.lastModified();
+        assertTrue(video.setLastModified(lastModified - 10000L));
+        assertNull(AniDbPlugin.loadLocalFile(dao, video));
+        assertTrue(video.setLastModified(lastModified));
+        assertNotNull(AniDbPlugin.loadLocalFile(dao, video));
+
+        // Other size with the same last modified date
+        FileUtils.writeStringToFile(video, "Stray Dog Strut, remastered", StandardCharsets.UTF_8);
+        assertTrue(video.setLastModified(lastModified));
+        assertNull(AniDbPlugin.loadLocalFile(dao, video));
+
+        // The hash of the older version is replaced
+        AniDbPlugin.saveLocalFile(dao, video, "hash2");
+        assertEquals(1, dao.countOf());
+        assertEquals("hash2", AniDbPlugin.loadLocalFile(dao, video).getEd2k());
+    }
+
+    /**
+     * The hash of the mapped chunks must be the same as the hash of the whole file
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testEd2kChecksum() throws IOException {
+        LOG.info("ed2kChecksum");
+        Random random = new Random(42);
+        for (int size : new int[]{1000, ED2K_CHUNK_SIZE, 2 * ED2K_CHUNK_SIZE + 12345}) {
+            byte[] data = new byte[size];
+            random.nextBytes(data);
+            File video = new File(testDir, "video-" + size + ".avi");
+            FileUtils.writeByteArrayToFile(video, data);
+
+            Ed2kChecksum expected = new Ed2kChecksum();
+            expected.update(data, 0, data.length);
+            assertEquals("Size " + size, expected.getHexDigest(), AniDbPlugin.getEd2kChecksum(video));
+        }
+
+        assertEquals("", AniDbPlugin.getEd2kChecksum(new File(testDir, "missing.avi")));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.plugin;
+
+import com.moviejukebox.AbstractTests;
+import com.moviejukebox.model.Movie;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DefaultImagePluginTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultImagePluginTest.class);
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * The profile of an image type is built once and shared by the plugins
+     */
+    @Test
+    public void testProfileIsShared() {
+        LOG.info("profileIsShared");
+        DefaultImagePlugin plugin = new DefaultImagePlugin();
+        assertSame(plugin.getProfile("posters"), new DefaultImagePlugin().getProfile("posters"));
+    }
+
+    /**
+     * A plugin shared by several threads generates the same images as a single thread
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSharedPlugin() throws Exception {
+        LOG.info("sharedPlugin");
+        final DefaultImagePlugin plugin = new DefaultImagePlugin();
+        final Movie movie = new Movie();
+        movie.setTitle("Title", Movie.UNKNOWN);
+        final BufferedImage source = new BufferedImage(1000, 1500, BufferedImage.TYPE_INT_RGB);
+        final BufferedImage expected = plugin.generate(movie, source, "posters", null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BufferedImage>> results = new ArrayList<>();
+            for (int loop = 0; loop < 8; loop++) {
+                final String imageType = (loop % 2 == 0) ? "posters" : "thumbnails";
+                results.add(executor.submit(new Callable<BufferedImage>() {
+                    @Override
+                    public BufferedImage call() {
+                        return plugin.generate(movie, source, imageType, null);
+                    }
+                }));
+            }
+            for (int loop = 0; loop < results.size(); loop += 2) {
+                BufferedImage actual = results.get(loop).get();
+                assertEquals(expected.getWidth(), actual.getWidth());
+                assertEquals(expected.getHeight(), actual.getHeight());
+                for (int y = 0; y < expected.getHeight(); y += 7) {
+                    for (int x = 0; x < expected.getWidth(); x += 7) {
+                        assertEquals(expected.getRGB(x, y), actual.getRGB(x, y));
+                    }
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
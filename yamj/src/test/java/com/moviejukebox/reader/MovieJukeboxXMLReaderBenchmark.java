@@ -0,0 +1,69 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.reader;
+
+import com.moviejukebox.TestLogger;
+import com.moviejukebox.model.Movie;
+import com.moviejukebox.tools.DOMHelper;
+import java.io.File;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Time the reading of the movie XML file, the DOM parse alone is the time the DOM reader took before reading any value.
+ *
+ * Not part of the tests, run with: mvn -Pbenchmark test -Dbenchmark=com.moviejukebox.reader.MovieJukeboxXMLReaderBenchmark
+ */
+public final class MovieJukeboxXMLReaderBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieJukeboxXMLReaderBenchmark.class);
+
+    private MovieJukeboxXMLReaderBenchmark() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws Exception {
+        TestLogger.configure("INFO");
+        File xmlFile = new File("src/test/java/xml_test_files/ExampleMovieXML.xml");
+        MovieJukeboxXMLReader instance = new MovieJukeboxXMLReader();
+        int count = 2000;
+
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            for (int loop = 0; loop < count; loop++) {
+                DOMHelper.getDocFromFile(xmlFile);
+            }
+            long domNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int loop = 0; loop < count; loop++) {
+                if (!instance.parseMovieXML(xmlFile, new Movie())) {
+                    throw new IllegalStateException("Failed to read " + xmlFile.getName());
+                }
+            }
+            long streamNanos = System.nanoTime() - start;
+
+            LOG.info("Run {}: DOM parse {}us/file, StAX read {}us/file", run, domNanos / count / 1000L, streamNanos / count / 1000L);
+        }
+    }
+}
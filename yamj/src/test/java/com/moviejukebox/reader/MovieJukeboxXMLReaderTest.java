@@ -24,16 +24,27 @@ package com.moviejukebox.reader;
 
 import com.moviejukebox.AbstractTests;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.Test;
 
+import com.moviejukebox.model.Filmography;
+import com.moviejukebox.model.Movie;
+import com.moviejukebox.model.MovieFile;
 import com.moviejukebox.model.Person;
+import com.moviejukebox.model.enumerations.DirtyFlag;
+import org.apache.commons.io.FileUtils;
 import org.junit.BeforeClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import static org.junit.Assert.assertEquals;
 
 /**
  *
@@ -53,15 +64,107 @@ public class MovieJukeboxXMLReaderTest extends AbstractTests {
      */
     @Test
     public void testParseMovieXML() {
-        LOG.info("parseMovieXML - no test written");
+        LOG.info("parseMovieXML");
+        Movie movie = new Movie();
+        MovieJukeboxXMLReader instance = new MovieJukeboxXMLReader();
+        assertTrue(instance.parseMovieXML(getTestFile("ExampleMovieXML.xml"), movie));
+
+        assertEquals("The Godfather", movie.getTitle());
+        assertEquals("tt0068646", movie.getId("imdb"));
+        assertEquals("1972", movie.getYear());
+        assertEquals(92, movie.getRating("imdb"));
+        assertEquals("R", movie.getCertification());
+        assertEquals("Paramount Pictures", movie.getCompany());
+        assertEquals(Arrays.asList("Drama"), new ArrayList<>(movie.getGenres()));
+        assertEquals(Arrays.asList("Francis Ford Coppola"), new ArrayList<>(movie.getDirectors()));
+        assertEquals(Integer.valueOf(1), movie.getSetOrder("Action Movies"));
+        assertTrue(movie.getSetsKeys().contains("Classics"));
+        assertEquals(18, movie.getPeople().size());
+        assertEquals(2, movie.getCodecs().size());
+        assertEquals(1, movie.getMovieFiles().size());
+        // The extras in the XML are not on the disk
+        assertTrue(movie.isDirty(DirtyFlag.INFO));
+    }
+
+    /**
+     * The parts of each file are read from the elements of that file
+     */
+    @Test
+    public void testParseMultiPartXML() {
+        LOG.info("parseMultiPartXML");
+        Movie movie = new Movie();
+        MovieJukeboxXMLReader instance = new MovieJukeboxXMLReader();
+        assertTrue(instance.parseMovieXML(getTestFile("ExampleMultiPartFile.xml"), movie));
+
+        List<MovieFile> files = new ArrayList<>(movie.getMovieFiles());
+        assertEquals(2, files.size());
+        assertEquals("Pilot", files.get(0).getTitle(1));
+        assertEquals("Francine's Flashback", files.get(0).getTitle(4));
+        assertEquals("Roger Codger", files.get(1).getTitle(5));
+        assertEquals("Homeland Insecurity", files.get(1).getTitle(6));
+    }
+
+    /**
+     * A broken file is reported and nothing is read from it
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testParseBrokenXML() throws IOException {
+        LOG.info("parseBrokenXML");
+        File xmlFile = File.createTempFile("yamj-broken", ".xml");
+        try {
+            FileUtils.writeStringToFile(xmlFile, "<details><movie><title>Broken</title><year>2000</movie>", StandardCharsets.UTF_8);
+
+            Movie movie = new Movie();
+            MovieJukeboxXMLReader instance = new MovieJukeboxXMLReader();
+            assertFalse(instance.parseMovieXML(xmlFile, movie));
+            assertEquals(Movie.UNKNOWN, movie.getTitle());
+            assertEquals(Movie.UNKNOWN, movie.getYear());
+        } finally {
+            FileUtils.deleteQuietly(xmlFile);
+        }
     }
 
     /**
      * Test of parseSetXML method, of class MovieJukeboxXMLReader.
+     *
+     * @throws IOException
      */
     @Test
-    public void testParseSetXML() {
-        LOG.info("parseSetXML - no test written");
+    public void testParseSetXML() throws IOException {
+        LOG.info("parseSetXML");
+        File xmlFile = File.createTempFile("yamj-set", ".xml");
+        try {
+            FileUtils.writeStringToFile(xmlFile, "<library><movies>"
+                    + "<movie><baseFilename>Movie A</baseFilename></movie>"
+                    + "<movie><baseFilename>Movie B</baseFilename></movie>"
+                    + "</movies></library>", StandardCharsets.UTF_8);
+
+            Movie setMaster = new Movie();
+            setMaster.setTitle("Classics", Movie.UNKNOWN);
+            setMaster.setSetSize(2);
+            List<Movie> moviesList = Arrays.asList(createSetMovie("Movie A"), createSetMovie("Movie B"));
+
+            MovieJukeboxXMLReader instance = new MovieJukeboxXMLReader();
+            assertTrue(instance.parseSetXML(xmlFile, setMaster, moviesList));
+            assertFalse(setMaster.isDirty(DirtyFlag.INFO));
+
+            // A movie was added to the set
+            setMaster.setSetSize(3);
+            assertTrue(instance.parseSetXML(xmlFile, setMaster, moviesList));
+            assertTrue(setMaster.isDirty(DirtyFlag.INFO));
+        } finally {
+            FileUtils.deleteQuietly(xmlFile);
+        }
+    }
+
+    private static Movie createSetMovie(String baseName) {
+        Movie movie = new Movie();
+        movie.setBaseName(baseName);
+        movie.addSet("Classics");
+        movie.clearDirty();
+        return movie;
     }
 
     /**
@@ -78,5 +181,16 @@ public class MovieJukeboxXMLReaderTest extends AbstractTests {
         boolean result = instance.parsePersonXML(xmlFile, person);
         LOG.info("Person: " + person.toString());
         assertEquals(expResult, result);
+
+        assertEquals("Peter Dinklage", person.getName());
+        assertEquals("nm0227759", person.getId("imdb"));
+        assertEquals("Morristown, New Jersey, USA", person.getBirthPlace());
+        assertEquals(112, person.getKnownMovies());
+        assertEquals(61, person.getFilmography().size());
+
+        Filmography film = person.getFilmography().get(0);
+        assertEquals("tt2084342", film.getId());
+        assertEquals("Tyrion Lannister", film.getCharacter());
+        assertEquals("2012", film.getYear());
     }
 }
@@ -0,0 +1,127 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.scanner;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MediaInfoCacheTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MediaInfoCacheTest.class);
+
+    @BeforeClass
+    public static void setUpClass() {
+        doConfiguration();
+    }
+
+    /**
+     * The output is kept until the file changes and read again from the saved cache
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testSaveLoad() throws IOException {
+        LOG.info("saveLoad");
+        File cacheFile = File.createTempFile("yamj-mediainfo", ".cache");
+        File movieFile = createMovieFile("video");
+        try {
+            MediaInfoCache cache = new MediaInfoCache(cacheFile);
+            cache.putMediaInfo(movieFile, createMediaInfo("Matroska"));
+            cache.putArchiveName(movieFile, "movie.mkv");
+            cache.save();
+
+            cache = new MediaInfoCache(cacheFile);
+            assertEquals("Matroska", cache.getMediaInfo(movieFile).getInfosGeneral().get("Format"));
+            assertEquals("movie.mkv", cache.getArchiveName(movieFile));
+
+            writeContent(movieFile, "changed video");
+            assertNull(cache.getMediaInfo(movieFile));
+        } finally {
+            movieFile.delete();
+            cacheFile.delete();
+        }
+    }
+
+    /**
+     * The output of a failed run and the missing files are not kept
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testFailedResults() throws IOException {
+        LOG.info("failedResults");
+        File cacheFile = File.createTempFile("yamj-mediainfo", ".cache");
+        File movieFile = createMovieFile("video");
+        try {
+            MediaInfoCache cache = new MediaInfoCache(cacheFile);
+            List<Map<String, String>> none = Collections.emptyList();
+            cache.putMediaInfo(movieFile, new MediaInfoCache.MediaInfo(new HashMap<String, String>(), none, none, none));
+            cache.putArchiveName(movieFile, "");
+            assertNull(cache.getMediaInfo(movieFile));
+            assertNull(cache.getArchiveName(movieFile));
+
+            File missingFile = new File(movieFile.getAbsolutePath() + ".missing");
+            cache.putMediaInfo(missingFile, createMediaInfo("AVI"));
+            assertNull(cache.getMediaInfo(missingFile));
+        } finally {
+            movieFile.delete();
+            cacheFile.delete();
+        }
+    }
+
+    private static MediaInfoCache.MediaInfo createMediaInfo(String format) {
+        Map<String, String> infosGeneral = new HashMap<>();
+        infosGeneral.put("Format", format);
+        List<Map<String, String>> infosVideo = new ArrayList<>();
+        infosVideo.add(Collections.singletonMap("Width", "1920"));
+        List<Map<String, String>> none = Collections.emptyList();
+        return new MediaInfoCache.MediaInfo(infosGeneral, infosVideo, none, none);
+    }
+
+    private static File createMovieFile(String content) throws IOException {
+        File movieFile = File.createTempFile("yamj-movie", ".mkv");
+        writeContent(movieFile, content);
+        return movieFile;
+    }
+
+    private static void writeContent(File file, String content) throws IOException {
+        try (Writer writer = new FileWriter(file)) {
+            writer.write(content);
+        }
+    }
+}
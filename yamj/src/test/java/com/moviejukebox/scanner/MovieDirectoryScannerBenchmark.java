@@ -0,0 +1,68 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.scanner;
+
+import com.moviejukebox.TestLogger;
+import com.moviejukebox.tools.FileTools;
+import java.io.File;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compare the throughput of the sequential scan and the parallel walker on a library of directories with 4 files each.
+ *
+ * Not part of the tests, run with: mvn -Pbenchmark test -Dbenchmark=com.moviejukebox.scanner.MovieDirectoryScannerBenchmark
+ *
+ * The number of top directories of 20 movie directories can be given with -Dexec.args, the default 5,000 creates about
+ * 500,000 entries in the temporary directory.
+ */
+public final class MovieDirectoryScannerBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieDirectoryScannerBenchmark.class);
+
+    private MovieDirectoryScannerBenchmark() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws IOException {
+        TestLogger.configure("INFO");
+        int groups = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        long entries = groups * 20L * 5L;
+
+        File libraryDir = new File(System.getProperty("java.io.tmpdir"), "yamj-library-benchmark");
+        FileTools.deleteDir(libraryDir);
+        try {
+            MovieDirectoryScannerTest.createLibrary(libraryDir, groups, 20);
+
+            for (int threads : new int[]{0, 2, 4, 8, 16}) {
+                long start = System.nanoTime();
+                int count = MovieDirectoryScannerTest.scanLibrary(libraryDir, threads).size();
+                long millis = (System.nanoTime() - start) / 1000000L;
+                LOG.info("Threads: {}, videos: {}, time: {}ms, {} entries/s", threads, count, millis, entries * 1000L / Math.max(1L, millis));
+            }
+        } finally {
+            FileTools.deleteDir(libraryDir);
+        }
+    }
+}
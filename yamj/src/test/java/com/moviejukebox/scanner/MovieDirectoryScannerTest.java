@@ -0,0 +1,142 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.scanner;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.moviejukebox.model.Library;
+import com.moviejukebox.model.MediaLibraryPath;
+import com.moviejukebox.model.Movie;
+import com.moviejukebox.tools.FileTools;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the directory scanning of the MovieDirectoryScanner
+ */
+public class MovieDirectoryScannerTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieDirectoryScannerTest.class);
+    private File libraryDir;
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    @Before
+    public void setUp() {
+        libraryDir = new File(System.getProperty("java.io.tmpdir"), "yamj-library-test");
+        FileTools.deleteDir(libraryDir);
+    }
+
+    @After
+    public void tearDown() {
+        FileTools.deleteDir(libraryDir);
+    }
+
+    /**
+     * The parallel walker must find the same videos as the sequential scan
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWalkerThreads() throws IOException {
+        LOG.info("walkerThreads");
+        createLibrary(libraryDir, 5, 4);
+        // Ignored directory
+        FileUtils.touch(new File(libraryDir, "Ignored/Hidden Movie (2001).avi"));
+        FileUtils.touch(new File(libraryDir, "Ignored/.mjbignore"));
+        // DVD image
+        FileUtils.writeStringToFile(new File(libraryDir, "DVD Movie (2005)/VIDEO_TS/VIDEO_TS.IFO"), "IFO", StandardCharsets.UTF_8);
+        // Excluded directory
+        FileUtils.touch(new File(libraryDir, "sample/Sample Movie (2002).avi"));
+
+        List<String> sequential = scanLibrary(libraryDir, 0);
+        List<String> parallel = scanLibrary(libraryDir, 4);
+
+        assertEquals(21, sequential.size());
+        assertTrue(sequential.contains("DVD Movie (2005):3"));
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Create a library of directories with a video, a NFO, a poster and a fanart file each
+     *
+     * @param root
+     * @param groups the number of top directories
+     * @param movies the number of movie directories in each top directory
+     * @throws IOException
+     */
+    static void createLibrary(File root, int groups, int movies) throws IOException {
+        for (int group = 0; group < groups; group++) {
+            File groupDir = new File(root, "Group " + group);
+            for (int movie = 0; movie < movies; movie++) {
+                String name = "Movie G" + group + "M" + movie + " (" + (1950 + movie) + ")";
+                File movieDir = new File(groupDir, name);
+                FileUtils.writeStringToFile(new File(movieDir, name + ".avi"), name, StandardCharsets.UTF_8);
+                FileUtils.touch(new File(movieDir, name + ".nfo"));
+                FileUtils.touch(new File(movieDir, name + ".jpg"));
+                FileUtils.touch(new File(movieDir, name + ".fanart.jpg"));
+            }
+        }
+    }
+
+    /**
+     * Scan the library and list the base name and size of each video
+     *
+     * @param root
+     * @param walkerThreads
+     * @return
+     */
+    static List<String> scanLibrary(File root, int walkerThreads) {
+        MediaLibraryPath srcPath = new MediaLibraryPath();
+        srcPath.setPath(root.getAbsolutePath());
+        srcPath.setPlayerRootPath("");
+        srcPath.setDescription("");
+        srcPath.setExcludes(Collections.<Object>singletonList("sample"));
+
+        MovieDirectoryScanner scanner = new MovieDirectoryScanner();
+        scanner.setWalkerThreads(walkerThreads);
+        Library library = scanner.scan(srcPath, new Library());
+
+        List<String> videos = new ArrayList<>();
+        for (Movie movie : library.values()) {
+            videos.add(movie.getBaseName() + ":" + movie.getFileSize());
+        }
+        return videos;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.scanner.artwork;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+
+import com.moviejukebox.model.IImage;
+import com.moviejukebox.model.Identifiable;
+import com.moviejukebox.model.Image;
+import com.moviejukebox.model.Movie;
+import com.moviejukebox.plugin.ImdbPlugin;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the parallel poster search of the PosterScanner, with stub searches instead of the plugins
+ */
+public class PosterSearchTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PosterSearchTest.class);
+    private static final String IMDB_ID = "tt0068646";
+    private StubSearch stubSearch;
+    private Movie movie;
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    @Before
+    public void setUp() {
+        stubSearch = new StubSearch();
+        movie = new Movie();
+        movie.setTitle("The Godfather", Movie.UNKNOWN);
+    }
+
+    /**
+     * A search that needs the ID found by an earlier search gets it, like the searches in turn
+     */
+    @Test
+    public void testIdPropagation() {
+        LOG.info("idPropagation");
+        List<String> searches = Arrays.asList("finder", "imdbposter");
+
+        IImage poster = PosterScanner.getPosterURL(movie, searches, 2, stubSearch);
+        assertEquals("http://posters/" + IMDB_ID + ".jpg", poster.getUrl());
+        assertEquals(IMDB_ID, movie.getId(ImdbPlugin.IMDB_PLUGIN_ID));
+        // The first run did not have the ID yet
+        assertEquals(2, stubSearch.getCalls("imdbposter"));
+        assertEquals(1, stubSearch.getCalls("finder"));
+    }
+
+    /**
+     * The searches that do not read the found ID are not run again
+     */
+    @Test
+    public void testNoRepeat() {
+        LOG.info("noRepeat");
+        List<String> searches = Arrays.asList("finder", "title");
+
+        IImage poster = PosterScanner.getPosterURL(movie, searches, 2, stubSearch);
+        assertEquals("http://posters/The Godfather.jpg", poster.getUrl());
+        assertEquals(IMDB_ID, movie.getId(ImdbPlugin.IMDB_PLUGIN_ID));
+        assertEquals(1, stubSearch.getCalls("title"));
+    }
+
+    /**
+     * The first search of the priority list with a poster wins, even when a later one is done first
+     */
+    @Test
+    public void testPriorityOrder() {
+        LOG.info("priorityOrder");
+        List<String> searches = Arrays.asList("slow", "title", "failure");
+
+        IImage poster = PosterScanner.getPosterURL(movie, searches, 3, stubSearch);
+        assertEquals("http://posters/slow.jpg", poster.getUrl());
+
+        // A failed search is skipped
+        poster = PosterScanner.getPosterURL(movie, Arrays.asList("failure", "none", "title"), 3, stubSearch);
+        assertEquals("http://posters/The Godfather.jpg", poster.getUrl());
+    }
+
+    /**
+     * The same results as the searches in turn
+     */
+    @Test
+    public void testSameAsInTurn() {
+        LOG.info("sameAsInTurn");
+        List<String> searches = Arrays.asList("none", "finder", "imdbposter", "title");
+
+        Movie inTurn = new Movie();
+        inTurn.setTitle("The Godfather", Movie.UNKNOWN);
+        // Nothing to wait for in turn
+        stubSearch.started.countDown();
+        IImage expected = Image.UNKNOWN;
+        for (String search : searches) {
+            expected = stubSearch.search(inTurn, inTurn, search);
+            if (!Movie.UNKNOWN.equals(expected.getUrl())) {
+                break;
+            }
+        }
+
+        IImage poster = PosterScanner.getPosterURL(movie, searches, 4, new StubSearch());
+        assertEquals(expected.getUrl(), poster.getUrl());
+        assertEquals(inTurn.getIdMap(), movie.getIdMap());
+    }
+
+    /**
+     * Searches like the plugins, the searches of each test are independent
+     */
+    private static final class StubSearch implements PosterScanner.TokenSearch {
+
+        private final ConcurrentMap<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        // Released once the later searches have started without the ID
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        @Override
+        public IImage search(Identifiable ident, Movie movie, String posterSearchToken) {
+            calls.putIfAbsent(posterSearchToken, new AtomicInteger());
+            calls.get(posterSearchToken).incrementAndGet();
+
+            switch (posterSearchToken) {
+                case "finder":
+                    // Finds the ID, after the next search has looked for it
+                    await();
+                    ident.setId(ImdbPlugin.IMDB_PLUGIN_ID, IMDB_ID);
+                    return Image.UNKNOWN;
+                case "imdbposter":
+                    String imdbId = ident.getId(ImdbPlugin.IMDB_PLUGIN_ID);
+                    started.countDown();
+                    return Movie.UNKNOWN.equals(imdbId) ? Image.UNKNOWN : new Image("http://posters/" + imdbId + ".jpg");
+                case "title":
+                    started.countDown();
+                    return new Image("http://posters/" + movie.getTitle() + ".jpg");
+                case "slow":
+                    // Done after the next search
+                    await();
+                    return new Image("http://posters/slow.jpg");
+                case "failure":
+                    started.countDown();
+                    throw new IllegalStateException("Plugin failure");
+                default:
+                    return Image.UNKNOWN;
+            }
+        }
+
+        private void await() {
+            try {
+                started.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private int getCalls(String posterSearchToken) {
+            AtomicInteger count = calls.get(posterSearchToken);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
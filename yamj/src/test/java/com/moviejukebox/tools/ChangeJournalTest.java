@@ -0,0 +1,138 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the journal of the incremental mode
+ */
+public class ChangeJournalTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeJournalTest.class);
+    private File testDir;
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    @Before
+    public void setUp() {
+        testDir = new File(System.getProperty("java.io.tmpdir"), "yamj-journal-test");
+        FileTools.deleteDir(testDir);
+        FileTools.makeDirs(testDir);
+    }
+
+    @After
+    public void tearDown() {
+        FileTools.deleteDir(testDir);
+    }
+
+    /**
+     * The journal must find the new, changed and removed files of the last run
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testChanges() throws IOException {
+        LOG.info("changes");
+        File journalFile = new File(testDir, "journal.dat");
+        File video1 = new File(testDir, "Alien (1979).avi");
+        File video2 = new File(testDir, "Aliens (1986).avi");
+        File missing = new File(testDir, "Alien 3 (1992).avi");
+        FileUtils.writeStringToFile(video1, "Alien", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(video2, "Aliens", StandardCharsets.UTF_8);
+
+        ChangeJournal journal = new ChangeJournal(journalFile);
+        assertTrue(journal.isEmpty());
+        assertEquals(0L, journal.getPreviousRunTime());
+        assertTrue(journal.isChanged(video1));
+        assertTrue(journal.isChanged(video2));
+        assertTrue(journal.isChanged(missing));
+        journal.save("settings");
+
+        journal = new ChangeJournal(journalFile);
+        assertFalse(journal.isEmpty());
+        assertEquals(journalFile.lastModified(), journal.getPreviousRunTime());
+        assertFalse(journal.isFingerprintChanged("settings"));
+        assertTrue(journal.isFingerprintChanged("other settings"));
+        assertFalse(journal.isChanged(video1));
+        assertFalse(journal.isChanged(missing));
+        FileUtils.writeStringToFile(video2, "Aliens Special Edition", StandardCharsets.UTF_8);
+        assertTrue(journal.isChanged(video2));
+        assertTrue(journal.getRemovedFiles().isEmpty());
+        journal.save("settings");
+
+        journal = new ChangeJournal(journalFile);
+        assertFalse(journal.isChanged(video2));
+        assertEquals(2, journal.getRemovedFiles().size());
+    }
+
+    /**
+     * The jukebox files recorded by the last run must be found and only they are checked
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testRecordedFiles() throws IOException {
+        LOG.info("recordedFiles");
+        File journalFile = new File(testDir, "journal.dat");
+        File jukeboxDir = new File(testDir, "Jukebox");
+        File poster = new File(jukeboxDir, "Alien (1979).jpg");
+        File html = new File(jukeboxDir, "Alien (1979).html");
+        File fanart = new File(jukeboxDir, "Alien (1979).fanart.jpg");
+        FileUtils.writeStringToFile(poster, "poster", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(html, "html", StandardCharsets.UTF_8);
+
+        ChangeJournal journal = new ChangeJournal(journalFile);
+        journal.record(poster);
+        journal.record(html);
+        journal.record(new File(testDir, "Alien (1979).avi"));
+        journal.save("settings");
+
+        journal = new ChangeJournal(journalFile);
+        assertEquals(2, journal.getPreviousFiles(jukeboxDir).size());
+        assertFalse(journal.isRecordedChanged(poster));
+        // Not recorded by the last run
+        FileUtils.writeStringToFile(fanart, "fanart", StandardCharsets.UTF_8);
+        assertFalse(journal.isRecordedChanged(fanart));
+        // Removed from the jukebox
+        html.delete();
+        assertTrue(journal.isRecordedChanged(html));
+    }
+}
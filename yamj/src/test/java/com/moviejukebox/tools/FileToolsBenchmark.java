@@ -0,0 +1,75 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.TestLogger;
+import java.io.File;
+import java.util.List;
+import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compare the indexed filename search of the scanned files cache with scanning all the cached paths.
+ *
+ * Not part of the tests, run with: mvn -Pbenchmark test -Dbenchmark=com.moviejukebox.tools.FileToolsBenchmark
+ */
+public final class FileToolsBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileToolsBenchmark.class);
+
+    private FileToolsBenchmark() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    public static void main(String[] args) {
+        TestLogger.configure("INFO");
+        Random random = new Random(42);
+
+        for (int count : new int[]{100000, 1000000}) {
+            List<File> files = FileToolsTest.createFiles(count);
+            long start = System.nanoTime();
+            FileTools.ScannedFilesCache cache = FileToolsTest.createCache(files);
+            LOG.info("{} paths: cache built in {}ms", count, (System.nanoTime() - start) / 1000000);
+
+            int loops = 2000;
+            start = System.nanoTime();
+            for (int loop = 0; loop < loops; loop++) {
+                cache.searchFilename(File.separator + "poster " + random.nextInt(count) + ".jpg", Boolean.TRUE);
+            }
+            LOG.info("{} paths: indexed search {}us", count, (System.nanoTime() - start) / loops / 1000);
+
+            loops = 20;
+            start = System.nanoTime();
+            for (int loop = 0; loop < loops; loop++) {
+                String search = (File.separator + "poster " + random.nextInt(count) + ".jpg").toUpperCase();
+                for (File file : files) {
+                    if (file.getAbsolutePath().toUpperCase().contains(search)) {
+                        break;
+                    }
+                }
+            }
+            LOG.info("{} paths: full scan {}us", count, (System.nanoTime() - start) / loops / 1000);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the FileTools scanned files cache
+ */
+public class FileToolsTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileToolsTest.class);
+    private static final String[] NAMES = {"Movie", "Alien", "Alien Resurrection", "poster", "fanart", "Show", "Season 1", "The", "AL"};
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * Test of searchFilename method, of class FileTools.ScannedFilesCache.
+     *
+     * The results must be the same as checking every cached path
+     */
+    @Test
+    public void testSearchFilename() {
+        LOG.info("searchFilename");
+        List<File> files = createFiles(20000);
+        FileTools.ScannedFilesCache cache = createCache(files);
+
+        String[] searches = {
+            File.separator + "Alien 12",
+            File.separator + "alien resurrection 5.",
+            File.separator + "poster 999.jpg",
+            File.separator + "Movie3" + File.separator,
+            File.separator + "ALIEN1" + File.separator + "ALIEN RES",
+            "N 1",
+            "ia" + File.separator + "The1",
+            File.separator + "fanart",
+            File.separator + "Season 1 ",
+            File.separator + "Al",
+            File.separator + "Missing"
+        };
+
+        for (String search : searches) {
+            Set<File> expected = new HashSet<>();
+            for (File file : files) {
+                if (file.getAbsolutePath().toUpperCase().contains(search.toUpperCase())) {
+                    expected.add(file);
+                }
+            }
+
+            Collection<File> result = cache.searchFilename(search, Boolean.TRUE);
+            assertEquals("Wrong number of files for '" + search + "'", expected.size(), result.size());
+            assertEquals("Wrong files for '" + search + "'", expected, new HashSet<>(result));
+
+            result = cache.searchFilename(search, Boolean.FALSE);
+            assertEquals("Wrong first file for '" + search + "'", expected.isEmpty() ? 0 : 1, result.size());
+            assertTrue("Wrong first file for '" + search + "'", expected.containsAll(result));
+        }
+    }
+
+    /**
+     * Test of searchExtensions method, of class FileTools.ScannedFilesCache.
+     */
+    @Test
+    public void testSearchExtensions() {
+        LOG.info("searchExtensions");
+        List<File> files = createFiles(2000);
+        FileTools.ScannedFilesCache cache = createCache(files);
+
+        Set<File> expected = new HashSet<>();
+        for (File file : files) {
+            if (file.getName().toLowerCase().endsWith(".png")) {
+                expected.add(file);
+            }
+        }
+
+        Collection<File> result = cache.searchExtensions(Arrays.asList("png", "watched"));
+        assertEquals("Wrong number of files", expected.size(), result.size());
+        assertEquals("Wrong files", expected, new HashSet<>(result));
+        assertTrue("Wrong files for a missing extension", cache.searchExtensions(Arrays.asList("fanart")).isEmpty());
+    }
+
+    static List<File> createFiles(int count) {
+        Random random = new Random(count);
+        List<File> files = new ArrayList<>(count + count / 50);
+
+        for (int loop = 0; loop < count; loop++) {
+            File dir = new File(File.separator + "media" + File.separator + NAMES[random.nextInt(NAMES.length)] + (loop / 50),
+                    NAMES[random.nextInt(NAMES.length)] + " " + (loop / 10));
+            if (loop % 50 == 0) {
+                files.add(dir);
+            }
+            files.add(new File(dir, NAMES[random.nextInt(NAMES.length)] + " " + loop + (random.nextBoolean() ? ".jpg" : ".fanart.png")));
+        }
+        return files;
+    }
+
+    static FileTools.ScannedFilesCache createCache(List<File> files) {
+        FileTools.ScannedFilesCache cache = new FileTools.ScannedFilesCache();
+        for (int start = 0; start < files.size(); start += 100) {
+            List<File> batch = files.subList(start, Math.min(start + 100, files.size()));
+            cache.addFiles(batch.toArray(new File[batch.size()]));
+        }
+        return cache;
+    }
+}
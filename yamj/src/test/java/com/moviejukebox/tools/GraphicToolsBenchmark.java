@@ -0,0 +1,62 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.TestLogger;
+import java.awt.image.BufferedImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compare the time of the smooth scaling of AWT and the image scaler for a poster to a thumbnail.
+ *
+ * Not part of the tests, run with: mvn -Pbenchmark test -Dbenchmark=com.moviejukebox.tools.GraphicToolsBenchmark
+ */
+public final class GraphicToolsBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphicToolsBenchmark.class);
+
+    private GraphicToolsBenchmark() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    public static void main(String[] args) {
+        TestLogger.configure("INFO");
+        BufferedImage poster = GraphicToolsTest.createPoster(2000, 3000);
+        int loops = 20;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            for (int loop = 0; loop < loops; loop++) {
+                GraphicToolsTest.scaleSmooth(poster, 400, 600);
+            }
+            long smooth = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int loop = 0; loop < loops; loop++) {
+                ImageScaler.scale(poster, 400, 600);
+            }
+            long scaler = System.nanoTime() - start;
+            LOG.info("2000x3000 to 400x600: getScaledInstance {}ms, ImageScaler {}ms", smooth / loops / 1000000L, scaler / loops / 1000000L);
+        }
+    }
+}
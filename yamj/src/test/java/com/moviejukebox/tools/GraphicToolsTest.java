@@ -0,0 +1,178 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import com.moviejukebox.model.JukeboxStatistics;
+import com.moviejukebox.model.enumerations.JukeboxStatistic;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+import javax.imageio.ImageIO;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the image scaling and loading of the GraphicTools
+ */
+public class GraphicToolsTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GraphicToolsTest.class);
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * The scaled images must have the requested size
+     */
+    @Test
+    public void testScaleSizes() {
+        LOG.info("scaleSizes");
+        BufferedImage poster = createPoster(1000, 1500);
+
+        BufferedImage image = GraphicTools.scaleToSize(400, 700, poster);
+        assertEquals(400, image.getWidth());
+        assertEquals(700, image.getHeight());
+        // The poster is drawn at the bottom
+        assertEquals(0, image.getRGB(200, 50) >>> 24);
+
+        image = GraphicTools.scaleToSizeStretch(300, 300, poster);
+        assertEquals(300, image.getWidth());
+        assertEquals(300, image.getHeight());
+
+        image = GraphicTools.scaleToSizeBestFit(200, poster);
+        assertEquals(200, image.getWidth());
+        assertEquals(300, image.getHeight());
+
+        image = GraphicTools.scaleToSizeNormalized(400, 400, poster);
+        assertEquals(400, image.getWidth());
+        assertEquals(400, image.getHeight());
+
+        // Enlarge a small image
+        image = GraphicTools.scaleToSizeBestFit(400, createPoster(200, 300));
+        assertEquals(400, image.getWidth());
+        assertEquals(600, image.getHeight());
+    }
+
+    /**
+     * The scaled image must look the same as the smooth scaling of AWT
+     */
+    @Test
+    public void testScaleQuality() {
+        LOG.info("scaleQuality");
+        BufferedImage poster = createPoster(2000, 3000);
+        BufferedImage expected = scaleSmooth(poster, 400, 600);
+        BufferedImage actual = ImageScaler.scale(poster, 400, 600);
+
+        long difference = 0;
+        for (int y = 0; y < 600; y++) {
+            for (int x = 0; x < 400; x++) {
+                int expectedRGB = expected.getRGB(x, y);
+                int actualRGB = actual.getRGB(x, y);
+                for (int shift = 0; shift < 32; shift += 8) {
+                    difference += Math.abs(((expectedRGB >> shift) & 0xFF) - ((actualRGB >> shift) & 0xFF));
+                }
+            }
+        }
+        double meanDifference = difference / (4.0 * 400 * 600);
+        LOG.info("Mean difference: {}", meanDifference);
+        assertTrue("Mean difference " + meanDifference, meanDifference < 1.0);
+
+        // The second scale uses the buffers kept by the thread
+        BufferedImage again = ImageScaler.scale(poster, 400, 600);
+        for (int y = 0; y < 600; y++) {
+            for (int x = 0; x < 400; x++) {
+                assertEquals(actual.getRGB(x, y), again.getRGB(x, y));
+            }
+        }
+    }
+
+    /**
+     * The resource images are decoded once and again when the file changes
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testLoadResourceImage() throws IOException {
+        LOG.info("loadResourceImage");
+        File logoFile = File.createTempFile("yamj-logo", ".png");
+        try {
+            ImageIO.write(createPoster(60, 40), "png", logoFile);
+            int decoded = JukeboxStatistics.getStatistic(JukeboxStatistic.RESOURCE_IMAGES_DECODED);
+
+            BufferedImage logo = GraphicTools.loadResourceImage(logoFile.getAbsolutePath());
+            assertEquals(60, logo.getWidth());
+            assertEquals(BufferedImage.TYPE_INT_ARGB, logo.getType());
+            assertSame(logo, GraphicTools.loadResourceImage(logoFile));
+            assertEquals(decoded + 1, JukeboxStatistics.getStatistic(JukeboxStatistic.RESOURCE_IMAGES_DECODED));
+
+            ImageIO.write(createPoster(80, 40), "png", logoFile);
+            logoFile.setLastModified(logoFile.lastModified() + 2000L);
+            assertEquals(80, GraphicTools.loadResourceImage(logoFile).getWidth());
+            assertEquals(decoded + 2, JukeboxStatistics.getStatistic(JukeboxStatistic.RESOURCE_IMAGES_DECODED));
+        } finally {
+            logoFile.delete();
+        }
+    }
+
+    /**
+     * Create a poster like image loaded from a JPG
+     *
+     * @param width
+     * @param height
+     * @return
+     */
+    static BufferedImage createPoster(int width, int height) {
+        BufferedImage poster = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D g2d = poster.createGraphics();
+        g2d.setPaint(new GradientPaint(0, 0, Color.RED, width, height, Color.BLUE));
+        g2d.fillRect(0, 0, width, height);
+        Random random = new Random(1);
+        for (int loop = 0; loop < 300; loop++) {
+            g2d.setColor(new Color(random.nextInt(0x1000000)));
+            g2d.fillOval(random.nextInt(width), random.nextInt(height), random.nextInt(width / 6) + 5, random.nextInt(height / 6) + 5);
+        }
+        g2d.dispose();
+        return poster;
+    }
+
+    static BufferedImage scaleSmooth(BufferedImage source, int width, int height) {
+        Image scaled = source.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.createGraphics().drawImage(scaled, 0, 0, null);
+        return image;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class HostLimitedHttpClientTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HostLimitedHttpClientTest.class);
+    private static final String HOST = "127.0.0.1";
+    private static HttpServer server;
+
+    @BeforeClass
+    public static void configure() throws IOException {
+        doConfiguration();
+
+        server = HttpServer.create(new InetSocketAddress(HOST, 0), 10);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                byte[] body = "<movie>The Godfather</movie>".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * The slot of the host is kept until the body is read or the response is closed
+     *
+     * @throws Throwable
+     */
+    @Test
+    public void testSlotKeptForBody() throws Throwable {
+        LOG.info("slotKeptForBody");
+        final String url = "http://" + HOST + ":" + server.getAddress().getPort() + "/movie";
+        final HostLimiter limiter = HostLimiter.getHost(HOST);
+        final int inFlight = limiter.getInFlight();
+
+        // The task records the slots in use, the errors of the tasks are only logged
+        ThreadExecutor<List<Integer>> tasks = new ThreadExecutor<>(1, 1);
+        tasks.submit(new Callable<List<Integer>>() {
+            @Override
+            public List<Integer> call() throws IOException {
+                List<Integer> slots = new ArrayList<>();
+                try (HostLimitedHttpClient client = new HostLimitedHttpClient(HttpClients.createDefault())) {
+                    // Read to the end of the body
+                    try (CloseableHttpResponse response = client.execute(new HttpGet(url))) {
+                        slots.add(limiter.getInFlight());
+                        assertEquals("<movie>The Godfather</movie>", EntityUtils.toString(response.getEntity(), StandardCharsets.UTF_8));
+                        slots.add(limiter.getInFlight());
+                    }
+
+                    // Closed without reading the body
+                    CloseableHttpResponse response = client.execute(new HttpGet(url));
+                    slots.add(limiter.getInFlight());
+                    response.close();
+                    slots.add(limiter.getInFlight());
+                }
+                return slots;
+            }
+        });
+        List<List<Integer>> values = tasks.waitForValues();
+        assertEquals(1, values.size());
+        assertEquals(Arrays.asList(inFlight + 1, inFlight, inFlight + 1, inFlight), values.get(0));
+        assertEquals(inFlight, limiter.getInFlight());
+    }
+}
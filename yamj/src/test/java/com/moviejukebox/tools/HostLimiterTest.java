@@ -0,0 +1,205 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class HostLimiterTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HostLimiterTest.class);
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * Each host has one limiter
+     */
+    @Test
+    public void testGetHost() {
+        LOG.info("getHost");
+        assertSame(HostLimiter.getHost("www.example.com"), HostLimiter.getHost("www.example.com"));
+    }
+
+    /**
+     * The slots are halved when the host is overloaded and raised again with good answers
+     */
+    @Test
+    public void testSlowDown() throws InterruptedIOException {
+        LOG.info("slowDown");
+        HostLimiter limiter = new HostLimiter("slowdown", 4, 0);
+        assertEquals(4, limiter.getSlots());
+
+        limiter.acquire();
+        limiter.release(LATENCY, HostLimiter.STATUS_TIMEOUT);
+        assertEquals(2, limiter.getSlots());
+        limiter.acquire();
+        limiter.release(LATENCY, HostLimiter.STATUS_TIMEOUT);
+        assertEquals(1, limiter.getSlots());
+
+        // Not found is an error of the request, not of the host
+        limiter.acquire();
+        limiter.release(LATENCY, 404);
+        assertEquals(2, limiter.getSlots());
+
+        for (int loop = 0; loop < 20; loop++) {
+            limiter.acquire();
+            limiter.release(LATENCY, HostLimiter.STATUS_OK);
+        }
+        assertEquals(4, limiter.getSlots());
+
+        // A request much slower than the others
+        limiter.acquire();
+        limiter.release(TimeUnit.SECONDS.toNanos(5), HostLimiter.STATUS_OK);
+        assertEquals(2, limiter.getSlots());
+    }
+
+    /**
+     * The host is paused when it asks to slow down
+     */
+    @Test
+    public void testPause() throws InterruptedIOException {
+        LOG.info("pause");
+        HostLimiter limiter = new HostLimiter("pause", 2, 0);
+        limiter.acquire();
+        limiter.release(LATENCY, 429);
+        assertEquals(1, limiter.getSlots());
+
+        long start = System.nanoTime();
+        limiter.acquire();
+        long waited = System.nanoTime() - start;
+        limiter.release(LATENCY, HostLimiter.STATUS_OK);
+        assertTrue("Waited " + waited, waited >= TimeUnit.MILLISECONDS.toNanos(900));
+    }
+
+    /**
+     * The requests running at the same time never exceed the slots
+     *
+     * @throws InterruptedException
+     */
+    @Test
+    public void testSlots() throws InterruptedException {
+        LOG.info("slots");
+        final HostLimiter limiter = new HostLimiter("slots", 3, 0);
+        List<Thread> threads = new ArrayList<>();
+        for (int loop = 0; loop < 8; loop++) {
+            Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    for (int request = 0; request < 5; request++) {
+                        try {
+                            limiter.acquire();
+                            Thread.sleep(5);
+                        } catch (InterruptedIOException | InterruptedException ex) {
+                            return;
+                        }
+                        limiter.release(LATENCY, HostLimiter.STATUS_OK);
+                    }
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(3, limiter.getMaxInFlight());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    /**
+     * The requests are started at the rate after the burst of an idle host
+     */
+    @Test
+    public void testRate() throws InterruptedIOException {
+        LOG.info("rate");
+        HostLimiter limiter = new HostLimiter("rate", 1, 20);
+        long start = System.nanoTime();
+        for (int loop = 0; loop < 40; loop++) {
+            limiter.acquire();
+            limiter.release(0, HostLimiter.STATUS_OK);
+        }
+        long elapsed = System.nanoTime() - start;
+        // 20 requests of the burst, then 20 requests at 50ms
+        assertTrue("Elapsed " + elapsed, elapsed >= TimeUnit.MILLISECONDS.toNanos(900));
+        assertTrue("Elapsed " + elapsed, elapsed < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    /**
+     * An interrupted wait for the rate gives back the slot and sends no request
+     *
+     * @throws InterruptedException
+     * @throws InterruptedIOException
+     */
+    @Test
+    public void testInterrupt() throws InterruptedException, InterruptedIOException {
+        LOG.info("interrupt");
+        final HostLimiter limiter = new HostLimiter("interrupt", 1, 0.5);
+        // The burst of the idle host
+        for (int loop = 0; loop < 2; loop++) {
+            limiter.acquire();
+            limiter.release(0, HostLimiter.STATUS_OK);
+        }
+
+        final List<Throwable> failures = new ArrayList<>();
+        Thread thread = new Thread() {
+            @Override
+            public void run() {
+                try {
+                    limiter.acquire();
+                    limiter.release(0, HostLimiter.STATUS_OK);
+                } catch (InterruptedIOException ex) {
+                    failures.add(ex);
+                    if (!isInterrupted()) {
+                        failures.add(new AssertionError("Interrupt not kept"));
+                    }
+                }
+            }
+        };
+        thread.start();
+        Thread.sleep(100);
+        thread.interrupt();
+        thread.join(1000);
+
+        assertFalse(thread.isAlive());
+        assertEquals(1, failures.size());
+        assertTrue(failures.get(0) instanceof InterruptedIOException);
+        assertEquals(0, limiter.getInFlight());
+    }
+}
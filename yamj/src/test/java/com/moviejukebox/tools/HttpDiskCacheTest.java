@@ -0,0 +1,152 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the persistent web cache
+ */
+public class HttpDiskCacheTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpDiskCacheTest.class);
+    private static final String TTL = ".*=60,.*imdb.*=1440,.*nocache.*=0";
+    private File cacheDir;
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    @Before
+    public void setUp() {
+        cacheDir = new File(System.getProperty("java.io.tmpdir"), "yamj-httpcache-test");
+        FileTools.deleteDir(cacheDir);
+    }
+
+    @After
+    public void tearDown() {
+        FileTools.deleteDir(cacheDir);
+    }
+
+    /**
+     * Test of getTimeToLive method, of class HttpDiskCache.
+     */
+    @Test
+    public void testGetTimeToLive() {
+        LOG.info("getTimeToLive");
+        HttpDiskCache cache = new HttpDiskCache(cacheDir, 1024 * 1024, TTL);
+
+        assertEquals(60 * 60000L, cache.getTimeToLive("www.themoviedb.org"));
+        assertEquals(1440 * 60000L, cache.getTimeToLive("www.imdb.com"));
+        assertEquals(0L, cache.getTimeToLive("nocache.example.com"));
+        assertEquals(0L, new HttpDiskCache(cacheDir, 1024 * 1024, "").getTimeToLive("www.imdb.com"));
+    }
+
+    /**
+     * Test of put and get methods, of class HttpDiskCache.
+     *
+     * The responses must be read back by a new cache
+     */
+    @Test
+    public void testPutAndGet() {
+        LOG.info("putAndGet");
+        HttpDiskCache cache = new HttpDiskCache(cacheDir, 1024 * 1024, TTL);
+        byte[] body = "<html>Alien (1979)</html>".getBytes();
+        Header etag = new BasicHeader("ETag", "\"12345\"");
+        cache.put(new HttpDiskCache.Entry("http://www.imdb.com/title/tt0078748/", 1000L, Arrays.asList(etag), body));
+
+        assertNull(cache.get("http://www.imdb.com/title/tt0078749/"));
+
+        cache = new HttpDiskCache(cacheDir, 1024 * 1024, TTL);
+        assertEquals(1, cache.getSize());
+        HttpDiskCache.Entry entry = cache.get("http://www.imdb.com/title/tt0078748/");
+        assertNotNull(entry);
+        assertEquals(1000L, entry.getValidated());
+        assertArrayEquals(body, entry.getBody());
+        assertEquals("\"12345\"", entry.getFirstHeader("etag").getValue());
+        assertTrue(entry.canRevalidate());
+        assertTrue(entry.isFresh(1000L, 1999L));
+        assertFalse(entry.isFresh(1000L, 2000L));
+        assertTrue(entry.revalidated(2000L).isFresh(1000L, 2000L));
+    }
+
+    /**
+     * The least recently used responses must be removed when the cache is full
+     */
+    @Test
+    public void testEviction() {
+        LOG.info("eviction");
+        byte[] body = new byte[10000];
+        new Random(42).nextBytes(body);
+        HttpDiskCache cache = new HttpDiskCache(cacheDir, 25000, TTL);
+
+        cache.put(new HttpDiskCache.Entry("http://site/1", 0L, Collections.<Header>emptyList(), body));
+        cache.put(new HttpDiskCache.Entry("http://site/2", 0L, Collections.<Header>emptyList(), body));
+        assertNotNull(cache.get("http://site/1"));
+        cache.put(new HttpDiskCache.Entry("http://site/3", 0L, Collections.<Header>emptyList(), body));
+
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get("http://site/1"));
+        assertNull(cache.get("http://site/2"));
+        assertNotNull(cache.get("http://site/3"));
+        assertTrue(cache.getTotalSize() <= 25000);
+    }
+
+    /**
+     * The API keys in the URL must not be kept in the cache keys
+     */
+    @Test
+    public void testHideCredentials() {
+        LOG.info("hideCredentials");
+        String url = "http://api.themoviedb.org/3/movie/550?api_key=secret123&language=en";
+        String hidden = DiskCachingHttpClient.hideCredentials(url);
+
+        assertFalse(hidden.contains("secret123"));
+        assertTrue(hidden.startsWith("http://api.themoviedb.org/3/movie/550?api_key="));
+        assertTrue(hidden.endsWith("&language=en"));
+        assertEquals(hidden, DiskCachingHttpClient.hideCredentials(url));
+        assertFalse(hidden.equals(DiskCachingHttpClient.hideCredentials(url.replace("secret123", "other"))));
+        assertEquals("http://www.imdb.com/title/tt0078748/", DiskCachingHttpClient.hideCredentials("http://www.imdb.com/title/tt0078748/"));
+    }
+}
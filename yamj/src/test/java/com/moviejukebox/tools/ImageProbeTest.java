@@ -0,0 +1,181 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ImageProbeTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ImageProbeTest.class);
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+    private static HttpServer server;
+    private static byte[] image;
+
+    @BeforeClass
+    public static void configure() throws IOException {
+        doConfiguration();
+
+        // A noisy image larger than the bytes read for the size
+        BufferedImage poster = new BufferedImage(400, 600, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(1);
+        for (int y = 0; y < poster.getHeight(); y++) {
+            for (int x = 0; x < poster.getWidth(); x++) {
+                poster.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(poster, "png", out);
+        image = out.toByteArray();
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 10);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                REQUESTS.incrementAndGet();
+                String range = exchange.getRequestHeaders().getFirst("Range");
+                byte[] body = image;
+                int status = 200;
+                if (range != null && exchange.getRequestURI().getPath().startsWith("/range")) {
+                    int end = Integer.parseInt(range.substring(range.indexOf('-') + 1));
+                    body = new byte[Math.min(end + 1, image.length)];
+                    System.arraycopy(image, 0, body, 0, body.length);
+                    status = 206;
+                    exchange.getResponseHeaders().add("Content-Range", "bytes 0-" + (body.length - 1) + "/" + image.length);
+                }
+                // The image is followed by more bytes than an image kept in memory
+                int padding = exchange.getRequestURI().getPath().startsWith("/large") ? 9 * 1024 * 1024 : 0;
+                exchange.getResponseHeaders().add("Content-Type", "image/png");
+                exchange.sendResponseHeaders(status, body.length + padding);
+                try (OutputStream os = exchange.getResponseBody()) {
+                    os.write(body);
+                    os.write(new byte[padding]);
+                } catch (IOException ex) {
+                    // The client stops reading a large image
+                    LOG.trace("Response not sent: {}", ex.getMessage());
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        server.stop(0);
+    }
+
+    private static String getUrl(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * The size is read from the first bytes and then from the cache, the format is found from the content
+     */
+    @Test
+    public void testImageInfo() {
+        LOG.info("imageInfo");
+        assertTrue(image.length > 100000);
+        // The name does not tell the format
+        String url = getUrl("/range/poster.jpg");
+
+        int requests = REQUESTS.get();
+        ImageProbe.ImageInfo info = ImageProbe.getImageInfo(url);
+        assertEquals(400, info.getWidth());
+        assertEquals(600, info.getHeight());
+        assertEquals("png", info.getFormat().toLowerCase());
+        assertEquals(requests + 1, REQUESTS.get());
+
+        assertEquals(600, ImageProbe.getDimension(url).height);
+        assertEquals(requests + 1, REQUESTS.get());
+    }
+
+    /**
+     * The whole image sent by a site without ranges is saved without a second request
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReuseDownload() throws IOException {
+        LOG.info("reuseDownload");
+        String url = getUrl("/whole/poster.png");
+
+        int requests = REQUESTS.get();
+        assertEquals(400, ImageProbe.getImageInfo(url).getWidth());
+        assertEquals(requests + 1, REQUESTS.get());
+
+        File imageFile = File.createTempFile("yamj-probe", ".png");
+        try {
+            assertTrue(FileTools.downloadImage(imageFile, url));
+            assertEquals(requests + 1, REQUESTS.get());
+            assertArrayEquals(image, Files.readAllBytes(imageFile.toPath()));
+        } finally {
+            imageFile.delete();
+        }
+    }
+
+    /**
+     * The size of a large image is read from the stream, the image is not kept in memory
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testLargeImage() throws IOException {
+        LOG.info("largeImage");
+        String url = getUrl("/large/poster.png");
+
+        int requests = REQUESTS.get();
+        ImageProbe.ImageInfo info = ImageProbe.getImageInfo(url);
+        assertEquals(400, info.getWidth());
+        assertEquals(600, info.getHeight());
+        assertEquals(requests + 1, REQUESTS.get());
+
+        File imageFile = File.createTempFile("yamj-probe", ".png");
+        try {
+            assertFalse(ImageProbe.writeDownload(url, imageFile));
+        } finally {
+            imageFile.delete();
+        }
+    }
+}
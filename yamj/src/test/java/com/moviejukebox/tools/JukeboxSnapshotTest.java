@@ -0,0 +1,195 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import javax.xml.stream.XMLStreamException;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the snapshot of the jukebox XML documents
+ */
+public class JukeboxSnapshotTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JukeboxSnapshotTest.class);
+    private File testDir;
+    private File snapshotFile;
+    private File alien;
+    private File aliens;
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        testDir = new File(System.getProperty("java.io.tmpdir"), "yamj-snapshot-test");
+        FileTools.deleteDir(testDir);
+        FileTools.makeDirs(testDir);
+        snapshotFile = new File(testDir, "jukebox.snapshot");
+        alien = new File(testDir, "Alien_1979.xml");
+        aliens = new File(testDir, "Aliens_1986.xml");
+        FileUtils.writeStringToFile(alien, "<details><movie><title>Alien</title><year>1979</year></movie></details>", StandardCharsets.UTF_8);
+        FileUtils.writeStringToFile(aliens, "<details><movie><title>Aliens</title><year>1986</year></movie></details>", StandardCharsets.UTF_8);
+    }
+
+    @After
+    public void tearDown() {
+        FileTools.deleteDir(testDir);
+    }
+
+    /**
+     * The documents saved by a run are used by the next one, the documents not read by a run are dropped
+     *
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    @Test
+    public void testRoundTrip() throws IOException, XMLStreamException {
+        LOG.info("roundTrip");
+        JukeboxSnapshot snapshot = new JukeboxSnapshot(snapshotFile);
+        assertEquals("Alien", snapshot.read(alien).getValueFromElement("title"));
+        assertEquals("Aliens", snapshot.read(aliens).getValueFromElement("title"));
+        assertEquals(0, snapshot.getHits());
+        assertEquals(2, snapshot.getMisses());
+        snapshot.save();
+        assertTrue(snapshotFile.exists());
+        assertFalse(new File(snapshotFile.getAbsolutePath() + ".tmp").exists());
+
+        // The format version, the index of both documents and the footer
+        ByteBuffer data = ByteBuffer.wrap(FileUtils.readFileToByteArray(snapshotFile));
+        int size = data.capacity();
+        assertEquals(1, data.getInt(0));
+        assertEquals(1, data.getInt(size - 4));
+        long indexOffset = data.getLong(size - 12);
+        assertTrue(indexOffset > 4 && indexOffset < size - 12);
+        assertEquals(2, data.getInt((int) indexOffset));
+
+        snapshot = new JukeboxSnapshot(snapshotFile);
+        XMLStreamElement document = snapshot.read(alien);
+        assertEquals("Alien", document.getValueFromElement("title"));
+        assertEquals("1979", document.getValueFromElement("year"));
+        assertEquals(1, snapshot.getHits());
+        assertEquals(0, snapshot.getMisses());
+        snapshot.save();
+
+        // Only the document read by the last run is kept
+        snapshot = new JukeboxSnapshot(snapshotFile);
+        assertEquals("Alien", snapshot.read(alien).getValueFromElement("title"));
+        assertEquals("Aliens", snapshot.read(aliens).getValueFromElement("title"));
+        assertEquals(1, snapshot.getHits());
+        assertEquals(1, snapshot.getMisses());
+        snapshot.save();
+    }
+
+    /**
+     * A document is not used when the modification time or the length of its file has changed
+     *
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    @Test
+    public void testStaleStamp() throws IOException, XMLStreamException {
+        LOG.info("staleStamp");
+        JukeboxSnapshot snapshot = new JukeboxSnapshot(snapshotFile);
+        snapshot.read(alien);
+        snapshot.read(aliens);
+        snapshot.save();
+
+        // Same length, other modification time
+        FileUtils.writeStringToFile(alien, "<details><movie><title>Alieb</title><year>1979</year></movie></details>", StandardCharsets.UTF_8);
+        assertTrue(alien.setLastModified(alien.lastModified() - 10000L));
+        // Other length, the modification time can be the same
+        long lastModified = aliens.lastModified();
+        FileUtils.writeStringToFile(aliens, "<details><movie><title>Aliens Special Edition</title></movie></details>", StandardCharsets.UTF_8);
+        assertTrue(aliens.setLastModified(lastModified));
+
+        snapshot = new JukeboxSnapshot(snapshotFile);
+        assertEquals("Alieb", snapshot.read(alien).getValueFromElement("title"));
+        assertEquals("Aliens Special Edition", snapshot.read(aliens).getValueFromElement("title"));
+        assertEquals(0, snapshot.getHits());
+        assertEquals(2, snapshot.getMisses());
+        snapshot.save();
+
+        // The files read again are saved with their new stamp
+        snapshot = new JukeboxSnapshot(snapshotFile);
+        assertEquals("Alieb", snapshot.read(alien).getValueFromElement("title"));
+        assertEquals("Aliens Special Edition", snapshot.read(aliens).getValueFromElement("title"));
+        assertEquals(2, snapshot.getHits());
+        snapshot.save();
+    }
+
+    /**
+     * A snapshot with an unknown format is ignored and replaced
+     *
+     * @throws IOException
+     * @throws XMLStreamException
+     */
+    @Test
+    public void testInvalidSnapshot() throws IOException, XMLStreamException {
+        LOG.info("invalidSnapshot");
+        JukeboxSnapshot snapshot = new JukeboxSnapshot(snapshotFile);
+        snapshot.read(alien);
+        snapshot.save();
+
+        // Another format version in the footer
+        byte[] data = FileUtils.readFileToByteArray(snapshotFile);
+        data[data.length - 1] = 2;
+        FileUtils.writeByteArrayToFile(snapshotFile, data);
+
+        snapshot = new JukeboxSnapshot(snapshotFile);
+        assertEquals("Alien", snapshot.read(alien).getValueFromElement("title"));
+        assertEquals(0, snapshot.getHits());
+        assertEquals(1, snapshot.getMisses());
+        snapshot.save();
+
+        // Replaced by a valid snapshot
+        snapshot = new JukeboxSnapshot(snapshotFile);
+        assertEquals("Alien", snapshot.read(alien).getValueFromElement("title"));
+        assertEquals(1, snapshot.getHits());
+        snapshot.save();
+
+        // Too short for the footer
+        FileUtils.writeStringToFile(snapshotFile, "snapshot", StandardCharsets.UTF_8);
+        snapshot = new JukeboxSnapshot(snapshotFile);
+        assertEquals("Alien", snapshot.read(alien).getValueFromElement("title"));
+        assertEquals(0, snapshot.getHits());
+        assertEquals(1, snapshot.getMisses());
+        snapshot.save();
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import com.moviejukebox.model.Filmography;
+import com.moviejukebox.model.Movie;
+import com.moviejukebox.model.Person;
+import com.moviejukebox.model.enumerations.DirtyFlag;
+import com.moviejukebox.plugin.ImdbPlugin;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the update of the video people and the filmography of the scanned people
+ */
+public class PeopleReconcilerTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PeopleReconcilerTest.class);
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * The information of the scanned person is copied to the video person with the same name, ignoring the case
+     */
+    @Test
+    public void testMergePerson() {
+        LOG.info("mergePerson");
+        Person person = createPerson("John Smith", "nm0000001");
+        person.setUrl("http://www.imdb.com/name/nm0000001/");
+        person.setPhotoFilename("John_Smith.jpg");
+
+        Movie movie = createMovie("Movie", "Movie_2001");
+        Filmography moviePerson = createMoviePerson("JOHN SMITH");
+        movie.addPerson(moviePerson);
+        movie.clearDirty();
+
+        new PeopleReconciler(Collections.singletonList(movie), Collections.singletonList(person)).reconcile();
+
+        assertEquals(person.getFilename(), moviePerson.getFilename());
+        assertEquals("http://www.imdb.com/name/nm0000001/", moviePerson.getUrl());
+        assertEquals("nm0000001", moviePerson.getId(ImdbPlugin.IMDB_PLUGIN_ID));
+        assertEquals(person.getPhotoFilename(), moviePerson.getPhotoFilename());
+        assertTrue(movie.isDirty(DirtyFlag.INFO));
+
+        // Nothing changes the second time
+        movie.clearDirty();
+        new PeopleReconciler(Collections.singletonList(movie), Collections.singletonList(person)).reconcile();
+        assertFalse(movie.isDirty(DirtyFlag.INFO));
+    }
+
+    /**
+     * The first scanned person in library order is used when several match by name or ID
+     */
+    @Test
+    public void testDuplicatePeople() {
+        LOG.info("duplicatePeople");
+        Person first = createPerson("Jane Doe", "nm0000002");
+        first.setFilename("Jane_Doe_first");
+        Person second = createPerson("Jane Doe", "nm0000003");
+        second.setFilename("Jane_Doe_second");
+
+        Movie movie = createMovie("Movie", "Movie_2002");
+        Filmography byName = createMoviePerson("Jane Doe");
+        movie.addPerson(byName);
+        // Another name with the ID of the second person, the name of the first person matches too
+        Filmography byId = createMoviePerson("J. Doe");
+        byId.setJob("Director");
+        byId.setId(ImdbPlugin.IMDB_PLUGIN_ID, "nm0000003");
+        byId.setTitle("Jane Doe");
+        movie.addPerson(byId);
+        // Only the ID of the second person matches
+        Filmography onlyId = createMoviePerson("Someone Else");
+        onlyId.setId(ImdbPlugin.IMDB_PLUGIN_ID, "nm0000003");
+        movie.addPerson(onlyId);
+
+        new PeopleReconciler(Collections.singletonList(movie), Arrays.asList(first, second)).reconcile();
+
+        assertEquals(first.getFilename(), byName.getFilename());
+        assertEquals(first.getFilename(), byId.getFilename());
+        assertEquals(second.getFilename(), onlyId.getFilename());
+    }
+
+    /**
+     * Only the first matching film of a person is linked to the video and the films of removed videos are cleared
+     */
+    @Test
+    public void testFilmography() {
+        LOG.info("filmography");
+        Movie movie = createMovie("The Movie", "The_Movie_2003");
+        movie.setId(ImdbPlugin.IMDB_PLUGIN_ID, "tt0000001");
+
+        Person person = createPerson("John Smith", "nm0000004");
+        Filmography byTitle = createFilm("the movie", null);
+        Filmography byId = createFilm("Original Title", "tt0000001");
+        Filmography removed = createFilm("Removed Movie", "tt0000002");
+        removed.setFilename("Removed_Movie_1999");
+        person.addFilm(byTitle);
+        person.addFilm(byId);
+        person.addFilm(removed);
+        for (Filmography film : person.getFilmography()) {
+            film.setDirty(false);
+        }
+        person.setDirty(false);
+
+        new PeopleReconciler(Collections.singletonList(movie), Collections.singletonList(person)).reconcile();
+
+        assertEquals("The_Movie_2003", byTitle.getFilename());
+        assertEquals(Movie.UNKNOWN, byId.getFilename());
+        assertEquals(Movie.UNKNOWN, removed.getFilename());
+        assertTrue(person.isDirty());
+    }
+
+    private static Movie createMovie(String title, String baseName) {
+        Movie movie = new Movie();
+        movie.setTitle(title, Movie.UNKNOWN);
+        movie.setBaseName(baseName);
+        return movie;
+    }
+
+    private static Person createPerson(String name, String imdbId) {
+        Person person = new Person();
+        person.setName(name);
+        person.setFilename();
+        person.setId(ImdbPlugin.IMDB_PLUGIN_ID, imdbId);
+        return person;
+    }
+
+    private static Filmography createMoviePerson(String name) {
+        Filmography moviePerson = new Filmography();
+        moviePerson.setName(name);
+        moviePerson.setJob("Actor");
+        return moviePerson;
+    }
+
+    private static Filmography createFilm(String name, String imdbId) {
+        Filmography film = new Filmography();
+        film.setName(name);
+        film.setId(ImdbPlugin.IMDB_PLUGIN_ID, imdbId);
+        return film;
+    }
+}
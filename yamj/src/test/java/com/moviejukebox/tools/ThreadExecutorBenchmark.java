@@ -0,0 +1,138 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.TestLogger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compare the throughput of the processing threads and the download threads with a local web server that answers after 20ms.
+ *
+ * Not part of the tests, run with: mvn -Pbenchmark test -Dbenchmark=com.moviejukebox.tools.ThreadExecutorBenchmark
+ */
+public final class ThreadExecutorBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadExecutorBenchmark.class);
+
+    private ThreadExecutorBenchmark() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws Throwable {
+        TestLogger.configure("INFO");
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 100);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    // The time a web site takes to answer
+                    Thread.sleep(20);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = "<movie/>".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        });
+        ExecutorService serverThreads = Executors.newCachedThreadPool();
+        server.setExecutor(serverThreads);
+        server.start();
+        try {
+            int port = server.getAddress().getPort();
+            for (int movies : new int[]{1000, 10000}) {
+                for (boolean downloadThreads : new boolean[]{false, true}) {
+                    // The errors of the tasks are only logged, so count the downloads
+                    AtomicInteger downloads = new AtomicInteger();
+                    long start = System.nanoTime();
+                    ThreadExecutor<Void> tasks = new ThreadExecutor<>(4, 16, downloadThreads);
+                    for (int movie = 0; movie < movies; movie++) {
+                        // Spread the videos over several hosts, like the plugins do
+                        tasks.submit(new DownloadTask(new URL("http://127.0.0." + (1 + movie % 8) + ":" + port + "/movie" + movie), downloads));
+                    }
+                    tasks.waitFor();
+                    long elapsed = System.nanoTime() - start;
+                    LOG.info("{} movies, download threads {}: {} downloaded, {}ms, {} movies/s", movies, downloadThreads,
+                            downloads.get(), elapsed / 1000000L, movies * 1000000000L / elapsed);
+                }
+            }
+        } finally {
+            server.stop(0);
+            serverThreads.shutdown();
+        }
+    }
+
+    /**
+     * Process a movie with some CPU work and a download
+     */
+    private static final class DownloadTask implements Callable<Void> {
+
+        private final URL url;
+        private final AtomicInteger downloads;
+
+        private DownloadTask(URL url, AtomicInteger downloads) {
+            this.url = url;
+            this.downloads = downloads;
+        }
+
+        @Override
+        public Void call() throws IOException {
+            long checksum = 0;
+            for (int loop = 0; loop < 200000; loop++) {
+                checksum += loop * 31L ^ checksum;
+            }
+
+            ThreadExecutor.enterIO(url);
+            try {
+                HttpURLConnection cnx = (HttpURLConnection) url.openConnection();
+                try (InputStream in = cnx.getInputStream()) {
+                    while (in.read() >= 0) {
+                        checksum++;
+                    }
+                }
+                downloads.incrementAndGet();
+            } finally {
+                ThreadExecutor.leaveIO();
+            }
+            LOG.trace("Checksum {}", checksum);
+            return null;
+        }
+    }
+}
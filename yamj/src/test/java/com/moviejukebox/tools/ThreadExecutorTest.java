@@ -0,0 +1,119 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class ThreadExecutorTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ThreadExecutorTest.class);
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * The next stages submitted by the running tasks are done before waitFor returns, even when the queue is full
+     *
+     * @throws Throwable
+     */
+    @Test
+    public void testSubmitNext() throws Throwable {
+        LOG.info("submitNext");
+        final ThreadExecutor<Void> tasks = new ThreadExecutor<>(4, 2);
+        final AtomicInteger firstStage = new AtomicInteger();
+        final AtomicInteger nextStage = new AtomicInteger();
+
+        for (int loop = 0; loop < 500; loop++) {
+            tasks.submit(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    firstStage.incrementAndGet();
+                    for (int next = 0; next < 5; next++) {
+                        tasks.submitNext(new Callable<Void>() {
+                            @Override
+                            public Void call() {
+                                nextStage.incrementAndGet();
+                                return null;
+                            }
+                        });
+                    }
+                    return null;
+                }
+            });
+        }
+        tasks.waitFor();
+
+        assertEquals(500, firstStage.get());
+        assertEquals(2500, nextStage.get());
+    }
+
+    /**
+     * The tasks waiting for a web site do not keep the other tasks from downloading
+     *
+     * @throws Throwable
+     */
+    @Test
+    public void testDownloadThreads() throws Throwable {
+        LOG.info("downloadThreads");
+        assertEquals(1, maxDownloads(new ThreadExecutor<Void>(1, 4, false)));
+        assertEquals(4, maxDownloads(new ThreadExecutor<Void>(1, 4, true)));
+    }
+
+    private static int maxDownloads(ThreadExecutor<Void> tasks) throws Throwable {
+        final AtomicInteger downloads = new AtomicInteger();
+        final AtomicInteger maxDownloads = new AtomicInteger();
+        for (int loop = 0; loop < 20; loop++) {
+            final String url = "http://download" + loop + ".threads.test/";
+            tasks.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws InterruptedException, InterruptedIOException {
+                    ThreadExecutor.enterIO(url);
+                    try {
+                        int running = downloads.incrementAndGet();
+                        synchronized (maxDownloads) {
+                            maxDownloads.set(Math.max(maxDownloads.get(), running));
+                        }
+                        Thread.sleep(50);
+                        downloads.decrementAndGet();
+                    } finally {
+                        ThreadExecutor.leaveIO();
+                    }
+                    return null;
+                }
+            });
+        }
+        tasks.waitFor();
+        return maxDownloads.get();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import javax.xml.stream.XMLStreamException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class XMLStreamElementTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(XMLStreamElementTest.class);
+    private static final String XML = "<details><!-- written by YAMJ --><movie><title source=\"imdb\">The &amp; <![CDATA[<Movie>]]></title>"
+            + "<plot><!--none-->Plot</plot><files><file part=\"1\">A</file><file part=\"2\">B<fileTitle>Part</fileTitle></file></files>"
+            + "<empty/></movie></details>";
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * The values are the ones the DOM gives
+     *
+     * @throws XMLStreamException
+     */
+    @Test
+    public void testValues() throws XMLStreamException {
+        LOG.info("values");
+        XMLStreamElement document = XMLStreamElement.readDocument(XML);
+        assertValues(document);
+    }
+
+    /**
+     * The document read from the binary form is the same
+     *
+     * @throws XMLStreamException
+     * @throws IOException
+     */
+    @Test
+    public void testBinary() throws XMLStreamException, IOException {
+        LOG.info("binary");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            XMLStreamElement.readDocument(XML).writeBinary(out);
+        }
+        assertValues(XMLStreamElement.readBinary(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+
+    private static void assertValues(XMLStreamElement document) {
+        assertEquals("details", document.getChildElements().get(0).getName());
+        assertEquals("The & <Movie>", document.getValueFromElement("title"));
+        assertEquals("imdb", document.getElementByName("title").getAttribute("source"));
+        assertEquals("", document.getElementByName("title").getAttribute("missing"));
+        // The first child of the plot is the comment
+        assertEquals("none", document.getValueFromElement("plot"));
+        assertEquals("Plot", document.getElementByName("plot").getTextContent());
+        // The first child of the files is an element
+        assertNull(document.getValueFromElement("files"));
+        assertEquals("ABPart", document.getElementByName("files").getTextContent());
+        assertEquals(2, document.getElementsByTagName("file").size());
+        assertEquals("2", document.getElementsByTagName("file").get(1).getAttribute("part"));
+        assertEquals("", document.getValueFromElement("empty"));
+        assertEquals("", document.getValueFromElement("missing"));
+        assertEquals(0, document.getElementsByTagName("missing").size());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.tools.cache;
+
+import com.moviejukebox.AbstractTests;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.FileUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tests for the loading of objects in a CacheNamespace
+ */
+public class CacheNamespaceTest extends AbstractTests {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheNamespaceTest.class);
+    private static final int THREADS = 8;
+
+    @BeforeClass
+    public static void configure() {
+        doConfiguration();
+    }
+
+    /**
+     * Threads that need the same object at the same time must share one load
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCoalescedLoad() throws Exception {
+        LOG.info("coalescedLoad");
+        final CacheNamespace namespace = new CacheNamespace("test", 10, 0);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Callable<String> loader = new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                loads.incrementAndGet();
+                release.await(10, TimeUnit.SECONDS);
+                return "value";
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<String>> results = new ArrayList<>();
+        for (int loop = 0; loop < THREADS; loop++) {
+            results.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    return namespace.get("test-key", loader);
+                }
+            }));
+        }
+
+        // Wait for the other threads to reach the load
+        long end = System.currentTimeMillis() + 10000L;
+        while (namespace.getCoalesced() < THREADS - 1 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("value", result.get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, loads.get());
+        assertEquals(THREADS - 1, namespace.getCoalesced());
+        assertEquals("value", namespace.get("test-key"));
+    }
+
+    /**
+     * A failed load is passed to all the waiting threads and nothing is cached
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testFailedLoad() throws Exception {
+        LOG.info("failedLoad");
+        CacheNamespace namespace = new CacheNamespace("test", 10, 0);
+
+        try {
+            namespace.get("test-key", new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    throw new IOException("Failed");
+                }
+            });
+            fail("The exception of the loader was not thrown");
+        } catch (IOException ex) {
+            assertEquals("Failed", ex.getMessage());
+        }
+
+        assertNull(namespace.get("test-key"));
+    }
+
+    /**
+     * The objects moved to soft references are saved too and an empty namespace keeps the file of the previous run
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSaveLoad() throws Exception {
+        LOG.info("saveLoad");
+        File file = File.createTempFile("yamj-cache", ".dat");
+        try {
+            CacheNamespace namespace = new CacheNamespace("test", 2, 0);
+            namespace.put("first", "1");
+            namespace.put("second", "2");
+            namespace.put("third", "3");
+            namespace.release();
+            assertEquals(0, namespace.getSize());
+            namespace.save(file);
+
+            CacheNamespace loaded = new CacheNamespace("test", 10, 0);
+            loaded.load(file);
+            assertEquals(3, loaded.getSize());
+            assertEquals("1", loaded.get("first"));
+            assertEquals("3", loaded.get("third"));
+
+            long length = file.length();
+            new CacheNamespace("test", 10, 0).save(file);
+            assertTrue(file.exists());
+            assertEquals(length, file.length());
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *      Copyright (c) 2004-2016 YAMJ Members
+ *      https://github.com/orgs/YAMJ/people
+ *
+ *      This file is part of the Yet Another Movie Jukebox (YAMJ) project.
+ *
+ *      YAMJ is free software: you can redistribute it and/or modify
+ *      it under the terms of the GNU General Public License as published by
+ *      the Free Software Foundation, either version 3 of the License, or
+ *      any later version.
+ *
+ *      YAMJ is distributed in the hope that it will be useful,
+ *      but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *      MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *      GNU General Public License for more details.
+ *
+ *      You should have received a copy of the GNU General Public License
+ *      along with YAMJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *      Web: https://github.com/YAMJ/yamj-v2
+ *
+ */
+package com.moviejukebox.writer;
+
+import com.moviejukebox.TestLogger;
+import com.moviejukebox.model.Library;
+import com.moviejukebox.model.Movie;
+import com.moviejukebox.reader.MovieJukeboxXMLReader;
+import com.moviejukebox.tools.DOMHelper;
+import java.io.File;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+/**
+ * Compare the time to write the movie XML files from the DOM and with the stream writer.
+ *
+ * Not part of the tests, run with: mvn -Pbenchmark test -Dbenchmark=com.moviejukebox.writer.MovieJukeboxXMLWriterBenchmark
+ */
+public final class MovieJukeboxXMLWriterBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MovieJukeboxXMLWriterBenchmark.class);
+
+    private MovieJukeboxXMLWriterBenchmark() {
+        throw new UnsupportedOperationException("Class cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws Exception {
+        TestLogger.configure("INFO");
+        Movie movie = new Movie();
+        if (!new MovieJukeboxXMLReader().parseMovieXML(new File("src/test/java/xml_test_files/ExampleMovieXML.xml"), movie)) {
+            throw new IllegalStateException("Failed to read the example movie");
+        }
+        Library library = new Library();
+        MovieJukeboxXMLWriter writer = new MovieJukeboxXMLWriter();
+        File xmlFile = File.createTempFile("yamj-movie", ".xml");
+        int count = 2000;
+
+        try {
+            for (int run = 0; run < 3; run++) {
+                long start = System.nanoTime();
+                for (int loop = 0; loop < count; loop++) {
+                    Document doc = DOMHelper.createDocument();
+                    Element eDetails = doc.createElement("details");
+                    doc.appendChild(eDetails);
+                    writer.appendMovie(eDetails, movie, library);
+                    DOMHelper.writeDocumentToFile(doc, xmlFile);
+                }
+                long domNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int loop = 0; loop < count; loop++) {
+                    try (Writer out = Files.newBufferedWriter(xmlFile.toPath(), StandardCharsets.UTF_8)) {
+                        writer.writeMovieDetails(out, movie, library);
+                    }
+                }
+                long streamNanos = System.nanoTime() - start;
+
+                LOG.info("Run {}: DOM {}us/file, StAX {}us/file", run, domNanos / count / 1000L, streamNanos / count / 1000L);
+            }
+        } finally {
+            FileUtils.deleteQuietly(xmlFile);
+        }
+    }
+}
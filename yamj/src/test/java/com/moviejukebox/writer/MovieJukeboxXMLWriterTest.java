@@ -25,19 +25,33 @@ package com.moviejukebox.writer;
 import com.moviejukebox.AbstractTests;
 
 import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
+import org.junit.AfterClass;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import com.moviejukebox.model.ExtraFile;
+import com.moviejukebox.model.Filmography;
+import com.moviejukebox.model.Library;
 import com.moviejukebox.model.Movie;
 import com.moviejukebox.model.MovieFile;
 import com.moviejukebox.model.Person;
 import com.moviejukebox.plugin.ImdbPlugin;
 import com.moviejukebox.reader.MovieJukeboxXMLReader;
+import com.moviejukebox.tools.DOMHelper;
+import com.moviejukebox.tools.PropertiesUtil;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.BeforeClass;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -50,6 +64,11 @@ import static org.junit.Assert.fail;
 public class MovieJukeboxXMLWriterTest extends AbstractTests {
 
     private static final Logger LOG = LoggerFactory.getLogger(MovieJukeboxXMLWriterTest.class);
+    // The elements with the version of YAMJ, the time of the run and the location of the test files
+    private static final List<String> VARIABLE_ELEMENTS = Arrays.asList("mjbVersion", "mjbGitSHA", "xmlGenerationDate", "lastModifiedAt", "fileLocation");
+    // The properties that add elements to the golden files, other tests may have set them
+    private static final List<String> GOLDEN_PROPERTIES = Arrays.asList("mjb.includeEpisodePlots", "mjb.includeVideoImages");
+    private static final Map<String, String> SAVED_PROPERTIES = new HashMap<>();
 
     public MovieJukeboxXMLWriterTest() {
         // Nothing to do here
@@ -58,6 +77,18 @@ public class MovieJukeboxXMLWriterTest extends AbstractTests {
     @BeforeClass
     public static void setUpClass() {
         doConfiguration();
+        for (String key : GOLDEN_PROPERTIES) {
+            SAVED_PROPERTIES.put(key, PropertiesUtil.getProperty(key, Boolean.FALSE.toString()));
+            PropertiesUtil.setProperty(key, Boolean.FALSE);
+        }
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        for (Map.Entry<String, String> entry : SAVED_PROPERTIES.entrySet()) {
+            PropertiesUtil.setProperty(entry.getKey(), entry.getValue());
+        }
+        SAVED_PROPERTIES.clear();
     }
 
     /**
@@ -139,4 +170,95 @@ public class MovieJukeboxXMLWriterTest extends AbstractTests {
         }
     }
 
+    /**
+     * The streamed movie XML must be the same as the XML written from the DOM by the previous writer
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWriteMovieDetails() throws Exception {
+        LOG.info("WriteMovieDetails");
+        Movie movie = createTestMovie();
+        MovieJukeboxXMLWriter writer = new MovieJukeboxXMLWriter();
+
+        StringWriter actual = new StringWriter();
+        writer.writeMovieDetails(actual, movie, new Library());
+
+        assertSameDocument(getTestFile("ExampleMovieDetails.xml"), actual.toString());
+    }
+
+    /**
+     * The streamed person XML must be the same as the XML written from the DOM by the previous writer
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWritePersonDetails() throws Exception {
+        LOG.info("WritePersonDetails");
+        Person person = new Person();
+        person.setName("Al Pacino");
+        person.setTitle("Al \"Sonny\" Pacino");
+        person.setId(ImdbPlugin.IMDB_PLUGIN_ID, "nm0000199");
+        person.setFilename();
+        person.addAka("Alfredo James Pacino");
+        person.setBiography("Born in New York & raised in the <South Bronx>.\nLine two\twith a tab");
+        person.addIndex("Person", "Al Pacino");
+
+        Filmography film = new Filmography();
+        film.setId(ImdbPlugin.IMDB_PLUGIN_ID, "tt0068646");
+        film.setId("themoviedb", "238");
+        film.setName("The Godfather");
+        film.setTitle("The Godfather");
+        film.setCharacter("Michael \"Mike\" Corleone");
+        film.setYear("1972");
+        film.setFilename("The Godfather (1972)");
+        person.addFilm(film);
+
+        StringWriter actual = new StringWriter();
+        MovieJukeboxXMLWriter.writePersonDetails(actual, person);
+
+        assertSameDocument(getTestFile("ExamplePersonDetails.xml"), actual.toString());
+    }
+
+    private Movie createTestMovie() {
+        Movie movie = new Movie();
+        MovieJukeboxXMLReader xmlReader = new MovieJukeboxXMLReader();
+        assertTrue(xmlReader.parseMovieXML(getTestFile("ExampleMovieXML.xml"), movie));
+        movie.addDidYouKnow("Text with \"quotes\" & <brackets> and a \uD83D\uDE00");
+        movie.setGross("USA", "$134,821,952");
+        return movie;
+    }
+
+    /**
+     * Compare the written XML with the expected file, ignoring the formatting, the order of the attributes and the values that
+     * change with each run
+     *
+     * @param expectedFile
+     * @param actualXml
+     * @throws Exception
+     */
+    private static void assertSameDocument(File expectedFile, String actualXml) throws Exception {
+        Document expected = DOMHelper.getDocFromFile(expectedFile);
+        Document actual = DOMHelper.getDocFromString(actualXml);
+        removeVariableNodes(expected.getDocumentElement());
+        removeVariableNodes(actual.getDocumentElement());
+
+        assertEquals(new String(DOMHelper.writeDocumentToBytes(expected), StandardCharsets.UTF_8),
+                new String(DOMHelper.writeDocumentToBytes(actual), StandardCharsets.UTF_8));
+    }
+
+    private static void removeVariableNodes(Node parent) {
+        Node child = parent.getFirstChild();
+        while (child != null) {
+            Node next = child.getNextSibling();
+            if (child.getNodeType() == Node.TEXT_NODE && StringUtils.isBlank(child.getNodeValue())) {
+                parent.removeChild(child);
+            } else if (child.getNodeType() == Node.ELEMENT_NODE && VARIABLE_ELEMENTS.contains(child.getNodeName())) {
+                parent.removeChild(child);
+            } else {
+                removeVariableNodes(child);
+            }
+            child = next;
+        }
+    }
 }